@@ -13,22 +13,26 @@ export default function ViewUserDashboard()
   const [error, setError] = useState("");                         //Error message state
   const [deleteSuccess, setDeleteSuccess] = useState("");         //Success message state after deleting a user
   const [actionsDisabled, setActionsDisabled] = useState(false);  //Disable buttons during async actions
+  const [nextCursor, setNextCursor] = useState(null);             //Cursor of the next page of users, null on the last page
+  const [loadingMore, setLoadingMore] = useState(false);          //True while the next page is being fetched
   const navigate = useNavigate();                                 //Hook to programmatically navigate between routes
 
-  //Fetch all users from backend (only accessible to admins)
-  const fetchAllUsers = useCallback(async (token, isMounted) => 
+  //Fetch one page of users from backend (only accessible to admins); without a cursor the list starts over from the first page
+  const fetchAllUsers = useCallback(async (token, isMounted, cursor = null) => 
   {
     try 
     {
       const res = await axios.get("http://localhost:8080/users", 
       {
         headers: { Authorization: `Bearer ${token}` },  //Pass auth token in headers
+        params: cursor ? { cursor } : undefined,        //Page after the one already shown
       });
 
       //Check component is still mounted before updating state
       if(isMounted) 
       { 
-        setUsers(res.data); //Set user list data
+        setUsers((previous) => cursor ? [...previous, ...res.data] : res.data);  //Append a later page, replace on the first
+        setNextCursor(res.headers?.["x-next-cursor"] || null);                   //Header is absent on the last page
         setError("");       //Clear any previous error
       }
     } 
@@ -148,6 +152,30 @@ export default function ViewUserDashboard()
     }
   };
 
+  //Handler to append the next page of users to the table
+  const handleLoadMore = async () => 
+  {
+    const token = localStorage.getItem("token");  //Get auth token
+    if(!token) 
+    {
+      alert("Session expired. Please log in again."); //Alert if no token
+      navigate("/login");                             //Redirect to login
+      return;
+    }
+
+    setLoadingMore(true); //Disable the button while the page loads
+
+    try 
+    {
+      await fetchAllUsers(token, true, nextCursor); //Errors are shown by fetchAllUsers
+    } 
+    
+    finally 
+    {
+      setLoadingMore(false);  //Re-enable the button
+    }
+  };
+
   //Handler to navigate to the UpdateUserProfile page for editing user
   const handleUpdate = (user) => 
   {
@@ -210,6 +238,14 @@ export default function ViewUserDashboard()
             />
           </div>
 
+          {nextCursor && (
+            <div className="buttons-center">
+              <button className="btn" onClick={handleLoadMore} disabled={loadingMore || actionsDisabled}>
+                {loadingMore ? "Loading..." : "Load more"} {/*Fetch the next page of users*/}
+              </button>
+            </div>
+          )}
+
           <div className="buttons-center">
             <button className="btn" onClick={handleLogout}>
               Logout {/*Logout button*/}
@@ -1,6 +1,6 @@
 import '@testing-library/jest-dom';                             //Import jest-dom for extended DOM matchers in tests
 import React from 'react';                                      //Import React library
-import {render, screen, waitFor} from '@testing-library/react'; //Import testing utilities from React Testing Library
+import {render, screen, waitFor, fireEvent} from '@testing-library/react'; //Import testing utilities from React Testing Library
 import {MemoryRouter} from 'react-router-dom';                  //Import MemoryRouter for routing context in tests
 import axios from 'axios';                                      //Import axios HTTP client
 
@@ -121,6 +121,32 @@ describe('ViewUserDashboard', () =>
         expect(axios.get).toHaveBeenCalledTimes(1);
     });
 
+    //Test: an admin sees the first page and can load the next one from the X-Next-Cursor header
+    test('loads the next page of users when Load more is clicked', async () => 
+    {
+        axios.get
+        .mockResolvedValueOnce({data: {userId: 1, username: 'admin', email: 'admin@example.com', role: 'ADMIN'}})   //Current user
+        .mockResolvedValueOnce({data: [{userId: 1, username: 'admin', email: 'admin@example.com', role: 'ADMIN'}], headers: {'x-next-cursor': 'MQ'}})  //First page
+        .mockResolvedValueOnce({data: [{userId: 2, username: 'seconduser', email: 'second@example.com', role: 'CUSTOMER'}], headers: {}});         //Last page
+
+        render(
+        <MemoryRouter>
+            <ViewUserDashboard />
+        </MemoryRouter>
+        );
+
+        //Click Load more once the first page is shown
+        fireEvent.click(await screen.findByRole('button', {name: /Load more/i}));
+
+        //Assert the second page is appended and requested with the cursor
+        expect(await screen.findByText(/seconduser/i)).toBeInTheDocument();
+        expect(screen.getByText(/admin@example.com/i)).toBeInTheDocument();
+        expect(axios.get).toHaveBeenLastCalledWith('http://localhost:8080/users', expect.objectContaining({params: {cursor: 'MQ'}}));
+
+        //Assert the button is gone on the last page
+        await waitFor(() => expect(screen.queryByRole('button', {name: /Load more/i})).not.toBeInTheDocument());
+    });
+
     //Test: shows login prompt when no token found in localStorage
     test('shows login prompt when no token found in localStorage', async () => 
     {
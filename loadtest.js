@@ -1,7 +1,11 @@
 import http from 'k6/http';     //Import HTTP module for requests
 import {check, fail} from 'k6'; //Import check and fail for assertions
 
-const BASE_URL = 'http://localhost:8080'; //Base URL for API endpoints
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080'; //Base URL for API endpoints
+
+//Single iteration by default; -e VUS=<n> -e DURATION=<time> turns it into a sustained run, reporting p99 alongside the usual trends
+export const options = Object.assign({summaryTrendStats: ['avg', 'min', 'med', 'max', 'p(90)', 'p(95)', 'p(99)']},
+  __ENV.VUS ? {vus: Number(__ENV.VUS), duration: __ENV.DURATION || '60s'} : {});
 
 export default function () 
 {
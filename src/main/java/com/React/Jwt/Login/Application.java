@@ -1,8 +1,10 @@
 package com.React.Jwt.Login; 											//Define the base package for the application
 import org.springframework.boot.SpringApplication; 						//Import Spring Boot utility to launch the application
 import org.springframework.boot.autoconfigure.SpringBootApplication;	//Enable auto-configuration, component scan, and configuration properties
+import org.springframework.scheduling.annotation.EnableScheduling;		//Enable @Scheduled background tasks
 
 @SpringBootApplication	//Mark this class as the main Spring Boot application entry point
+@EnableScheduling		//Run @Scheduled maintenance tasks such as JWT key file reloads
 public class Application 
 {
 	public static void main(String[] args) 								//Main method to run the application
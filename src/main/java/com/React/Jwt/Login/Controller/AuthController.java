@@ -1,16 +1,27 @@
 package com.React.Jwt.Login.Controller;                         //Declares the package that this class belongs to, used for grouping related classes
 import com.React.Jwt.Login.DTO.Auth.AuthRequestDTO;             //Imports the DTO (Data Transfer Object) used to receive login credentials from the client
 import com.React.Jwt.Login.DTO.Auth.AuthResponseDTO;            //Imports the DTO used to send authentication results (e.g., JWT token) back to the client
-import com.React.Jwt.Login.Entity.Auth.AuthRequest;             //Imports the internal entity representing login request data in the application logic
+import com.React.Jwt.Login.DTO.Auth.RefreshTokenRequestDTO;     //Imports the DTO carrying a refresh token in a JSON body
+import com.React.Jwt.Login.DTO.Auth.RevokeTokenRequestDTO;      //Imports the DTO carrying the access token to revoke
 import com.React.Jwt.Login.Entity.Auth.AuthResponse;            //Imports the internal entity representing authentication result used internally
 import com.React.Jwt.Login.Entity.Auth.ForgotLoginCredential;   //Imports the entity used to reset username and passwor
 import com.React.Jwt.Login.Service.AuthService;                 //Imports the authentication service which handles business logic for auth operations
+import com.React.Jwt.Login.Security.JWT.JwtConfig;              //Imports JWT settings such as the JWKS cache lifetime
+import com.React.Jwt.Login.Security.JWT.JwtKeyRing;             //Imports the key ring that publishes public verification keys
+import com.React.Jwt.Login.Security.Throttle.LoginThrottle;     //Imports per-address and per-username login limits
+import jakarta.servlet.http.HttpServletRequest;                 //Imports the servlet request for the client address
+import org.springframework.http.CacheControl;                   //Imports Cache-Control header builder
 import org.springframework.beans.factory.annotation.Autowired;  //Imports Spring's annotation to enable automatic dependency injection
+import org.springframework.http.HttpHeaders;                    //Imports standard header names such as Retry-After
 import org.springframework.http.HttpStatus;                     //Imports HTTP status codes such as OK (200), UNAUTHORIZED (401), FORBIDDEN (403)
 import org.springframework.http.ResponseEntity;                 //Imports the ResponseEntity class used to build complete HTTP responses (body + status code)
 import org.springframework.web.bind.annotation.*;               //Imports Spring annotation to define a REST API controller
 import com.React.Jwt.Login.Exception.EmailNotFoundException;    //Custom exception for email not found
+import com.React.Jwt.Login.Exception.InvalidTokenException;     //Custom exception for a token that fails verification
+import com.React.Jwt.Login.Exception.PasswordHashingBusyException;  //Custom exception for a saturated password hashing pool
 import com.React.Jwt.Login.DTO.Auth.ForgotLoginCredentialDTO;   //DTO for resetting username and password
+import java.util.Map;                                           //Map for the JWKS document
+import java.util.concurrent.TimeUnit;                           //Time unit for cache lifetime
 
 @CrossOrigin(origins = "http://localhost:3000")                 //Enables CORS (Cross-Origin Resource Sharing) for frontend access (e.g., React app on port 3000)
 @RestController                                                 //Marks this class as a REST controller, which handles HTTP requests and returns JSON/XML
@@ -18,32 +29,50 @@ import com.React.Jwt.Login.DTO.Auth.ForgotLoginCredentialDTO;   //DTO for resett
 public class AuthController 
 {
     private final AuthService authService;  //Declares a final reference to the authentication service
+    private final JwtKeyRing jwtKeyRing;    //Declares the key ring used to publish public keys
+    private final JwtConfig jwtConfig;      //Declares JWT settings
+    private final LoginThrottle loginThrottle;  //Declares login attempt limits
 
-    //Constructor-based dependency injection for the AuthService bean
+    //Constructor-based dependency injection for the AuthService, JwtKeyRing, JwtConfig and LoginThrottle beans
     @Autowired
-    public AuthController(AuthService authService) 
+    public AuthController(AuthService authService, JwtKeyRing jwtKeyRing, JwtConfig jwtConfig, LoginThrottle loginThrottle) 
     {
         this.authService = authService;
+        this.jwtKeyRing = jwtKeyRing;
+        this.jwtConfig = jwtConfig;
+        this.loginThrottle = loginThrottle;
     }
 
     //HTTP POST endpoint at /auth/login to authenticate a user
     @PostMapping("/login")
-    public ResponseEntity<AuthResponseDTO> login(@RequestBody AuthRequestDTO authRequestDTO) 
+    public ResponseEntity<AuthResponseDTO> login(@RequestBody AuthRequestDTO authRequestDTO, HttpServletRequest request) 
     {
-        try 
+        //Throttle by client address and username before any database lookup or password hashing
+        long retryAfterMillis = loginThrottle.tryAcquire(authRequestDTO.getUsername(), request.getRemoteAddr());
+        if(retryAfterMillis > 0)
         {
-            //Create a new AuthRequest entity and populate it from the received DTO
-            AuthRequest authRequest = new AuthRequest();
-            authRequest.setUsername(authRequestDTO.getUsername());
-            authRequest.setPassword(authRequestDTO.getPassword());
+            AuthResponseDTO authResponseDTO = AuthResponseDTO.builder().token(null).message("Too many login attempts").build();
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, String.valueOf((retryAfterMillis + 999) / 1000))
+            .body(authResponseDTO);
+        }
 
-            //Pass the request entity to the authentication service and receive a response DTO
-            AuthResponseDTO authResponseDTO = authService.authenticate(authRequest);
+        try 
+        {
+            //Pass the request DTO straight to the authentication service and receive a response DTO
+            AuthResponseDTO authResponseDTO = authService.authenticate(authRequestDTO);
 
             //Return HTTP 200 OK status with the response body
             return ResponseEntity.ok(authResponseDTO);
         } 
         
+        catch(PasswordHashingBusyException e) 
+        {
+            //Hashing pool saturated — fail fast with 503 so the client backs off instead of holding a request thread
+            AuthResponseDTO authResponseDTO = AuthResponseDTO.builder().token(null).message(e.getMessage()).build();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .body(authResponseDTO);
+        } 
+        
         catch(Exception e) 
         {
             //If any exception occurs during authentication, return a failure message and 401 Unauthorized
@@ -52,17 +81,23 @@ public class AuthController
         }
     }
 
-    //HTTP POST endpoint at /auth/refresh to refresh JWT tokens
+    //HTTP POST endpoint at /auth/refresh to refresh JWT tokens; the body is {"refreshToken": "..."}
     @PostMapping("/refresh")
-    public ResponseEntity<AuthResponseDTO> refreshToken(@RequestBody String oldToken) 
+    public ResponseEntity<AuthResponseDTO> refreshToken(@RequestBody RefreshTokenRequestDTO refreshTokenRequestDTO) 
     {
+        //A body without a token is malformed, not a failed refresh
+        String refreshToken = refreshTokenRequestDTO.getRefreshToken();
+        if(refreshToken == null || refreshToken.isBlank())
+            return ResponseEntity.badRequest().body(AuthResponseDTO.builder().message("Refresh token must be provided").build());
+
         try 
         {
-            //Calls the auth service to refresh the token using the old one
-            AuthResponse authResponse = authService.refreshToken(oldToken);
+            //Calls the auth service to rotate the refresh token and mint a new access token
+            AuthResponse authResponse = authService.refreshToken(refreshToken);
 
-            //Build a response DTO from the refreshed token
-            AuthResponseDTO authResponseDTO = AuthResponseDTO.builder().token(authResponse.getToken()).message("Token refreshed successfully").build();
+            //Build a response DTO from the refreshed tokens
+            AuthResponseDTO authResponseDTO = AuthResponseDTO.builder().token(authResponse.getToken()).refreshToken(authResponse.getRefreshToken())
+            .message("Token refreshed successfully").build();
 
             //Return HTTP 200 OK with the new token in response
             return ResponseEntity.ok(authResponseDTO);
@@ -76,6 +111,56 @@ public class AuthController
         }
     }
 
+    //HTTP POST endpoint at /auth/logout: revokes the caller's access token and, if sent in the body, their refresh token
+    @PostMapping("/logout")
+    public ResponseEntity<AuthResponseDTO> logout(@RequestHeader(value = "Authorization", required = false) String authorization, 
+    @RequestBody(required = false) RefreshTokenRequestDTO refreshTokenRequestDTO) 
+    {
+        //Only bearer tokens can be revoked
+        if(authorization == null || !authorization.startsWith("Bearer "))
+            return ResponseEntity.badRequest().body(AuthResponseDTO.builder().message("Bearer token must be provided").build());
+
+        authService.logout(authorization.substring(7), refreshTokenRequestDTO != null ? refreshTokenRequestDTO.getRefreshToken() : null);
+        return ResponseEntity.ok(AuthResponseDTO.builder().message("Logged out successfully").build());
+    }
+
+    //HTTP POST endpoint at /auth/revoke: lets an administrator revoke any access token (ADMIN only, see SecurityConfig)
+    @PostMapping("/revoke")
+    public ResponseEntity<AuthResponseDTO> revokeToken(@RequestBody RevokeTokenRequestDTO revokeTokenRequestDTO) 
+    {
+        //A body without a token is malformed
+        String token = revokeTokenRequestDTO.getToken();
+        if(token == null || token.isBlank())
+            return ResponseEntity.badRequest().body(AuthResponseDTO.builder().message("Token must be provided").build());
+
+        try 
+        {
+            authService.revokeToken(token);
+            return ResponseEntity.ok(AuthResponseDTO.builder().message("Token revoked successfully").build());
+        } 
+        
+        catch(InvalidTokenException e) 
+        {
+            //Invalid or already expired tokens cannot be used anyway; anything else, such as a database failure, is not the caller's fault
+            return ResponseEntity.badRequest().body(AuthResponseDTO.builder().message(e.getMessage()).build());
+        }
+    }
+
+    //HTTP GET endpoint at /auth/.well-known/jwks.json so resource servers can fetch public keys once and verify tokens locally
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> getJwks(@RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) 
+    {
+        Map<String, Object> jwks = jwtKeyRing.jwks();                                   //Prebuilt JWK Set for the current keys
+        String eTag = "\"" + Integer.toHexString(jwks.hashCode()) + "\"";               //Same value on every node with the same keys
+        CacheControl cacheControl = CacheControl.maxAge(jwtConfig.getJwksMaxAge(), TimeUnit.SECONDS).cachePublic();
+
+        //Return 304 Not Modified when the client already holds this key set
+        if(eTag.equals(ifNoneMatch))
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+
+        return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl).body(jwks);  //Return HTTP 200 OK with the key set
+    }
+
     //HTTP GET endpoint at /auth/protected used to test access to a protected resource
     @GetMapping("/protected")
     public ResponseEntity<String> getProtectedResource() 
@@ -112,6 +197,13 @@ public class AuthController
 
         } 
         
+        catch(PasswordHashingBusyException e) 
+        {
+            //Hashing pool saturated — return 503 with a retry hint
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .body(ForgotLoginCredentialDTO.builder().message(e.getMessage()).build());
+        } 
+        
         catch(Exception e) 
         {
             //Log unhandled exceptions for diagnostics
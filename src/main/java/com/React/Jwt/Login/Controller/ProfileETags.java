@@ -0,0 +1,53 @@
+package com.React.Jwt.Login.Controller;             //Package declaration for the controller helpers
+import org.springframework.http.CacheControl;       //Cache-Control header values
+import org.springframework.http.HttpStatus;         //HTTP status codes
+import org.springframework.http.ResponseEntity;     //Spring wrapper for HTTP responses
+
+//Strong ETags for user profiles, derived from the row version: a matching If-None-Match needs neither the row nor serialization
+final class ProfileETags
+{
+    //Stored by the browser but revalidated on every use, so a changed profile is never served from its cache
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private ProfileETags()
+    {
+    }
+
+    //Tag for one version of one user's profile; /me and /users/{id} share it, since both return the same representation
+    static String of(Long userId, long version)
+    {
+        return "\"" + userId + "-" + version + "\"";
+    }
+
+    //If-None-Match is "*" or a list of tags compared weakly (RFC 9110, 13.1.2), so a W/ prefix added by a proxy still matches
+    static boolean matches(String ifNoneMatch, String eTag)
+    {
+        if(ifNoneMatch == null)
+            return false;
+
+        for(String candidate : ifNoneMatch.split(","))
+        {
+            String tag = candidate.trim();
+            if(tag.startsWith("W/"))
+                tag = tag.substring(2);
+            if(tag.equals("*") || tag.equals(eTag))
+                return true;
+        }
+        return false;
+    }
+
+    //HTTP 304 Not Modified with no body
+    static <T> ResponseEntity<T> notModified(String eTag)
+    {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(CACHE_CONTROL).build();
+    }
+
+    //HTTP 200 OK for a profile, tagged with the version it was read at (untagged when unknown)
+    static ResponseEntity.BodyBuilder ok(Long userId, Long version)
+    {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CACHE_CONTROL);
+        if(version != null)
+            response.eTag(of(userId, version));
+        return response;
+    }
+}
@@ -2,6 +2,7 @@ package com.React.Jwt.Login.Controller;             //Package declaration for th
 import com.React.Jwt.Login.DTO.UserDTO;             //Importing DTO for transferring user data
 import com.React.Jwt.Login.Service.UserAuthService; //Importing service layer to handle user authentication logic
 import lombok.RequiredArgsConstructor;              //Lombok annotation to auto-generate constructor for final fields
+import org.springframework.http.HttpHeaders;        //Standard header names
 import org.springframework.http.ResponseEntity;     //Provides a generic HTTP response wrapper
 import org.springframework.web.bind.annotation.*;   //Marks the class as a REST controller
 
@@ -20,12 +21,19 @@ public class UserAuthController
         return ResponseEntity.ok(username);                             //Returns HTTP 200 OK with the username
     }
 
-    //Handles GET requests to /me and returns the current user's profile
+    //Handles GET requests to /me and returns the current user's profile; a current If-None-Match tag gets 304 from the row version alone
     @GetMapping
-    public ResponseEntity<UserDTO> getCurrentUserProfile() 
+    public ResponseEntity<UserDTO> getCurrentUserProfile(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) 
     {
+        if(ifNoneMatch != null)
+        {
+            String eTag = ProfileETags.of(userAuthService.getAuthenticatedUserId(), userAuthService.getCurrentUserVersion());
+            if(ProfileETags.matches(ifNoneMatch, eTag))
+                return ProfileETags.notModified(eTag);          //Returns HTTP 304 Not Modified
+        }
+
         UserDTO currentUser = userAuthService.getCurrentUser(); //Retrieves the current user's profile as a DTO
-        return ResponseEntity.ok(currentUser);                  //Returns HTTP 200 OK with the user profile
+        return ProfileETags.ok(currentUser.getUserId(), currentUser.getVersion()).body(currentUser);   //Returns HTTP 200 OK with the user profile and its ETag
     }
 
     //Handles GET requests to /me/has-role/{role} to check for a specific role
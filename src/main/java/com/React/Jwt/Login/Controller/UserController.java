@@ -1,41 +1,91 @@
 package com.React.Jwt.Login.Controller;                 //Package declaration for the user controller
 import com.React.Jwt.Login.DTO.Auth.AuthResponseDTO;    //Importing DTO for authentication responses
 import com.React.Jwt.Login.DTO.UserDTO;                 //Importing DTO for user data transfer
+import com.React.Jwt.Login.DTO.UserImportReportDTO;     //Importing DTO for the bulk import report
+import com.React.Jwt.Login.Enum.Role;                   //Importing Role enum for the role filter
+import com.React.Jwt.Login.Service.UserExportService;   //Importing service streaming user exports
+import com.React.Jwt.Login.Service.UserImportService;   //Importing service for bulk user imports
+import com.React.Jwt.Login.Service.UserResponseCache;   //Importing serialized responses served as they are
 import com.React.Jwt.Login.Service.UserService;         //Importing service handling user-related operations
+import jakarta.validation.Valid;                        //Validates the request body against the UserDTO constraints
 import lombok.RequiredArgsConstructor;                  //Lombok annotation to auto-generate constructor for final fields
+import org.springframework.http.HttpHeaders;            //Standard header names
+import org.springframework.http.MediaType;              //Content type of pre-serialized bodies
 import org.springframework.http.ResponseEntity;         //Spring wrapper for HTTP responses
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;    //Body written after the handler returns
 import org.springframework.web.bind.annotation.*;       //Spring annotations for REST controllers and request mapping
-import java.util.List;                                  //Import List interface for collections
+import java.io.IOException;                             //Upload read failures
+import java.io.InputStream;                             //Raw request body for imports
 
 @RestController             //Marks the class as a REST controller
 @RequestMapping("/users")   //Base URL mapping for this controller's endpoints
 @RequiredArgsConstructor    //Lombok annotation for constructor injection of final fields
 public class UserController 
 {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";   //Response header carrying the next page's cursor
+
     private final UserService userService;  //Injected service for user operations
+    private final UserExportService userExportService;  //Injected service for streaming exports
+    private final UserImportService userImportService;  //Injected service for bulk imports
 
-    //Handles POST requests to /users/register to register a new user
+    //Handles POST requests to /users/register to register a new user; invalid bodies are rejected with 400 before any password is hashed
     @PostMapping("/register")
-    public ResponseEntity<UserDTO> RegisterNewUser(@RequestBody UserDTO userDTO) 
+    public ResponseEntity<UserDTO> RegisterNewUser(@Valid @RequestBody UserDTO userDTO) 
     {
         UserDTO registeredUser = userService.registerNewUser(userDTO);  //Registers new user with data from request body
         return ResponseEntity.ok(registeredUser);                       //Returns HTTP 200 OK with the registered user data
     }
 
-    //Handles GET requests to /users/{userId} to view a specific user's profile
+    //Handles GET requests to /users/{userId} to view a specific user's profile, as cached JSON bytes; a current If-None-Match tag gets 304 from the row version alone
     @GetMapping("/{userId}")
-    public ResponseEntity<UserDTO> ViewUserProfile(@PathVariable Long userId) 
+    public ResponseEntity<byte[]> ViewUserProfile(@PathVariable Long userId, 
+    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) 
     {
-        UserDTO user = userService.viewUserProfile(userId); //Retrieves user profile by userId path variable
-        return ResponseEntity.ok(user);                     //Returns HTTP 200 OK with the user profile
+        if(ifNoneMatch != null)
+        {
+            String eTag = ProfileETags.of(userId, userService.viewUserProfileVersion(userId));    //Authorized like the full read
+            if(ProfileETags.matches(ifNoneMatch, eTag))
+                return ProfileETags.notModified(eTag);                                          //Returns HTTP 304 Not Modified
+        }
+
+        UserResponseCache.Json user = userService.viewUserProfileJson(userId);    //Retrieves the serialized profile by userId path variable
+        return ProfileETags.ok(userId, user.version()).contentType(MediaType.APPLICATION_JSON).body(user.body());  //Returns HTTP 200 OK with the profile and its ETag
     }
 
-    //Handles GET requests to /users to get all user profiles
+    //Handles GET requests to /users to get one page of user profiles, as cached JSON bytes; the next page's cursor is in the X-Next-Cursor header
     @GetMapping
-    public ResponseEntity<List<UserDTO>> ViewUserProfiles() 
+    public ResponseEntity<byte[]> ViewUserProfiles(@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size, 
+    @RequestParam(required = false) Role role, @RequestParam(required = false) String name) 
+    {
+        UserResponseCache.Json page = userService.viewUserProfilesJson(cursor, size, role, name);  //Retrieves one serialized page of user profiles
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);  //HTTP 200 OK
+        if(page.nextCursor() != null)
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());                 //Absent on the last page
+        return response.body(page.body());                                         //Returns the users on this page
+    }
+
+    //Handles GET requests to /users/export to stream every user as NDJSON (default) or CSV, gzip-compressed when the client accepts it
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "ndjson") String format, 
+    @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) 
+    {
+        UserExportService.Format exportFormat = UserExportService.Format.from(format);     //Unknown formats are a 400
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        StreamingResponseBody body = userExportService.exportUsers(exportFormat, gzip);     //Admin check happens here, before streaming
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(exportFormat.mediaType())
+        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=users." + exportFormat.extension()).header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if(gzip)
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        return response.body(body);                                                         //Rows are written as they are read
+    }
+
+    //Handles POST requests to /users/import to create users from an NDJSON or CSV upload (chosen by Content-Type); the report lists rejected rows
+    @PostMapping("/import")
+    public ResponseEntity<UserImportReportDTO> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException 
     {
-        List<UserDTO> users = userService.viewUserProfiles();   //Retrieves list of all user profiles
-        return ResponseEntity.ok(users);                        //Returns HTTP 200 OK with the list of users
+        UserExportService.Format format = UserExportService.Format.forMediaType(contentType);  //Unsupported types are a 400
+        return ResponseEntity.ok(userImportService.importUsers(format, body));                  //Body is read as it is imported
     }
 
     //Handles PATCH requests to /users/{userId} to update a user profile
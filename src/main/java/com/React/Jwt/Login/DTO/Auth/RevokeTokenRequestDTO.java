@@ -0,0 +1,14 @@
+package com.React.Jwt.Login.DTO.Auth;   //Package declaration
+import lombok.AllArgsConstructor;       //Generates a constructor with all arguments
+import lombok.Getter;                   //Generates getters for all fields
+import lombok.NoArgsConstructor;        //Generates a no-argument constructor
+import lombok.Setter;                   //Generates setters for all fields
+
+@Getter                                 //Generates getter methods for all fields
+@Setter                                 //Generates setter methods for all fields
+@AllArgsConstructor                     //Generates a constructor with all fields
+@NoArgsConstructor                      //Generates a no-argument constructor
+public class RevokeTokenRequestDTO 
+{
+    private String token;               //Access token an administrator wants revoked
+}
@@ -1,5 +1,6 @@
 package com.React.Jwt.Login.DTO;                            //Package declaration
 import org.springframework.web.bind.annotation.CrossOrigin; //Enables CORS for cross-origin requests
+import com.fasterxml.jackson.annotation.JsonIgnore;         //Keeps server-side fields out of the JSON body
 import com.React.Jwt.Login.Enum.Role;                       //Importing Role enum
 import jakarta.validation.constraints.Email;                //Validates that the email format is correct
 import jakarta.validation.constraints.NotBlank;             //Ensures the field is not null or empty
@@ -47,4 +48,7 @@ public class UserDTO
 
     @NotNull(message = "Role is required")                                                  //Ensures the role is not null
     private Role role;                                                                      //Field to store the user's role (e.g., ADMIN, CUSTOMER)
+
+    @JsonIgnore                                                                             //Neither serialized nor read from requests; sent as the ETag instead
+    private Long version;                                                                   //Row version the profile was read at
 }
\ No newline at end of file
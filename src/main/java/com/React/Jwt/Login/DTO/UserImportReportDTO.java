@@ -0,0 +1,17 @@
+package com.React.Jwt.Login.DTO;                            //Package declaration
+import lombok.*;                                            //Imports Lombok annotations to reduce boilerplate code
+import java.util.List;                                      //Rejected rows
+
+@Getter                 //Lombok: generates getter methods for all fields
+@AllArgsConstructor     //Lombok: generates a constructor with all fields as parameters
+@Builder                //Lombok: enables the builder pattern for creating instances of this class
+public class UserImportReportDTO 
+{ 
+    private int received;           //Data rows read from the upload
+    private int imported;           //Rows inserted
+    private int failed;             //Rows rejected
+    private List<RowError> errors;  //Rejected rows with reasons (capped; failed has the full count)
+
+    //One rejected row: 1-based data row number and the reason
+    public record RowError(int row, String message) { }
+}
@@ -0,0 +1,12 @@
+package com.React.Jwt.Login.DTO;                            //Package declaration
+import lombok.*;                                            //Imports Lombok annotations to reduce boilerplate code
+import java.util.List;                                      //List of users on the page
+
+@Getter                 //Lombok: generates getter methods for all fields
+@AllArgsConstructor     //Lombok: generates a constructor with all fields as parameters
+@Builder                //Lombok: enables the builder pattern for creating instances of this class
+public class UserPageDTO 
+{ 
+    private List<UserDTO> users;    //Users on this page, in userId order
+    private String nextCursor;      //Opaque cursor for the next page; null on the last page
+}
@@ -0,0 +1,92 @@
+package com.React.Jwt.Login.Database;                           //Package declaration
+import com.React.Jwt.Login.Security.JWT.JwtAuthenticationToken; //Carries the user id of JWT requests
+import org.springframework.beans.factory.annotation.Value;      //Annotation to inject property values
+import org.springframework.security.core.Authentication;        //Current principal
+import org.springframework.security.core.context.SecurityContextHolder; //Holds the request's authentication
+import org.springframework.stereotype.Component;                //Marks the class as a Spring component
+import java.util.concurrent.ConcurrentHashMap;                  //Recently written users
+import java.util.function.Supplier;                             //Work that must read the primary
+
+//Read-your-writes over an asynchronously replicated replica: users written in the last stickiness ms are read from the primary,
+//both in requests they make and in lookups of their id or username. Does nothing when no replica is configured.
+@Component  //Spring-managed bean
+public class ReadYourWrites
+{
+    private static final int PRUNE_THRESHOLD = 1024;    //Expired entries are swept once the map grows past this
+
+    private final boolean enabled;                      //A replica is configured (replica.datasource.url)
+    private final long stickinessMillis;                //How long after a write the primary is used; longer than the replica's lag
+    private final ConcurrentHashMap<Object, Long> writtenUntil = new ConcurrentHashMap<>(); //userId or username -> end of its window
+    private final ThreadLocal<Boolean> forced = new ThreadLocal<>();                        //Set while onPrimary runs
+    private volatile long anyWrittenUntil;                                                  //End of the latest window, whichever user it was for
+
+    //Constructor reading the replica settings from application properties
+    public ReadYourWrites(@Value("${replica.datasource.url:}") String replicaUrl, @Value("${replica.stickiness:5000}") long stickinessMillis)
+    {
+        this.enabled = !replicaUrl.isBlank();
+        this.stickinessMillis = stickinessMillis;
+    }
+
+    //Call once a change to a user is committed; pass every username the row had or has, so neither resolves to a stale copy
+    public void recordWrite(Long userId, String... usernames)
+    {
+        if(!enabled)
+            return;
+
+        long now = System.currentTimeMillis(), until = now + stickinessMillis;
+        anyWrittenUntil = until;
+        if(userId != null)
+            writtenUntil.put(userId, until);
+        for(String username : usernames)
+            if(username != null)
+                writtenUntil.put(username, until);
+
+        if(writtenUntil.size() > PRUNE_THRESHOLD)
+            writtenUntil.values().removeIf(end -> end <= now);
+    }
+
+    //Whether a user id or username was written within the stickiness window
+    public boolean isRecent(Object key)
+    {
+        Long until = key == null ? null : writtenUntil.get(key);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    //Whether any user was written within the stickiness window, for reads spanning many users such as a page of the user list
+    public boolean isAnyRecent()
+    {
+        return enabled && anyWrittenUntil > System.currentTimeMillis();
+    }
+
+    //Run work whose read-only transactions must see the primary, such as the read before a write; the work must start its own transactions
+    public <T> T onPrimary(Supplier<T> work)
+    {
+        if(!enabled || Boolean.TRUE.equals(forced.get()))
+            return work.get();
+
+        forced.set(Boolean.TRUE);
+        try
+        {
+            return work.get();
+        }
+
+        finally
+        {
+            forced.remove();
+        }
+    }
+
+    //Whether a read-only connection requested on this thread must come from the primary
+    boolean primaryRequired()
+    {
+        if(Boolean.TRUE.equals(forced.get()))
+            return true;
+        if(writtenUntil.isEmpty())
+            return false;
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if(auth == null)
+            return false;
+        return auth instanceof JwtAuthenticationToken jwt && isRecent(jwt.getUserId()) || isRecent(auth.getName());
+    }
+}
@@ -0,0 +1,63 @@
+package com.React.Jwt.Login.Database;                           //Package declaration
+import com.zaxxer.hikari.HikariDataSource;                      //Connection pool used for both databases
+import org.springframework.beans.factory.annotation.Qualifier;  //Selects the pools, which are not default candidates
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;     //Only active when a replica is configured
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;           //url, username, password and driver of a database
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer; //Adjusts Hibernate's connection handling
+import org.springframework.boot.context.properties.ConfigurationProperties;        //Binds pool settings
+import org.springframework.context.annotation.Bean;             //Marks a method as a Spring bean producer
+import org.springframework.context.annotation.Configuration;    //Declares this class as a Spring configuration
+import org.springframework.context.annotation.Primary;          //The DataSource injected everywhere
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;  //Defers the choice of database to the first statement
+import javax.sql.DataSource;                                    //Connection pools
+
+//Read/write split: read-only transactions (every repository finder, findViews) use the replica, everything else the primary.
+//The primary comes from spring.datasource.*, the replica from replica.datasource.*; without replica.datasource.url Boot's single pool is used.
+@Configuration  //Marks class as a source of Spring bean definitions
+@ConditionalOnProperty("replica.datasource.url")
+public class ReplicaDataSourceConfig
+{
+    @Bean(defaultCandidate = false) //Only injected where asked for by name, so it does not compete with spring.datasource
+    @ConfigurationProperties("replica.datasource")
+    public DataSourceProperties replicaDataSourceProperties()
+    {
+        return new DataSourceProperties();
+    }
+
+    @Bean(defaultCandidate = false) //Writes and primary reads; pool settings from spring.datasource.hikari.*
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties)
+    {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(defaultCandidate = false) //Read-only connections; pool settings from replica.datasource.hikari.*
+    @ConfigurationProperties("replica.datasource.hikari")
+    public HikariDataSource replicaDataSource(@Qualifier("replicaDataSourceProperties") DataSourceProperties replicaDataSourceProperties)
+    {
+        HikariDataSource replica = replicaDataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean   //Replica for read-only transactions outside a read-your-writes window, otherwise the primary; also binds the datasource.reads meters
+    public ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+    @Qualifier("replicaDataSource") DataSource replicaDataSource, ReadYourWrites readYourWrites)
+    {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, readYourWrites);
+    }
+
+    @Bean   //The DataSource used by JPA, JdbcTemplate and schema initialization
+    @Primary
+    public DataSource dataSource(@Qualifier("replicaRoutingDataSource") DataSource replicaRoutingDataSource)
+    {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);    //Routes at the first statement, once the transaction is marked read-only
+    }
+
+    @Bean   //Open-session-in-view keeps the session for the whole request; hand the connection back after each transaction so the next one can pick its database
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction()
+    {
+        return properties -> properties.put("hibernate.connection.handling_mode", "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+}
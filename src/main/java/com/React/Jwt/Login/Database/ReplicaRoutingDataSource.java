@@ -0,0 +1,50 @@
+package com.React.Jwt.Login.Database;                           //Package declaration
+import io.micrometer.core.instrument.FunctionCounter;           //Routing counters
+import io.micrometer.core.instrument.MeterRegistry;             //Registry the counters are published to
+import io.micrometer.core.instrument.binder.MeterBinder;        //Lets Spring Boot bind the meters automatically
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;   //Picks a target per connection request
+import org.springframework.transaction.support.TransactionSynchronizationManager;  //Whether the current transaction is read-only
+import javax.sql.DataSource;                                    //Connection pools
+import java.util.Map;                                           //Targets by key
+import java.util.concurrent.atomic.LongAdder;                   //Low-contention counters
+
+//Read-only transactions get replica connections, unless read-your-writes needs the primary for this thread; everything else gets the primary.
+//Must sit behind a LazyConnectionDataSourceProxy, so the choice is made at the first statement, once the transaction is marked read-only.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder
+{
+    private enum Target { PRIMARY, REPLICA }
+
+    private final ReadYourWrites readYourWrites;        //Decides when a read must see the primary
+    private final LongAdder replicaReads = new LongAdder();     //Read-only transactions sent to the replica
+    private final LongAdder primaryReads = new LongAdder();     //Read-only transactions kept on the primary by read-your-writes
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReadYourWrites readYourWrites)
+    {
+        this.readYourWrites = readYourWrites;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override   //Called once per physical connection
+    protected Object determineCurrentLookupKey()
+    {
+        if(!TransactionSynchronizationManager.isCurrentTransactionReadOnly())
+            return Target.PRIMARY;
+
+        if(readYourWrites.primaryRequired())
+        {
+            primaryReads.increment();
+            return Target.PRIMARY;
+        }
+
+        replicaReads.increment();
+        return Target.REPLICA;
+    }
+
+    @Override   //Publish read-only transactions by target under /actuator/metrics/datasource.reads
+    public void bindTo(MeterRegistry registry)
+    {
+        FunctionCounter.builder("datasource.reads", replicaReads, LongAdder::sum).tag("target", "replica").register(registry);
+        FunctionCounter.builder("datasource.reads", primaryReads, LongAdder::sum).tag("target", "primary").register(registry);
+    }
+}
@@ -41,4 +41,11 @@ public class User
     @Enumerated(EnumType.STRING)                            //Store enum as string
     @Column(name = "role", nullable = false)                //Non-nullable 'role' column
     private Role role;                                      //User's role (e.g., ADMIN, CUSTOMER)
+
+    @Column(name = "credentialEpoch", nullable = false)     //Non-nullable 'credentialEpoch' column
+    private long credentialEpoch;                           //Bumped when password, username or role change; older tokens are rejected
+
+    @Version                                                //Optimistic lock: Hibernate bumps it on every update and rejects stale writes
+    @Column(name = "version", nullable = false)             //Non-nullable 'version' column
+    private long version;                                   //Row version; profile ETags are derived from it
 }
\ No newline at end of file
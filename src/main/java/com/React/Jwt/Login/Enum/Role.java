@@ -1,6 +1,71 @@
-package com.React.Jwt.Login.Enum;
+package com.React.Jwt.Login.Enum;                                           //Package declaration
+import org.springframework.security.core.GrantedAuthority;                  //Authority interface used by Spring Security
+import org.springframework.security.core.authority.SimpleGrantedAuthority;  //Authority implementation
+import java.util.ArrayList;                                                 //Builds the precomputed authority lists
+import java.util.List;                                                      //Authority lists
 
-public enum Role 
+public enum Role
 {
-    ADMIN, CUSTOMER, USER
-}
\ No newline at end of file
+    ADMIN, CUSTOMER, USER;
+
+    private static final List<List<GrantedAuthority>> AUTHORITIES_BY_MASK = new ArrayList<>();   //Every combination of roles, indexed by mask
+
+    private final SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + name());  //Shared "ROLE_" authority
+    private final int mask = 1 << ordinal();                                                        //Bit of this role in a role mask
+
+    static
+    {
+        for(int mask = 0; mask < 1 << values().length; mask++)
+        {
+            List<GrantedAuthority> authorities = new ArrayList<>();
+            for(Role role : values())
+                if((mask & role.mask) != 0)
+                    authorities.add(role.authority);
+            AUTHORITIES_BY_MASK.add(List.copyOf(authorities));
+        }
+    }
+
+    public SimpleGrantedAuthority authority()
+    {
+        return authority;       //Singleton authority for this role
+    }
+
+    public int mask()
+    {
+        return mask;            //Single-bit mask for this role
+    }
+
+    //True when the mask contains this role
+    public boolean isIn(int roleMask)
+    {
+        return (roleMask & mask) != 0;
+    }
+
+    //Mask for a list of role names as stored in the "roles" claim; unknown names throw IllegalArgumentException
+    public static int maskOf(List<String> roleNames)
+    {
+        int roleMask = 0;
+        for(String roleName : roleNames)
+            roleMask |= valueOf(roleName).mask;
+        return roleMask;
+    }
+
+    //Shared, immutable authorities for a role mask; nothing is allocated per request
+    public static List<GrantedAuthority> authoritiesOf(int roleMask)
+    {
+        return AUTHORITIES_BY_MASK.get(roleMask);
+    }
+
+    //Role for "ADMIN" or "ROLE_ADMIN", or null when the name is not a role
+    public static Role fromName(String name)
+    {
+        if(name == null)
+            return null;
+
+        int offset = name.startsWith("ROLE_") ? 5 : 0;    //Compared in place, without a substring
+        for(Role role : values())
+            if(name.length() - offset == role.name().length() && name.startsWith(role.name(), offset))
+                return role;
+        return null;
+    }
+}
@@ -1,7 +1,12 @@
 package com.React.Jwt.Login.Exception;              //Package declaration
+import org.springframework.dao.OptimisticLockingFailureException;  //Import exception for an update based on an outdated row version
+import org.springframework.http.HttpHeaders;        //Import standard header names such as Retry-After
 import org.springframework.http.HttpStatus;         //Import HTTP status codes from Spring
 import org.springframework.http.ResponseEntity;     //Import class for building HTTP responses
+import org.springframework.validation.ObjectError;  //Import a single validation failure
+import org.springframework.web.bind.MethodArgumentNotValidException;   //Import exception for a @Valid request body that failed validation
 import org.springframework.web.bind.annotation.*;   //Import annotations to define exception handling behavior
+import java.util.stream.Collectors;                 //Import collector joining the validation messages
 
 @RestControllerAdvice   //Marks the class as a centralized exception handler for all controllers
 public class GlobalExceptionHandler 
@@ -22,6 +27,14 @@ public class GlobalExceptionHandler
         return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
     }
 
+    //Handles exceptions when the phone number already exists
+    @ExceptionHandler(PhoneAlreadyExistsException.class)
+    public ResponseEntity<String> handlePhoneExists(PhoneAlreadyExistsException e) 
+    {
+        //Returns HTTP 409 Conflict with the exception message
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
     //Handles exceptions when the user is not found
     @ExceptionHandler(UserNotFoundException.class)
     public ResponseEntity<String> handleUserNotFound(UserNotFoundException e) 
@@ -30,6 +43,39 @@ public class GlobalExceptionHandler
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
     }
 
+    //Handles invalid request input such as a malformed pagination cursor
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException e) 
+    {
+        //Returns HTTP 400 Bad Request with the exception message
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    //Handles request bodies failing their @Valid constraints, before any service work is done
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<String> handleInvalidBody(MethodArgumentNotValidException e) 
+    {
+        //Returns HTTP 400 Bad Request with every violated constraint, in a stable order
+        return ResponseEntity.badRequest().body(e.getBindingResult().getAllErrors().stream().map(ObjectError::getDefaultMessage).sorted()
+        .collect(Collectors.joining("; ")));
+    }
+
+    //Handles exceptions when the password hashing pool is saturated
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<String> handlePasswordHashingBusy(PasswordHashingBusyException e) 
+    {
+        //Returns HTTP 503 Service Unavailable with a Retry-After hint
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds())).body(e.getMessage());
+    }
+
+    //Handles updates that lost a race with another update of the same user
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleConcurrentUpdate(OptimisticLockingFailureException e) 
+    {
+        //Returns HTTP 409 Conflict; the client reloads the profile and retries
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("User was modified by another request; reload and retry");
+    }
+
     //Handles any other unhandled exceptions
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleAllOtherErrors(Exception ex) 
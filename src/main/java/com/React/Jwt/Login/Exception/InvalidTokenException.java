@@ -0,0 +1,9 @@
+package com.React.Jwt.Login.Exception;  //Package declaration
+
+public class InvalidTokenException extends RuntimeException
+{
+    public InvalidTokenException()
+    {
+        super("Invalid or expired token");  //Signature, claims or expiry check failed
+    }
+}
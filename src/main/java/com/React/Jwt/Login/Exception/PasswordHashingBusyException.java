@@ -0,0 +1,17 @@
+package com.React.Jwt.Login.Exception;  //Package declaration
+
+public class PasswordHashingBusyException extends RuntimeException 
+{ 
+    private final long retryAfterSeconds;   //Suggested client back-off for the Retry-After header
+
+    public PasswordHashingBusyException(long retryAfterSeconds) 
+    {
+        super("Password hashing is at capacity, retry later");  //Custom error message for a saturated hashing pool
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() 
+    {
+        return retryAfterSeconds;
+    }
+}
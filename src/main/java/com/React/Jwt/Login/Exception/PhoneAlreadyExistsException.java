@@ -0,0 +1,9 @@
+package com.React.Jwt.Login.Exception;  //Package declaration
+
+public class PhoneAlreadyExistsException extends RuntimeException 
+{ 
+    public PhoneAlreadyExistsException(String phone) 
+    {
+        super(phone + " already exists in database");       //Custom error message for phone number already in use
+    }
+}
\ No newline at end of file
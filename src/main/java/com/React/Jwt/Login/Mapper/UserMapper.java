@@ -1,11 +1,19 @@
 package com.React.Jwt.Login.Mapper;     //Package declaration
 import com.React.Jwt.Login.DTO.UserDTO; //Importing UserDTO for mapping
 import com.React.Jwt.Login.Entity.User; //Importing User entity for mapping
+import com.React.Jwt.Login.Repository.UserView; //Importing read-only projection for mapping
 import org.mapstruct.Mapper;            //Importing MapStruct Mapper annotation
+import org.mapstruct.Mapping;           //Importing MapStruct Mapping annotation
 
 @Mapper(componentModel = "spring")      //Marks this interface as a MapStruct mapper for Spring context
 public interface UserMapper 
 {
     UserDTO toDTO(User user);       //Converts User entity to UserDTO
+
+    @Mapping(target = "password", ignore = true)    //Not part of the projection
+    UserDTO toDTO(UserView user);   //Converts read-only projection to UserDTO
+
+    @Mapping(target = "credentialEpoch", ignore = true)   //Server-managed, never taken from client input
+    @Mapping(target = "version", ignore = true)           //Server-managed, never taken from client input
     User toEntity(UserDTO userDTO); //Converts UserDTO to User entity
 }
\ No newline at end of file
@@ -0,0 +1,304 @@
+package com.React.Jwt.Login.Repository;                         //Package declaration
+import com.React.Jwt.Login.Database.ReadYourWrites;             //Users written moments ago are loaded from the primary
+import com.React.Jwt.Login.Entity.User;                         //Cached user rows
+import io.micrometer.core.instrument.FunctionCounter;           //Monotonic counters read from this cache
+import io.micrometer.core.instrument.Gauge;                     //Size and hit ratio gauges
+import io.micrometer.core.instrument.MeterRegistry;             //Registry the counters are published to
+import io.micrometer.core.instrument.binder.MeterBinder;        //Lets Spring Boot bind the meters automatically
+import org.springframework.beans.factory.annotation.Value;      //Annotation to inject property values
+import org.springframework.stereotype.Component;                //Marks the class as a Spring component
+import java.util.HashMap;                                       //Username -> userId index
+import java.util.LinkedHashMap;                                 //Access-ordered map for LRU eviction
+import java.util.Map;                                           //Map interface
+import java.util.Optional;                                      //Lookup results
+import java.util.concurrent.CompletableFuture;                  //Result of an in-flight load, shared by concurrent misses
+import java.util.concurrent.CompletionException;                //Wraps a failed shared load
+import java.util.concurrent.ConcurrentHashMap;                  //In-flight loads by key
+import java.util.concurrent.atomic.LongAdder;                   //Low-contention counters
+import java.util.function.Supplier;                             //Repository query for a miss
+
+//Bounded, expiring read-through cache of user rows by id and by username, in front of UserRepository for the hot read paths.
+//Callers always get their own copy; writers read the repository directly and call invalidate once their change is saved.
+@Component  //Spring-managed bean
+public class UserCache implements MeterBinder
+{
+    private final UserRepository userRepository;        //Source of truth
+    private final ReadYourWrites readYourWrites;        //Keeps a replica's stale copy out of the cache right after a write
+    private final boolean enabled;                      //Property switch (users.cache.enabled)
+    private final int maximumSize;                      //Upper bound on cached users
+    private final long ttlMillis;                        //Bounds staleness from writes made by other nodes
+    private final LinkedHashMap<Long, Entry> entries;   //userId -> snapshot, in access order
+    private final Map<String, Long> idsByUsername = new HashMap<>();    //Second key into entries (guarded by entries)
+    private final ConcurrentHashMap<Object, CompletableFuture<Optional<User>>> loading = new ConcurrentHashMap<>();  //One query per key at a time
+    private long generation;                            //Bumped by every invalidation; a load that straddles one is not stored (guarded by entries)
+    private final LongAdder hits = new LongAdder();     //Lookups answered from the cache
+    private final LongAdder misses = new LongAdder();   //Lookups that needed a query
+    private final LongAdder coalesced = new LongAdder();//Misses that waited for another thread's query instead of running their own
+    private final LongAdder evictions = new LongAdder();//Entries removed for size or expiry
+
+    //Constructor reading cache settings from application properties
+    public UserCache(UserRepository userRepository, ReadYourWrites readYourWrites, @Value("${users.cache.enabled:true}") boolean enabled,
+    @Value("${users.cache.maximumSize:10000}") int maximumSize, @Value("${users.cache.ttl:60000}") long ttlMillis)
+    {
+        this.userRepository = userRepository;
+        this.readYourWrites = readYourWrites;
+        this.enabled = enabled;
+        this.maximumSize = maximumSize;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest)
+            {
+                boolean full = size() > UserCache.this.maximumSize;    //Drop least recently used when over the bound
+                if(full)
+                {
+                    idsByUsername.remove(eldest.getValue().user().getUsername(), eldest.getKey());
+                    evictions.increment();
+                }
+                return full;
+            }
+        };
+    }
+
+    //User by id, from the cache when fresh
+    public Optional<User> findById(Long userId)
+    {
+        return find(userId, () -> userRepository.findById(userId));
+    }
+
+    //User by username, from the cache when fresh
+    public Optional<User> findByUsername(String username)
+    {
+        return find(username, () -> userRepository.findByUsername(username));
+    }
+
+    //Public columns of a user by id, for read-only endpoints; loaded like findById on a miss, but never copied
+    public Optional<UserView> findViewById(Long userId)
+    {
+        return findView(userId, () -> userRepository.findById(userId));
+    }
+
+    //Public columns of a user by username, for read-only endpoints
+    public Optional<UserView> findViewByUsername(String username)
+    {
+        return findView(username, () -> userRepository.findByUsername(username));
+    }
+
+    //Row version of a user, for conditional requests: read from a fresh entry, otherwise a single-column query; the row is neither loaded nor cached
+    public Optional<Long> findVersionById(Long userId)
+    {
+        Entry cached = enabled && userId != null ? lookup(userId, System.currentTimeMillis()) : null;
+        if(cached != null)
+        {
+            hits.increment();
+            return Optional.of(cached.view().version());
+        }
+
+        if(enabled)
+            misses.increment();
+        return load(userId, () -> userRepository.findVersionById(userId));
+    }
+
+    //Forget a user after a committed change or delete; lookups that start after this returns see the database.
+    //usernames are the ones the change touched (old and new): a lookup by a name that was never cached cannot be traced to the user otherwise.
+    public void invalidate(Long userId, String... usernames)
+    {
+        String cachedUsername = null;
+        synchronized(entries)
+        {
+            generation++;
+            Entry entry = entries.remove(userId);
+            if(entry != null)
+            {
+                cachedUsername = entry.user().getUsername();
+                idsByUsername.remove(cachedUsername, userId);
+            }
+        }
+
+        //Later misses for this user start a new query instead of joining one that began before the change; other users' loads stay shared
+        loading.remove(userId);
+        if(cachedUsername != null)
+            loading.remove(cachedUsername);
+        for(String username : usernames)
+            if(username != null)
+                loading.remove(username);
+    }
+
+    private Optional<UserView> findView(Object key, Supplier<Optional<User>> query)
+    {
+        Entry cached = enabled && key != null ? lookup(key, System.currentTimeMillis()) : null;
+        if(cached == null)
+            return find(key, query).map(UserCache::viewOf);     //Counted as a miss there
+
+        hits.increment();
+        return Optional.of(cached.view());
+    }
+
+    private Optional<User> find(Object key, Supplier<Optional<User>> query)
+    {
+        if(!enabled || key == null)
+            return load(key, query);
+
+        Entry cached = lookup(key, System.currentTimeMillis());
+        if(cached != null)
+        {
+            hits.increment();
+            return Optional.of(copyOf(cached.user()));
+        }
+
+        misses.increment();
+        CompletableFuture<Optional<User>> flight = new CompletableFuture<>();
+        CompletableFuture<Optional<User>> leader = loading.putIfAbsent(key, flight);
+        if(leader != null)
+        {
+            coalesced.increment();
+            return await(leader).map(UserCache::copyOf);
+        }
+
+        long startGeneration;
+        synchronized(entries)
+        {
+            startGeneration = generation;
+        }
+
+        try
+        {
+            Optional<User> loaded = load(key, query);
+            Optional<User> snapshot = loaded.map(UserCache::copyOf);   //Detached from the caller's persistence context
+            snapshot.ifPresent(user -> store(user, startGeneration));
+            flight.complete(snapshot);
+            return loaded;
+        }
+
+        catch(RuntimeException e)
+        {
+            flight.completeExceptionally(e);
+            throw e;
+        }
+
+        finally
+        {
+            loading.remove(key, flight);
+        }
+    }
+
+    //Run a miss's query, on the primary while the user is in a read-your-writes window
+    private <T> Optional<T> load(Object key, Supplier<Optional<T>> query)
+    {
+        return readYourWrites.isRecent(key) ? readYourWrites.onPrimary(query) : query.get();
+    }
+
+    //Fresh entry for an id or username, or null; expired entries are dropped on the way
+    private Entry lookup(Object key, long now)
+    {
+        synchronized(entries)
+        {
+            Long userId = key instanceof String username ? idsByUsername.get(username) : (Long) key;
+            Entry entry = userId == null ? null : entries.get(userId);
+            if(entry != null && entry.expiresAt() <= now)
+            {
+                entries.remove(userId);
+                idsByUsername.remove(entry.user().getUsername(), userId);
+                evictions.increment();
+                entry = null;
+            }
+            return entry;
+        }
+    }
+
+    //Cache a loaded row unless an invalidation happened while it was being read
+    private void store(User user, long startGeneration)
+    {
+        synchronized(entries)
+        {
+            if(generation != startGeneration)
+                return;
+
+            Entry previous = entries.put(user.getUserId(), new Entry(user, viewOf(user), System.currentTimeMillis() + ttlMillis));
+            if(previous != null)
+                idsByUsername.remove(previous.user().getUsername(), user.getUserId());
+            idsByUsername.put(user.getUsername(), user.getUserId());
+        }
+    }
+
+    //Wait for another thread's query; its failure is rethrown as is
+    private static Optional<User> await(CompletableFuture<Optional<User>> flight)
+    {
+        try
+        {
+            return flight.join();
+        }
+
+        catch(CompletionException e)
+        {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    //Cached snapshots are never handed out, so a caller changing its copy cannot change what others read
+    private static User copyOf(User user)
+    {
+        return User.builder().userId(user.getUserId()).firstName(user.getFirstName()).lastName(user.getLastName()).phone(user.getPhone())
+        .address(user.getAddress()).email(user.getEmail()).username(user.getUsername()).password(user.getPassword()).role(user.getRole())
+        .credentialEpoch(user.getCredentialEpoch()).version(user.getVersion()).build();
+    }
+
+    //Read-only public columns of a snapshot, built once when it is stored; snapshots are never modified, so it is safe to share
+    private static UserView viewOf(User user)
+    {
+        return new UserView(user.getUserId(), user.getFirstName(), user.getLastName(), user.getPhone(), user.getAddress(), user.getEmail(),
+        user.getUsername(), user.getRole(), user.getVersion());
+    }
+
+    public long getHits()
+    {
+        return hits.sum();          //Total cache hits
+    }
+
+    public long getMisses()
+    {
+        return misses.sum();        //Total cache misses, coalesced ones included
+    }
+
+    public long getCoalesced()
+    {
+        return coalesced.sum();     //Misses served by another thread's query
+    }
+
+    public long getEvictions()
+    {
+        return evictions.sum();     //Total size and expiry evictions
+    }
+
+    //Share of lookups answered from the cache
+    public double hitRatio()
+    {
+        long hit = getHits(), total = hit + getMisses();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+
+    public int size()
+    {
+        synchronized(entries)
+        {
+            return entries.size();  //Current number of cached users
+        }
+    }
+
+    @Override   //Publish counters under /actuator/metrics/users.cache.*
+    public void bindTo(MeterRegistry registry)
+    {
+        FunctionCounter.builder("users.cache.hits", this, UserCache::getHits).register(registry);
+        FunctionCounter.builder("users.cache.misses", this, UserCache::getMisses).register(registry);
+        FunctionCounter.builder("users.cache.coalesced", this, UserCache::getCoalesced).register(registry);
+        FunctionCounter.builder("users.cache.evictions", this, UserCache::getEvictions).register(registry);
+        Gauge.builder("users.cache.hitRatio", this, UserCache::hitRatio).register(registry);
+        Gauge.builder("users.cache.size", this, UserCache::size).register(registry);
+    }
+
+    //Snapshot, its public view and the time it stops being served
+    private record Entry(User user, UserView view, long expiresAt)
+    {
+    }
+}
@@ -1,14 +1,23 @@
 package com.React.Jwt.Login.Repository;                         //Package declaration
 import java.util.Optional;                                      //Importing Optional to safely handle nullable values
 import org.springframework.data.jpa.repository.JpaRepository;   //Importing JpaRepository to leverage CRUD methods
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;    //Importing criteria-based queries for filtered listing
 import org.springframework.stereotype.Repository;               //Importing Repository annotation to indicate it's a repository
+import org.springframework.transaction.annotation.Transactional; //Derived queries get no transaction of their own; read-only ones can use the replica
 import com.React.Jwt.Login.Entity.User;                         //Importing the User entity class
 
 @Repository //Marks this interface as a repository bean for Spring's component scanning
-public interface UserRepository extends JpaRepository<User, Long> 
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User>, UserViewRepository 
 { 
+    @Transactional(readOnly = true)
     Optional<User> findByUsername(String username); //Finds a User by their username
+
+    @Transactional(readOnly = true)
     Optional<User> findByEmail(String email);       //Finds a User by their email
+
+    @Transactional(readOnly = true)
     boolean existsByUsername(String username);      //Checks if a User exists with the given username
+
+    @Transactional(readOnly = true)
     boolean existsByEmail(String email);            //Checks if a User exists with the given email
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.React.Jwt.Login.Repository;                         //Package declaration
+import com.React.Jwt.Login.Entity.User;                         //Importing the User entity class
+import com.React.Jwt.Login.Enum.Role;                           //Importing Role enum for the role filter
+import org.springframework.data.jpa.domain.Specification;       //Composable criteria predicates
+
+//Criteria for listing users; built with the Criteria API so no JPQL string has to be parsed
+public final class UserSpecifications 
+{
+    private UserSpecifications() 
+    {
+    }
+
+    //Keyset condition: rows strictly after the last userId of the previous page (no condition on the first page)
+    public static Specification<User> userIdAfter(Long lastUserId) 
+    {
+        return (root, query, cb) -> lastUserId == null ? null : cb.greaterThan(root.get("userId"), lastUserId);
+    }
+
+    //Exact role match (no condition when absent)
+    public static Specification<User> hasRole(Role role) 
+    {
+        return (root, query, cb) -> role == null ? null : cb.equal(root.get("role"), role);
+    }
+
+    //Case-insensitive prefix match on first name, last name or username (no condition when absent)
+    public static Specification<User> nameStartsWith(String name) 
+    {
+        return (root, query, cb) -> 
+        {
+            if(name == null || name.isBlank())
+                return null;
+
+            String pattern = escapeLike(name.strip().toLowerCase()) + "%";
+            return cb.or(cb.like(cb.lower(root.get("firstName")), pattern, '\\'), cb.like(cb.lower(root.get("lastName")), pattern, '\\'), 
+            cb.like(cb.lower(root.get("username")), pattern, '\\'));
+        };
+    }
+
+    //User input is matched literally, not as LIKE wildcards
+    private static String escapeLike(String value) 
+    {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,18 @@
+package com.React.Jwt.Login.Repository;         //Package declaration
+import com.React.Jwt.Login.Enum.Role;           //Importing Role enum
+
+//Read-only projection of the public user columns; queries returning it select only these, never the password hash,
+//and produce no managed entity, so nothing enters the persistence context or its dirty-checking snapshots.
+//A class rather than an interface: Spring Data builds it with a constructor expression instead of a proxy per row.
+public record UserView(
+    Long userId,            //User's unique ID
+    String firstName,       //User's first name
+    String lastName,        //User's last name
+    String phone,           //User's phone number
+    String address,         //User's home address
+    String email,           //User's email
+    String username,        //User's username
+    Role role,              //User's role
+    long version)           //Row version, for the profile ETag
+{
+}
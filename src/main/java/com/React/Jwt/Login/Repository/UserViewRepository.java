@@ -0,0 +1,13 @@
+package com.React.Jwt.Login.Repository;                         //Package declaration
+import com.React.Jwt.Login.Entity.User;                         //Importing the User entity class
+import org.springframework.data.jpa.domain.Specification;       //Composable criteria predicates
+import java.util.List;                                          //Page results
+import java.util.Optional;                                      //Version lookup result
+
+//Read-only queries returning UserView rows instead of entities; implemented by UserViewRepositoryImpl and mixed into UserRepository
+public interface UserViewRepository
+{
+    List<UserView> findViews(Specification<User> specification, int limit);    //Public columns of matching Users in userId order, at most limit rows
+
+    Optional<Long> findVersionById(Long userId);                                //Row version alone, for conditional requests
+}
@@ -0,0 +1,61 @@
+package com.React.Jwt.Login.Repository;                         //Package declaration
+import com.React.Jwt.Login.Entity.User;                         //Importing the User entity class
+import com.React.Jwt.Login.Enum.Role;                           //Role column
+import jakarta.persistence.EntityManager;                       //Runs the criteria query
+import jakarta.persistence.PersistenceContext;                  //Injects the shared, transaction-bound EntityManager
+import jakarta.persistence.Tuple;                               //One row of selected columns
+import jakarta.persistence.criteria.CriteriaBuilder;            //Criteria factory
+import jakarta.persistence.criteria.CriteriaQuery;              //Query under construction
+import jakarta.persistence.criteria.Predicate;                  //Specification condition
+import jakarta.persistence.criteria.Root;                       //The users table
+import org.springframework.data.jpa.domain.Specification;       //Composable criteria predicates
+import org.springframework.transaction.annotation.Transactional; //Read-only transaction, as for the inherited finders
+import java.util.List;                                          //Page results
+import java.util.Optional;                                      //Version lookup result
+
+//Selects the public columns as tuples and builds each UserView directly. Spring Data's own projections do not fit here:
+//interface projections wrap every row in a proxy over a tuple-backed map, and Hibernate 6.0 cannot match
+//a constructor expression to a record with an enum component.
+@Transactional(readOnly = true)    //Same transaction semantics as SimpleJpaRepository's finders
+public class UserViewRepositoryImpl implements UserViewRepository
+{
+    private static final String[] COLUMNS = { "userId", "firstName", "lastName", "phone", "address", "email", "username", "role", "version" };    //UserView component order
+
+    @PersistenceContext     //Shared EntityManager proxy
+    private EntityManager entityManager;
+
+    @Override
+    public List<UserView> findViews(Specification<User> specification, int limit)
+    {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<User> root = query.from(User.class);
+        query.multiselect(root.get(COLUMNS[0]), root.get(COLUMNS[1]), root.get(COLUMNS[2]), root.get(COLUMNS[3]), root.get(COLUMNS[4]),
+        root.get(COLUMNS[5]), root.get(COLUMNS[6]), root.get(COLUMNS[7]), root.get(COLUMNS[8]));
+        Predicate predicate = specification == null ? null : specification.toPredicate(root, query, cb);
+        if(predicate != null)
+            query.where(predicate);
+        query.orderBy(cb.asc(root.get(COLUMNS[0])));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList().stream().map(UserViewRepositoryImpl::toView).toList();
+    }
+
+    @Override   //One BIGINT read through the primary key index
+    public Optional<Long> findVersionById(Long userId)
+    {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<User> root = query.from(User.class);
+        query.select(root.get("version")).where(cb.equal(root.get("userId"), userId));
+
+        return entityManager.createQuery(query).getResultStream().findFirst();
+    }
+
+    //Tuple elements are in COLUMNS order
+    private static UserView toView(Tuple row)
+    {
+        return new UserView(row.get(0, Long.class), row.get(1, String.class), row.get(2, String.class), row.get(3, String.class),
+        row.get(4, String.class), row.get(5, String.class), row.get(6, String.class), row.get(7, Role.class),
+        row.get(8, Long.class));
+    }
+}
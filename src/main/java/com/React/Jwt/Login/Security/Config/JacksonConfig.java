@@ -0,0 +1,17 @@
+package com.React.Jwt.Login.Security.Config;                    //Package declaration
+import com.fasterxml.jackson.databind.Module;                   //Jackson extension registered with the application's ObjectMapper
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;  //Replaces reflective getter/setter calls with generated lambdas
+import org.springframework.context.annotation.Bean;             //Marks a method as a Spring bean producer
+import org.springframework.context.annotation.Configuration;    //Declares this class as a Spring configuration
+
+//Spring Boot adds every Module bean to the ObjectMapper used for request and response bodies,
+//so login, refresh and user responses are (de)serialized without a reflective call per property
+@Configuration  //Marks class as a source of Spring bean definitions
+public class JacksonConfig 
+{
+    @Bean   //Defines the Blackbird module bean
+    public Module blackbirdModule() 
+    {
+        return new BlackbirdModule();   //Lambdas are generated per property on first use of each type
+    }
+}
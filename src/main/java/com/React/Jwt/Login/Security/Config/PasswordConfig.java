@@ -0,0 +1,51 @@
+package com.React.Jwt.Login.Security.Config;                                                                //Declares the package for security configuration
+import java.util.HashMap;                                                                                   //Encoders by id
+import java.util.Map;                                                                                       //Map interface
+import org.springframework.beans.factory.annotation.Value;                                                  //Annotation to inject property values
+import org.springframework.context.annotation.Bean;                                                         //Enables creation of Spring beans
+import org.springframework.context.annotation.Configuration;                                                //Marks the class as a Spring configuration class
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;                                    //Argon2 encoder for stored "{argon2}" hashes
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;                                    //BCrypt encoder used for new hashes
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;                              //Picks the encoder from the "{id}" prefix
+import org.springframework.security.crypto.password.LdapShaPasswordEncoder;                                 //Legacy "{ldap}" hashes
+import org.springframework.security.crypto.password.Md4PasswordEncoder;                                     //Legacy "{MD4}" hashes
+import org.springframework.security.crypto.password.MessageDigestPasswordEncoder;                           //Legacy "{MD5}", "{SHA-1}" and "{SHA-256}" hashes
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;                                    //Legacy "{noop}" plain text passwords
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;                                  //PBKDF2 encoder for stored "{pbkdf2}" hashes
+import org.springframework.security.crypto.password.StandardPasswordEncoder;                                //Legacy "{sha256}" hashes
+import org.springframework.security.crypto.scrypt.SCryptPasswordEncoder;                                    //SCrypt encoder for stored "{scrypt}" hashes
+import org.springframework.security.crypto.password.PasswordEncoder;                                        //Interface for password encoding
+import com.React.Jwt.Login.Security.Password.BCryptCostCalibrator;                                          //Startup BCrypt cost calibration
+
+//Password encoding, kept apart from the servlet filter chain so the reactive variant hashes exactly the same way
+@Configuration  //Indicates this class provides Spring bean definitions
+public class PasswordConfig 
+{
+    @Bean   //Declares PasswordEncoder bean: the PasswordEncoderFactories set, with the BCrypt cost calibrated for this machine
+    @SuppressWarnings("deprecation")    //The legacy encoders are kept only so their hashes can still be verified and upgraded
+    public PasswordEncoder passwordEncoder(@Value("${password.bcrypt.strength:0}") int strength, @Value("${password.bcrypt.latencyBudget:250}") long latencyBudget, 
+    @Value("${password.bcrypt.minStrength:10}") int minStrength, @Value("${password.bcrypt.maxStrength:16}") int maxStrength) 
+    {
+        //A fixed strength skips calibration; 0 measures at boot and picks the highest cost within the latency budget
+        int bcryptStrength = strength > 0 ? strength : BCryptCostCalibrator.calibrate(latencyBudget, minStrength, maxStrength);
+
+        //New hashes use "{bcrypt}"; every other id PasswordEncoderFactories knows still verifies hashes stored by older configurations,
+        //and upgradeEncoding reports them so the next successful login rehashes them with BCrypt
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptPasswordEncoder(bcryptStrength));
+        encoders.put("ldap", new LdapShaPasswordEncoder());
+        encoders.put("MD4", new Md4PasswordEncoder());
+        encoders.put("MD5", new MessageDigestPasswordEncoder("MD5"));
+        encoders.put("noop", NoOpPasswordEncoder.getInstance());
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_5());
+        encoders.put("pbkdf2@SpringSecurity_v5_8", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        encoders.put("scrypt", SCryptPasswordEncoder.defaultsForSpringSecurity_v4_1());
+        encoders.put("scrypt@SpringSecurity_v5_8", SCryptPasswordEncoder.defaultsForSpringSecurity_v5_8());
+        encoders.put("SHA-1", new MessageDigestPasswordEncoder("SHA-1"));
+        encoders.put("SHA-256", new MessageDigestPasswordEncoder("SHA-256"));
+        encoders.put("sha256", new StandardPasswordEncoder());
+        encoders.put("argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_2());
+        encoders.put("argon2@SpringSecurity_v5_8", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        return new DelegatingPasswordEncoder("bcrypt", encoders);
+    }
+}
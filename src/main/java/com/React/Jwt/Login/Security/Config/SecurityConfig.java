@@ -9,49 +9,44 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.core.userdetails.User;                                                  //Utility to build user details
 import org.springframework.security.core.userdetails.UserDetailsService;                                    //Interface to fetch user details from the DB
 import org.springframework.security.core.userdetails.UsernameNotFoundException;                             //Exception thrown if username is not found
-import org.springframework.security.crypto.factory.PasswordEncoderFactories;                                //Factory to create password encoders
 import org.springframework.security.crypto.password.PasswordEncoder;                                        //Interface for password encoding
 import org.springframework.security.web.SecurityFilterChain;                                                //Defines the security filter chain
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;                //Filter for username/password authentication
 import org.springframework.web.cors.CorsConfiguration;                                                      //Represents CORS configuration
 import org.springframework.web.cors.CorsConfigurationSource;                                                //Source for CORS configuration
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;                                        //URL-based CORS config source
-import com.React.Jwt.Login.Repository.UserRepository;                                                       //JPA repository interface for user data
+import com.React.Jwt.Login.Controller.UserController;                                                       //Response header names exposed to the browser
+import com.React.Jwt.Login.Enum.Role;                                                                       //Roles that URL rules may refer to
+import com.React.Jwt.Login.Repository.UserCache;                                                            //Cached user lookups in front of the repository
 import com.React.Jwt.Login.Security.JWT.JwtAuthenticationFilter;                                            //Custom JWT authentication filter
 
 @Configuration  //Indicates this class provides Spring Security configuration
 public class SecurityConfig 
 {
-    private final UserRepository userRepository;                    //Dependency to access user data
+    private final UserCache userCache;                              //Cached access to user data
     private final JwtAuthenticationFilter jwtAuthenticationFilter;  //Custom filter for handling JWTs
 
     //Constructor injection for dependencies
-    public SecurityConfig(UserRepository userRepository, JwtAuthenticationFilter jwtAuthenticationFilter) 
+    public SecurityConfig(UserCache userCache, JwtAuthenticationFilter jwtAuthenticationFilter) 
     {
-        this.userRepository = userRepository;
+        this.userCache = userCache;
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
     }
 
-    @Bean   //Declares PasswordEncoder bean
-    public PasswordEncoder passwordEncoder() 
-    {
-        return PasswordEncoderFactories.createDelegatingPasswordEncoder();  //Returns a default delegating password encoder
-    }
-
     @Bean   //Declares UserDetailsService bean
     public UserDetailsService userDetailsService() 
     {
-        //Returns lambda: retrieves user from DB and maps it to Spring Security's User object
-        return username -> userRepository.findByUsername(username).map(user -> User.builder().username(user.getUsername())
+        //Returns lambda: retrieves user through the cache and maps it to Spring Security's User object
+        return username -> userCache.findByUsername(username).map(user -> User.builder().username(user.getUsername())
         .password(user.getPassword()).roles(user.getRole().name()).build()).orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
     }
 
     @Bean   //Declares AuthenticationManager bean
-    public AuthenticationManager authenticationManager(HttpSecurity http) throws Exception 
+    public AuthenticationManager authenticationManager(HttpSecurity http, PasswordEncoder passwordEncoder) throws Exception 
     {
         //Get AuthenticationManagerBuilder, set custom PasswordEncoder, build and return AuthenticationManager
         return http.getSharedObject(AuthenticationManagerBuilder.class).userDetailsService(userDetailsService()) //Set custom UserDetailsService
-        .passwordEncoder(passwordEncoder()).and().build();
+        .passwordEncoder(passwordEncoder).and().build();
     }
 
     @Bean   //Declares SecurityFilterChain bean
@@ -64,8 +59,11 @@ public class SecurityConfig
             .authorizeHttpRequests()                                                                            //Begin URL authorization rules
                 .requestMatchers("/h2-console/**").permitAll()                                      //Allow H2 console access
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()                             //Allow all OPTIONS preflight requests
+                .requestMatchers("/actuator/metrics/**").hasRole(Role.ADMIN.name())                 //Runtime metrics are admin only
+                .requestMatchers("/auth/revoke").hasRole(Role.ADMIN.name())                         //Revoking other users' tokens is admin only
+                .requestMatchers("/auth/logout").authenticated()                                    //Logout needs a live token
                 .requestMatchers("/auth/protected", "/users/me")                                    //Secure these endpoints
-                    .hasAnyRole("CUSTOMER", "ADMIN", "WAREHOUSE_SUPERVISOR", "SALES_CLERK")             //Require any of these roles
+                    .hasAnyRole(roles("CUSTOMER", "ADMIN"))                                         //Require any of these roles
                 .anyRequest().permitAll()                                                                       //Allow all other requests as open access
             .and()
             .headers().frameOptions().disable()                                                                 //Disable frameOptions (required for H2 console)
@@ -75,6 +73,25 @@ public class SecurityConfig
         return http.build();                                                                                    //Return built SecurityFilterChain
     }
 
+    //Role names used in URL rules must exist in the Role enum; a typo fails startup instead of silently denying everyone
+    public static String[] roles(String... names)
+    {
+        for(String name : names)
+        {
+            try
+            {
+                Role.valueOf(name);
+            }
+
+            catch(IllegalArgumentException e)
+            {
+                throw new IllegalStateException("Unknown role in security rules: " + name, e);
+            }
+        }
+
+        return names;
+    }
+
     @Bean   //Declares CORS configuration source
     public CorsConfigurationSource corsConfigurationSource() 
     {
@@ -82,6 +99,7 @@ public class SecurityConfig
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:3000"));                            //Allow this origin
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")); //Allow these HTTP methods
         configuration.setAllowedHeaders(Arrays.asList("*"));                                                //Allow all headers
+        configuration.setExposedHeaders(Arrays.asList(JwtAuthenticationFilter.REFRESHED_TOKEN_HEADER, UserController.NEXT_CURSOR_HEADER));     //Let the SPA read renewed tokens and page cursors
         configuration.setAllowCredentials(true);                                                //Allow sending credentials (e.g. cookies)
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();                         //URL-mapped CORS source
         source.registerCorsConfiguration("/**", configuration);                                         //Apply CORS config to all paths
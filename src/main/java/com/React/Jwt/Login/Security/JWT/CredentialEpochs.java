@@ -0,0 +1,188 @@
+package com.React.Jwt.Login.Security.JWT;                       //Package declaration
+import org.slf4j.Logger;                                        //Logging API
+import org.slf4j.LoggerFactory;                                 //Logger factory
+import org.springframework.beans.factory.annotation.Autowired;  //Picks the JDBC constructor for this bean
+import org.springframework.boot.context.event.ApplicationReadyEvent;   //Fired once the schema is in place
+import org.springframework.context.event.EventListener;         //Startup hook
+import org.springframework.jdbc.core.JdbcTemplate;              //Reads epochs from the users table
+import org.springframework.jdbc.core.RowCallbackHandler;        //Streams rows into the map
+import org.springframework.scheduling.annotation.Scheduled;     //Periodic reload for changes made on other nodes
+import org.springframework.stereotype.Component;                //Marks the class as a Spring component
+import java.util.concurrent.locks.StampedLock;                  //Optimistic reads on the request path
+
+//userId -> credential epoch for users whose password, username or role changed; tokens minted with an older epoch are rejected
+@Component  //Spring-managed bean
+public class CredentialEpochs
+{
+    private static final Logger log = LoggerFactory.getLogger(CredentialEpochs.class);
+
+    //Epochs of users with a credential change, plus the final epoch of deleted users; a tombstone counts only once its row is gone
+    public static final String RELOAD_SQL = "SELECT userId, credentialEpoch FROM users WHERE credentialEpoch > 0 UNION ALL "
+    + "SELECT userId, credentialEpoch FROM deleted_users d WHERE NOT EXISTS (SELECT 1 FROM users u WHERE u.userId = d.userId)";
+    public static final String CLEAR_TOMBSTONE_SQL = "DELETE FROM deleted_users WHERE userId = ?";
+    public static final String TOMBSTONE_SQL = "INSERT INTO deleted_users (userId, credentialEpoch) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;            //Source of truth is users.credentialEpoch
+    private final StampedLock lock = new StampedLock(); //Writers exclusive, readers optimistic
+    private long[] table = new long[32];                //Open addressing, key at 2i and value at 2i+1; key 0 marks a free slot
+    private int size;                                   //Occupied slots
+
+    @Autowired  //The protected constructor below is for subclasses
+    public CredentialEpochs(JdbcTemplate jdbcTemplate)
+    {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    //For stores that read the users table some other way; they must override reload
+    protected CredentialEpochs()
+    {
+        this(null);
+    }
+
+    //Current epoch of a user; users that never changed credentials are not stored and have epoch 0
+    public long current(long userId)
+    {
+        long stamp = lock.tryOptimisticRead();
+        long epoch = find(table, userId);
+        if(lock.validate(stamp))
+            return epoch;
+
+        stamp = lock.readLock();                        //A write raced with us; read again under the lock
+        try
+        {
+            return find(table, userId);
+        }
+
+        finally
+        {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    //True when a verified token minted with this epoch is still acceptable. A newer epoch means another node saw a credential change
+    //this one has not reloaded yet; the token is signed, so its epoch is trusted and published here. Older epochs stay rejected.
+    public boolean isCurrent(long userId, long epoch)
+    {
+        long current = current(userId);
+        if(epoch > current)
+            advance(userId, epoch);
+        return epoch >= current;
+    }
+
+    //Publish a user's new epoch after it has been saved; epochs only move forward
+    public void advance(long userId, long epoch)
+    {
+        if(userId == 0)
+            return;
+
+        long stamp = lock.writeLock();
+        try
+        {
+            if(epoch > find(table, userId))
+                put(userId, epoch);
+        }
+
+        finally
+        {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    //Record the final epoch of a user about to be deleted, so other nodes, and this one after a restart, reject their tokens once the row is gone.
+    //Written before the delete: if the delete fails the row still exists and the tombstone is ignored.
+    public void retire(long userId, long finalEpoch)
+    {
+        jdbcTemplate.update(CLEAR_TOMBSTONE_SQL, userId);          //Left by an earlier delete of this user that failed
+        jdbcTemplate.update(TOMBSTONE_SQL, userId, finalEpoch);
+    }
+
+    public int size()
+    {
+        long stamp = lock.readLock();
+        try
+        {
+            return size;                                //Users with a non-zero epoch
+        }
+
+        finally
+        {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    //Rebuild from the users table at startup and pick up changes made by other nodes afterwards
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${jwt.credentialEpoch.reloadInterval:30000}", fixedDelayString = "${jwt.credentialEpoch.reloadInterval:30000}")
+    public void reload()
+    {
+        jdbcTemplate.query(RELOAD_SQL, (RowCallbackHandler) rs -> 
+        advance(rs.getLong("userId"), rs.getLong("credentialEpoch")));
+        log.debug("Tracking credential epochs for {} user(s)", size());
+    }
+
+    //Linear probe; reads only the array it was given so a concurrent resize cannot tear the lookup
+    private static long find(long[] table, long userId)
+    {
+        int mask = (table.length >> 1) - 1;
+        for(int slot = mix(userId) & mask;; slot = (slot + 1) & mask)
+        {
+            long key = table[slot << 1];
+            if(key == userId)
+                return table[(slot << 1) + 1];
+            if(key == 0)
+                return 0;
+        }
+    }
+
+    //Caller holds the write lock
+    private void put(long userId, long epoch)
+    {
+        int mask = (table.length >> 1) - 1;
+        int slot = mix(userId) & mask;
+        while(table[slot << 1] != 0 && table[slot << 1] != userId)
+            slot = (slot + 1) & mask;
+
+        if(table[slot << 1] == 0)
+        {
+            if((size + 1) * 2 > table.length >> 1)      //Keep the load factor at or below one half
+            {
+                resize();
+                put(userId, epoch);
+                return;
+            }
+
+            size++;
+        }
+
+        table[slot << 1] = userId;
+        table[(slot << 1) + 1] = epoch;
+    }
+
+    //Rehash into a table twice the size and publish it in one write
+    private void resize()
+    {
+        long[] old = table;
+        long[] grown = new long[old.length << 1];
+        int mask = (grown.length >> 1) - 1;
+        for(int i = 0; i < old.length; i += 2)
+        {
+            if(old[i] == 0)
+                continue;
+
+            int slot = mix(old[i]) & mask;
+            while(grown[slot << 1] != 0)
+                slot = (slot + 1) & mask;
+            grown[slot << 1] = old[i];
+            grown[(slot << 1) + 1] = old[i + 1];
+        }
+
+        table = grown;
+    }
+
+    //Spread sequential ids across the table
+    private static int mix(long key)
+    {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
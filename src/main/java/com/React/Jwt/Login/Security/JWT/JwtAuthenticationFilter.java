@@ -4,22 +4,31 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;                                         //HttpServletRequest to access request data
 import jakarta.servlet.http.HttpServletResponse;                                        //HttpServletResponse for sending responses
 import org.springframework.security.core.context.SecurityContextHolder;                 //Security context for authentication management
-import org.springframework.security.core.authority.SimpleGrantedAuthority;              //Authority for role-based access control
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;  //Authentication details
 import org.springframework.stereotype.Component;                                        //Marks the class as a Spring component
 import org.springframework.web.filter.OncePerRequestFilter;                             //Ensures the filter runs once per request
 import java.io.IOException;                                                             //Handles IO exceptions
-import java.util.List;                                                                  //List for roles
 
 @Component  //Spring-managed bean
 public class JwtAuthenticationFilter extends OncePerRequestFilter 
 {
-    private final JwtUtil JwtUtil;    //Utility for JWT operations
+    public static final String REFRESHED_TOKEN_HEADER = "X-Refreshed-Token";  //Response header carrying a renewed token
+
+    private final JwtUtil JwtUtil;                          //Utility for JWT operations
+    private final VerifiedTokenCache verifiedTokenCache;    //Recently verified tokens
+    private final JwtConfig jwtConfig;                      //Sliding renewal settings
+    private final TokenDenylist tokenDenylist;              //Logged-out and revoked tokens
+    private final CredentialEpochs credentialEpochs;        //Tokens minted before a credential change
 
     //Constructor
-    public JwtAuthenticationFilter(JwtUtil JwtUtil) 
+    public JwtAuthenticationFilter(JwtUtil JwtUtil, VerifiedTokenCache verifiedTokenCache, JwtConfig jwtConfig, TokenDenylist tokenDenylist, 
+    CredentialEpochs credentialEpochs) 
     { 
         this.JwtUtil = JwtUtil;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.jwtConfig = jwtConfig;
+        this.tokenDenylist = tokenDenylist;
+        this.credentialEpochs = credentialEpochs;
     }
 
     @Override
@@ -29,18 +38,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter
         {
             String token = parseJwt(request); //Get JWT token from request
 
-            //Validate token
-            if (token != null && JwtUtil.isTokenValid(token)) 
+            //Verify and decode the token once, or reuse a recent verification of the same token
+            VerifiedJwt jwt = token != null ? verifyToken(token) : null;
+            if (jwt != null && isStillValid(jwt))               //Revocation is checked on every request, cached or not
             { 
-                String username = JwtUtil.parseToken(token).getSubject();  //Get username from token
-                List<String> roles = JwtUtil.getRolesFromToken(token);     //Get roles from token
-
-                //Map roles to authorities
-                List<SimpleGrantedAuthority> authorities = roles.stream() .map(role -> new SimpleGrantedAuthority("ROLE_" + role)).toList();
-
-                JwtAuthenticationToken authentication = new JwtAuthenticationToken(username, authorities, token);   //Create authentication token
+                //Subject, user id and role bits come from the single verified parse
+                JwtAuthenticationToken authentication = new JwtAuthenticationToken(jwt.getSubject(), jwt.getUserId(), jwt.getRoleMask(), token);   //Create authentication token
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));              //Set request details
                 SecurityContextHolder.getContext().setAuthentication(authentication);                               //Set authentication in context
+                renewIfExpiringSoon(jwt, response);                                                                 //Sliding session renewal
             }
         } 
         
@@ -52,6 +58,42 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter
         filterChain.doFilter(request, response);                    //Continue with filter chain
     }
 
+    //Not logged out or revoked, and minted under the user's current credential epoch
+    private boolean isStillValid(VerifiedJwt jwt) 
+    {
+        return !tokenDenylist.isRevoked(jwt) && credentialEpochs.isCurrent(jwt.getUserId(), jwt.getCredentialEpoch());
+    }
+
+    //Hand back a fresh token on this response when the current one is within the renewal window of exp
+    private void renewIfExpiringSoon(VerifiedJwt jwt, HttpServletResponse response) 
+    {
+        if(!jwtConfig.isSlidingRenewalEnabled() || jwt.getExpiresAt() - System.currentTimeMillis() > jwtConfig.getSlidingRenewalWindow())
+            return;
+
+        String renewed = jwt.getRenewedToken();             //Requests sharing a cached token reuse one renewal
+        if(renewed == null) 
+        {
+            renewed = JwtUtil.renewToken(jwt);
+            jwt.setRenewedToken(renewed);
+        }
+
+        response.setHeader(REFRESHED_TOKEN_HEADER, renewed);
+    }
+
+    //Look the token up in the cache and fall back to a full verification on a miss
+    private VerifiedJwt verifyToken(String token) 
+    {
+        VerifiedJwt jwt = verifiedTokenCache.get(token);    //Cached result, evicted at the token's exp
+        if(jwt == null) 
+        {
+            jwt = JwtUtil.verify(token).orElse(null);       //Signature check and claims decode
+            if(jwt != null)
+                verifiedTokenCache.put(token, jwt);         //Only valid tokens are cached
+        }
+
+        return jwt;
+    }
+
     //Parse JWT from request header
     private String parseJwt(HttpServletRequest request) 
     { 
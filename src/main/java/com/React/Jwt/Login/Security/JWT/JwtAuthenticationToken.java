@@ -1,19 +1,22 @@
 package com.React.Jwt.Login.Security.JWT;                                       //Package declaration
+import com.React.Jwt.Login.Enum.Role;                                           //Role bits and shared authorities
 import org.springframework.security.authentication.AbstractAuthenticationToken; //Base class for auth tokens
-import org.springframework.security.core.authority.SimpleGrantedAuthority;      //Represents user roles
-import java.util.List;                                                          //List interface
 
 // Custom JWT auth token class
 public class JwtAuthenticationToken extends AbstractAuthenticationToken 
 { 
     private final String principal;     //Stores username
+    private final long userId;          //Stores user id from the "uid" claim (0 when unknown)
+    private final int roleMask;         //Stores role bits for bit-test role checks
     private final String credentials;   //Stores JWT token
 
-    //Constructor to initialize username, roles, and token
-    public JwtAuthenticationToken(String principal, List<SimpleGrantedAuthority> authorities, String credentials) 
+    //Constructor to initialize username, user id, roles, and token
+    public JwtAuthenticationToken(String principal, long userId, int roleMask, String credentials) 
     {
-        super(authorities);                     //Calls superclass with roles
+        super(Role.authoritiesOf(roleMask));    //Calls superclass with the shared authorities for these roles
         this.principal = principal;             //Sets username
+        this.userId = userId;                   //Sets user id
+        this.roleMask = roleMask;               //Sets role bits
         this.credentials = credentials;         //Sets token
         setAuthenticated(true); //Marks as authenticated
     }
@@ -30,6 +33,22 @@ public class JwtAuthenticationToken extends AbstractAuthenticationToken
         return principal;       //Returns username
     }
 
+    public long getUserId() 
+    {
+        return userId;          //Returns user id
+    }
+
+    public int getRoleMask() 
+    {
+        return roleMask;        //Returns role bits
+    }
+
+    //True when the token carries the role; a single bit test
+    public boolean hasRole(Role role) 
+    {
+        return role.isIn(roleMask);
+    }
+
     public String getToken() 
     {
         return credentials;     //Returns token
@@ -14,6 +14,24 @@ public class JwtConfig
     @Value("${jwt.refreshExpiration}")  //Inject refresh token expiration time
     private long refreshExpirationTime;
 
+    @Value("${jwt.keyId:}")             //Inject key id for jwt.secret (derived from the secret when blank)
+    private String keyId;
+
+    @Value("${jwt.keyFile:}")           //Inject optional key file path (kid=base64 secret lines plus active=kid)
+    private String keyFile;
+
+    @Value("${jwt.algorithm:HS256}")    //Inject signing algorithm: HS256, RS256 or ES256
+    private String algorithm = "HS256";
+
+    @Value("${jwt.jwksMaxAge:300}")     //Inject how long clients may cache the JWKS document, in seconds
+    private long jwksMaxAge = 300;
+
+    @Value("${jwt.slidingRenewal.enabled:false}")   //Inject whether the filter renews tokens close to expiry
+    private boolean slidingRenewalEnabled;
+
+    @Value("${jwt.slidingRenewal.window:300000}")   //Inject how close to exp (ms) a token must be to get renewed
+    private long slidingRenewalWindow = 300000;
+
     public String getSecretKey() 
     {
         return secretKey;               //Getter for secret key
@@ -28,4 +46,34 @@ public class JwtConfig
     {
         return refreshExpirationTime;   //Getter for refresh expiration time
     }
+
+    public String getKeyId() 
+    {
+        return keyId;                   //Getter for configured key id
+    }
+
+    public String getKeyFile() 
+    {
+        return keyFile;                 //Getter for key file path
+    }
+
+    public String getAlgorithm() 
+    {
+        return algorithm;               //Getter for signing algorithm
+    }
+
+    public long getJwksMaxAge() 
+    {
+        return jwksMaxAge;              //Getter for JWKS cache lifetime
+    }
+
+    public boolean isSlidingRenewalEnabled() 
+    {
+        return slidingRenewalEnabled;   //Getter for sliding renewal switch
+    }
+
+    public long getSlidingRenewalWindow() 
+    {
+        return slidingRenewalWindow;    //Getter for sliding renewal window
+    }
 }
\ No newline at end of file
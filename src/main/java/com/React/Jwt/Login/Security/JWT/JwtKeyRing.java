@@ -0,0 +1,286 @@
+package com.React.Jwt.Login.Security.JWT;                       //Package declaration
+import io.jsonwebtoken.Claims;                                  //JWT claims (payload)
+import io.jsonwebtoken.JwsHeader;                               //Header carrying the kid
+import io.jsonwebtoken.SignatureAlgorithm;                      //Configured signing algorithm
+import io.jsonwebtoken.SigningKeyResolverAdapter;               //Lets the parser pick a key per token
+import io.jsonwebtoken.security.Keys;                           //HMAC key and key pair construction
+import io.jsonwebtoken.security.SignatureException;             //Raised for unknown key ids
+import org.slf4j.Logger;                                        //Logging API
+import org.slf4j.LoggerFactory;                                 //Logger factory
+import org.springframework.scheduling.annotation.Scheduled;     //Periodic key file reload
+import org.springframework.stereotype.Component;                //Marks class as a Spring bean
+import java.io.IOException;                                     //Key file read errors
+import java.io.Reader;                                          //Key file reader
+import java.math.BigInteger;                                    //JWK number encoding
+import java.nio.charset.StandardCharsets;                       //Secret encoding
+import java.nio.file.Files;                                     //Key file access
+import java.nio.file.Path;                                      //Key file path
+import java.security.GeneralSecurityException;                  //Key decoding failures
+import java.security.Key;                                       //Security key type
+import java.security.KeyFactory;                                //Decodes PKCS#8 / X.509 keys
+import java.security.KeyPair;                                   //Asymmetric key pair
+import java.security.MessageDigest;                             //Derives a stable kid from the secret
+import java.security.NoSuchAlgorithmException;                  //Digest lookup failure
+import java.security.interfaces.ECPublicKey;                    //EC public key for JWKS
+import java.security.interfaces.RSAPublicKey;                   //RSA public key for JWKS
+import java.security.spec.PKCS8EncodedKeySpec;                  //Private key encoding
+import java.security.spec.X509EncodedKeySpec;                   //Public key encoding
+import java.util.ArrayList;                                     //JWKS key list
+import java.util.Arrays;                                        //Byte array helpers
+import java.util.Base64;                                        //Key file and JWK encoding
+import java.util.HashMap;                                       //Key lookup table
+import java.util.HexFormat;                                     //Hex kid formatting
+import java.util.LinkedHashMap;                                 //Ordered JWK members
+import java.util.List;                                          //JWKS key list
+import java.util.Map;                                           //Key lookup interface
+import java.util.Properties;                                    //Key file format
+import java.util.TreeMap;                                       //Stable JWKS ordering across nodes
+
+//Shared signing keys addressed by kid, so every replica configured with the same secret or key file verifies every token
+@Component  //Registers this class as a Spring component
+public class JwtKeyRing extends SigningKeyResolverAdapter
+{
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    //One key: signingKey is null for verify-only entries; for HMAC both keys are the same secret
+    private record JwtKey(String kid, Key signingKey, Key verificationKey) {}
+
+    //Immutable snapshot swapped atomically on rotation, with its JWKS document prebuilt
+    private record KeySet(String activeKid, Map<String, JwtKey> keys, Map<String, Object> jwks) {}
+
+    //Active signing key, its id and the algorithm to sign with
+    public record SigningKey(String kid, Key key, SignatureAlgorithm algorithm) {}
+
+    private final JwtConfig jwtConfig;          //Secret, algorithm, key id and key file settings
+    private final SignatureAlgorithm algorithm; //HS256, RS256 or ES256
+    private volatile KeySet keySet;             //Current keys, read lock-free on every verification
+    private long keyFileModified;               //Last seen key file timestamp
+
+    //Constructor loading the initial keys from configuration
+    public JwtKeyRing(JwtConfig jwtConfig)
+    {
+        this.jwtConfig = jwtConfig;
+        this.algorithm = SignatureAlgorithm.forName(jwtConfig.getAlgorithm());
+        if(algorithm != SignatureAlgorithm.HS256 && algorithm != SignatureAlgorithm.RS256 && algorithm != SignatureAlgorithm.ES256)
+            throw new IllegalStateException("Unsupported jwt.algorithm " + algorithm + "; use HS256, RS256 or ES256");
+
+        this.keySet = configuredKeys();
+        if(hasKeyFile())
+            reload();                           //Key file takes precedence over built-in keys
+    }
+
+    //Key used to sign new tokens
+    public SigningKey activeKey()
+    {
+        KeySet current = keySet;
+        return new SigningKey(current.activeKid(), current.keys().get(current.activeKid()).signingKey(), algorithm);
+    }
+
+    //O(1) lookup of a verification key by kid; null when unknown
+    public Key keyFor(String kid)
+    {
+        JwtKey key = kid != null ? keySet.keys().get(kid) : null;
+        return key != null ? key.verificationKey() : null;
+    }
+
+    //Public keys as a JWK Set ({"keys": [...]}); empty for HS256 since secrets are never published
+    public Map<String, Object> jwks()
+    {
+        return keySet.jwks();
+    }
+
+    @Override   //Called by the shared JwtParser for every token
+    public Key resolveSigningKey(JwsHeader header, Claims claims)
+    {
+        Key key = keyFor(header.getKeyId());
+        if(key == null)
+            throw new SignatureException("Unknown signing key id: " + header.getKeyId());
+
+        return key;
+    }
+
+    //Add an HMAC signing key at runtime and make it active; older keys keep verifying until removed
+    public synchronized void rotate(String kid, byte[] secret)
+    {
+        Key key = Keys.hmacShaKeyFor(secret);
+        install(new JwtKey(kid, key, key));
+    }
+
+    //Add an RS256/ES256 key pair at runtime and make it active
+    public synchronized void rotate(String kid, KeyPair keyPair)
+    {
+        install(new JwtKey(kid, keyPair.getPrivate(), keyPair.getPublic()));
+    }
+
+    //Swap in a snapshot with the new active key
+    private void install(JwtKey key)
+    {
+        Map<String, JwtKey> keys = new HashMap<>(keySet.keys());
+        keys.put(key.kid(), key);
+        keySet = snapshot(key.kid(), keys);
+        log.info("Rotated JWT signing key to kid {}", key.kid());
+    }
+
+    //Re-read the key file when it changed, so rotations roll out without a restart
+    @Scheduled(fixedDelayString = "${jwt.keyFileReloadInterval:30000}")
+    public synchronized void reload()
+    {
+        if(!hasKeyFile())
+            return;
+
+        Path path = Path.of(jwtConfig.getKeyFile());
+        try
+        {
+            long modified = Files.getLastModifiedTime(path).toMillis();
+            if(modified == keyFileModified)
+                return;                                             //Unchanged since last load
+
+            keySet = readKeyFile(path);
+            keyFileModified = modified;
+            log.info("Loaded {} JWT key(s) from {}, active kid {}", keySet.keys().size(), path, keySet.activeKid());
+        }
+
+        catch(IOException | GeneralSecurityException | RuntimeException e)
+        {
+            log.warn("Keeping current JWT keys; could not load key file {}: {}", path, e.getMessage());
+        }
+    }
+
+    //Parse "active=<kid>" plus, per kid, either "<kid>=<base64 secret>" (HS256) or "<kid>=<base64 PKCS#8>" and "<kid>.public=<base64 X.509>"
+    private KeySet readKeyFile(Path path) throws IOException, GeneralSecurityException
+    {
+        Properties properties = new Properties();
+        try(Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8))
+        {
+            properties.load(reader);
+        }
+
+        String active = properties.getProperty("active");
+        Map<String, JwtKey> keys = new HashMap<>();
+        for(String name : properties.stringPropertyNames())
+        {
+            if(name.equals("active"))
+                continue;
+
+            String kid = name.endsWith(".public") ? name.substring(0, name.length() - ".public".length()) : name;
+            if(!keys.containsKey(kid))
+                keys.put(kid, readKey(kid, properties));
+        }
+
+        if(active == null || !keys.containsKey(active) || keys.get(active).signingKey() == null)
+            throw new IllegalStateException("Key file must name an active kid with a signing key");
+
+        return snapshot(active, keys);
+    }
+
+    //Decode one kid from the key file according to jwt.algorithm
+    private JwtKey readKey(String kid, Properties properties) throws GeneralSecurityException
+    {
+        String secret = properties.getProperty(kid);
+        if(algorithm == SignatureAlgorithm.HS256)
+        {
+            Key key = Keys.hmacShaKeyFor(Base64.getDecoder().decode(secret.trim()));
+            return new JwtKey(kid, key, key);
+        }
+
+        KeyFactory keyFactory = KeyFactory.getInstance(algorithm.getFamilyName().equals("RSA") ? "RSA" : "EC");
+        String publicKey = properties.getProperty(kid + ".public");
+        if(publicKey == null)
+            throw new IllegalStateException("Missing " + kid + ".public for " + algorithm);
+
+        Key verificationKey = keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(publicKey.trim())));
+        Key signingKey = secret != null ? keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(secret.trim()))) : null;
+        return new JwtKey(kid, signingKey, verificationKey);
+    }
+
+    //Built-in keys: jwt.secret for HS256, or a per-process key pair when no key file is configured
+    private KeySet configuredKeys()
+    {
+        if(algorithm == SignatureAlgorithm.HS256)
+        {
+            byte[] secret = jwtConfig.getSecretKey().getBytes(StandardCharsets.UTF_8);
+            String kid = hasText(jwtConfig.getKeyId()) ? jwtConfig.getKeyId() : deriveKid(secret);
+            Key key = Keys.hmacShaKeyFor(secret);
+            return snapshot(kid, Map.of(kid, new JwtKey(kid, key, key)));
+        }
+
+        if(!hasKeyFile())
+            log.warn("jwt.algorithm={} without jwt.keyFile: generated a key pair for this process only", algorithm);
+
+        KeyPair keyPair = Keys.keyPairFor(algorithm);
+        String kid = hasText(jwtConfig.getKeyId()) ? jwtConfig.getKeyId() : deriveKid(keyPair.getPublic().getEncoded());
+        return snapshot(kid, Map.of(kid, new JwtKey(kid, keyPair.getPrivate(), keyPair.getPublic())));
+    }
+
+    //Freeze the key map and prebuild the JWKS document for it
+    private KeySet snapshot(String activeKid, Map<String, JwtKey> keys)
+    {
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        for(JwtKey key : new TreeMap<>(keys).values())              //Sorted by kid so every node serves the same document
+        {
+            if(key.verificationKey() instanceof RSAPublicKey rsa)
+                jwks.add(jwk(key.kid(), "RSA", Map.of("n", base64Url(rsa.getModulus(), 0), "e", base64Url(rsa.getPublicExponent(), 0))));
+
+            else if(key.verificationKey() instanceof ECPublicKey ec)
+                jwks.add(jwk(key.kid(), "EC", Map.of("crv", "P-256", "x", base64Url(ec.getW().getAffineX(), 32), "y", base64Url(ec.getW().getAffineY(), 32))));
+        }
+
+        return new KeySet(activeKid, Map.copyOf(keys), Map.of("keys", List.copyOf(jwks)));
+    }
+
+    //One JWK entry with the common members first
+    private Map<String, Object> jwk(String kid, String kty, Map<String, String> params)
+    {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", kty);
+        jwk.put("kid", kid);
+        jwk.put("use", "sig");
+        jwk.put("alg", algorithm.getValue());
+        jwk.putAll(params);
+        return jwk;
+    }
+
+    //Unsigned big-endian base64url, left-padded to length bytes when length > 0 (RFC 7518)
+    private static String base64Url(BigInteger value, int length)
+    {
+        byte[] bytes = value.toByteArray();
+        if(bytes.length > 1 && bytes[0] == 0)
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);      //Drop the sign byte
+
+        if(length > bytes.length)
+        {
+            byte[] padded = new byte[length];
+            System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+            bytes = padded;
+        }
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    //First 8 bytes of SHA-256(material), which identifies the key without revealing it
+    private static String deriveKid(byte[] material)
+    {
+        try
+        {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(material);
+            return HexFormat.of().formatHex(digest, 0, 8);
+        }
+
+        catch(NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    //Whether a key file is configured
+    private boolean hasKeyFile()
+    {
+        return hasText(jwtConfig.getKeyFile());
+    }
+
+    //Non-null, non-blank check for optional properties
+    private static boolean hasText(String value)
+    {
+        return value != null && !value.isBlank();
+    }
+}
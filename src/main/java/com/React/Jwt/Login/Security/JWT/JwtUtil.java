@@ -1,45 +1,85 @@
 package com.React.Jwt.Login.Security.JWT;           //Package declaration
 import io.jsonwebtoken.Claims;                      //JWT claims (payload)
+import io.jsonwebtoken.JwtException;                //Base exception for invalid tokens
+import io.jsonwebtoken.JwtParser;                   //Reusable, thread-safe JWT parser
 import io.jsonwebtoken.Jwts;                        //JWT builder/parser
-import io.jsonwebtoken.SignatureAlgorithm;          //Signing algorithms
-import io.jsonwebtoken.security.Keys;               //Key generation
 import org.springframework.stereotype.Component;    //Marks class as a Spring bean
-import java.security.Key;                           //Security key type
 import java.util.Date;                              //For timestamps
 import java.util.List;                              //For roles list
+import java.util.Optional;                          //For verification results
+import java.util.UUID;                              //For token ids (jti)
 
 @Component  //Registers this class as a Spring component
 public class JwtUtil
 {
-    private final Key secretKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);  //Secret key for signing
-    private final long expirationMillis = 1000 * 60 * 60;                       //Token valid for 1 hour
+    private final JwtKeyRing keyRing;       //Shared signing keys addressed by kid
+    private final long expirationMillis;    //Token lifetime from jwt.expiration
+    private final JwtParser jwtParser;      //Built once; parsers are immutable and thread-safe
+    private final CredentialEpochs credentialEpochs;    //Current credential epoch per user
 
-    //Generate JWT with username and roles
-    public String generateToken(String username, List<String> roles) 
+    //Constructor wiring the key ring into a single reusable parser
+    public JwtUtil(JwtConfig jwtConfig, JwtKeyRing keyRing, CredentialEpochs credentialEpochs) 
     {
-        return Jwts.builder().setSubject(username).claim("roles", roles).setIssuedAt(new Date())
-        .setExpiration(new Date(System.currentTimeMillis() + expirationMillis)).signWith(secretKey).compact();
+        this.keyRing = keyRing;
+        this.credentialEpochs = credentialEpochs;
+        this.expirationMillis = jwtConfig.getExpirationTime();
+        this.jwtParser = Jwts.parserBuilder().setSigningKeyResolver(keyRing).build();   //Looks up the key by the token's kid header
+    }
+
+    //Generate JWT with user id, username, roles and the credential epoch this node knows; for callers without the user row at hand
+    public String generateToken(long userId, String username, List<String> roles) 
+    {
+        return generateToken(userId, username, roles, credentialEpochs.current(userId));
+    }
+
+    //Generate JWT with the credential epoch read from the user row, which may be newer than this node's table until its next reload
+    public String generateToken(long userId, String username, List<String> roles, long credentialEpoch) 
+    {
+        credentialEpochs.advance(userId, credentialEpoch);
+        JwtKeyRing.SigningKey signingKey = keyRing.activeKey();    //Current key and its kid
+        return Jwts.builder().setHeaderParam("kid", signingKey.kid()).setId(UUID.randomUUID().toString()).setSubject(username).claim("roles", roles)
+        .claim("uid", userId).claim("epoch", credentialEpoch).setIssuedAt(new Date())
+        .setExpiration(new Date(System.currentTimeMillis() + expirationMillis)).signWith(signingKey.key(), signingKey.algorithm()).compact();
+    }
+
+    //Mint a replacement for a verified token with the same subject and roles and a fresh expiry
+    public String renewToken(VerifiedJwt jwt) 
+    {
+        return generateToken(jwt.getUserId(), jwt.getSubject(), jwt.getRoles());
+    }
+
+    //Verify signature and expiry once and decode everything callers need; empty if the token is unusable
+    public Optional<VerifiedJwt> verify(String token)
+    {
+        try
+        {
+            Claims claims = parseToken(token);                  //Single signature check and decode (rejects expired tokens)
+            List<String> roles = readRoles(claims);             //Roles claim as strings
+            Number userId = claims.get("uid", Number.class);    //User id and credential epoch
+            Number epoch = claims.get("epoch", Number.class);
+            if(claims.getExpiration() == null || roles == null || claims.getId() == null || userId == null || epoch == null)
+                return Optional.empty();                        //Tokens we did not mint are rejected
+
+            UUID jti = UUID.fromString(claims.getId());         //Parsed once so revocation checks compare two longs
+            return Optional.of(new VerifiedJwt(claims.getSubject(), roles, claims.getExpiration().getTime(), jti, userId.longValue(), epoch.longValue()));
+        }
+
+        catch(JwtException | IllegalArgumentException e)
+        {
+            return Optional.empty();                            //Invalid token
+        }
     }
 
     //Parse JWT and return claims
     public Claims parseToken(String token) 
     {
-        return Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token).getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
     //Check if token is valid (not expired)
     public boolean isTokenValid(String token) 
     {
-        try 
-        {
-            Claims claims = parseToken(token);                  //Get claims
-            return !claims.getExpiration().before(new Date());  //Check expiry
-        } 
-        
-        catch (Exception e) 
-        {
-            return false;                                       //Invalid token
-        }
+        return verify(token).isPresent();   //Valid signature, roles and unexpired
     }
 
     //Extract username from token
@@ -51,11 +91,20 @@ public class JwtUtil
     //Extract roles from token
     public List<String> getRolesFromToken(String token) 
     {
-        Claims claims = parseToken(token);                                              //Get claims
+        List<String> roles = readRoles(parseToken(token));                              //Get roles claim
+        if(roles != null) 
+            return roles;
+
+        throw new RuntimeException("Roles claim is missing or invalid");        //Handle error
+    }
+
+    //Convert the roles claim to a string list, or null when it is missing
+    private List<String> readRoles(Claims claims) 
+    {
         Object rolesObject = claims.get("roles");                                   //Get roles claim
         if(rolesObject instanceof List<?>) 
             return ((List<?>) rolesObject).stream().map(Object::toString) .toList();    //Convert to string list
 
-        throw new RuntimeException("Roles claim is missing or invalid");        //Handle error
+        return null;
     }
 }
\ No newline at end of file
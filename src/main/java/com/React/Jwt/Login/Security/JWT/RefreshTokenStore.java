@@ -0,0 +1,357 @@
+package com.React.Jwt.Login.Security.JWT;                       //Package declaration
+import org.slf4j.Logger;                                        //Logging API
+import org.slf4j.LoggerFactory;                                 //Logger factory
+import org.springframework.beans.factory.annotation.Value;      //Annotation to inject property values
+import org.springframework.boot.context.event.ApplicationReadyEvent;   //Fired once the schema is in place
+import org.springframework.context.event.EventListener;         //Startup hook
+import org.springframework.jdbc.core.JdbcTemplate;              //Batched SQL for write-behind persistence
+import org.springframework.jdbc.core.RowCallbackHandler;        //Streams persisted tokens into the stripes
+import org.springframework.scheduling.annotation.Scheduled;     //Periodic flush and sweep
+import org.springframework.stereotype.Component;                //Marks the class as a Spring component
+import jakarta.annotation.PreDestroy;                           //Final flush on shutdown
+import java.nio.charset.StandardCharsets;                       //Token bytes
+import java.security.MessageDigest;                             //SHA-256 of the opaque token
+import java.security.NoSuchAlgorithmException;                  //Digest lookup failure
+import java.security.SecureRandom;                              //Token entropy
+import java.sql.ResultSet;                                      //Row to session mapping
+import java.sql.SQLException;                                   //Row access failure
+import java.util.ArrayList;                                     //Batch buffers
+import java.util.Arrays;                                        //Roles column parsing
+import java.util.Base64;                                        //URL-safe token encoding
+import java.util.HashMap;                                       //Per-stripe map
+import java.util.HexFormat;                                     //Hash column encoding
+import java.util.Iterator;                                      //Expired-entry sweep
+import java.util.List;                                          //Roles and batches
+import java.util.Optional;                                      //Rotation result
+import java.util.Queue;                                         //Pending writes
+import java.util.Set;                                           //Hashes not yet written
+import java.util.concurrent.ConcurrentHashMap;                  //Concurrent set of unflushed hashes
+import java.util.concurrent.ConcurrentLinkedQueue;              //Lock-free write-behind queue
+import java.util.concurrent.locks.ReentrantLock;                //One lock per stripe
+import java.util.concurrent.locks.ReentrantReadWriteLock;       //Lets consumers wait out an in-flight flush
+
+//Opaque refresh tokens held in memory by SHA-256 hash and written behind to the refresh_tokens table in batches;
+//once a token has been written the table decides who may consume it, so every node sees the same tokens
+@Component  //Spring-managed bean
+public class RefreshTokenStore
+{
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenStore.class);
+    private static final int STRIPES = 16;              //Power of two so the stripe is a mask of the hash
+    private static final int TOKEN_BYTES = 32;          //256 bits of entropy per token
+
+    private final JdbcTemplate jdbcTemplate;            //Persistence for restarts
+    private final long lifetime;                        //Refresh token lifetime in ms (jwt.refreshExpiration)
+    private final int batchSize;                        //Maximum rows per JDBC batch
+    private final SecureRandom random = new SecureRandom();
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final Queue<Write> pending = new ConcurrentLinkedQueue<>();    //Inserts not yet persisted
+    private final Set<String> unflushed = ConcurrentHashMap.newKeySet();  //Hashes only this node knows; removing one claims it
+    private final ReentrantReadWriteLock flushLock = new ReentrantReadWriteLock();    //Held exclusively while a batch is written
+
+    //What a refresh token stands for; enough to mint an access token without touching the users table
+    public record RefreshSession(long userId, String username, List<String> roles, long expiresAt) { }
+
+    //Result of a successful rotation: the session it belonged to and the token that replaces it
+    public record Rotation(RefreshSession session, String refreshToken) { }
+
+    private record Write(String hash, RefreshSession session) { }
+
+    private static final class Stripe
+    {
+        final ReentrantLock lock = new ReentrantLock();
+        final HashMap<String, RefreshSession> sessions = new HashMap<>();
+    }
+
+    //Constructor reading store settings from application properties
+    public RefreshTokenStore(JdbcTemplate jdbcTemplate, JwtConfig jwtConfig, @Value("${jwt.refreshStore.batchSize:500}") int batchSize)
+    {
+        this.jdbcTemplate = jdbcTemplate;
+        this.lifetime = jwtConfig.getRefreshExpirationTime();
+        this.batchSize = batchSize;
+        for(int i = 0; i < STRIPES; i++)
+            stripes[i] = new Stripe();
+    }
+
+    //Issue a new refresh token for the user at login; only its hash is kept
+    public String issue(long userId, String username, List<String> roles)
+    {
+        return issue(new RefreshSession(userId, username, List.copyOf(roles), System.currentTimeMillis() + lifetime));
+    }
+
+    private String issue(RefreshSession session)
+    {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        store(hash(token), session);
+        return token;
+    }
+
+    //Consume a refresh token and issue its replacement; a token can only be used once, and the replacement keeps the
+    //expiry of the login it descends from, so rotating cannot extend a session past jwt.refreshExpiration
+    public Optional<Rotation> rotate(String token)
+    {
+        if(token == null || token.isBlank())
+            return Optional.empty();
+
+        String hash = hash(token);
+        RefreshSession session = remove(hash);
+        if(session == null)
+            session = find(hash);                       //Issued on another node, or loaded before this one started
+        if(session == null || !consume(hash) || session.expiresAt() <= System.currentTimeMillis())
+            return Optional.empty();
+
+        return Optional.of(new Rotation(session, issue(session)));
+    }
+
+    //Drop a single refresh token, e.g. on logout
+    public boolean revoke(String token)
+    {
+        if(token == null || token.isBlank())
+            return false;
+
+        String hash = hash(token);
+        remove(hash);
+        return consume(hash);
+    }
+
+    //Drop every refresh token of a user, e.g. after a credential change; the delete reaches tokens held by other nodes
+    public int revokeUser(long userId)
+    {
+        int revoked = 0;
+        for(Stripe stripe : stripes)
+        {
+            stripe.lock.lock();
+            try
+            {
+                for(Iterator<HashMap.Entry<String, RefreshSession>> it = stripe.sessions.entrySet().iterator(); it.hasNext();)
+                {
+                    HashMap.Entry<String, RefreshSession> entry = it.next();
+                    if(entry.getValue().userId() == userId)
+                    {
+                        it.remove();
+                        if(unflushed.remove(entry.getKey()))
+                            revoked++;          //Never reaches the table
+                    }
+                }
+            }
+
+            finally
+            {
+                stripe.lock.unlock();
+            }
+        }
+
+        flushLock.readLock().lock();
+        try
+        {
+            return revoked + jdbcTemplate.update("DELETE FROM refresh_tokens WHERE userId = ?", userId);
+        }
+
+        finally
+        {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    public int size()
+    {
+        int size = 0;
+        for(Stripe stripe : stripes)
+        {
+            stripe.lock.lock();
+            try
+            {
+                size += stripe.sessions.size();
+            }
+
+            finally
+            {
+                stripe.lock.unlock();
+            }
+        }
+
+        return size;    //Live refresh tokens across all stripes
+    }
+
+    //Load unexpired tokens persisted by a previous run
+    @EventListener(ApplicationReadyEvent.class)
+    public void load()
+    {
+        long now = System.currentTimeMillis();
+        jdbcTemplate.query("SELECT tokenHash, userId, username, roles, expiresAt FROM refresh_tokens WHERE expiresAt > ?", (RowCallbackHandler) rs -> put(rs.getString("tokenHash"), session(rs)), now);
+        log.info("Loaded {} refresh token(s)", size());
+    }
+
+    //Write pending inserts in JDBC batches, skipping tokens that were used or revoked before they got here
+    @Scheduled(fixedDelayString = "${jwt.refreshStore.flushInterval:1000}")
+    public void flush()
+    {
+        List<Object[]> inserts = new ArrayList<>();
+        flushLock.writeLock().lock();
+        try
+        {
+            Write write;
+            while((write = pending.poll()) != null)
+            {
+                if(!unflushed.remove(write.hash()))
+                    continue;                           //Already consumed on this node
+
+                RefreshSession session = write.session();
+                inserts.add(new Object[] { write.hash(), session.userId(), session.username(), String.join(",", session.roles()), session.expiresAt() });
+                if(inserts.size() >= batchSize)
+                    writeBatch(inserts);
+            }
+
+            writeBatch(inserts);
+        }
+
+        finally
+        {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    //Remove expired tokens one stripe at a time so no lock is held for the whole map
+    @Scheduled(fixedDelayString = "${jwt.refreshStore.sweepInterval:60000}")
+    public void sweepExpired()
+    {
+        long now = System.currentTimeMillis();
+        int swept = 0;
+        for(Stripe stripe : stripes)
+        {
+            stripe.lock.lock();
+            try
+            {
+                for(Iterator<RefreshSession> it = stripe.sessions.values().iterator(); it.hasNext();)
+                {
+                    if(it.next().expiresAt() <= now)
+                    {
+                        it.remove();
+                        swept++;
+                    }
+                }
+            }
+
+            finally
+            {
+                stripe.lock.unlock();
+            }
+        }
+
+        if(swept > 0)
+            jdbcTemplate.update("DELETE FROM refresh_tokens WHERE expiresAt <= ?", now);   //One set-based delete for the table
+    }
+
+    @PreDestroy //Persist whatever is still queued
+    public void shutdown()
+    {
+        flush();
+    }
+
+    private void writeBatch(List<Object[]> inserts)
+    {
+        try
+        {
+            if(!inserts.isEmpty())
+                jdbcTemplate.batchUpdate("INSERT INTO refresh_tokens (tokenHash, userId, username, roles, expiresAt) VALUES (?, ?, ?, ?, ?)", inserts);
+        }
+
+        catch(Exception e)
+        {
+            log.warn("Could not persist {} refresh token(s): {}", inserts.size(), e.getMessage());
+        }
+
+        inserts.clear();
+    }
+
+    private void store(String hash, RefreshSession session)
+    {
+        put(hash, session);
+        unflushed.add(hash);
+        pending.add(new Write(hash, session));
+    }
+
+    //Claim a token for this caller: an unflushed one by dropping its pending insert, a persisted one by deleting its row;
+    //only one node can see a delete count of one, so a token is never consumed twice
+    private boolean consume(String hash)
+    {
+        if(unflushed.remove(hash))
+            return true;
+
+        flushLock.readLock().lock();                    //A batch being written may hold this token
+        try
+        {
+            return jdbcTemplate.update("DELETE FROM refresh_tokens WHERE tokenHash = ?", hash) > 0;
+        }
+
+        finally
+        {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    //Persisted session for a token this node does not hold
+    private RefreshSession find(String hash)
+    {
+        List<RefreshSession> sessions = jdbcTemplate.query("SELECT userId, username, roles, expiresAt FROM refresh_tokens WHERE tokenHash = ?",
+        (rs, rowNum) -> session(rs), hash);
+        return sessions.isEmpty() ? null : sessions.get(0);
+    }
+
+    private static RefreshSession session(ResultSet rs) throws SQLException
+    {
+        List<String> roles = rs.getString("roles").isEmpty() ? List.of() : Arrays.asList(rs.getString("roles").split(","));
+        return new RefreshSession(rs.getLong("userId"), rs.getString("username"), List.copyOf(roles), rs.getLong("expiresAt"));
+    }
+
+    private void put(String hash, RefreshSession session)
+    {
+        Stripe stripe = stripeFor(hash);
+        stripe.lock.lock();
+        try
+        {
+            stripe.sessions.put(hash, session);
+        }
+
+        finally
+        {
+            stripe.lock.unlock();
+        }
+    }
+
+    //Remove an entry from memory; null when this node does not hold the token
+    private RefreshSession remove(String hash)
+    {
+        Stripe stripe = stripeFor(hash);
+        stripe.lock.lock();
+        try
+        {
+            return stripe.sessions.remove(hash);
+        }
+
+        finally
+        {
+            stripe.lock.unlock();
+        }
+    }
+
+    private Stripe stripeFor(String hash)
+    {
+        return stripes[hash.hashCode() & (STRIPES - 1)];
+    }
+
+    //Hex SHA-256 of the token, the only form that is stored or persisted
+    private static String hash(String token)
+    {
+        try
+        {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        }
+
+        catch(NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException("SHA-256 not available", e);  //Mandatory on every JVM
+        }
+    }
+}
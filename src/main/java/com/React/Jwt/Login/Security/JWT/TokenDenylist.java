@@ -0,0 +1,174 @@
+package com.React.Jwt.Login.Security.JWT;                       //Package declaration
+import io.micrometer.core.instrument.Gauge;                     //Revoked-token gauge
+import io.micrometer.core.instrument.MeterRegistry;             //Registry the gauge is published to
+import io.micrometer.core.instrument.binder.MeterBinder;        //Lets Spring Boot bind the meters automatically
+import org.slf4j.Logger;                                        //Logging API
+import org.slf4j.LoggerFactory;                                 //Logger factory
+import org.springframework.beans.factory.annotation.Value;      //Annotation to inject property values
+import org.springframework.boot.context.event.ApplicationReadyEvent;   //Fired once the schema is in place
+import org.springframework.context.event.EventListener;         //Startup hook
+import org.springframework.dao.DuplicateKeyException;           //Same token revoked on another node first
+import org.springframework.jdbc.core.JdbcTemplate;              //Persistence of revocations
+import org.springframework.scheduling.annotation.Scheduled;     //Periodic purge
+import org.springframework.stereotype.Component;                //Marks the class as a Spring component
+import java.util.Map;                                           //Map interface
+import java.util.UUID;                                          //Token id (jti)
+import java.util.concurrent.ConcurrentHashMap;                  //Exact revoked set
+import java.util.concurrent.atomic.AtomicLongArray;             //Lock-free Bloom filter bits
+
+//Revoked token ids: a Bloom filter answers the common "not revoked" case, the exact map and revoked_tokens table confirm hits
+@Component  //Spring-managed bean
+public class TokenDenylist implements MeterBinder
+{
+    private static final Logger log = LoggerFactory.getLogger(TokenDenylist.class);
+    private static final int HASHES = 7;                //Optimal for about 10 bits per entry (1% false positives)
+
+    private final JdbcTemplate jdbcTemplate;            //Revocations survive restarts and are seen by other nodes on reload
+    private final int bits;                             //Bloom filter size, a power of two
+    private final long reloadInterval;                  //Time between reloads, also the overlap each reload re-reads
+    private volatile long reloadedAt;                   //Start of the last load or reload
+    private final Map<UUID, Long> revoked = new ConcurrentHashMap<>();    //jti -> token exp in epoch millis
+    private volatile AtomicLongArray bloom;             //Replaced wholesale when expired entries are purged
+
+    //Constructor sizing the Bloom filter for the expected number of live revocations
+    public TokenDenylist(JdbcTemplate jdbcTemplate, @Value("${jwt.denylist.expectedRevocations:100000}") int expectedRevocations, 
+    @Value("${jwt.denylist.reloadInterval:30000}") long reloadInterval)
+    {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reloadInterval = reloadInterval;
+        this.bits = Integer.highestOneBit(Math.max(64, expectedRevocations * 10 - 1)) << 1;
+        this.bloom = new AtomicLongArray(bits / 64);
+    }
+
+    //True when the token was revoked; a Bloom miss returns without touching the map or allocating
+    public boolean isRevoked(VerifiedJwt jwt)
+    {
+        UUID jti = jwt.getJti();
+        if(jti == null || !mightContain(bloom, jti.getMostSignificantBits(), jti.getLeastSignificantBits()))
+            return false;
+
+        return revoked.containsKey(jti);                //Rare path: Bloom hit or false positive
+    }
+
+    //Revoke a token until the moment it would have expired anyway
+    public void revoke(VerifiedJwt jwt)
+    {
+        UUID jti = jwt.getJti();
+        if(jti == null || jwt.getExpiresAt() <= System.currentTimeMillis())
+            return;                                     //Nothing to revoke
+
+        if(!put(jti, jwt.getExpiresAt()))
+            return;                                     //Already revoked here, or loaded from another node's revocation
+
+        try
+        {
+            jdbcTemplate.update("INSERT INTO revoked_tokens (jti, expiresAt, revokedAt) VALUES (?, ?, ?)", jti.toString(), jwt.getExpiresAt(), 
+            System.currentTimeMillis());
+        }
+
+        catch(DuplicateKeyException e)
+        {
+            log.debug("Token {} was already revoked by another node", jti); //Its row is there, which is all that matters
+        }
+    }
+
+    public int size()
+    {
+        return revoked.size();  //Revocations still in force
+    }
+
+    //Load revocations that are still in force
+    @EventListener(ApplicationReadyEvent.class)
+    public void load()
+    {
+        long now = System.currentTimeMillis();
+        read("SELECT jti, expiresAt FROM revoked_tokens WHERE expiresAt > ?", now);
+        reloadedAt = now;
+        log.info("Loaded {} revoked token(s)", revoked.size());
+    }
+
+    //Pick up revocations made by other nodes since the last reload; re-reading one extra interval absorbs clock skew and late commits
+    @Scheduled(initialDelayString = "${jwt.denylist.reloadInterval:30000}", fixedDelayString = "${jwt.denylist.reloadInterval:30000}")
+    public void reload()
+    {
+        long now = System.currentTimeMillis();
+        int added = read("SELECT jti, expiresAt FROM revoked_tokens WHERE revokedAt > ? AND expiresAt > ?", reloadedAt - reloadInterval, now);
+        reloadedAt = now;
+        if(added > 0)
+            log.debug("Loaded {} revocation(s) made on other nodes", added);
+    }
+
+    //Drop revocations of tokens that have expired and rebuild the Bloom filter without them
+    @Scheduled(fixedDelayString = "${jwt.denylist.purgeInterval:60000}")
+    public void purgeExpired()
+    {
+        long now = System.currentTimeMillis();
+        synchronized(this)
+        {
+            if(!revoked.values().removeIf(expiresAt -> expiresAt <= now))
+                return;
+
+            AtomicLongArray rebuilt = new AtomicLongArray(bits / 64);
+            revoked.keySet().forEach(jti -> add(rebuilt, jti));
+            bloom = rebuilt;                            //Readers switch over atomically
+        }
+
+        jdbcTemplate.update("DELETE FROM revoked_tokens WHERE expiresAt <= ?", now);
+    }
+
+    //Add the rows of a query to the denylist; returns how many were new here
+    private int read(String sql, Object... args)
+    {
+        int[] added = { 0 };
+        jdbcTemplate.query(sql, rs ->
+        {
+            if(put(UUID.fromString(rs.getString("jti")), rs.getLong("expiresAt")))
+                added[0]++;
+        }, args);
+        return added[0];
+    }
+
+    //Serialized with purge so a rebuild cannot drop a new entry; false when the token was already revoked
+    private synchronized boolean put(UUID jti, long expiresAt)
+    {
+        if(revoked.putIfAbsent(jti, expiresAt) != null)
+            return false;
+
+        add(bloom, jti);
+        return true;
+    }
+
+    @Override   //Publish the number of live revocations under /actuator/metrics/jwt.denylist.size
+    public void bindTo(MeterRegistry registry)
+    {
+        Gauge.builder("jwt.denylist.size", this, TokenDenylist::size).register(registry);
+    }
+
+    private void add(AtomicLongArray filter, UUID jti)
+    {
+        long h1 = jti.getMostSignificantBits();
+        long h2 = jti.getLeastSignificantBits() | 1;    //Odd step visits distinct bits
+        for(int i = 0; i < HASHES; i++)
+        {
+            int bit = (int) ((h1 + i * h2) & (bits - 1));
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+            long current;
+            while(((current = filter.get(word)) & mask) == 0 && !filter.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    //Random UUIDs are already uniformly distributed, so the two halves serve as the double-hashing seeds
+    private boolean mightContain(AtomicLongArray filter, long h1, long h2)
+    {
+        h2 |= 1;
+        for(int i = 0; i < HASHES; i++)
+        {
+            int bit = (int) ((h1 + i * h2) & (bits - 1));
+            if((filter.get(bit >>> 6) & (1L << bit)) == 0)
+                return false;
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,86 @@
+package com.React.Jwt.Login.Security.JWT;                                   //Package declaration
+import com.React.Jwt.Login.Enum.Role;                                       //Role bits and shared authorities
+import org.springframework.security.core.GrantedAuthority;                  //Authority for role-based access control
+import java.util.List;                                                      //List for roles and authorities
+import java.util.UUID;                                                      //Token id
+
+//Result of a single signature check and claims decode, shared by the filter and AuthService
+public final class VerifiedJwt
+{
+    private final String subject;                               //Username stored in the token
+    private final List<String> roles;                           //Raw role names from the "roles" claim
+    private final long expiresAt;                               //Expiry as epoch millis
+    private final UUID jti;                                     //Token id used for revocation, null for tokens built without one
+    private final long userId;                                  //User id ("uid" claim), 0 when unknown
+    private final long credentialEpoch;                         //Credential epoch the token was minted under
+    private final int roleMask;                                 //Role bits, see Role.mask()
+    private volatile String renewedToken;                       //Replacement minted by sliding renewal, shared by concurrent requests
+
+    //Built by JwtUtil from the claims of a successfully verified token
+    public VerifiedJwt(String subject, List<String> roles, long expiresAt, UUID jti, long userId, long credentialEpoch)
+    {
+        this.subject = subject;
+        this.roles = roles;
+        this.expiresAt = expiresAt;
+        this.jti = jti;
+        this.userId = userId;
+        this.credentialEpoch = credentialEpoch;
+        this.roleMask = Role.maskOf(roles);                     //Unknown role names are rejected here
+    }
+
+    //Token without an id or user (cannot be revoked individually)
+    public VerifiedJwt(String subject, List<String> roles, long expiresAt)
+    {
+        this(subject, roles, expiresAt, null, 0, 0);
+    }
+
+    public String getSubject()
+    {
+        return subject;         //Returns username
+    }
+
+    public List<String> getRoles()
+    {
+        return roles;           //Returns role names without prefix
+    }
+
+    public long getExpiresAt()
+    {
+        return expiresAt;       //Returns expiry in epoch millis
+    }
+
+    public UUID getJti()
+    {
+        return jti;             //Returns the token id
+    }
+
+    public long getUserId()
+    {
+        return userId;          //Returns the user id
+    }
+
+    public long getCredentialEpoch()
+    {
+        return credentialEpoch; //Returns the credential epoch
+    }
+
+    public int getRoleMask()
+    {
+        return roleMask;        //Returns role bits
+    }
+
+    public List<GrantedAuthority> getAuthorities()
+    {
+        return Role.authoritiesOf(roleMask);    //Returns shared prefixed authorities
+    }
+
+    public String getRenewedToken()
+    {
+        return renewedToken;    //Returns the replacement token, if one was minted
+    }
+
+    public void setRenewedToken(String renewedToken)
+    {
+        this.renewedToken = renewedToken;   //Remembers the replacement so cache hits reuse it
+    }
+}
@@ -0,0 +1,157 @@
+package com.React.Jwt.Login.Security.JWT;                       //Package declaration
+import io.micrometer.core.instrument.FunctionCounter;           //Monotonic counters read from this cache
+import io.micrometer.core.instrument.Gauge;                     //Current size gauge
+import io.micrometer.core.instrument.MeterRegistry;             //Registry the counters are published to
+import io.micrometer.core.instrument.binder.MeterBinder;        //Lets Spring Boot bind the meters automatically
+import org.springframework.beans.factory.annotation.Value;      //Annotation to inject property values
+import org.springframework.stereotype.Component;                //Marks the class as a Spring component
+import java.nio.ByteBuffer;                                     //Reads the digest as longs
+import java.nio.charset.StandardCharsets;                       //Token bytes
+import java.security.MessageDigest;                             //SHA-256 digest of the raw token
+import java.security.NoSuchAlgorithmException;                  //Digest lookup failure
+import java.util.Iterator;                                      //Expired-entry sweep
+import java.util.LinkedHashMap;                                 //Access-ordered map for LRU eviction
+import java.util.Map;                                           //Map interface
+import java.util.concurrent.atomic.LongAdder;                   //Low-contention counters
+
+//Bounded LRU of already-verified tokens so repeat calls with the same bearer token skip HMAC and claims decoding
+@Component  //Spring-managed bean
+public class VerifiedTokenCache implements MeterBinder
+{
+    private final boolean enabled;                      //Property switch (jwt.cache.enabled)
+    private final int maximumSize;                      //Upper bound on cached tokens
+    private final LinkedHashMap<Key, VerifiedJwt> entries;  //Digest -> verified claims, in access order
+    private final LongAdder hits = new LongAdder();     //Lookups answered from the cache
+    private final LongAdder misses = new LongAdder();   //Lookups that needed a full verification
+    private final LongAdder evictions = new LongAdder();//Entries removed for size or expiry
+    private long lastSweep;                             //Last expired-entry sweep (guarded by entries)
+
+    //Constructor reading cache settings from application properties
+    public VerifiedTokenCache(@Value("${jwt.cache.enabled:true}") boolean enabled, @Value("${jwt.cache.maximumSize:10000}") int maximumSize)
+    {
+        this.enabled = enabled;
+        this.maximumSize = maximumSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, VerifiedJwt> eldest)
+            {
+                boolean full = size() > VerifiedTokenCache.this.maximumSize;   //Drop least recently used when over the bound
+                if(full)
+                    evictions.increment();
+                return full;
+            }
+        };
+    }
+
+    //Return the cached verification for this token, or null when absent, expired or disabled
+    public VerifiedJwt get(String token)
+    {
+        if(!enabled)
+            return null;
+
+        Key key = Key.of(token);                                //Hash outside the lock
+        long now = System.currentTimeMillis();
+        VerifiedJwt jwt;
+        synchronized(entries)
+        {
+            jwt = entries.get(key);
+            if(jwt != null && jwt.getExpiresAt() <= now)        //Never serve a token past its exp
+            {
+                entries.remove(key);
+                evictions.increment();
+                jwt = null;
+            }
+        }
+
+        (jwt != null ? hits : misses).increment();
+        return jwt;
+    }
+
+    //Remember a freshly verified token until its exp
+    public void put(String token, VerifiedJwt jwt)
+    {
+        if(!enabled)
+            return;
+
+        Key key = Key.of(token);
+        long now = System.currentTimeMillis();
+        synchronized(entries)
+        {
+            if(now - lastSweep > 1000)                          //At most one sweep per second
+            {
+                removeExpired(now);
+                lastSweep = now;
+            }
+            entries.put(key, jwt);
+        }
+    }
+
+    //Remove every entry whose token has expired; caller holds the lock
+    private void removeExpired(long now)
+    {
+        for(Iterator<VerifiedJwt> it = entries.values().iterator(); it.hasNext();)
+        {
+            if(it.next().getExpiresAt() <= now)
+            {
+                it.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;             //Whether lookups are served at all
+    }
+
+    public long getHits()
+    {
+        return hits.sum();          //Total cache hits
+    }
+
+    public long getMisses()
+    {
+        return misses.sum();        //Total cache misses
+    }
+
+    public long getEvictions()
+    {
+        return evictions.sum();     //Total size and expiry evictions
+    }
+
+    public int size()
+    {
+        synchronized(entries)
+        {
+            return entries.size();  //Current number of cached tokens
+        }
+    }
+
+    @Override   //Publish counters under /actuator/metrics/jwt.cache.*
+    public void bindTo(MeterRegistry registry)
+    {
+        FunctionCounter.builder("jwt.cache.hits", this, VerifiedTokenCache::getHits).register(registry);
+        FunctionCounter.builder("jwt.cache.misses", this, VerifiedTokenCache::getMisses).register(registry);
+        FunctionCounter.builder("jwt.cache.evictions", this, VerifiedTokenCache::getEvictions).register(registry);
+        Gauge.builder("jwt.cache.size", this, VerifiedTokenCache::size).register(registry);
+    }
+
+    //SHA-256 of the raw token; the token itself is never kept on the heap by the cache
+    private record Key(long a, long b, long c, long d)
+    {
+        static Key of(String token)
+        {
+            try
+            {
+                ByteBuffer digest = ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+                return new Key(digest.getLong(), digest.getLong(), digest.getLong(), digest.getLong());
+            }
+
+            catch(NoSuchAlgorithmException e)
+            {
+                throw new IllegalStateException("SHA-256 not available", e);  //Mandatory on every JVM
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.React.Jwt.Login.Security.Password;                  //Package declaration
+import org.slf4j.Logger;                                        //Logging API
+import org.slf4j.LoggerFactory;                                 //Logger factory
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;   //Encoder being measured
+
+//Picks the highest BCrypt cost whose hash time on this machine fits a latency budget
+public final class BCryptCostCalibrator
+{
+    private static final Logger log = LoggerFactory.getLogger(BCryptCostCalibrator.class);
+    private static final String SAMPLE = "calibration-sample-password";    //Length does not matter to BCrypt's cost
+    private static final int ROUNDS = 3;                //Measured hashes; the fastest one is used
+
+    private BCryptCostCalibrator()
+    {
+    }
+
+    //Each cost step doubles the work, so one measurement at the floor predicts every higher cost
+    public static int calibrate(long budgetMillis, int minStrength, int maxStrength)
+    {
+        long nanos = measure(minStrength);
+        int strength = minStrength;
+        while(strength < maxStrength && (nanos << (strength + 1 - minStrength)) <= budgetMillis * 1_000_000L)
+            strength++;
+
+        log.info("BCrypt cost {} selected (cost {} took {} ms, budget {} ms)", strength, minStrength, nanos / 1_000_000L, budgetMillis);
+        return strength;
+    }
+
+    //Fastest of a few hashes after one warm-up, to keep JIT and scheduling noise out
+    private static long measure(int strength)
+    {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        encoder.encode(SAMPLE);
+        long best = Long.MAX_VALUE;
+        for(int i = 0; i < ROUNDS; i++)
+        {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        return best;
+    }
+}
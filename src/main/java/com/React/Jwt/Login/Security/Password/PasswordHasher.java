@@ -0,0 +1,166 @@
+package com.React.Jwt.Login.Security.Password;                  //Package declaration
+import com.React.Jwt.Login.Exception.PasswordHashingBusyException;     //Thrown when the pool cannot take more work
+import io.micrometer.core.instrument.Counter;                   //Rejected-task counter
+import io.micrometer.core.instrument.Gauge;                     //Queue depth and active-thread gauges
+import io.micrometer.core.instrument.MeterRegistry;             //Registry the meters are published to
+import io.micrometer.core.instrument.Timer;                     //Queue wait and hashing time
+import org.slf4j.Logger;                                        //Logging API
+import org.slf4j.LoggerFactory;                                 //Logger factory
+import org.springframework.beans.factory.annotation.Value;      //Annotation to inject property values
+import org.springframework.security.crypto.password.PasswordEncoder;  //Encoder doing the actual hashing
+import org.springframework.stereotype.Component;                //Marks the class as a Spring component
+import jakarta.annotation.PreDestroy;                           //Pool shutdown
+import java.util.concurrent.ArrayBlockingQueue;                 //Bounded work queue
+import java.util.concurrent.Callable;                           //Hashing task
+import java.util.concurrent.ExecutionException;                 //Failure inside a task
+import java.util.concurrent.Future;                             //Pending result
+import java.util.concurrent.RejectedExecutionException;         //Queue full
+import java.util.concurrent.ThreadPoolExecutor;                 //Fixed-size pool
+import java.util.concurrent.TimeUnit;                           //Timeouts
+import java.util.concurrent.TimeoutException;                   //Caller gave up waiting
+import java.util.concurrent.atomic.AtomicInteger;               //Thread numbering
+import java.util.function.Consumer;                             //Receives a background hash
+
+//Runs password hashing and verification on a CPU-sized pool with a bounded queue, so a login burst cannot occupy every request thread
+@Component  //Spring-managed bean
+public class PasswordHasher
+{
+    private static final Logger log = LoggerFactory.getLogger(PasswordHasher.class);
+
+    private final PasswordEncoder passwordEncoder;      //BCrypt through the delegating encoder
+    private final ThreadPoolExecutor executor;          //Fixed threads, bounded queue, rejects when full
+    private final long timeoutMillis;                   //Longest a caller waits for its result
+    private final long retryAfterSeconds;               //Back-off suggested to rejected clients
+    private final Timer waitTimer;                      //Time spent queued before a thread picked the task up
+    private final Timer hashTimer;                      //Time spent hashing
+    private final Counter rejected;                     //Tasks refused because the pool was saturated
+
+    //Constructor reading pool settings from application properties; 0 threads means one per available processor
+    public PasswordHasher(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry, @Value("${password.hashing.threads:0}") int threads, 
+    @Value("${password.hashing.queueCapacity:64}") int queueCapacity, @Value("${password.hashing.timeout:5000}") long timeoutMillis, 
+    @Value("${password.hashing.retryAfter:1}") long retryAfterSeconds)
+    {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = timeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), runnable -> 
+        {
+            Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+
+        this.waitTimer = Timer.builder("password.hashing.wait").description("Time a hashing task waited in the queue").register(meterRegistry);
+        this.hashTimer = Timer.builder("password.hashing.duration").description("Time spent hashing or verifying a password").register(meterRegistry);
+        this.rejected = Counter.builder("password.hashing.rejected").description("Hashing tasks refused because the pool was saturated").register(meterRegistry);
+        Gauge.builder("password.hashing.queue.depth", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    //Hash a raw password
+    public String encode(CharSequence rawPassword)
+    {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    //Check a raw password against a stored hash
+    public boolean matches(CharSequence rawPassword, String encodedPassword)
+    {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    //True when a stored hash uses an older algorithm or a lower cost than new hashes; no hashing involved
+    public boolean upgradeEncoding(String encodedPassword)
+    {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    //Hash on the pool without waiting; skipped when the pool is saturated since a later call can try again
+    public void encodeInBackground(CharSequence rawPassword, Consumer<String> onEncoded)
+    {
+        try
+        {
+            executor.execute(() -> 
+            {
+                try
+                {
+                    onEncoded.accept(passwordEncoder.encode(rawPassword));
+                }
+
+                catch(RuntimeException e)
+                {
+                    log.warn("Background password hashing failed: {}", e.getMessage());
+                }
+            });
+        }
+
+        catch(RejectedExecutionException e)
+        {
+            rejected.increment();
+        }
+    }
+
+    @PreDestroy //Stop the pool threads
+    public void shutdown()
+    {
+        executor.shutdownNow();
+    }
+
+    //Run on the pool and wait; a full queue or a result that takes too long surfaces as PasswordHashingBusyException
+    private <T> T submit(Callable<T> task)
+    {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try
+        {
+            future = executor.submit(() -> 
+            {
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - queuedAt, TimeUnit.NANOSECONDS);
+                try
+                {
+                    return task.call();
+                }
+
+                finally
+                {
+                    hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        }
+
+        catch(RejectedExecutionException e)
+        {
+            rejected.increment();
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        }
+
+        try
+        {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+
+        catch(TimeoutException e)
+        {
+            future.cancel(true);                        //Free the slot; the client is told to retry
+            rejected.increment();
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        }
+
+        catch(ExecutionException e)
+        {
+            if(e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;                 //Encoder errors keep their original type
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+
+        catch(InterruptedException e)
+        {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.React.Jwt.Login.Security.Throttle;                  //Package declaration
+import io.micrometer.core.instrument.FunctionCounter;           //Rejection counters read from this throttle
+import io.micrometer.core.instrument.MeterRegistry;             //Registry the counters are published to
+import io.micrometer.core.instrument.binder.MeterBinder;        //Lets Spring Boot bind the meters automatically
+import org.springframework.beans.factory.annotation.Value;      //Annotation to inject property values
+import org.springframework.stereotype.Component;                //Marks the class as a Spring component
+import java.util.concurrent.atomic.LongAdder;                   //Low-contention counters
+
+//Login attempt limits per client address and per username, checked before any user lookup or password hashing
+@Component  //Spring-managed bean
+public class LoginThrottle implements MeterBinder
+{
+    private final boolean enabled;                      //Property switch (login.throttle.enabled)
+    private final TokenBuckets addresses;               //Buckets keyed by remote address
+    private final TokenBuckets usernames;               //Buckets keyed by username
+    private final LongAdder addressRejections = new LongAdder();
+    private final LongAdder usernameRejections = new LongAdder();
+
+    //Constructor reading limits from application properties
+    public LoginThrottle(@Value("${login.throttle.enabled:true}") boolean enabled, @Value("${login.throttle.slots:65536}") int slots,
+    @Value("${login.throttle.address.capacity:20}") int addressCapacity, @Value("${login.throttle.address.refillPeriod:1000}") long addressRefillPeriod,
+    @Value("${login.throttle.username.capacity:5}") int usernameCapacity, @Value("${login.throttle.username.refillPeriod:60000}") long usernameRefillPeriod)
+    {
+        this.enabled = enabled;
+        this.addresses = new TokenBuckets(slots, addressCapacity, addressRefillPeriod);
+        this.usernames = new TokenBuckets(slots, usernameCapacity, usernameRefillPeriod);
+    }
+
+    //0 when the attempt may proceed, otherwise the milliseconds the client should wait
+    public long tryAcquire(String username, String remoteAddress)
+    {
+        if(!enabled)
+            return 0;
+
+        long now = System.currentTimeMillis();
+        if(remoteAddress != null)
+        {
+            long wait = addresses.tryAcquire(remoteAddress, now);
+            if(wait > 0)
+            {
+                addressRejections.increment();
+                return wait;
+            }
+        }
+
+        if(username != null)
+        {
+            long wait = usernames.tryAcquire(username, now);
+            if(wait > 0)
+            {
+                usernameRejections.increment();
+                return wait;
+            }
+        }
+
+        return 0;
+    }
+
+    @Override   //Publish rejections under /actuator/metrics/login.throttle.rejected
+    public void bindTo(MeterRegistry registry)
+    {
+        FunctionCounter.builder("login.throttle.rejected", addressRejections, LongAdder::sum).tag("key", "address").register(registry);
+        FunctionCounter.builder("login.throttle.rejected", usernameRejections, LongAdder::sum).tag("key", "username").register(registry);
+    }
+}
@@ -0,0 +1,83 @@
+package com.React.Jwt.Login.Security.Throttle;                  //Package declaration
+import java.util.concurrent.ThreadLocalRandom;                  //Per-process hash seed
+import java.util.concurrent.atomic.AtomicLongArray;             //One CAS-able word per bucket
+
+//Fixed table of token buckets keyed by string, one long per bucket, updated with CAS only (GCRA: each word holds the bucket's theoretical arrival time)
+public class TokenBuckets
+{
+    private static final int PROBES = 4;                //Slots tried before sharing a bucket with another key
+    private static final int TIME_BITS = 40;            //About 34 years of milliseconds from ORIGIN
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+    private static final long ORIGIN = 1577836800000L;  //2020-01-01T00:00Z; times are stored relative to it
+
+    private final AtomicLongArray slots;                //fingerprint << 40 | arrival time; a time in the past means a full, reusable bucket
+    private final int mask;                             //Slot count minus one
+    private final long interval;                        //Milliseconds to refill one token
+    private final long tolerance;                       //Burst allowance: capacity tokens' worth of time
+    private final long seed = ThreadLocalRandom.current().nextLong();   //Unpredictable, so keys cannot be crafted to collide with a victim
+
+    //Slot count is rounded up to a power of two; memory is fixed at 8 bytes per slot
+    public TokenBuckets(int slots, int capacity, long refillPeriodMillis)
+    {
+        int size = Integer.highestOneBit(Math.max(PROBES, slots) - 1) << 1;
+        this.slots = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.interval = refillPeriodMillis;
+        this.tolerance = refillPeriodMillis * capacity;
+    }
+
+    //Take one token for the key; returns 0 when allowed, otherwise the milliseconds until a token is available
+    public long tryAcquire(String key, long nowMillis)
+    {
+        long hash = hash(key);
+        long fingerprint = hash >>> TIME_BITS;
+        long now = nowMillis - ORIGIN;
+        int start = (int) hash & mask;
+        for(int probe = 0; probe < PROBES; probe++)
+        {
+            int slot = (start + probe) & mask;
+            while(true)
+            {
+                long word = slots.get(slot);
+                long arrival = word & TIME_MASK;
+                boolean idle = arrival <= now;          //Refilled completely: the bucket is as good as absent
+                if(!idle && (word >>> TIME_BITS) != fingerprint)
+                    break;                              //Held by another active key, try the next slot
+
+                long next = (idle ? now : arrival) + interval;
+                if(next - now > tolerance)
+                    return next - now - tolerance;
+                if(slots.compareAndSet(slot, word, fingerprint << TIME_BITS | next))
+                    return 0;
+            }
+        }
+
+        return acquireShared(start, now);
+    }
+
+    //Every probe slot is busy with other keys: share the home slot, which can only make the limit stricter
+    private long acquireShared(int slot, long now)
+    {
+        while(true)
+        {
+            long word = slots.get(slot);
+            long arrival = word & TIME_MASK;
+            long next = Math.max(arrival, now) + interval;
+            if(next - now > tolerance)
+                return next - now - tolerance;
+            if(slots.compareAndSet(slot, word, (word & ~TIME_MASK) | next))
+                return 0;
+        }
+    }
+
+    //Seeded 64-bit FNV-1a over the characters, finished with a multiply-xorshift; no allocation
+    private long hash(String key)
+    {
+        long h = seed ^ 0xCBF29CE484222325L;
+        for(int i = 0; i < key.length(); i++)
+            h = (h ^ key.charAt(i)) * 0x100000001B3L;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        return h ^ (h >>> 33);
+    }
+}
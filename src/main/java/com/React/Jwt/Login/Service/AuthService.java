@@ -1,57 +1,108 @@
 package com.React.Jwt.Login.Service;                                        //Package declaration
-import com.React.Jwt.Login.Entity.Auth.AuthRequest;                         //AuthRequest entity for user authentication input
+import com.React.Jwt.Login.Database.ReadYourWrites;                          //Read-your-writes windows for the replica
 import com.React.Jwt.Login.Entity.Auth.AuthResponse;                        //AuthResponse entity for response after authentication
 import com.React.Jwt.Login.Entity.Auth.ForgotLoginCredential;               //ForgotLoginCredential entity for resetting username and password
 import com.React.Jwt.Login.Exception.EmailNotFoundException;                //Custom exception for email not found
+import com.React.Jwt.Login.Exception.InvalidTokenException;                 //Custom exception for a token that fails verification
+import com.React.Jwt.Login.DTO.Auth.AuthRequestDTO;                         //DTO for user authentication input, used as received
 import com.React.Jwt.Login.DTO.Auth.AuthResponseDTO;                        //DTO for formatted response after authentication
 import com.React.Jwt.Login.DTO.Auth.ForgotLoginCredentialDTO;               //DTO for resetting username and password
 import com.React.Jwt.Login.Entity.User;                                     //User entity for user data
+import com.React.Jwt.Login.Repository.UserCache;                            //Cached user lookups for logins
 import com.React.Jwt.Login.Repository.UserRepository;                       //User repository for querying user data
+import com.React.Jwt.Login.Security.JWT.CredentialEpochs;                   //Per-user credential epochs
 import com.React.Jwt.Login.Security.JWT.JwtAuthenticationToken;             //Custom authentication token for JWT authentication
 import com.React.Jwt.Login.Security.JWT.JwtUtil;                            //Utility class for JWT token generation and validation
+import com.React.Jwt.Login.Security.JWT.RefreshTokenStore;                  //Opaque refresh tokens with rotate-on-use
+import com.React.Jwt.Login.Security.JWT.TokenDenylist;                      //Revoked access tokens
+import com.React.Jwt.Login.Security.JWT.VerifiedJwt;                        //Result of a single JWT verification
+import com.React.Jwt.Login.Security.Password.PasswordHasher;                //Encodes and matches passwords off the request thread
 import org.springframework.beans.factory.annotation.Autowired;              //For dependency injection
+import org.springframework.jdbc.core.JdbcTemplate;                          //Conditional password update after a rehash
 import org.springframework.security.core.Authentication;                    //Authentication interface for user details
-import org.springframework.security.core.authority.SimpleGrantedAuthority;  //Simple authority object for roles
 import org.springframework.security.core.context.SecurityContextHolder;     //Holds authentication details
-import org.springframework.security.crypto.password.PasswordEncoder;        //For encoding and matching passwords
 import org.springframework.stereotype.Service;                              //Marks the class as a service
 import java.util.List;                                                      //For handling lists of roles
-import java.util.stream.Collectors;                                         //For collecting stream elements into a list
+import java.util.Optional;                                                  //Row version lookup result
 
 @Service    //Marks the class as a service, so Spring can manage it
 public class AuthService 
 {
     private final UserRepository userRepository;    //User repository for interacting with the user database
+    private final UserCache userCache;              //Cached user rows, invalidated on every credential change
+    private final UserResponseCache userResponseCache;  //Serialized profiles and pages, invalidated when a username changes
     private final JwtUtil JwtUtil;                //Utility for working with JWT tokens
-    private final PasswordEncoder passwordEncoder;  //Password encoder for securely handling passwords
+    private final PasswordHasher passwordHasher;    //Bounded pool for securely hashing and matching passwords
+    private final RefreshTokenStore refreshTokenStore;  //Store for refresh tokens issued at login
+    private final TokenDenylist tokenDenylist;          //Denylist for logged-out and revoked access tokens
+    private final CredentialEpochs credentialEpochs;    //Invalidates tokens minted before a credential change
+    private final JdbcTemplate jdbcTemplate;            //Compare-and-set update of rehashed passwords
+    private final ReadYourWrites readYourWrites;        //Logins right after a reset read the primary
 
     @Autowired  //Constructor-based dependency injection for necessary services
-    public AuthService(UserRepository userRepository, JwtUtil JwtUtil, PasswordEncoder passwordEncoder) 
+    public AuthService(UserRepository userRepository, UserCache userCache, UserResponseCache userResponseCache, JwtUtil JwtUtil, PasswordHasher passwordHasher, 
+    RefreshTokenStore refreshTokenStore, TokenDenylist tokenDenylist, CredentialEpochs credentialEpochs, JdbcTemplate jdbcTemplate, ReadYourWrites readYourWrites) 
     {
         this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.userResponseCache = userResponseCache;
         this.JwtUtil = JwtUtil;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
+        this.refreshTokenStore = refreshTokenStore;
+        this.tokenDenylist = tokenDenylist;
+        this.credentialEpochs = credentialEpochs;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readYourWrites = readYourWrites;
     }
 
     //Authenticate the user and generate token including roles
-    public AuthResponseDTO authenticate(AuthRequest authRequest) 
+    public AuthResponseDTO authenticate(AuthRequestDTO authRequest) 
     {
-        //Retrieve user from database based on username
-        User user = userRepository.findByUsername(authRequest.getUsername()).orElseThrow(() -> new RuntimeException("User not found"));
+        //Retrieve user based on username, from the cache when it still matches the database
+        User user = currentUser(authRequest.getUsername());
 
         //Validate if the provided password matches the user's stored password
-        if(!passwordEncoder.matches(authRequest.getPassword(), user.getPassword())) 
+        if(!passwordHasher.matches(authRequest.getPassword(), user.getPassword())) 
             throw new RuntimeException("Invalid credentials");              //Throw error if password doesn't match
 
-        //Generate JWT token using the username and role(s)
-        String token = JwtUtil.generateToken(user.getUsername(), List.of(user.getRole().name()));
+        //Stored hash uses an older algorithm or cost: rehash while the raw password is at hand, without delaying this login
+        if(passwordHasher.upgradeEncoding(user.getPassword()))
+            rehashInBackground(user.getUserId(), authRequest.getPassword(), user.getPassword());
+
+        //Generate JWT token using the username and role(s), plus an opaque refresh token
+        List<String> roles = List.of(user.getRole().name());
+        String token = JwtUtil.generateToken(user.getUserId(), user.getUsername(), roles, user.getCredentialEpoch());
+        String refreshToken = refreshTokenStore.issue(user.getUserId(), user.getUsername(), roles);
 
         //Return AuthResponseDTO containing the token, success message, and role-based welcome message
         return AuthResponseDTO.builder().userId(user.getUserId()).firstName(user.getFirstName()).lastName(user.getLastName()).phone(user.getPhone())
-        .address(user.getAddress()).email(user.getEmail()).username(user.getUsername()).role(user.getRole()).token(token)
+        .address(user.getAddress()).email(user.getEmail()).username(user.getUsername()).role(user.getRole()).token(token).refreshToken(refreshToken)
         .message("Authentication successful").build();
     }
 
+    //User for a login: the cached copy is only trusted with a password check while its row version matches the primary's, a one-column
+    //lookup, since a password change made on another node reaches this node's cache only when the entry expires
+    private User currentUser(String username) 
+    {
+        User cached = userCache.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
+        Optional<Long> version = readYourWrites.onPrimary(() -> userRepository.findVersionById(cached.getUserId()));
+        if(version.isPresent() && version.get() == cached.getVersion())
+            return cached;
+
+        userCache.invalidate(cached.getUserId(), username);    //Stale: drop it so other lookups reload too
+        return readYourWrites.onPrimary(() -> userRepository.findByUsername(username)).orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    //Replace an outdated hash unless the password changed in the meantime; same password, so tokens, epochs and the profile version are unaffected
+    private void rehashInBackground(Long userId, String rawPassword, String oldHash) 
+    {
+        passwordHasher.encodeInBackground(rawPassword, newHash -> 
+        {
+            if(jdbcTemplate.update("UPDATE users SET password = ? WHERE userId = ? AND password = ?", newHash, userId, oldHash) > 0)
+                userCache.invalidate(userId);                       //Otherwise the cached old hash would trigger another rehash on every login
+        });
+    }
+
     //Allow user to reset username and password by providing their email address
     public ForgotLoginCredentialDTO ResetLoginCredential(ForgotLoginCredential forgotLoginCredential) 
     {
@@ -59,16 +110,29 @@ public class AuthService
         if(forgotLoginCredential == null || forgotLoginCredential.getEmail() == null || forgotLoginCredential.getEmail().isBlank()) 
             throw new IllegalArgumentException("Email must be provided");
 
-        //Retrieve user by email; throw custom exception if not found
-        User user = userRepository.findByEmail(forgotLoginCredential.getEmail()).orElseThrow(() -> new EmailNotFoundException(forgotLoginCredential.getEmail()));
+        //Retrieve user by email from the primary; throw custom exception if not found
+        User user = readYourWrites.onPrimary(() -> userRepository.findByEmail(forgotLoginCredential.getEmail()))
+        .orElseThrow(() -> new EmailNotFoundException(forgotLoginCredential.getEmail()));
+        String oldUsername = user.getUsername();
 
         //Update username if a non-blank value is provided
+        boolean changed = false;
         if(forgotLoginCredential.getUsername() != null && !forgotLoginCredential.getUsername().isBlank())
+        {
             user.setUsername(forgotLoginCredential.getUsername());
+            changed = true;
+        }
 
         //Update password if a non-blank value is provided (after encoding)
         if(forgotLoginCredential.getPassword() != null && !forgotLoginCredential.getPassword().isBlank()) 
-            user.setPassword(passwordEncoder.encode(forgotLoginCredential.getPassword()));
+        {
+            user.setPassword(passwordHasher.encode(forgotLoginCredential.getPassword()));
+            changed = true;
+        }
+
+        //A new credential epoch invalidates every token issued before this change
+        if(changed)
+            user.setCredentialEpoch(user.getCredentialEpoch() + 1);
 
         //Attempt to save the updated user; throw runtime exception on failure
         try 
@@ -81,6 +145,17 @@ public class AuthService
             throw new RuntimeException("Failed to update user credentials", e);
         }
 
+        userCache.invalidate(user.getUserId(), oldUsername, user.getUsername());   //Logins from now on read the saved credentials
+        userResponseCache.invalidate(user.getUserId());             //Profile and pages show the new username
+        readYourWrites.recordWrite(user.getUserId(), oldUsername, user.getUsername());     //From the primary until the replica has them
+
+        //Publish the new epoch only once it is saved, and drop refresh tokens issued under the old credentials
+        if(changed) 
+        {
+            credentialEpochs.advance(user.getUserId(), user.getCredentialEpoch());
+            refreshTokenStore.revokeUser(user.getUserId());
+        }
+
         //Return a DTO with updated user info and success message
         return ForgotLoginCredentialDTO.builder().email(user.getEmail()).username(user.getUsername()).message("Updated user credential successfully!").build();
     }
@@ -88,37 +163,42 @@ public class AuthService
     //Authenticate using JWT token
     public Authentication authenticateWithJwt(String token) 
     {
-        //Check if the provided JWT token is valid
-        if(JwtUtil.isTokenValid(token)) 
-        {
-            String username = JwtUtil.getUsernameFromToken(token); //Extract the username from the token
+        //Verify the provided JWT token once and reuse the decoded claims
+        VerifiedJwt jwt = JwtUtil.verify(token).filter(verified -> !tokenDenylist.isRevoked(verified))
+        .filter(verified -> credentialEpochs.isCurrent(verified.getUserId(), verified.getCredentialEpoch()))
+        .orElseThrow(() -> new RuntimeException("Invalid or expired token"));
 
-            //Extract the roles from the token and convert them to authorities
-            List<SimpleGrantedAuthority> authorities = JwtUtil.getRolesFromToken(token).stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList());
+        //Create a custom JwtAuthenticationToken with the extracted information
+        JwtAuthenticationToken jwtAuthenticationToken = new JwtAuthenticationToken(jwt.getSubject(), jwt.getUserId(), jwt.getRoleMask(), token);
 
-            //Create a custom JwtAuthenticationToken with the extracted information
-            JwtAuthenticationToken jwtAuthenticationToken = new JwtAuthenticationToken(username, authorities, token);
+        //Set the created authentication token into the security context
+        SecurityContextHolder.getContext().setAuthentication(jwtAuthenticationToken);
 
-            //Set the created authentication token into the security context
-            SecurityContextHolder.getContext().setAuthentication(jwtAuthenticationToken);
+        return jwtAuthenticationToken;                              //Return the authentication token
+    }
 
-            return jwtAuthenticationToken;                              //Return the authentication token
-        }
-        throw new RuntimeException("Invalid or expired token"); //Throw error if token is invalid or expired
+    //Exchange a refresh token for a new access token and a new refresh token; the old refresh token stops working
+    public AuthResponse refreshToken(String refreshToken) 
+    {
+        //One hash lookup in the store and a primary-key delete that consumes the token; no JWT parse and no users query
+        RefreshTokenStore.Rotation rotation = refreshTokenStore.rotate(refreshToken).orElseThrow(() -> new RuntimeException("Invalid or expired refresh token"));
+
+        String newToken = JwtUtil.generateToken(rotation.session().userId(), rotation.session().username(), rotation.session().roles());    //Generate a new token with the same username and roles
+        return AuthResponse.builder().userId(rotation.session().userId()).username(rotation.session().username()).token(newToken)
+        .refreshToken(rotation.refreshToken()).build();                                                         //Return both tokens inside an AuthResponse
     }
 
-    //Refresh JWT token
-    public AuthResponse refreshToken(String oldToken) 
+    //Log out: revoke the access token until its exp and drop the refresh token if one is given
+    public void logout(String accessToken, String refreshToken) 
     {
-        //Check if the provided old JWT token is valid
-        if(JwtUtil.isTokenValid(oldToken)) 
-        {
-            String username = JwtUtil.getUsernameFromToken(oldToken);      //Extract username and roles from the old token
-            List<String> roles = JwtUtil.getRolesFromToken(oldToken);
-            String newToken = JwtUtil.generateToken(username, roles);      //Generate a new token with the same username and roles
-            return AuthResponse.builder().token(newToken).build();          //Return the new token inside an AuthResponse
-        }
+        JwtUtil.verify(accessToken).ifPresent(tokenDenylist::revoke);  //An already invalid token needs no revocation
+        refreshTokenStore.revoke(refreshToken);
+    }
 
-        throw new RuntimeException("Invalid or expired token");     //Throw error if token is invalid or expired
+    //Revoke any access token on behalf of an administrator
+    public void revokeToken(String token) 
+    {
+        VerifiedJwt jwt = JwtUtil.verify(token).orElseThrow(InvalidTokenException::new);
+        tokenDenylist.revoke(jwt);
     }
 }
\ No newline at end of file
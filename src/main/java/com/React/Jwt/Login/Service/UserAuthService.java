@@ -1,9 +1,11 @@
 package com.React.Jwt.Login.Service;                                    //Package declaration for service classes
 import com.React.Jwt.Login.DTO.UserDTO;                                 //Import UserDTO data transfer object
 import com.React.Jwt.Login.Entity.User;                                 //Import User entity class
+import com.React.Jwt.Login.Enum.Role;                                   //Import Role enum for bit-test role checks
 import com.React.Jwt.Login.Exception.UsernameNotFoundException;         //Custom exception for missing username
 import com.React.Jwt.Login.Mapper.UserMapper;                           //Mapper for converting between User and UserDTO
-import com.React.Jwt.Login.Repository.UserRepository;                   //Repository interface for User database operations
+import com.React.Jwt.Login.Repository.UserCache;                        //Cached user lookups in front of the repository
+import com.React.Jwt.Login.Security.JWT.JwtAuthenticationToken;         //JWT authentication carrying the user id
 import lombok.RequiredArgsConstructor;                                  //Lombok annotation to generate constructor for final fields
 import org.springframework.security.access.AccessDeniedException;       //Exception for access denial
 import org.springframework.security.core.Authentication;                //Core Spring Security class representing authentication token
@@ -15,7 +17,7 @@ import org.springframework.stereotype.Service;                          //Marks
 @RequiredArgsConstructor    //Generates constructor for final fields (dependency injection)
 public class UserAuthService 
 {
-    private final UserRepository userRepository;    //Injected repository for user data access
+    private final UserCache userCache;              //Injected cache of user rows
     private final UserMapper userMapper;            //Injected mapper for User <-> UserDTO conversion
 
     //Retrieve username of currently authenticated user
@@ -34,7 +36,15 @@ public class UserAuthService
     //Get current user's profile as a UserDTO
     public UserDTO getCurrentUser() 
     {
-        return userMapper.toDTO(getAuthenticatedUser());        //Convert authenticated User entity to UserDTO
+        String username = getAuthenticatedUsername();
+        //Cached public columns, shared rather than copied; the password hash never reaches the DTO
+        return userMapper.toDTO(userCache.findViewByUsername(username).orElseThrow(() -> new UsernameNotFoundException(username)));
+    }
+
+    //Row version of the current user's profile, looked up by the token's user id; conditional requests are answered from it without loading the row
+    public long getCurrentUserVersion() 
+    {
+        return userCache.findVersionById(getAuthenticatedUserId()).orElseThrow(() -> new UsernameNotFoundException(getAuthenticatedUsername()));
     }
 
     //Retrieve the User entity of currently authenticated user
@@ -43,23 +53,49 @@ public class UserAuthService
         return findUserByUsername(getAuthenticatedUsername());  //Find user entity by authenticated username
     }
 
+    //Retrieve the user id of the currently authenticated user, from the token when it carries one
+    public Long getAuthenticatedUserId() 
+    {
+        //JWT requests carry the id in the "uid" claim, so no query is needed
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if(auth instanceof JwtAuthenticationToken jwtAuthentication && jwtAuthentication.getUserId() > 0)
+            return jwtAuthentication.getUserId();
+
+        return getAuthenticatedUser().getUserId();              //Other authentication types fall back to a lookup by username
+    }
+
     //Check if the current user has a specific role
-    public boolean hasRole(String roleName) 
+    public boolean hasRole(Role role) 
     {
         //Get authentication info from security context
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        
+
+        //JWT requests carry the roles as bits
+        if(auth instanceof JwtAuthenticationToken jwtAuthentication)
+            return jwtAuthentication.hasRole(role);
+
         //Return false if authentication or authorities are null
         if(auth == null || auth.getAuthorities() == null) return false;
-        
-        //Check if any authority matches the given role name
-        return auth.getAuthorities().stream().map(GrantedAuthority::getAuthority).anyMatch(role -> role.equals(roleName));
+
+        //Other authentication types: compare against the role's "ROLE_" authority name
+        String authority = role.authority().getAuthority();
+        for(GrantedAuthority granted : auth.getAuthorities())
+            if(authority.equals(granted.getAuthority()))
+                return true;
+        return false;
+    }
+
+    //Check if the current user has a role given by name ("ADMIN" or "ROLE_ADMIN"); unknown names are never granted
+    public boolean hasRole(String roleName) 
+    {
+        Role role = Role.fromName(roleName);
+        return role != null && hasRole(role);
     }
 
     //Helper method to find User entity by username or throw exception
     private User findUserByUsername(String username) 
     {
-        //Query userRepository; throw custom exception if user not found
-        return userRepository.findByUsername(username).orElseThrow(() -> new UsernameNotFoundException(username));
+        //Cached lookup; throw custom exception if user not found
+        return userCache.findByUsername(username).orElseThrow(() -> new UsernameNotFoundException(username));
     }
 }
\ No newline at end of file
@@ -1,5 +1,5 @@
 package com.React.Jwt.Login.Service;                                //Package declaration for service layer classes
-import com.React.Jwt.Login.Entity.User;                             //Import User entity class
+import com.React.Jwt.Login.Enum.Role;                               //Import Role enum for bit-test role checks
 import lombok.RequiredArgsConstructor;                              //Lombok annotation to generate constructor for final fields
 import org.springframework.security.access.AccessDeniedException;   //Spring exception for access denial
 import org.springframework.stereotype.Service;                      //Marks this class as a Spring service component
@@ -14,18 +14,18 @@ public class UserAuthorizationService
     public void authorizeAdmin() 
     {
         //Check if current user has admin role; throw exception if not
-        if (!userAuthService.hasRole("ROLE_ADMIN"))
+        if (!userAuthService.hasRole(Role.ADMIN))
             throw new AccessDeniedException("Only admins can access this resource.");
     }
 
     //Method to authorize either the user themselves or an admin
     public void authorizeUserOrAdmin(Long userId) 
     {
-        User currentUser = userAuthService.getAuthenticatedUser();  //Retrieve currently authenticated user
-        boolean isSelf = userId.equals(currentUser.getUserId());    //Check if the requested userId matches current user's ID
+        Long currentUserId = userAuthService.getAuthenticatedUserId();  //Retrieve currently authenticated user's ID (from the token, no query)
+        boolean isSelf = userId.equals(currentUserId);                  //Check if the requested userId matches current user's ID
 
         //Throw exception if not self and not admin
-        if(!isSelf && !userAuthService.hasRole("ROLE_ADMIN"))
+        if(!isSelf && !userAuthService.hasRole(Role.ADMIN))
             throw new AccessDeniedException("You are not authorized to access this data.");
     }
 }
\ No newline at end of file
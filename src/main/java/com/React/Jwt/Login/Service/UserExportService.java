@@ -0,0 +1,209 @@
+package com.React.Jwt.Login.Service;                                                    //Package declaration for user-related service classes
+import com.fasterxml.jackson.core.JsonGenerator;                                        //Streaming JSON writer
+import com.fasterxml.jackson.core.io.SerializedString;                                  //Newline between NDJSON records
+import com.fasterxml.jackson.databind.ObjectMapper;                                     //Source of the configured JSON factory
+import org.springframework.beans.factory.annotation.Value;                              //Annotation to inject property values
+import org.springframework.http.MediaType;                                              //Content types of the export formats
+import org.springframework.jdbc.core.JdbcTemplate;                                      //Forward-only row streaming
+import org.springframework.jdbc.core.RowCallbackHandler;                                //Handles one row at a time
+import org.springframework.stereotype.Service;                                          //Marks this class as a Spring-managed service component
+import org.springframework.transaction.PlatformTransactionManager;                      //Read-only transaction around the cursor
+import org.springframework.transaction.support.TransactionTemplate;                     //Programmatic transaction
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;     //Writes the body after the controller returns
+import java.io.BufferedWriter;                                                          //Buffered CSV output
+import java.io.IOException;                                                             //Write failures
+import java.io.OutputStream;                                                            //Response body
+import java.io.OutputStreamWriter;                                                      //Character output for CSV
+import java.io.UncheckedIOException;                                                    //Carries write failures out of the row handler
+import java.io.Writer;                                                                  //Character output for CSV
+import java.nio.charset.StandardCharsets;                                               //UTF-8 output
+import java.sql.ResultSet;                                                              //Current row
+import java.sql.SQLException;                                                           //Column read failure
+import java.util.Locale;                                                                //Format name parsing
+import java.util.zip.GZIPOutputStream;                                                  //Optional compression
+
+//Streams every user straight from a JDBC cursor to the response; rows are never turned into entities or held in a list
+@Service    //Marks this as a Spring service bean
+public class UserExportService
+{
+    private static final String SELECT_USERS = "SELECT userId, firstName, lastName, phone, address, email, username, role FROM users ORDER BY userId";
+    private static final String[] COLUMNS = { "userId", "firstName", "lastName", "phone", "address", "email", "username", "role" };
+    private static final int BUFFER_SIZE = 8192;                        //Output buffer before bytes reach the socket
+
+    private final JdbcTemplate jdbcTemplate;                            //Query with a tuned fetch size
+    private final TransactionTemplate transactionTemplate;              //Keeps the cursor open: drivers such as PostgreSQL only stream inside a transaction
+    private final ObjectMapper objectMapper;                            //Shared JSON factory
+    private final UserAuthorizationService userAuthorizationService;    //Service for authorization checks
+
+    //Export and import formats with their media type and file extension
+    public enum Format
+    {
+        NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+        CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension)
+        {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType mediaType()
+        {
+            return mediaType;
+        }
+
+        public String extension()
+        {
+            return extension;
+        }
+
+        //Format for a request Content-Type such as "text/csv; charset=UTF-8"; unsupported types are rejected with IllegalArgumentException
+        public static Format forMediaType(String contentType)
+        {
+            MediaType requested = contentType == null ? null : MediaType.parseMediaType(contentType);
+            for(Format format : values())
+                if(requested != null && format.mediaType.isCompatibleWith(requested))
+                    return format;
+            throw new IllegalArgumentException("Unsupported content type: " + contentType);
+        }
+
+        //Case-insensitive format name; unknown names are rejected with IllegalArgumentException
+        public static Format from(String name)
+        {
+            try
+            {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            }
+
+            catch(IllegalArgumentException e)
+            {
+                throw new IllegalArgumentException("Unsupported export format: " + name, e);
+            }
+        }
+    }
+
+    //Constructor reading the JDBC fetch size from application properties
+    public UserExportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+    UserAuthorizationService userAuthorizationService, @Value("${users.export.fetchSize:500}") int fetchSize)
+    {
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());    //Own instance so the fetch size does not leak to other queries
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.userAuthorizationService = userAuthorizationService;
+    }
+
+    //Check admin access now, on the request thread, and return a body that streams the users when the response is written
+    public StreamingResponseBody exportUsers(Format format, boolean gzip)
+    {
+        userAuthorizationService.authorizeAdmin();                      //Authorize admin access only
+        return outputStream -> writeUsers(format, gzip ? new GZIPOutputStream(outputStream, BUFFER_SIZE) : outputStream);
+    }
+
+    //Write all users to the stream and close it; closing also finishes the gzip trailer
+    void writeUsers(Format format, OutputStream outputStream) throws IOException
+    {
+        try
+        {
+            if(format == Format.NDJSON)
+                writeNdjson(outputStream);
+            else
+                writeCsv(outputStream);
+        }
+
+        catch(UncheckedIOException e)
+        {
+            throw e.getCause();                                         //Client went away mid-export
+        }
+    }
+
+    //One JSON object per line, written field by field with Jackson's streaming generator
+    private void writeNdjson(OutputStream outputStream) throws IOException
+    {
+        try(JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream))
+        {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            stream(rs ->
+            {
+                generator.writeStartObject();
+                generator.writeNumberField(COLUMNS[0], rs.getLong(COLUMNS[0]));
+                for(int i = 1; i < COLUMNS.length; i++)
+                    generator.writeStringField(COLUMNS[i], rs.getString(COLUMNS[i]));
+                generator.writeEndObject();
+            });
+            generator.writeRaw('\n');
+        }
+    }
+
+    //RFC 4180 CSV with a header row
+    private void writeCsv(OutputStream outputStream) throws IOException
+    {
+        try(Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE))
+        {
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+            stream(rs ->
+            {
+                writer.write(Long.toString(rs.getLong(COLUMNS[0])));
+                for(int i = 1; i < COLUMNS.length; i++)
+                {
+                    writer.write(',');
+                    writeCsvField(writer, rs.getString(COLUMNS[i]));
+                }
+                writer.write("\r\n");
+            });
+        }
+    }
+
+    //Quote fields containing separators, quotes or line breaks; double embedded quotes
+    private static void writeCsvField(Writer writer, String value) throws IOException
+    {
+        if(value == null)
+            return;
+
+        boolean quote = false;
+        for(int i = 0; i < value.length() && !quote; i++)
+        {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+
+        if(!quote)
+        {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    //Row writer that may fail with IOException
+    @FunctionalInterface
+    private interface RowWriter
+    {
+        void write(ResultSet rs) throws IOException, SQLException;
+    }
+
+    //Run the query inside a read-only transaction and hand each row to the writer as it arrives
+    private void stream(RowWriter rowWriter)
+    {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(SELECT_USERS, (RowCallbackHandler) rs ->
+        {
+            try
+            {
+                rowWriter.write(rs);
+            }
+
+            catch(IOException e)
+            {
+                throw new UncheckedIOException(e);                      //Abort the query; the cursor is closed on the way out
+            }
+        }));
+    }
+}
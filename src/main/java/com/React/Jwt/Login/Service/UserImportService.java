@@ -0,0 +1,408 @@
+package com.React.Jwt.Login.Service;                                                    //Package declaration for user-related service classes
+import com.React.Jwt.Login.DTO.UserDTO;                                                 //Import DTO each uploaded row is read into
+import com.React.Jwt.Login.DTO.UserImportReportDTO;                                     //Import DTO for the per-row report
+import com.fasterxml.jackson.databind.ObjectMapper;                                     //Maps NDJSON lines and CSV records to UserDTO
+import com.fasterxml.jackson.databind.ObjectReader;                                     //Reusable UserDTO reader
+import jakarta.annotation.PreDestroy;                                                   //Stops the hashing pool on shutdown
+import jakarta.validation.ConstraintViolation;                                          //One failed UserDTO constraint
+import jakarta.validation.Validator;                                                    //Applies the UserDTO constraints
+import org.springframework.beans.factory.annotation.Value;                              //Annotation to inject property values
+import org.springframework.dao.DataIntegrityViolationException;                         //Unique or length constraint hit on insert
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;                      //Binds one batch row
+import org.springframework.jdbc.core.JdbcTemplate;                                      //Batch inserts
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;                  //IN-list parameters
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;             //Expands the IN lists
+import org.springframework.security.crypto.password.PasswordEncoder;                    //Hashes imported passwords
+import org.springframework.stereotype.Service;                                          //Marks this class as a Spring-managed service component
+import org.springframework.transaction.PlatformTransactionManager;                      //One transaction per chunk
+import org.springframework.transaction.support.TransactionTemplate;                     //Programmatic transaction
+import java.io.BufferedReader;                                                          //Line and character input
+import java.io.IOException;                                                             //Read failures
+import java.io.InputStream;                                                             //Request body
+import java.io.InputStreamReader;                                                       //UTF-8 decoding
+import java.nio.charset.StandardCharsets;                                               //UTF-8 input
+import java.sql.PreparedStatement;                                                      //Batch statement
+import java.sql.SQLException;                                                           //Bind failures
+import java.util.*;                                                                     //Import core Java utility classes (e.g., List, Set, Map)
+import java.util.concurrent.ExecutionException;                                         //Hashing failure
+import java.util.concurrent.ForkJoinPool;                                               //Hashing pool
+import java.util.concurrent.ForkJoinWorkerThread;                                       //Named hashing threads
+import java.util.stream.Collectors;                                                     //Joins violation messages
+
+//Bulk import of users from NDJSON or CSV: rows are read, checked and inserted a chunk at a time, so memory does not grow with the upload
+@Service    //Marks this as a Spring service bean
+public class UserImportService
+{
+    //A UNION rather than OR, so each IN list is an index lookup instead of a scan of the whole table
+    private static final String FIND_TAKEN = "SELECT username, email, phone FROM users WHERE username IN (:usernames) "
+    + "UNION SELECT username, email, phone FROM users WHERE email IN (:emails) UNION SELECT username, email, phone FROM users WHERE phone IN (:phones)";
+    private static final String INSERT_USER = "INSERT INTO users (firstName, lastName, phone, address, email, username, password, role, credentialEpoch) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final int MAX_REPORTED_ERRORS = 1000;                //Rows listed in the report; the failed count is always exact
+
+    private final JdbcTemplate jdbcTemplate;                            //Batch and single-row inserts
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;    //Set-wise uniqueness check
+    private final TransactionTemplate transactionTemplate;              //A failed batch leaves nothing behind
+    private final ObjectMapper objectMapper;                            //CSV records to UserDTO
+    private final ObjectReader userReader;                              //NDJSON lines to UserDTO
+    private final Validator validator;                                  //Same constraints as registration
+    private final PasswordEncoder passwordEncoder;                      //Hashes with the configured default encoding
+    private final UserAuthorizationService userAuthorizationService;    //Service for authorization checks
+    private final UserResponseCache userResponseCache;                  //Cached pages of the user list, dropped after an import
+    private final ForkJoinPool hashingPool;                             //Own pool: imports never starve logins on the PasswordHasher pool
+    private final int chunkSize;                                        //Rows per uniqueness query, hashing round and batch
+
+    //Constructor reading chunk size and hashing threads from application properties
+    public UserImportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, ObjectMapper objectMapper, Validator validator,
+    PasswordEncoder passwordEncoder, UserAuthorizationService userAuthorizationService, UserResponseCache userResponseCache, 
+    @Value("${users.import.chunkSize:1000}") int chunkSize, @Value("${users.import.threads:0}") int threads)
+    {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.userReader = objectMapper.readerFor(UserDTO.class);
+        this.validator = validator;
+        this.passwordEncoder = passwordEncoder;
+        this.userAuthorizationService = userAuthorizationService;
+        this.userResponseCache = userResponseCache;
+        this.chunkSize = chunkSize;
+        this.hashingPool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(), pool ->
+        {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("user-import-hash-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    @PreDestroy //Release the hashing threads
+    public void shutdown()
+    {
+        hashingPool.shutdownNow();
+    }
+
+    //Import every row of the upload; bad rows are reported and skipped, good rows are inserted
+    public UserImportReportDTO importUsers(UserExportService.Format format, InputStream body) throws IOException
+    {
+        userAuthorizationService.authorizeAdmin();                      //Authorize admin access only
+
+        Report report = new Report();
+        try(BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)))
+        {
+            RowSource rows = format == UserExportService.Format.NDJSON ? ndjsonRows(reader) : csvRows(reader);
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            for(Row row = rows.next(); row != null; row = rows.next())
+            {
+                chunk.add(row);
+                if(chunk.size() == chunkSize)
+                {
+                    importChunk(chunk, report);
+                    chunk.clear();
+                }
+            }
+
+            if(!chunk.isEmpty())
+                importChunk(chunk, report);
+        }
+
+        finally
+        {
+            userResponseCache.invalidatePages();                        //Chunks committed before a failure are already listed
+        }
+
+        return report.toDTO();
+    }
+
+    //Validate, check uniqueness with one query, hash in parallel, then insert in one batch
+    private void importChunk(List<Row> chunk, Report report)
+    {
+        List<Row> candidates = new ArrayList<>(chunk.size());
+        Set<String> usernames = new HashSet<>(), emails = new HashSet<>(), phones = new HashSet<>();
+        for(Row row : chunk)
+        {
+            report.received++;
+            String error = row.error != null ? row.error : validate(row.user);
+            if(error == null)
+                error = duplicateOf(row.user, usernames, emails, phones, "Duplicate in upload: ");
+            if(error != null)
+            {
+                report.reject(row.number, error);
+                continue;
+            }
+
+            usernames.add(row.user.getUsername());
+            emails.add(row.user.getEmail());
+            phones.add(row.user.getPhone());
+            candidates.add(row);
+        }
+
+        if(candidates.isEmpty())
+            return;
+
+        //Rows inserted by earlier chunks are in the table by now, so this also catches duplicates across chunks
+        Set<String> takenUsernames = new HashSet<>(), takenEmails = new HashSet<>(), takenPhones = new HashSet<>();
+        namedParameterJdbcTemplate.query(FIND_TAKEN, new MapSqlParameterSource("usernames", usernames).addValue("emails", emails).addValue("phones", phones), rs ->
+        {
+            takenUsernames.add(rs.getString("username"));
+            takenEmails.add(rs.getString("email"));
+            takenPhones.add(rs.getString("phone"));
+        });
+        if(!takenUsernames.isEmpty())
+            candidates.removeIf(row ->
+            {
+                String error = duplicateOf(row.user, takenUsernames, takenEmails, takenPhones, "Already exists: ");
+                if(error != null)
+                    report.reject(row.number, error);
+                return error != null;
+            });
+
+        hashPasswords(candidates);
+        insert(candidates, report);
+    }
+
+    //First constraint messages of the row, sorted so reports are stable; null when valid
+    private String validate(UserDTO user)
+    {
+        Set<ConstraintViolation<UserDTO>> violations = validator.validate(user);
+        if(violations.isEmpty())
+            return null;
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+    }
+
+    //Which unique column the row repeats, or null
+    private static String duplicateOf(UserDTO user, Set<String> usernames, Set<String> emails, Set<String> phones, String prefix)
+    {
+        if(usernames.contains(user.getUsername()))
+            return prefix + "username " + user.getUsername();
+        if(emails.contains(user.getEmail()))
+            return prefix + "email " + user.getEmail();
+        if(phones.contains(user.getPhone()))
+            return prefix + "phone " + user.getPhone();
+        return null;
+    }
+
+    //BCrypt dominates the import, so the chunk is spread over every hashing thread
+    private void hashPasswords(List<Row> rows)
+    {
+        try
+        {
+            hashingPool.submit(() -> rows.parallelStream().forEach(row -> row.user.setPassword(passwordEncoder.encode(row.user.getPassword())))).get();
+        }
+
+        catch(InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        }
+
+        catch(ExecutionException e)
+        {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    //One JDBC batch for the chunk; if a row still violates a constraint (a concurrent insert, an over-long value), retry row by row
+    private void insert(List<Row> rows, Report report)
+    {
+        try
+        {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_USER, new BatchPreparedStatementSetter()
+            {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException
+                {
+                    bind(ps, rows.get(i).user);
+                }
+
+                @Override
+                public int getBatchSize()
+                {
+                    return rows.size();
+                }
+            }));
+            report.imported += rows.size();
+        }
+
+        catch(DataIntegrityViolationException e)
+        {
+            for(Row row : rows)
+            {
+                try
+                {
+                    jdbcTemplate.update(INSERT_USER, ps -> bind(ps, row.user));
+                    report.imported++;
+                }
+
+                catch(DataIntegrityViolationException rowFailure)
+                {
+                    report.reject(row.number, "Rejected by the database: duplicate or over-long value");
+                }
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement ps, UserDTO user) throws SQLException
+    {
+        ps.setString(1, user.getFirstName());
+        ps.setString(2, user.getLastName());
+        ps.setString(3, user.getPhone());
+        ps.setString(4, user.getAddress());
+        ps.setString(5, user.getEmail());
+        ps.setString(6, user.getUsername());
+        ps.setString(7, user.getPassword());
+        ps.setString(8, user.getRole().name());
+    }
+
+    //One JSON object per line; blank lines are skipped, a malformed line only fails its own row
+    private RowSource ndjsonRows(BufferedReader reader)
+    {
+        int[] number = { 0 };
+        return () ->
+        {
+            String line;
+            do
+            {
+                line = reader.readLine();
+            }
+            while(line != null && line.isBlank());
+
+            if(line == null)
+                return null;
+
+            number[0]++;
+            try
+            {
+                return new Row(number[0], userReader.readValue(line), null);
+            }
+
+            catch(IOException e)
+            {
+                return new Row(number[0], null, "Malformed JSON");
+            }
+        };
+    }
+
+    //RFC 4180 CSV whose header names the UserDTO fields, in any order; extra columns such as userId are ignored
+    private RowSource csvRows(BufferedReader reader) throws IOException
+    {
+        List<String> header = readCsvRecord(reader);
+        if(header == null)
+            return () -> null;
+
+        int[] number = { 0 };
+        return () ->
+        {
+            List<String> fields = readCsvRecord(reader);
+            while(fields != null && fields.size() == 1 && fields.get(0).isEmpty())
+                fields = readCsvRecord(reader);                         //Blank line
+            if(fields == null)
+                return null;
+
+            number[0]++;
+            if(fields.size() != header.size())
+                return new Row(number[0], null, "Expected " + header.size() + " fields but found " + fields.size());
+
+            Map<String, String> values = new HashMap<>();
+            for(int i = 0; i < fields.size(); i++)
+                values.put(header.get(i).trim(), fields.get(i).isEmpty() ? null : fields.get(i));
+            try
+            {
+                return new Row(number[0], objectMapper.convertValue(values, UserDTO.class), null);
+            }
+
+            catch(IllegalArgumentException e)
+            {
+                return new Row(number[0], null, "Invalid field value");    //E.g. an unknown role
+            }
+        };
+    }
+
+    //One CSV record; quoted fields may contain separators, doubled quotes and line breaks; null at end of input
+    static List<String> readCsvRecord(BufferedReader reader) throws IOException
+    {
+        int c = reader.read();
+        if(c == -1)
+            return null;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while(true)
+        {
+            if(quoted)
+            {
+                if(c == -1)
+                    throw new IOException("Unterminated quoted CSV field");
+                if(c == '"')
+                {
+                    reader.mark(1);
+                    if(reader.read() == '"')
+                        field.append('"');                              //Escaped quote
+                    else
+                    {
+                        reader.reset();
+                        quoted = false;
+                    }
+                }
+                else
+                    field.append((char) c);
+            }
+            else if(c == '"' && field.length() == 0)
+                quoted = true;
+            else if(c == ',')
+            {
+                fields.add(field.toString());
+                field.setLength(0);
+            }
+            else if(c == '\n' || c == -1)
+                break;
+            else if(c != '\r')
+                field.append((char) c);
+
+            c = reader.read();
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+
+    //Supplies rows one at a time; null at end of input
+    @FunctionalInterface
+    private interface RowSource
+    {
+        Row next() throws IOException;
+    }
+
+    //One data row: a parsed user, or the reason it could not be parsed
+    private static final class Row
+    {
+        final int number;
+        final UserDTO user;
+        final String error;
+
+        Row(int number, UserDTO user, String error)
+        {
+            this.number = number;
+            this.user = user;
+            this.error = error;
+        }
+    }
+
+    //Counts and capped error list, filled on the request thread
+    private static final class Report
+    {
+        int received, imported, failed;
+        final List<UserImportReportDTO.RowError> errors = new ArrayList<>();
+
+        void reject(int row, String message)
+        {
+            failed++;
+            if(errors.size() < MAX_REPORTED_ERRORS)
+                errors.add(new UserImportReportDTO.RowError(row, message));
+        }
+
+        UserImportReportDTO toDTO()
+        {
+            return UserImportReportDTO.builder().received(received).imported(imported).failed(failed).errors(errors).build();
+        }
+    }
+}
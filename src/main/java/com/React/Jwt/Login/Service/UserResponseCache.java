@@ -0,0 +1,239 @@
+package com.React.Jwt.Login.Service;                            //Package declaration for service classes
+import com.React.Jwt.Login.Database.ReadYourWrites;             //Pages built right after a write are read from the primary
+import com.React.Jwt.Login.DTO.UserDTO;                         //Profile serialized on a miss
+import com.React.Jwt.Login.DTO.UserPageDTO;                     //Page serialized on a miss
+import com.React.Jwt.Login.Enum.Role;                           //Role filter, part of a page's key
+import com.fasterxml.jackson.core.JsonProcessingException;      //Serialization failure
+import com.fasterxml.jackson.databind.ObjectMapper;             //Same mapper as the HTTP message converters, so the bytes are identical
+import io.micrometer.core.instrument.FunctionCounter;           //Monotonic counters read from this cache
+import io.micrometer.core.instrument.Gauge;                     //Size gauges
+import io.micrometer.core.instrument.MeterRegistry;             //Registry the counters are published to
+import io.micrometer.core.instrument.binder.MeterBinder;        //Lets Spring Boot bind the meters automatically
+import org.springframework.beans.factory.annotation.Value;      //Annotation to inject property values
+import org.springframework.stereotype.Component;                //Marks the class as a Spring component
+import java.util.Iterator;                                      //Walks entries from least recently used
+import java.util.LinkedHashMap;                                 //Access-ordered map for LRU eviction
+import java.util.concurrent.atomic.LongAdder;                   //Low-contention counters
+import java.util.function.Supplier;                             //Builds the response on a miss
+
+//Serialized JSON of GET /users/{id} and GET /users pages, so a hit skips the query, the mapping and Jackson.
+//Bounded by the bytes it holds rather than by entry count, since a page can be a hundred times the size of a profile.
+//Callers authorize before every lookup; UserService, AuthService and UserImportService invalidate after their writes, and ttl bounds staleness from other nodes.
+@Component  //Spring-managed bean
+public class UserResponseCache implements MeterBinder
+{
+    private static final int ENTRY_OVERHEAD = 128;      //Rough bytes per entry besides the JSON: key, map node, record and array headers
+
+    private final ObjectMapper objectMapper;            //Serializes misses
+    private final ReadYourWrites readYourWrites;        //Keeps a replica's stale page out of the cache right after a write
+    private final boolean enabled;                      //Property switch (users.responseCache.enabled)
+    private final long maximumBytes;                    //Upper bound on the bytes held
+    private final long ttlMillis;                       //Bounds staleness from writes made by other nodes
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);  //Long userId or PageKey -> response, in access order
+    private long bytes;                                 //Weight of all entries (guarded by entries)
+    private long generation;                            //Bumped by every invalidation; a response built across one is not stored (guarded by entries)
+    private final LongAdder hits = new LongAdder();     //Lookups answered from the cache
+    private final LongAdder misses = new LongAdder();   //Lookups that built the response
+    private final LongAdder evictions = new LongAdder();//Entries removed for size or expiry
+
+    //Constructor reading cache settings from application properties
+    public UserResponseCache(ObjectMapper objectMapper, ReadYourWrites readYourWrites, @Value("${users.responseCache.enabled:true}") boolean enabled,
+    @Value("${users.responseCache.maximumBytes:16777216}") long maximumBytes, @Value("${users.responseCache.ttl:60000}") long ttlMillis)
+    {
+        this.objectMapper = objectMapper;
+        this.readYourWrites = readYourWrites;
+        this.enabled = enabled;
+        this.maximumBytes = maximumBytes;
+        this.ttlMillis = ttlMillis;
+    }
+
+    //Serialized profile of a user; the profile itself comes from UserCache, which already keeps the user's own writes visible
+    public Json profile(Long userId, Supplier<UserDTO> profile)
+    {
+        return find(userId, () ->
+        {
+            UserDTO user = profile.get();
+            return new Json(serialize(user), user.getVersion(), null);
+        });
+    }
+
+    //Serialized page of the user list; a page spans many users, so while any write is recent it is built from the primary
+    public Json page(String cursor, int size, Role role, String name, Supplier<UserPageDTO> page)
+    {
+        return find(new PageKey(cursor, size, role, name), () ->
+        {
+            UserPageDTO users = readYourWrites.isAnyRecent() ? readYourWrites.onPrimary(page) : page.get();
+            return new Json(serialize(users.getUsers()), null, users.getNextCursor());
+        });
+    }
+
+    //Forget a user's profile and every page after a committed change or delete; pages are dropped since any of them may list the user
+    public void invalidate(Long userId)
+    {
+        synchronized(entries)
+        {
+            generation++;
+            Entry entry = entries.remove(userId);
+            if(entry != null)
+                bytes -= entry.weight();
+            dropPages();
+        }
+    }
+
+    //Forget every page after users were added in bulk; no profile of a new user can be cached yet
+    public void invalidatePages()
+    {
+        synchronized(entries)
+        {
+            generation++;
+            dropPages();
+        }
+    }
+
+    private Json find(Object key, Supplier<Json> build)
+    {
+        if(!enabled)
+            return build.get();
+
+        long now = System.currentTimeMillis(), startGeneration;
+        synchronized(entries)
+        {
+            Entry entry = entries.get(key);
+            if(entry != null && entry.expiresAt() > now)
+            {
+                hits.increment();
+                return entry.json();
+            }
+
+            if(entry != null)
+                remove(key, entry);
+            startGeneration = generation;
+        }
+
+        misses.increment();
+        Json json = build.get();                                //Outside the lock: concurrent misses for one key each build it, and the last one stays
+        store(key, json, startGeneration);
+        return json;
+    }
+
+    //Cache a built response unless an invalidation happened while it was being built; least recently used entries make room
+    private void store(Object key, Json json, long startGeneration)
+    {
+        Entry entry = new Entry(json, System.currentTimeMillis() + ttlMillis);
+        if(entry.weight() > maximumBytes)
+            return;
+
+        synchronized(entries)
+        {
+            if(generation != startGeneration)
+                return;
+
+            Entry previous = entries.put(key, entry);
+            if(previous != null)
+                bytes -= previous.weight();
+            bytes += entry.weight();
+
+            //The new entry is the most recently used, so it goes last and only after everything else
+            Iterator<Entry> eldest = entries.values().iterator();
+            while(bytes > maximumBytes && eldest.hasNext())
+            {
+                bytes -= eldest.next().weight();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    //Caller holds the entries lock
+    private void remove(Object key, Entry entry)
+    {
+        entries.remove(key);
+        bytes -= entry.weight();
+        evictions.increment();
+    }
+
+    //Caller holds the entries lock
+    private void dropPages()
+    {
+        entries.entrySet().removeIf(entry ->
+        {
+            boolean page = entry.getKey() instanceof PageKey;
+            if(page)
+                bytes -= entry.getValue().weight();
+            return page;
+        });
+    }
+
+    private byte[] serialize(Object body)
+    {
+        try
+        {
+            return objectMapper.writeValueAsBytes(body);
+        }
+
+        catch(JsonProcessingException e)
+        {
+            throw new IllegalStateException("Failed to serialize user response", e);
+        }
+    }
+
+    public long getHits()
+    {
+        return hits.sum();          //Total cache hits
+    }
+
+    public long getMisses()
+    {
+        return misses.sum();        //Total cache misses
+    }
+
+    public long getEvictions()
+    {
+        return evictions.sum();     //Total size and expiry evictions
+    }
+
+    public long getBytes()
+    {
+        synchronized(entries)
+        {
+            return bytes;           //Current weight of the cached responses
+        }
+    }
+
+    public int size()
+    {
+        synchronized(entries)
+        {
+            return entries.size();  //Current number of cached responses
+        }
+    }
+
+    @Override   //Publish counters under /actuator/metrics/users.responseCache.*
+    public void bindTo(MeterRegistry registry)
+    {
+        FunctionCounter.builder("users.responseCache.hits", this, UserResponseCache::getHits).register(registry);
+        FunctionCounter.builder("users.responseCache.misses", this, UserResponseCache::getMisses).register(registry);
+        FunctionCounter.builder("users.responseCache.evictions", this, UserResponseCache::getEvictions).register(registry);
+        Gauge.builder("users.responseCache.bytes", this, UserResponseCache::getBytes).baseUnit("bytes").register(registry);
+        Gauge.builder("users.responseCache.size", this, UserResponseCache::size).register(registry);
+    }
+
+    //Response body as sent, with what the controller needs for its headers: the profile's row version (ETag) or the page's next cursor
+    public record Json(byte[] body, Long version, String nextCursor)
+    {
+    }
+
+    //Query parameters of a page, after the page size is clamped
+    private record PageKey(String cursor, int size, Role role, String name)
+    {
+    }
+
+    //Cached response and the time it stops being served
+    private record Entry(Json json, long expiresAt)
+    {
+        long weight()
+        {
+            return json.body().length + (json.nextCursor() == null ? 0 : 2L * json.nextCursor().length()) + ENTRY_OVERHEAD;
+        }
+    }
+}
@@ -1,20 +1,29 @@
 package com.React.Jwt.Login.Service;                                                    //Package declaration for user-related service classes
+import com.React.Jwt.Login.Database.ReadYourWrites;                                     //Import read-your-writes windows for the replica
 import com.React.Jwt.Login.DTO.Auth.AuthResponseDTO;                                    //Import DTO for authentication response (includes JWT token and user data)
 import com.React.Jwt.Login.DTO.UserDTO;                                                 //Import DTO for transferring user data between layers
+import com.React.Jwt.Login.DTO.UserPageDTO;                                             //Import DTO for one page of users
 import com.React.Jwt.Login.Entity.User;                                                 //Import User entity representing the user table in the database
+import com.React.Jwt.Login.Enum.Role;                                                   //Import Role enum for detecting role changes
 import com.React.Jwt.Login.Exception.*;                                                 //Import all custom exception classes used in this service
 import com.React.Jwt.Login.Mapper.UserMapper;                                           //Import mapper to convert between User entity and UserDTO
+import com.React.Jwt.Login.Repository.UserCache;                                        //Import cache of user rows for profile reads
 import com.React.Jwt.Login.Repository.UserRepository;                                   //Import repository interface for User entity CRUD operations
+import com.React.Jwt.Login.Repository.UserSpecifications;                               //Import criteria for filtered, keyset-paginated listing
+import com.React.Jwt.Login.Repository.UserView;                                         //Import read-only projection of the public columns
+import com.React.Jwt.Login.Security.JWT.CredentialEpochs;                               //Import per-user credential epochs
+import com.React.Jwt.Login.Security.JWT.JwtAuthenticationToken;                         //Import JWT authentication token set after an update
 import com.React.Jwt.Login.Security.JWT.JwtUtil;                                        //Import utility class for creating and managing JWT tokens
+import com.React.Jwt.Login.Security.JWT.RefreshTokenStore;                              //Import store for refresh tokens
+import com.React.Jwt.Login.Security.Password.PasswordHasher;                            //Import bounded pool for password hashing
 import lombok.RequiredArgsConstructor;                                                  //Lombok annotation to auto-generate constructor for all final fields
+import org.springframework.core.NestedExceptionUtils;                                   //Import helper finding the driver's own error
+import org.springframework.dao.DataIntegrityViolationException;                         //Import exception for a violated unique constraint
 import org.springframework.security.access.AccessDeniedException;                       //Import exception thrown when a user lacks permission
-import org.springframework.security.core.GrantedAuthority;                              //Interface representing an authority granted to an Authentication object (e.g., a role)
-import org.springframework.security.core.authority.SimpleGrantedAuthority;              //Implementation of GrantedAuthority for a simple string-based role or authority
 import org.springframework.security.core.context.SecurityContextHolder;                 //Import SecurityContextHolder to retrieve or modify current user's authentication
-import org.springframework.security.crypto.password.PasswordEncoder;                    //Import interface for password hashing and verification
 import org.springframework.stereotype.Service;                                          //Marks this class as a Spring-managed service component
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken; //Import Spring Security class to create an authentication token
 import org.springframework.security.core.Authentication;                                //Import Spring Security interface representing an authenticated principal
+import java.nio.charset.StandardCharsets;                                               //Import charset for cursor encoding
 import java.util.*;                                                                     //Import core Java utility classes (e.g., List, Optional, etc.)
 import java.util.stream.Collectors;                                                     //Import stream API for functional-style collection operations
 
@@ -23,25 +32,41 @@ import java.util.stream.Collectors;
 public class UserService 
 {
     private final UserRepository userRepository;                        //Repository for user data access
+    private final UserCache userCache;                                  //Cached reads; invalidated after every write below
+    private final UserResponseCache userResponseCache;                  //Serialized profiles and pages; invalidated after every write below
+    private final ReadYourWrites readYourWrites;                        //Reads of a user written below go to the primary for a while
     private final UserMapper userMapper;                                //Mapper to convert between User entity and DTO
-    private final PasswordEncoder passwordEncoder;                      //Password encoder for hashing passwords
+    private final PasswordHasher passwordHasher;                        //Bounded pool for hashing passwords
     private final JwtUtil jwtUtil;                                      //JWT utility for token generation
     private final UserAuthService userAuthService;                      //Service for authenticated user details
     private final UserAuthorizationService userAuthorizationService;    //Service for authorization checks
+    private final CredentialEpochs credentialEpochs;                    //Invalidates tokens minted before a credential change
+    private final RefreshTokenStore refreshTokenStore;                  //Refresh tokens dropped on credential change
 
-    //Register a new user with validation and password encoding
+    private static final int DEFAULT_PAGE_SIZE = 50;                    //Users per page when no size is given
+    private static final int MAX_PAGE_SIZE = 200;                       //Upper bound on a requested page size
+    private static final String USERNAME_CONSTRAINT = "uk_users_username";  //Unique constraint names declared in schema.sql
+    private static final String EMAIL_CONSTRAINT = "uk_users_email";
+    private static final String PHONE_CONSTRAINT = "uk_users_phone";
+
+    //Register a new user with password encoding; the request body is validated by the controller before this is called
     public UserDTO registerNewUser(UserDTO userDTO) 
     {
-        //Check if username already exists
-        if(userRepository.existsByUsername(userDTO.getUsername()))
-            throw new UsernameAlreadyExistsException(userDTO.getUsername());
+        userDTO.setPassword(passwordHasher.encode(userDTO.getPassword())); //Encode password before saving
+        User savedUser;
+        try
+        {
+            savedUser = userRepository.save(userMapper.toEntity(userDTO)); //Insert directly: the unique constraints decide, in one round trip and without a race
+        }
 
-        //Check if email already exists
-        if(userRepository.existsByEmail(userDTO.getEmail()))
-            throw new EmailAlreadyExistsException(userDTO.getEmail());
+        catch(DataIntegrityViolationException e)
+        {
+            throw alreadyExists(e, userDTO);
+        }
 
-        userDTO.setPassword(passwordEncoder.encode(userDTO.getPassword())); //Encode password before saving
-        User savedUser = userRepository.save(userMapper.toEntity(userDTO)); //Save new user entity
+        userCache.invalidate(savedUser.getUserId(), savedUser.getUsername());                         //Misses are not cached, but a lookup of this username already in flight must not be shared
+        userResponseCache.invalidate(savedUser.getUserId());                 //Cached pages do not list the new user yet
+        readYourWrites.recordWrite(savedUser.getUserId(), savedUser.getUsername());  //The replica may not have the row yet
         return userMapper.toDTO(savedUser);                                  //Return saved user as DTO
     }
 
@@ -49,30 +74,117 @@ public class UserService
     public UserDTO viewUserProfile(Long userId) 
     {
         userAuthorizationService.authorizeUserOrAdmin(userId);  //Authorize if current user is admin or the user themselves
-        return userMapper.toDTO(findUserById(userId));          //Retrieve user entity and map to DTO
+        return loadUserProfile(userId);
+    }
+
+    //Serialized profile for GET /users/{userId}, with the same authorization check; a cache hit is one map lookup
+    public UserResponseCache.Json viewUserProfileJson(Long userId) 
+    {
+        userAuthorizationService.authorizeUserOrAdmin(userId);
+        return userResponseCache.profile(userId, () -> loadUserProfile(userId));
+    }
+
+    //Row version of a user's profile, with the same authorization check; conditional requests are answered from it without loading the row
+    public long viewUserProfileVersion(Long userId) 
+    {
+        userAuthorizationService.authorizeUserOrAdmin(userId);
+        return userCache.findVersionById(userId).orElseThrow(() -> new UserNotFoundException(userId.toString()));
     }
 
-    //View all user profiles, only accessible by admin
-    public List<UserDTO> viewUserProfiles() 
+    //View one page of user profiles, optionally filtered by role and name prefix, only accessible by admin
+    public UserPageDTO viewUserProfiles(String cursor, Integer size, Role role, String name) 
     {
         userAuthorizationService.authorizeAdmin();                                                      //Authorize admin access only
-        return userRepository.findAll().stream().map(userMapper::toDTO).collect(Collectors.toList());   //Retrieve all users, convert to DTO list
+        return loadUserProfiles(cursor, pageSize(size), role, name);
+    }
+
+    //Serialized page for GET /users, admin only; a cache hit is one map lookup
+    public UserResponseCache.Json viewUserProfilesJson(String cursor, Integer size, Role role, String name) 
+    {
+        userAuthorizationService.authorizeAdmin();
+        int pageSize = pageSize(size);
+        return userResponseCache.page(cursor, pageSize, role, name, () -> loadUserProfiles(cursor, pageSize, role, name));
+    }
+
+    //Cached public columns, shared rather than copied; the password hash never reaches the DTO
+    private UserDTO loadUserProfile(Long userId) 
+    {
+        return userMapper.toDTO(userCache.findViewById(userId).orElseThrow(() -> new UserNotFoundException(userId.toString())));
+    }
+
+    //Requested page size within bounds
+    private static int pageSize(Integer size) 
+    {
+        return size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+
+    private UserPageDTO loadUserProfiles(String cursor, int pageSize, Role role, String name) 
+    {
+        //Keyset on the primary key: every page is an index range scan from the cursor, however deep
+        List<UserView> rows = userRepository.findViews(UserSpecifications.userIdAfter(decodeCursor(cursor)).and(UserSpecifications.hasRole(role))
+        .and(UserSpecifications.nameStartsWith(name)), pageSize + 1);
+
+        //One extra row tells whether another page exists without a count query
+        boolean hasMore = rows.size() > pageSize;
+        List<UserView> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? encodeCursor(page.get(page.size() - 1).userId()) : null;
+        return UserPageDTO.builder().users(page.stream().map(userMapper::toDTO).collect(Collectors.toList())).nextCursor(nextCursor).build();
+    }
+
+    //Exception for the unique constraint that rejected a registration, found by its name (schema.sql) in the database's message; shared with the reactive variant
+    public static RuntimeException alreadyExists(DataIntegrityViolationException e, UserDTO userDTO)
+    {
+        String message = String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage()).toLowerCase(Locale.ROOT);
+        if(message.contains(USERNAME_CONSTRAINT))
+            return new UsernameAlreadyExistsException(userDTO.getUsername());
+        if(message.contains(EMAIL_CONSTRAINT))
+            return new EmailAlreadyExistsException(userDTO.getEmail());
+        if(message.contains(PHONE_CONSTRAINT))
+            return new PhoneAlreadyExistsException(userDTO.getPhone());
+        return e;                                                           //Some other integrity failure
+    }
+
+    //Opaque cursor: URL-safe Base64 of the last userId on the page
+    public static String encodeCursor(Long lastUserId) 
+    {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Long.toString(lastUserId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    //Null for the first page; a cursor that was not issued by encodeCursor is rejected
+    public static Long decodeCursor(String cursor) 
+    {
+        if(cursor == null || cursor.isBlank())
+            return null;
+
+        try 
+        {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+        } 
+        
+        catch(IllegalArgumentException e) 
+        {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
     }
 
     //Update user profile with authorization, partial update, and token refresh
     public AuthResponseDTO updateUserProfile(Long userId, UserDTO userDTO) 
     {
-        User currentUser = userAuthService.getAuthenticatedUser();  //Get currently authenticated user entity
-        User userToUpdate = findUserById(userId);                   //Find user to update by ID
+        Long currentUserId = userAuthService.getAuthenticatedUserId();  //Get currently authenticated user's ID (from the token, no query)
+        User userToUpdate = readYourWrites.onPrimary(() -> findUserById(userId));  //Find user to update by ID, from the primary: a write never starts from a cached or replicated copy
 
         //Check roles
-        boolean isAdmin = userAuthService.hasRole("ROLE_ADMIN");
-        boolean isSelf = Objects.equals(userId, currentUser.getUserId());
+        boolean isAdmin = userAuthService.hasRole(Role.ADMIN);
+        boolean isSelf = Objects.equals(userId, currentUserId);
 
         //Deny access if not admin or self
         if(!isAdmin && !isSelf)
             throw new AccessDeniedException("You are not authorized to update this user.");
 
+        //Remember what tokens depend on, to detect a credential change
+        String oldUsername = userToUpdate.getUsername(), oldPassword = userToUpdate.getPassword();
+        Role oldRole = userToUpdate.getRole();
+
         //Conditionally update fields if provided and non-empty
         Optional.ofNullable(userDTO.getFirstName()).filter(s -> !s.trim().isEmpty()).ifPresent(userToUpdate::setFirstName);
         Optional.ofNullable(userDTO.getLastName()).filter(s -> !s.trim().isEmpty()).ifPresent(userToUpdate::setLastName);
@@ -82,24 +194,43 @@ public class UserService
         Optional.ofNullable(userDTO.getAddress()).filter(s -> !s.trim().isEmpty()).ifPresent(userToUpdate::setAddress);
         
         //Encode password if updated
-        Optional.ofNullable(userDTO.getPassword()).filter(s -> !s.trim().isEmpty()).ifPresent(pwd -> userToUpdate.setPassword(passwordEncoder.encode(pwd)));
+        Optional.ofNullable(userDTO.getPassword()).filter(s -> !s.trim().isEmpty()).ifPresent(pwd -> userToUpdate.setPassword(passwordHasher.encode(pwd)));
 
         //Only admin can update roles
         if(isAdmin && userDTO.getRole() != null)
             userToUpdate.setRole(userDTO.getRole());
 
+        //A new credential epoch invalidates every token issued before a password, username or role change
+        boolean credentialsChanged = !Objects.equals(oldUsername, userToUpdate.getUsername()) || !Objects.equals(oldPassword, userToUpdate.getPassword()) 
+        || oldRole != userToUpdate.getRole();
+        if(credentialsChanged)
+            userToUpdate.setCredentialEpoch(userToUpdate.getCredentialEpoch() + 1);
+
         User updatedUser = userRepository.save(userToUpdate);       //Save updated user entity
-        UserDTO updatedUserDTO = userMapper.toDTO(updatedUser);     //Convert updated user to DTO
+        userCache.invalidate(updatedUser.getUserId(), oldUsername, updatedUser.getUsername());    //Next read sees the saved row, by id or either username
+        userResponseCache.invalidate(updatedUser.getUserId());      //And is serialized again
+        readYourWrites.recordWrite(updatedUser.getUserId(), oldUsername, updatedUser.getUsername());   //Including reads by either username, until the replica catches up
+
+        //Publish the new epoch only once it is saved, and drop refresh tokens issued under the old credentials
         List<String> roles = List.of(updatedUser.getRole().name()); //Prepare roles list for token generation
-        String token = jwtUtil.generateToken(updatedUser.getUsername(), roles);                                                     //Generate new JWT token with updated roles
-        List<GrantedAuthority> authorities = roles.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList());          //Create authorities list from roles
-        Authentication newAuth = new UsernamePasswordAuthenticationToken(updatedUser.getUsername(), null, authorities); //Create new authentication token with updated authorities
+        String refreshToken = null;                                 //Unchanged when the caller's refresh token still works
+        if(credentialsChanged) 
+        {
+            credentialEpochs.advance(updatedUser.getUserId(), updatedUser.getCredentialEpoch());
+            refreshTokenStore.revokeUser(updatedUser.getUserId());
+            if(isSelf)
+                refreshToken = refreshTokenStore.issue(updatedUser.getUserId(), updatedUser.getUsername(), roles);    //Caller keeps a session under the new credentials
+        }
+
+        UserDTO updatedUserDTO = userMapper.toDTO(updatedUser);     //Convert updated user to DTO
+        String token = jwtUtil.generateToken(updatedUser.getUserId(), updatedUser.getUsername(), roles, updatedUser.getCredentialEpoch());                            //Generate new JWT token with updated roles and epoch
+        Authentication newAuth = new JwtAuthenticationToken(updatedUser.getUsername(), updatedUser.getUserId(), updatedUser.getRole().mask(), token);  //Create new authentication token with updated roles
         SecurityContextHolder.getContext().setAuthentication(newAuth);                                                              //Update security context with new authentication
 
         //Build and return authentication response DTO with updated info and token
         return AuthResponseDTO.builder().userId(updatedUser.getUserId()).firstName(updatedUserDTO.getFirstName()).lastName(updatedUserDTO.getLastName())
         .phone(updatedUserDTO.getPhone()).address(updatedUserDTO.getAddress()).email(updatedUserDTO.getEmail()).username(updatedUserDTO.getUsername())
-        .token(token).message("User updated successfully").role(updatedUserDTO.getRole()).build();
+        .token(token).refreshToken(refreshToken).message("User updated successfully").role(updatedUserDTO.getRole()).build();
     }
 
     //Delete user profile by ID, admin only
@@ -107,11 +238,18 @@ public class UserService
     {
         userAuthorizationService.authorizeAdmin();  //Authorize admin access
         
-        //Throw exception if user does not exist
-        if(!userRepository.existsById(userId))
-            throw new UserNotFoundException(userId.toString());
+        User user = readYourWrites.onPrimary(() -> findUserById(userId));  //Throw exception if user does not exist; the primary also knows users registered moments ago
         
-        userRepository.deleteById(userId);          //Delete user by ID
+        long finalEpoch = user.getCredentialEpoch() + 1;
+        credentialEpochs.retire(userId, finalEpoch);    //Tombstone for other nodes and restarts; ignored until the row is gone
+        userRepository.delete(user);                //Delete user
+        userCache.invalidate(userId, user.getUsername());  //A deleted user can no longer be read or log in
+        userResponseCache.invalidate(userId);       //Or be listed
+        readYourWrites.recordWrite(userId, user.getUsername());     //Not even from a replica that still has the row
+
+        //Access tokens already issued stop working, and refresh tokens can no longer mint new ones
+        credentialEpochs.advance(userId, finalEpoch);
+        refreshTokenStore.revokeUser(userId);
     }
 
     //Helper method to find user by ID or throw exception
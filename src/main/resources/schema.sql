@@ -3,9 +3,35 @@ CREATE TABLE users (
     firstName VARCHAR(255) NOT NULL,
     lastName VARCHAR(255) NOT NULL,
     address VARCHAR(255) NOT NULL,
-    phone VARCHAR(15) NOT NULL UNIQUE,
-    email VARCHAR(255) NOT NULL UNIQUE,
-    username VARCHAR(255) NOT NULL UNIQUE,
+    phone VARCHAR(15) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    username VARCHAR(255) NOT NULL,
     password VARCHAR(255) NOT NULL,
-    role VARCHAR(50) NOT NULL
-);
\ No newline at end of file
+    role VARCHAR(50) NOT NULL,
+    credentialEpoch BIGINT NOT NULL DEFAULT 0,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_users_phone UNIQUE (phone),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT uk_users_username UNIQUE (username)
+);;
+
+CREATE TABLE refresh_tokens (
+    tokenHash CHAR(64) PRIMARY KEY,
+    userId BIGINT NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    roles VARCHAR(255) NOT NULL,
+    expiresAt BIGINT NOT NULL
+);;
+
+CREATE TABLE deleted_users (
+    userId BIGINT PRIMARY KEY,
+    credentialEpoch BIGINT NOT NULL
+);;
+
+CREATE TABLE revoked_tokens (
+    jti CHAR(36) PRIMARY KEY,
+    expiresAt BIGINT NOT NULL,
+    revokedAt BIGINT NOT NULL DEFAULT 0
+);;
+
+CREATE INDEX idx_revoked_tokens_revokedAt ON revoked_tokens (revokedAt);
\ No newline at end of file
@@ -0,0 +1,125 @@
+package com.React.Jwt.Reactive.Controller;                      //Declares the package that this class belongs to
+import com.React.Jwt.Login.DTO.Auth.AuthRequestDTO;             //Imports the DTO used to receive login credentials from the client
+import com.React.Jwt.Login.DTO.Auth.AuthResponseDTO;            //Imports the DTO used to send authentication results back to the client
+import com.React.Jwt.Login.DTO.Auth.ForgotLoginCredentialDTO;   //DTO for resetting username and password
+import com.React.Jwt.Login.Entity.Auth.ForgotLoginCredential;   //Imports the entity used to reset username and password
+import com.React.Jwt.Login.Exception.EmailNotFoundException;    //Custom exception for email not found
+import com.React.Jwt.Login.Exception.PasswordHashingBusyException;  //Custom exception for a saturated password hashing scheduler
+import com.React.Jwt.Login.Security.JWT.JwtConfig;              //Imports JWT settings such as the JWKS cache lifetime
+import com.React.Jwt.Login.Security.JWT.JwtKeyRing;             //Imports the key ring that publishes public verification keys
+import com.React.Jwt.Login.Security.Throttle.LoginThrottle;     //Imports per-address and per-username login limits
+import com.React.Jwt.Reactive.Service.ReactiveAuthService;      //Imports the reactive authentication service
+import org.slf4j.Logger;                                        //Logging API
+import org.slf4j.LoggerFactory;                                 //Logger factory
+import org.springframework.http.CacheControl;                   //Imports Cache-Control header builder
+import org.springframework.http.HttpHeaders;                    //Imports standard header names such as Retry-After
+import org.springframework.http.HttpStatus;                     //Imports HTTP status codes
+import org.springframework.http.ResponseEntity;                 //Imports the ResponseEntity class used to build complete HTTP responses
+import org.springframework.http.server.reactive.ServerHttpRequest;  //Imports the reactive request for the client address
+import org.springframework.web.bind.annotation.*;               //Imports Spring annotations to define a REST API controller
+import reactor.core.publisher.Mono;                             //Deferred responses
+import java.net.InetSocketAddress;                              //Client socket address
+import java.util.Map;                                           //Map for the JWKS document
+import java.util.concurrent.TimeUnit;                           //Time unit for cache lifetime
+
+//AuthController for the reactive variant: same paths, statuses and bodies for login, JWKS, the protected probe and credential reset
+@CrossOrigin(origins = "http://localhost:3000")                 //Enables CORS for frontend access (e.g., React app on port 3000)
+@RestController                                                 //Marks this class as a REST controller
+@RequestMapping("/auth")                                        //Base path for all endpoints in this controller
+public class ReactiveAuthController 
+{
+    private static final Logger log = LoggerFactory.getLogger(ReactiveAuthController.class);
+
+    private final ReactiveAuthService authService;  //Declares a final reference to the authentication service
+    private final JwtKeyRing jwtKeyRing;            //Declares the key ring used to publish public keys
+    private final JwtConfig jwtConfig;              //Declares JWT settings
+    private final LoginThrottle loginThrottle;      //Declares login attempt limits
+
+    //Constructor-based dependency injection
+    public ReactiveAuthController(ReactiveAuthService authService, JwtKeyRing jwtKeyRing, JwtConfig jwtConfig, LoginThrottle loginThrottle) 
+    {
+        this.authService = authService;
+        this.jwtKeyRing = jwtKeyRing;
+        this.jwtConfig = jwtConfig;
+        this.loginThrottle = loginThrottle;
+    }
+
+    //HTTP POST endpoint at /auth/login to authenticate a user
+    @PostMapping("/login")
+    public Mono<ResponseEntity<AuthResponseDTO>> login(@RequestBody AuthRequestDTO authRequestDTO, ServerHttpRequest request) 
+    {
+        //Throttle by client address and username before any database lookup or password hashing
+        long retryAfterMillis = loginThrottle.tryAcquire(authRequestDTO.getUsername(), remoteAddress(request));
+        if(retryAfterMillis > 0)
+        {
+            AuthResponseDTO authResponseDTO = AuthResponseDTO.builder().token(null).message("Too many login attempts").build();
+            return Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, String.valueOf((retryAfterMillis + 999) / 1000))
+            .body(authResponseDTO));
+        }
+
+        return authService.authenticate(authRequestDTO).map(ResponseEntity::ok)
+        .onErrorResume(PasswordHashingBusyException.class, e -> 
+        {
+            //Hashing scheduler saturated — fail fast with 503 so the client backs off
+            AuthResponseDTO authResponseDTO = AuthResponseDTO.builder().token(null).message(e.getMessage()).build();
+            return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .body(authResponseDTO));
+        })
+        .onErrorResume(e -> 
+        {
+            //Any other failure during authentication is a 401 Unauthorized
+            AuthResponseDTO authResponseDTO = AuthResponseDTO.builder().token(null).message("Authentication failed").build();
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(authResponseDTO));
+        });
+    }
+
+    //HTTP GET endpoint at /auth/.well-known/jwks.json so resource servers can fetch public keys once and verify tokens locally
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> getJwks(@RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) 
+    {
+        Map<String, Object> jwks = jwtKeyRing.jwks();                                   //Prebuilt JWK Set for the current keys
+        String eTag = "\"" + Integer.toHexString(jwks.hashCode()) + "\"";               //Same value as the servlet application with the same keys
+        CacheControl cacheControl = CacheControl.maxAge(jwtConfig.getJwksMaxAge(), TimeUnit.SECONDS).cachePublic();
+
+        //Return 304 Not Modified when the client already holds this key set
+        if(eTag.equals(ifNoneMatch))
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+
+        return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl).body(jwks);  //Return HTTP 200 OK with the key set
+    }
+
+    //HTTP GET endpoint at /auth/protected used to test access to a protected resource
+    @GetMapping("/protected")
+    public ResponseEntity<String> getProtectedResource() 
+    {
+        return ResponseEntity.ok("This is a protected resource.");  //Returns a simple success message with HTTP 200 OK
+    }
+
+    //Endpoint to allow user to reset their username and password using email
+    @PostMapping("/forgotLogin")
+    public Mono<ResponseEntity<ForgotLoginCredentialDTO>> resetLoginCredential(@RequestBody ForgotLoginCredential forgotLoginCredential) 
+    {
+        return authService.resetLoginCredential(forgotLoginCredential).map(ResponseEntity::ok)
+        .onErrorResume(EmailNotFoundException.class, e -> Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND)          //Email not found — 404
+        .body(ForgotLoginCredentialDTO.builder().message(e.getMessage()).build())))
+        .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest()                         //Input validation error — 400
+        .body(ForgotLoginCredentialDTO.builder().message(e.getMessage()).build())))
+        .onErrorResume(PasswordHashingBusyException.class, e -> Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)   //Saturated — 503
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds())).body(ForgotLoginCredentialDTO.builder().message(e.getMessage()).build())))
+        .onErrorResume(e -> 
+        {
+            log.error("Error resetting login credentials", e);                                                          //Log unhandled exceptions for diagnostics
+            return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ForgotLoginCredentialDTO.builder()
+            .message("An error occurred while resetting credentials").build()));
+        });
+    }
+
+    //Client IP as the servlet container reports it, for the per-address throttle
+    private static String remoteAddress(ServerHttpRequest request) 
+    {
+        InetSocketAddress address = request.getRemoteAddress();
+        if(address == null)
+            return null;
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+}
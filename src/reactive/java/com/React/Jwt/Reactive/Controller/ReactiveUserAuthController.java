@@ -0,0 +1,37 @@
+package com.React.Jwt.Reactive.Controller;                  //Package declaration for the controller class
+import com.React.Jwt.Login.DTO.UserDTO;                     //Importing DTO for transferring user data
+import com.React.Jwt.Reactive.Service.ReactiveUserAuthService;  //Importing reactive service for authentication details
+import lombok.RequiredArgsConstructor;                      //Lombok annotation to auto-generate constructor for final fields
+import org.springframework.http.ResponseEntity;             //Provides a generic HTTP response wrapper
+import org.springframework.web.bind.annotation.*;           //Marks the class as a REST controller
+import reactor.core.publisher.Mono;                         //Deferred responses
+
+//UserAuthController for the reactive variant
+@RestController             //Marks this class as a REST controller with request mapping
+@RequestMapping("/me")      //Base URL mapping for all endpoints in this controller
+@RequiredArgsConstructor    //Lombok annotation to generate a constructor for final fields
+public class ReactiveUserAuthController 
+{
+    private final ReactiveUserAuthService userAuthService;  //Injected service to handle authentication-related logic
+
+    //Handles GET requests to /me/username and returns the authenticated username
+    @GetMapping("/username")
+    public Mono<ResponseEntity<String>> getAuthenticatedUsername() 
+    {
+        return userAuthService.getAuthenticatedUsername().map(ResponseEntity::ok);    //Returns HTTP 200 OK with the username
+    }
+
+    //Handles GET requests to /me and returns the current user's profile
+    @GetMapping
+    public Mono<ResponseEntity<UserDTO>> getCurrentUserProfile() 
+    {
+        return userAuthService.getCurrentUser().map(ResponseEntity::ok);              //Returns HTTP 200 OK with the user profile
+    }
+
+    //Handles GET requests to /me/has-role/{role} to check for a specific role
+    @GetMapping("/has-role/{role}")
+    public Mono<ResponseEntity<Boolean>> hasRole(@PathVariable String role) 
+    {
+        return userAuthService.hasRole(role).map(ResponseEntity::ok);                 //Returns HTTP 200 OK with the result (true/false)
+    }
+}
@@ -0,0 +1,63 @@
+package com.React.Jwt.Reactive.Controller;              //Package declaration for the user controller
+import com.React.Jwt.Login.Controller.UserController;   //Header name shared with the servlet controller
+import com.React.Jwt.Login.DTO.Auth.AuthResponseDTO;    //Importing DTO for authentication responses
+import com.React.Jwt.Login.DTO.UserDTO;                 //Importing DTO for user data transfer
+import com.React.Jwt.Login.Enum.Role;                   //Importing Role enum for the role filter
+import com.React.Jwt.Reactive.Service.ReactiveUserService;  //Importing reactive service handling user operations
+import jakarta.validation.Valid;                        //Validates the request body against the UserDTO constraints
+import lombok.RequiredArgsConstructor;                  //Lombok annotation to auto-generate constructor for final fields
+import org.springframework.http.ResponseEntity;         //Spring wrapper for HTTP responses
+import org.springframework.web.bind.annotation.*;       //Spring annotations for REST controllers and request mapping
+import reactor.core.publisher.Mono;                     //Deferred responses
+import java.util.List;                                  //Import List interface for collections
+
+//UserController for the reactive variant: register, view, list, update and delete; export and import stay with the servlet application
+@RestController             //Marks the class as a REST controller
+@RequestMapping("/users")   //Base URL mapping for this controller's endpoints
+@RequiredArgsConstructor    //Lombok annotation for constructor injection of final fields
+public class ReactiveUserController 
+{
+    private final ReactiveUserService userService;  //Injected service for user operations
+
+    //Handles POST requests to /users/register to register a new user; invalid bodies are rejected with 400 before any password is hashed
+    @PostMapping("/register")
+    public Mono<ResponseEntity<UserDTO>> RegisterNewUser(@Valid @RequestBody UserDTO userDTO) 
+    {
+        return userService.registerNewUser(userDTO).map(ResponseEntity::ok);  //Returns HTTP 200 OK with the registered user data
+    }
+
+    //Handles GET requests to /users/{userId} to view a specific user's profile
+    @GetMapping("/{userId}")
+    public Mono<ResponseEntity<UserDTO>> ViewUserProfile(@PathVariable Long userId) 
+    {
+        return userService.viewUserProfile(userId).map(ResponseEntity::ok);   //Returns HTTP 200 OK with the user profile
+    }
+
+    //Handles GET requests to /users to get one page of user profiles; the next page's cursor is in the X-Next-Cursor header
+    @GetMapping
+    public Mono<ResponseEntity<List<UserDTO>>> ViewUserProfiles(@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size, 
+    @RequestParam(required = false) Role role, @RequestParam(required = false) String name) 
+    {
+        return userService.viewUserProfiles(cursor, size, role, name).map(page -> 
+        {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();                          //HTTP 200 OK
+            if(page.getNextCursor() != null)
+                response.header(UserController.NEXT_CURSOR_HEADER, page.getNextCursor());       //Absent on the last page
+            return response.body(page.getUsers());                                              //Returns the users on this page
+        });
+    }
+
+    //Handles PATCH requests to /users/{userId} to update a user profile
+    @PatchMapping("/{userId}")
+    public Mono<ResponseEntity<AuthResponseDTO>> updateUserProfile(@PathVariable Long userId, @RequestBody UserDTO userDTO) 
+    {
+        return userService.updateUserProfile(userId, userDTO).map(ResponseEntity::ok);    //Returns HTTP 200 OK with update response
+    }
+
+    //Handles DELETE requests to /users/{userId} to delete a user profile
+    @DeleteMapping("/{userId}")
+    public Mono<ResponseEntity<Void>> deleteUserProfile(@PathVariable Long userId) 
+    {
+        return userService.deleteUserProfile(userId).then(Mono.just(ResponseEntity.noContent().build()));    //Returns HTTP 204 No Content
+    }
+}
@@ -0,0 +1,24 @@
+package com.React.Jwt.Reactive.Exception;               //Package declaration
+import org.springframework.core.Ordered;                //Precedence constants
+import org.springframework.core.annotation.Order;       //Consulted before GlobalExceptionHandler's catch-all
+import org.springframework.http.ResponseEntity;         //Import class for building HTTP responses
+import org.springframework.validation.ObjectError;      //Import a single validation failure
+import org.springframework.web.bind.annotation.ExceptionHandler;       //Marks exception handler methods
+import org.springframework.web.bind.annotation.RestControllerAdvice;   //Centralized exception handling
+import org.springframework.web.bind.support.WebExchangeBindException;  //WebFlux's exception for a @Valid body that failed validation
+import java.util.stream.Collectors;                     //Import collector joining the validation messages
+
+//WebFlux reports invalid bodies with its own exception type; everything else is handled by the shared GlobalExceptionHandler
+@RestControllerAdvice                       //Marks the class as a centralized exception handler for all controllers
+@Order(Ordered.HIGHEST_PRECEDENCE)          //Ahead of GlobalExceptionHandler, whose Exception handler would answer 500
+public class ReactiveExceptionHandler 
+{
+    //Handles request bodies failing their @Valid constraints, before any service work is done
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<String> handleInvalidBody(WebExchangeBindException e) 
+    {
+        //Returns HTTP 400 Bad Request with every violated constraint, in a stable order, like the servlet application
+        return ResponseEntity.badRequest().body(e.getBindingResult().getAllErrors().stream().map(ObjectError::getDefaultMessage).sorted()
+        .collect(Collectors.joining("; ")));
+    }
+}
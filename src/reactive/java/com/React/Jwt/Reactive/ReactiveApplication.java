@@ -0,0 +1,36 @@
+package com.React.Jwt.Reactive; 										//Define the base package of the non-blocking variant
+import com.React.Jwt.Login.Exception.GlobalExceptionHandler;			//Same error responses as the servlet application
+import com.React.Jwt.Login.Security.Config.JacksonConfig;				//Shared Blackbird module for the JSON codecs
+import com.React.Jwt.Login.Security.Config.MapperConfig;				//Shared UserMapper for the DTOs
+import com.React.Jwt.Login.Security.Config.PasswordConfig;				//Shared delegating password encoder
+import com.React.Jwt.Login.Security.JWT.JwtConfig;						//Shared JWT settings
+import com.React.Jwt.Login.Security.JWT.JwtKeyRing;						//Shared signing and verification keys
+import com.React.Jwt.Login.Security.JWT.JwtUtil;						//Shared token minting and verification
+import com.React.Jwt.Login.Security.JWT.VerifiedTokenCache;				//Shared cache of verified tokens
+import com.React.Jwt.Login.Security.Throttle.LoginThrottle;				//Shared login throttling
+import org.springframework.boot.autoconfigure.SpringBootApplication;	//Enable auto-configuration, component scan, and configuration properties
+import org.springframework.boot.builder.SpringApplicationBuilder;		//Starts the application with the reactive profile
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;	//Netty event loops
+import org.springframework.context.annotation.Bean;						//Declares the server factory
+import org.springframework.context.annotation.Import;					//Brings in the shared beans without scanning the servlet application
+import org.springframework.scheduling.annotation.EnableScheduling;		//Enable @Scheduled background tasks
+
+//WebFlux + R2DBC build of the auth and user endpoints, for benchmarking against the servlet application with the same load script.
+//Only the stateless pieces of com.React.Jwt.Login are imported; everything touching JDBC or the servlet API has a counterpart here.
+@SpringBootApplication	//Component scan is limited to com.React.Jwt.Reactive
+@EnableScheduling		//Run @Scheduled maintenance tasks such as JWT key file and credential epoch reloads
+@Import({JwtConfig.class, JwtKeyRing.class, JwtUtil.class, VerifiedTokenCache.class, LoginThrottle.class, MapperConfig.class, PasswordConfig.class, 
+JacksonConfig.class, GlobalExceptionHandler.class})
+public class ReactiveApplication 
+{
+	public static void main(String[] args) 								//Main method to run the application
+	{
+		new SpringApplicationBuilder(ReactiveApplication.class).profiles("reactive").run(args);	//application-reactive.properties swaps JDBC/JPA for R2DBC
+	}
+
+	@Bean	//Serve on Netty; without it WebFlux would run on the Tomcat that the servlet starter puts on the classpath
+	public NettyReactiveWebServerFactory nettyReactiveWebServerFactory()
+	{
+		return new NettyReactiveWebServerFactory();
+	}
+}
@@ -0,0 +1,13 @@
+package com.React.Jwt.Reactive.Repository;                                      //Package declaration
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;    //Non-blocking CRUD operations
+import org.springframework.stereotype.Repository;                               //Importing Repository annotation to indicate it's a repository
+import reactor.core.publisher.Mono;                                             //Zero or one result
+
+//R2DBC counterpart of UserRepository; filtered listing goes through R2dbcEntityTemplate in ReactiveUserService
+@Repository //Marks this interface as a repository bean for Spring's component scanning
+public interface ReactiveUserRepository extends ReactiveCrudRepository<UserRow, Long> 
+{
+    Mono<UserRow> findByUsername(String username);  //Finds a user by their username
+
+    Mono<UserRow> findByEmail(String email);        //Finds a user by their email
+}
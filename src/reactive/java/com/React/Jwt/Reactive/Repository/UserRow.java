@@ -0,0 +1,67 @@
+package com.React.Jwt.Reactive.Repository;                          //Package declaration
+import com.React.Jwt.Login.Entity.User;                             //JPA entity the shared mapper produces
+import com.React.Jwt.Login.Enum.Role;                               //Importing Role enum
+import com.React.Jwt.Login.Repository.UserView;                     //Public columns the shared mapper turns into a UserDTO
+import lombok.*;                                                    //Lombok annotations for boilerplate code
+import org.springframework.data.annotation.Id;                      //Spring Data primary key
+import org.springframework.data.annotation.Version;                 //Spring Data optimistic lock
+import org.springframework.data.relational.core.mapping.Column;     //Column names as declared in schema.sql
+import org.springframework.data.relational.core.mapping.Table;      //Table name
+
+//Row of the users table as read and written through R2DBC; the servlet application maps the same table with the User entity
+@Table("users")                         //Specifies table name
+@Getter                                 //Generates getter methods
+@Setter                                 //Generates setter methods
+@NoArgsConstructor                      //Generates no-args constructor
+@AllArgsConstructor                     //Generates all-args constructor
+@Builder                                //Enables builder pattern
+public class UserRow 
+{
+    @Id                                 //Marks as primary key; null means the row is inserted and the database assigns it
+    @Column("userId")                   //Maps to 'userId' column
+    private Long userId;                //User's unique ID
+
+    @Column("firstName")                //Maps to 'firstName' column
+    private String firstName;           //User's first name
+
+    @Column("lastName")                 //Maps to 'lastName' column
+    private String lastName;            //User's last name
+
+    @Column("phone")                    //Maps to 'phone' column
+    private String phone;               //User's phone number
+
+    @Column("address")                  //Maps to 'address' column
+    private String address;             //User's home address
+
+    @Column("email")                    //Maps to 'email' column
+    private String email;               //User's email
+
+    @Column("username")                 //Maps to 'username' column
+    private String username;            //User's username
+
+    @Column("password")                 //Maps to 'password' column
+    private String password;            //User's password hash
+
+    @Column("role")                     //Maps to 'role' column, stored as the enum name
+    private Role role;                  //User's role (e.g., ADMIN, CUSTOMER)
+
+    @Column("credentialEpoch")          //Maps to 'credentialEpoch' column
+    private long credentialEpoch;       //Bumped when password, username or role change; older tokens are rejected
+
+    @Version                            //Checked and bumped on every update; null means the row is inserted at version 0
+    @Column("version")                  //Maps to 'version' column
+    private Long version;               //Row version, as maintained by the User entity
+
+    //Row to insert for a user built by the shared mapper
+    public static UserRow of(User user)
+    {
+        return new UserRow(user.getUserId(), user.getFirstName(), user.getLastName(), user.getPhone(), user.getAddress(), user.getEmail(), 
+        user.getUsername(), user.getPassword(), user.getRole(), user.getCredentialEpoch(), null);
+    }
+
+    //Public columns, for the shared mapper's UserDTO; the password hash is left behind
+    public UserView view()
+    {
+        return new UserView(userId, firstName, lastName, phone, address, email, username, role, version == null ? 0 : version);
+    }
+}
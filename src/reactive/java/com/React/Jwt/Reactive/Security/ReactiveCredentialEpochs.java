@@ -0,0 +1,38 @@
+package com.React.Jwt.Reactive.Security;                            //Package declaration
+import com.React.Jwt.Login.Security.JWT.CredentialEpochs;           //Shared epoch table consulted by JwtUtil and the filter
+import org.slf4j.Logger;                                            //Logging API
+import org.slf4j.LoggerFactory;                                     //Logger factory
+import org.springframework.boot.context.event.ApplicationReadyEvent;   //Fired once the schema is in place
+import org.springframework.context.event.EventListener;             //Startup hook
+import org.springframework.r2dbc.core.DatabaseClient;               //Reads epochs from the users table
+import org.springframework.scheduling.annotation.Scheduled;         //Periodic reload for changes made on other nodes
+import org.springframework.stereotype.Component;                    //Marks the class as a Spring component
+
+//CredentialEpochs loaded through R2DBC; lookups and advances are the in-memory ones of the servlet application
+@Component  //Spring-managed bean
+public class ReactiveCredentialEpochs extends CredentialEpochs
+{
+    private static final Logger log = LoggerFactory.getLogger(ReactiveCredentialEpochs.class);
+
+    private final DatabaseClient databaseClient;        //Source of truth is users.credentialEpoch
+
+    public ReactiveCredentialEpochs(DatabaseClient databaseClient)
+    {
+        this.databaseClient = databaseClient;
+    }
+
+    //Same schedule as the JDBC reload; runs on the startup and scheduler threads, never on an event loop, so it can wait for the rows
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${jwt.credentialEpoch.reloadInterval:30000}", fixedDelayString = "${jwt.credentialEpoch.reloadInterval:30000}")
+    public void reload()
+    {
+        databaseClient.sql(RELOAD_SQL)
+        .map(row -> 
+        {
+            advance(row.get("userId", Long.class), row.get("credentialEpoch", Long.class));
+            return true;
+        }).all().blockLast();
+        log.debug("Tracking credential epochs for {} user(s)", size());
+    }
+}
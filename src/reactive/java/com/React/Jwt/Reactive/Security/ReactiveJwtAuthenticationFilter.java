@@ -0,0 +1,110 @@
+package com.React.Jwt.Reactive.Security;                                        //Package declaration
+import com.React.Jwt.Login.Security.JWT.CredentialEpochs;                       //Tokens minted before a credential change
+import com.React.Jwt.Login.Security.JWT.JwtAuthenticationFilter;                //Header name shared with the servlet filter
+import com.React.Jwt.Login.Security.JWT.JwtAuthenticationToken;                 //Authentication carrying user id and role bits
+import com.React.Jwt.Login.Security.JWT.JwtConfig;                              //Sliding renewal settings
+import com.React.Jwt.Login.Security.JWT.JwtUtil;                                //Token verification and renewal
+import com.React.Jwt.Login.Security.JWT.VerifiedJwt;                            //Result of a single verification
+import com.React.Jwt.Login.Security.JWT.VerifiedTokenCache;                     //Recently verified tokens
+import org.slf4j.Logger;                                                        //Logging API
+import org.slf4j.LoggerFactory;                                                 //Logger factory
+import org.springframework.http.HttpHeaders;                                    //Authorization header name
+import org.springframework.http.server.reactive.ServerHttpRequest;              //Incoming request
+import org.springframework.http.server.reactive.ServerHttpResponse;             //Outgoing response headers
+import org.springframework.security.core.context.ReactiveSecurityContextHolder; //Authentication travels in the Reactor context
+import org.springframework.web.server.ServerWebExchange;                        //Request/response pair
+import org.springframework.web.server.WebFilter;                                //Reactive filter contract
+import org.springframework.web.server.WebFilterChain;                           //Rest of the chain
+import reactor.core.publisher.Mono;                                             //Completion of the chain
+
+//WebFilter equivalent of JwtAuthenticationFilter: same cache, signature and epoch checks and the same sliding renewal header.
+//Everything it touches is in memory, so it runs on the event loop. Not a @Component: ReactiveSecurityConfig places it in the security chain only.
+public class ReactiveJwtAuthenticationFilter implements WebFilter 
+{
+    private static final Logger log = LoggerFactory.getLogger(ReactiveJwtAuthenticationFilter.class);
+
+    private final JwtUtil jwtUtil;                          //Utility for JWT operations
+    private final VerifiedTokenCache verifiedTokenCache;    //Recently verified tokens
+    private final JwtConfig jwtConfig;                      //Sliding renewal settings
+    private final CredentialEpochs credentialEpochs;        //Tokens minted before a credential change
+
+    //Constructor
+    public ReactiveJwtAuthenticationFilter(JwtUtil jwtUtil, VerifiedTokenCache verifiedTokenCache, JwtConfig jwtConfig, CredentialEpochs credentialEpochs) 
+    { 
+        this.jwtUtil = jwtUtil;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.jwtConfig = jwtConfig;
+        this.credentialEpochs = credentialEpochs;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) 
+    {
+        JwtAuthenticationToken authentication = null;
+        try 
+        {
+            String token = parseJwt(exchange.getRequest());    //Get JWT token from request
+
+            //Verify and decode the token once, or reuse a recent verification of the same token
+            VerifiedJwt jwt = token != null ? verifyToken(token) : null;
+            if(jwt != null && credentialEpochs.isCurrent(jwt.getUserId(), jwt.getCredentialEpoch()))
+            {
+                authentication = new JwtAuthenticationToken(jwt.getSubject(), jwt.getUserId(), jwt.getRoleMask(), token);
+                renewIfExpiringSoon(jwt, exchange.getResponse());                   //Sliding session renewal
+            }
+        } 
+        
+        catch(Exception e) 
+        {
+            log.error("JWT Authentication error", e);         //Log error; the request continues unauthenticated
+        }
+
+        if(authentication == null)
+            return chain.filter(exchange);
+
+        //Visible to everything downstream through ReactiveSecurityContextHolder
+        return chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+    }
+
+    //Hand back a fresh token on this response when the current one is within the renewal window of exp
+    private void renewIfExpiringSoon(VerifiedJwt jwt, ServerHttpResponse response) 
+    {
+        if(!jwtConfig.isSlidingRenewalEnabled() || jwt.getExpiresAt() - System.currentTimeMillis() > jwtConfig.getSlidingRenewalWindow())
+            return;
+
+        String renewed = jwt.getRenewedToken();             //Requests sharing a cached token reuse one renewal
+        if(renewed == null) 
+        {
+            renewed = jwtUtil.renewToken(jwt);
+            jwt.setRenewedToken(renewed);
+        }
+
+        response.getHeaders().set(JwtAuthenticationFilter.REFRESHED_TOKEN_HEADER, renewed);
+    }
+
+    //Look the token up in the cache and fall back to a full verification on a miss
+    private VerifiedJwt verifyToken(String token) 
+    {
+        VerifiedJwt jwt = verifiedTokenCache.get(token);    //Cached result, evicted at the token's exp
+        if(jwt == null) 
+        {
+            jwt = jwtUtil.verify(token).orElse(null);       //Signature check and claims decode
+            if(jwt != null)
+                verifiedTokenCache.put(token, jwt);         //Only valid tokens are cached
+        }
+
+        return jwt;
+    }
+
+    //Parse JWT from request header
+    private String parseJwt(ServerHttpRequest request) 
+    { 
+        String headerAuth = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);  //Get Authorization header
+
+        //Check for Bearer prefix and return token
+        if(headerAuth != null && headerAuth.startsWith("Bearer")) 
+            return headerAuth.substring(7);
+        
+        return null;    //No token found
+    }
+}
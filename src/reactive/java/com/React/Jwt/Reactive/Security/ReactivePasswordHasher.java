@@ -0,0 +1,101 @@
+package com.React.Jwt.Reactive.Security;                            //Package declaration
+import com.React.Jwt.Login.Exception.PasswordHashingBusyException;  //Thrown when the scheduler cannot take more work
+import io.micrometer.core.instrument.Counter;                       //Rejected-task counter
+import io.micrometer.core.instrument.MeterRegistry;                 //Registry the meters are published to
+import io.micrometer.core.instrument.Timer;                         //Queue wait and hashing time
+import jakarta.annotation.PreDestroy;                               //Scheduler shutdown
+import org.springframework.beans.factory.annotation.Value;          //Annotation to inject property values
+import org.springframework.security.crypto.password.PasswordEncoder;   //Encoder doing the actual hashing
+import org.springframework.stereotype.Component;                    //Marks the class as a Spring component
+import reactor.core.publisher.Mono;                                 //Deferred hashing result
+import reactor.core.scheduler.Scheduler;                            //Where hashing runs
+import reactor.core.scheduler.Schedulers;                           //Bounded elastic scheduler factory
+import java.time.Duration;                                          //Timeout
+import java.util.concurrent.Callable;                               //Hashing task
+import java.util.concurrent.RejectedExecutionException;             //Scheduler queues full
+import java.util.concurrent.TimeUnit;                               //Timer units
+import java.util.concurrent.TimeoutException;                       //Result took too long
+
+//PasswordHasher for the reactive variant: BCrypt runs on a bounded elastic scheduler sized like the servlet pool, never on an event loop,
+//and saturation surfaces as the same PasswordHashingBusyException (503 with Retry-After) and the same password.hashing.* meters
+@Component  //Spring-managed bean
+public class ReactivePasswordHasher
+{
+    private final PasswordEncoder passwordEncoder;      //BCrypt through the delegating encoder
+    private final Scheduler scheduler;                  //Capped threads, capped queued tasks per thread
+    private final Duration timeout;                     //Longest a caller waits for its result
+    private final long retryAfterSeconds;               //Back-off suggested to rejected clients
+    private final Timer waitTimer;                      //Time spent queued before a thread picked the task up
+    private final Timer hashTimer;                      //Time spent hashing
+    private final Counter rejected;                     //Tasks refused because the scheduler was saturated
+
+    //Same password.hashing.* properties as PasswordHasher; 0 threads means one per available processor
+    public ReactivePasswordHasher(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry, @Value("${password.hashing.threads:0}") int threads, 
+    @Value("${password.hashing.queueCapacity:64}") int queueCapacity, @Value("${password.hashing.timeout:5000}") long timeoutMillis, 
+    @Value("${password.hashing.retryAfter:1}") long retryAfterSeconds)
+    {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.passwordEncoder = passwordEncoder;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.retryAfterSeconds = retryAfterSeconds;
+        //Bounded elastic caps queued tasks per thread; spread the capacity so the total matches the servlet pool's single queue
+        this.scheduler = Schedulers.newBoundedElastic(poolSize, Math.max(1, queueCapacity / poolSize), "password-hash", 60, true);
+
+        this.waitTimer = Timer.builder("password.hashing.wait").description("Time a hashing task waited in the queue").register(meterRegistry);
+        this.hashTimer = Timer.builder("password.hashing.duration").description("Time spent hashing or verifying a password").register(meterRegistry);
+        this.rejected = Counter.builder("password.hashing.rejected").description("Hashing tasks refused because the pool was saturated").register(meterRegistry);
+    }
+
+    //Hash a raw password
+    public Mono<String> encode(CharSequence rawPassword)
+    {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    //Check a raw password against a stored hash
+    public Mono<Boolean> matches(CharSequence rawPassword, String encodedPassword)
+    {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    //True when a stored hash uses an older algorithm or a lower cost than new hashes; no hashing involved
+    public boolean upgradeEncoding(String encodedPassword)
+    {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    @PreDestroy //Stop the scheduler threads
+    public void shutdown()
+    {
+        scheduler.dispose();
+    }
+
+    //Run on the scheduler when subscribed; a full queue or a result that takes too long surfaces as PasswordHashingBusyException
+    private <T> Mono<T> submit(Callable<T> task)
+    {
+        return Mono.defer(() -> 
+        {
+            long queuedAt = System.nanoTime();
+            return Mono.fromCallable(() -> 
+            {
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - queuedAt, TimeUnit.NANOSECONDS);
+                try
+                {
+                    return task.call();
+                }
+
+                finally
+                {
+                    hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            }).subscribeOn(scheduler);
+        })
+        .timeout(timeout)                               //Cancelling frees the slot; the client is told to retry
+        .onErrorMap(e -> e instanceof RejectedExecutionException || e instanceof TimeoutException, e -> 
+        {
+            rejected.increment();
+            return new PasswordHashingBusyException(retryAfterSeconds);
+        });
+    }
+}
@@ -0,0 +1,63 @@
+package com.React.Jwt.Reactive.Security;                                                        //Declares the package for security configuration
+import com.React.Jwt.Login.Controller.UserController;                                           //Response header names exposed to the browser
+import com.React.Jwt.Login.Enum.Role;                                                           //Roles that URL rules may refer to
+import com.React.Jwt.Login.Security.Config.SecurityConfig;                                      //Role name checks shared with the servlet rules
+import com.React.Jwt.Login.Security.JWT.CredentialEpochs;                                       //Tokens minted before a credential change
+import com.React.Jwt.Login.Security.JWT.JwtAuthenticationFilter;                                //Renewed-token header name
+import com.React.Jwt.Login.Security.JWT.JwtConfig;                                              //Sliding renewal settings
+import com.React.Jwt.Login.Security.JWT.JwtUtil;                                                //Token verification
+import com.React.Jwt.Login.Security.JWT.VerifiedTokenCache;                                     //Recently verified tokens
+import org.springframework.context.annotation.Bean;                                             //Enables creation of Spring beans
+import org.springframework.context.annotation.Configuration;                                    //Marks the class as a Spring configuration class
+import org.springframework.http.HttpMethod;                                                     //Enum for HTTP methods
+import org.springframework.security.config.Customizer;                                          //Default CORS wiring
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;       //Reactive Spring Security
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;                  //Where the JWT filter goes
+import org.springframework.security.config.web.server.ServerHttpSecurity;                       //Used to configure web security rules
+import org.springframework.security.web.server.SecurityWebFilterChain;                          //Defines the security filter chain
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;     //Stateless: no session lookups
+import org.springframework.web.cors.CorsConfiguration;                                          //Represents CORS configuration
+import org.springframework.web.cors.reactive.CorsConfigurationSource;                           //Source for CORS configuration
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;                   //URL-based CORS config source
+import java.util.Arrays;                                                                        //Utility class used for array operations
+
+//SecurityConfig for WebFlux: the same URL rules and CORS policy, with the JWT filter in the authentication slot
+@Configuration          //Indicates this class provides Spring Security configuration
+@EnableWebFluxSecurity  //Registers the reactive security filter chain
+public class ReactiveSecurityConfig 
+{
+    @Bean   //Declares SecurityWebFilterChain bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, JwtUtil jwtUtil, VerifiedTokenCache verifiedTokenCache, JwtConfig jwtConfig, 
+    CredentialEpochs credentialEpochs) 
+    {
+        ReactiveJwtAuthenticationFilter jwtAuthenticationFilter = new ReactiveJwtAuthenticationFilter(jwtUtil, verifiedTokenCache, jwtConfig, credentialEpochs);
+
+        return http
+            .cors(Customizer.withDefaults())                                                                    //Uses the CorsConfigurationSource bean below
+            .csrf(ServerHttpSecurity.CsrfSpec::disable)                                                         //Disables CSRF (suitable for APIs)
+            .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)                                               //Tokens only
+            .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())                       //Every request authenticates with its own token
+            .authorizeExchange(exchanges -> exchanges                                                           //Begin URL authorization rules
+                .pathMatchers(HttpMethod.OPTIONS, "/**").permitAll()                                            //Allow all OPTIONS preflight requests
+                .pathMatchers("/actuator/metrics/**").hasRole(Role.ADMIN.name())                                //Runtime metrics are admin only
+                .pathMatchers("/auth/protected", "/users/me").hasAnyRole(SecurityConfig.roles("CUSTOMER", "ADMIN"))    //Secure these endpoints
+                .anyExchange().permitAll())                                                                     //Allow all other requests as open access
+            .addFilterAt(jwtAuthenticationFilter, SecurityWebFiltersOrder.AUTHENTICATION)                       //JWT filter where form or basic login would be
+            .build();                                                                                           //Return built SecurityWebFilterChain
+    }
+
+    @Bean   //Declares CORS configuration source
+    public CorsConfigurationSource corsConfigurationSource() 
+    {
+        CorsConfiguration configuration = new CorsConfiguration();                                              //Create new CORS config
+        configuration.setAllowedOrigins(Arrays.asList("http://localhost:3000"));                                //Allow this origin
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));     //Allow these HTTP methods
+        configuration.setAllowedHeaders(Arrays.asList("*"));                                                    //Allow all headers
+        configuration.setExposedHeaders(Arrays.asList(JwtAuthenticationFilter.REFRESHED_TOKEN_HEADER, UserController.NEXT_CURSOR_HEADER));     //Let the SPA read renewed tokens and page cursors
+        configuration.setAllowCredentials(true);                                                                //Allow sending credentials (e.g. cookies)
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();                         //URL-mapped CORS source
+        source.registerCorsConfiguration("/**", configuration);                                                 //Apply CORS config to all paths
+        return source;                                                                                          //Return the configuration source
+    }
+}
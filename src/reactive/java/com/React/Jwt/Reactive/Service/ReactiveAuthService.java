@@ -0,0 +1,107 @@
+package com.React.Jwt.Reactive.Service;                                     //Package declaration
+import com.React.Jwt.Login.DTO.Auth.AuthRequestDTO;                         //Login credentials as received
+import com.React.Jwt.Login.DTO.Auth.AuthResponseDTO;                        //DTO for formatted response after authentication
+import com.React.Jwt.Login.DTO.Auth.ForgotLoginCredentialDTO;               //DTO for resetting username and password
+import com.React.Jwt.Login.Entity.Auth.ForgotLoginCredential;               //ForgotLoginCredential entity for resetting username and password
+import com.React.Jwt.Login.Exception.EmailNotFoundException;                //Custom exception for email not found
+import com.React.Jwt.Login.Security.JWT.CredentialEpochs;                   //Per-user credential epochs
+import com.React.Jwt.Login.Security.JWT.JwtUtil;                            //Utility class for JWT token generation
+import com.React.Jwt.Reactive.Repository.ReactiveUserRepository;            //R2DBC access to the users table
+import com.React.Jwt.Reactive.Security.ReactivePasswordHasher;              //Hashes on the bounded elastic scheduler
+import org.slf4j.Logger;                                                    //Logging API
+import org.slf4j.LoggerFactory;                                             //Logger factory
+import org.springframework.r2dbc.core.DatabaseClient;                       //Conditional password update after a rehash
+import org.springframework.stereotype.Service;                              //Marks the class as a service
+import reactor.core.publisher.Mono;                                         //Deferred results
+import java.util.List;                                                      //For handling lists of roles
+
+//AuthService for the reactive variant: login and credential reset, with every query on R2DBC and every hash on ReactivePasswordHasher.
+//Refresh tokens, logout and revocation stay with the servlet application, whose stores are JDBC-backed.
+@Service    //Marks the class as a service, so Spring can manage it
+public class ReactiveAuthService 
+{
+    private static final Logger log = LoggerFactory.getLogger(ReactiveAuthService.class);
+
+    private final ReactiveUserRepository userRepository;    //User repository for interacting with the user database
+    private final JwtUtil jwtUtil;                          //Utility for working with JWT tokens
+    private final ReactivePasswordHasher passwordHasher;    //Bounded scheduler for hashing and matching passwords
+    private final CredentialEpochs credentialEpochs;        //Invalidates tokens minted before a credential change
+    private final DatabaseClient databaseClient;            //Compare-and-set update of rehashed passwords
+
+    //Constructor-based dependency injection for necessary services
+    public ReactiveAuthService(ReactiveUserRepository userRepository, JwtUtil jwtUtil, ReactivePasswordHasher passwordHasher, CredentialEpochs credentialEpochs, 
+    DatabaseClient databaseClient) 
+    {
+        this.userRepository = userRepository;
+        this.jwtUtil = jwtUtil;
+        this.passwordHasher = passwordHasher;
+        this.credentialEpochs = credentialEpochs;
+        this.databaseClient = databaseClient;
+    }
+
+    //Authenticate the user and generate token including roles
+    public Mono<AuthResponseDTO> authenticate(AuthRequestDTO authRequest) 
+    {
+        //Retrieve user based on username, then check the password off the event loop
+        return userRepository.findByUsername(authRequest.getUsername()).switchIfEmpty(Mono.error(() -> new RuntimeException("User not found")))
+        .flatMap(user -> passwordHasher.matches(authRequest.getPassword(), user.getPassword())
+        .flatMap(matches -> matches ? Mono.just(user) : Mono.error(new RuntimeException("Invalid credentials"))))
+        .map(user -> 
+        {
+            //Stored hash uses an older algorithm or cost: rehash while the raw password is at hand, without delaying this login
+            if(passwordHasher.upgradeEncoding(user.getPassword()))
+                rehashInBackground(user.getUserId(), authRequest.getPassword(), user.getPassword());
+
+            //Generate JWT token using the username and role(s)
+            String token = jwtUtil.generateToken(user.getUserId(), user.getUsername(), List.of(user.getRole().name()), user.getCredentialEpoch());
+
+            //Return AuthResponseDTO containing the token and success message
+            return AuthResponseDTO.builder().userId(user.getUserId()).firstName(user.getFirstName()).lastName(user.getLastName()).phone(user.getPhone())
+            .address(user.getAddress()).email(user.getEmail()).username(user.getUsername()).role(user.getRole()).token(token)
+            .message("Authentication successful").build();
+        });
+    }
+
+    //Replace an outdated hash unless the password changed in the meantime; skipped when the hashing scheduler is saturated
+    private void rehashInBackground(Long userId, String rawPassword, String oldHash) 
+    {
+        passwordHasher.encode(rawPassword).flatMap(newHash -> databaseClient.sql("UPDATE users SET password = :newHash WHERE userId = :userId AND password = :oldHash")
+        .bind("newHash", newHash).bind("userId", userId).bind("oldHash", oldHash).fetch().rowsUpdated())
+        .subscribe(updated -> {}, e -> log.warn("Background password hashing failed: {}", e.getMessage()));
+    }
+
+    //Allow user to reset username and password by providing their email address
+    public Mono<ForgotLoginCredentialDTO> resetLoginCredential(ForgotLoginCredential forgotLoginCredential) 
+    {
+        //Validate input: check for null object or missing/blank email
+        if(forgotLoginCredential == null || forgotLoginCredential.getEmail() == null || forgotLoginCredential.getEmail().isBlank()) 
+            return Mono.error(new IllegalArgumentException("Email must be provided"));
+
+        String username = forgotLoginCredential.getUsername(), password = forgotLoginCredential.getPassword();
+        boolean newUsername = username != null && !username.isBlank(), newPassword = password != null && !password.isBlank();
+
+        //Retrieve user by email; hash the new password, if any, before changing anything
+        return userRepository.findByEmail(forgotLoginCredential.getEmail()).switchIfEmpty(Mono.error(() -> new EmailNotFoundException(forgotLoginCredential.getEmail())))
+        .flatMap(user -> (newPassword ? passwordHasher.encode(password) : Mono.just(user.getPassword())).flatMap(hash -> 
+        {
+            if(newUsername)
+                user.setUsername(username);
+            user.setPassword(hash);
+
+            //A new credential epoch invalidates every token issued before this change
+            if(newUsername || newPassword)
+                user.setCredentialEpoch(user.getCredentialEpoch() + 1);
+
+            return userRepository.save(user).onErrorMap(e -> new RuntimeException("Failed to update user credentials", e));
+        }))
+        .map(saved -> 
+        {
+            //Publish the new epoch only once it is saved
+            if(newUsername || newPassword)
+                credentialEpochs.advance(saved.getUserId(), saved.getCredentialEpoch());
+
+            //Return a DTO with updated user info and success message
+            return ForgotLoginCredentialDTO.builder().email(saved.getEmail()).username(saved.getUsername()).message("Updated user credential successfully!").build();
+        });
+    }
+}
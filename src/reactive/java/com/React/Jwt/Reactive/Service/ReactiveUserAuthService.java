@@ -0,0 +1,85 @@
+package com.React.Jwt.Reactive.Service;                                 //Package declaration for service classes
+import com.React.Jwt.Login.DTO.UserDTO;                                 //Import UserDTO data transfer object
+import com.React.Jwt.Login.Enum.Role;                                   //Import Role enum for bit-test role checks
+import com.React.Jwt.Login.Exception.UsernameNotFoundException;         //Custom exception for missing username
+import com.React.Jwt.Login.Mapper.UserMapper;                           //Mapper for converting rows to UserDTO
+import com.React.Jwt.Login.Security.JWT.JwtAuthenticationToken;         //JWT authentication carrying the user id
+import com.React.Jwt.Reactive.Repository.ReactiveUserRepository;        //R2DBC access to the users table
+import lombok.RequiredArgsConstructor;                                  //Lombok annotation to generate constructor for final fields
+import org.springframework.security.access.AccessDeniedException;       //Exception for access denial
+import org.springframework.security.core.Authentication;                //Core Spring Security class representing authentication token
+import org.springframework.security.core.GrantedAuthority;              //Interface representing granted authorities (roles/permissions)
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;    //Authentication of the current request, from the Reactor context
+import org.springframework.security.core.context.SecurityContext;       //Holds the authentication
+import org.springframework.stereotype.Service;                          //Marks this class as a Spring service component
+import reactor.core.publisher.Mono;                                     //Deferred results
+
+//UserAuthService for the reactive variant; the authentication comes from the Reactor context instead of a thread-local
+@Service                    //Spring-managed service bean
+@RequiredArgsConstructor    //Generates constructor for final fields (dependency injection)
+public class ReactiveUserAuthService 
+{
+    private final ReactiveUserRepository userRepository;   //Injected R2DBC repository
+    private final UserMapper userMapper;                    //Injected mapper for row -> UserDTO conversion
+
+    //Retrieve username of currently authenticated user
+    public Mono<String> getAuthenticatedUsername() 
+    {
+        return authentication().map(Authentication::getName);
+    }
+
+    //Get current user's profile as a UserDTO; the password hash never reaches the DTO
+    public Mono<UserDTO> getCurrentUser() 
+    {
+        return getAuthenticatedUsername().flatMap(username -> userRepository.findByUsername(username)
+        .switchIfEmpty(Mono.error(() -> new UsernameNotFoundException(username)))).map(user -> userMapper.toDTO(user.view()));
+    }
+
+    //Retrieve the user id of the currently authenticated user, from the token when it carries one
+    public Mono<Long> getAuthenticatedUserId() 
+    {
+        return authentication().flatMap(auth -> 
+        {
+            //JWT requests carry the id in the "uid" claim, so no query is needed
+            if(auth instanceof JwtAuthenticationToken jwtAuthentication && jwtAuthentication.getUserId() > 0)
+                return Mono.just(jwtAuthentication.getUserId());
+
+            //Other authentication types fall back to a lookup by username
+            return userRepository.findByUsername(auth.getName()).switchIfEmpty(Mono.error(() -> new UsernameNotFoundException(auth.getName())))
+            .map(user -> user.getUserId());
+        });
+    }
+
+    //Check if the current user has a specific role; false when nobody is authenticated
+    public Mono<Boolean> hasRole(Role role) 
+    {
+        return ReactiveSecurityContextHolder.getContext().map(SecurityContext::getAuthentication).map(auth -> 
+        {
+            //JWT requests carry the roles as bits
+            if(auth instanceof JwtAuthenticationToken jwtAuthentication)
+                return jwtAuthentication.hasRole(role);
+
+            //Other authentication types: compare against the role's "ROLE_" authority name
+            if(auth.getAuthorities() == null) return false;
+            String authority = role.authority().getAuthority();
+            for(GrantedAuthority granted : auth.getAuthorities())
+                if(authority.equals(granted.getAuthority()))
+                    return true;
+            return false;
+        }).defaultIfEmpty(false);
+    }
+
+    //Check if the current user has a role given by name ("ADMIN" or "ROLE_ADMIN"); unknown names are never granted
+    public Mono<Boolean> hasRole(String roleName) 
+    {
+        Role role = Role.fromName(roleName);
+        return role == null ? Mono.just(false) : hasRole(role);
+    }
+
+    //Authentication set by ReactiveJwtAuthenticationFilter, or AccessDeniedException
+    private Mono<Authentication> authentication() 
+    {
+        return ReactiveSecurityContextHolder.getContext().map(SecurityContext::getAuthentication).filter(Authentication::isAuthenticated)
+        .switchIfEmpty(Mono.error(() -> new AccessDeniedException("User not authenticated")));
+    }
+}
@@ -0,0 +1,30 @@
+package com.React.Jwt.Reactive.Service;                             //Package declaration for service layer classes
+import com.React.Jwt.Login.Enum.Role;                               //Import Role enum for bit-test role checks
+import lombok.RequiredArgsConstructor;                              //Lombok annotation to generate constructor for final fields
+import org.springframework.security.access.AccessDeniedException;   //Spring exception for access denial
+import org.springframework.stereotype.Service;                      //Marks this class as a Spring service component
+import reactor.core.publisher.Mono;                                 //Completes when access is granted
+
+//UserAuthorizationService for the reactive variant: each check completes empty when allowed and fails with AccessDeniedException otherwise
+@Service                    //Defines this class as a Spring-managed service bean
+@RequiredArgsConstructor    //Generates constructor for final fields (dependency injection)
+public class ReactiveUserAuthorizationService 
+{
+    private final ReactiveUserAuthService userAuthService;  //Injected service handling authentication details
+
+    //Authorize access only for admin users
+    public Mono<Void> authorizeAdmin() 
+    {
+        return userAuthService.hasRole(Role.ADMIN).flatMap(isAdmin -> isAdmin ? Mono.<Void>empty() 
+        : Mono.error(new AccessDeniedException("Only admins can access this resource.")));
+    }
+
+    //Authorize either the user themselves or an admin
+    public Mono<Void> authorizeUserOrAdmin(Long userId) 
+    {
+        //Id from the token, no query; the role bits are only consulted for somebody else's data
+        return userAuthService.getAuthenticatedUserId().flatMap(currentUserId -> userId.equals(currentUserId) ? Mono.just(true) 
+        : userAuthService.hasRole(Role.ADMIN)).flatMap(allowed -> allowed ? Mono.<Void>empty() 
+        : Mono.error(new AccessDeniedException("You are not authorized to access this data.")));
+    }
+}
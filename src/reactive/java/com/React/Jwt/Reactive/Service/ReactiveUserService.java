@@ -0,0 +1,182 @@
+package com.React.Jwt.Reactive.Service;                                                 //Package declaration for user-related service classes
+import com.React.Jwt.Login.DTO.Auth.AuthResponseDTO;                                    //Import DTO for authentication response (includes JWT token and user data)
+import com.React.Jwt.Login.DTO.UserDTO;                                                 //Import DTO for transferring user data between layers
+import com.React.Jwt.Login.DTO.UserPageDTO;                                             //Import DTO for one page of users
+import com.React.Jwt.Login.Enum.Role;                                                   //Import Role enum for detecting role changes
+import com.React.Jwt.Login.Exception.UserNotFoundException;                             //Import exception for an unknown user id
+import com.React.Jwt.Login.Mapper.UserMapper;                                           //Import mapper to convert between User entity and UserDTO
+import com.React.Jwt.Login.Security.JWT.CredentialEpochs;                               //Import per-user credential epochs
+import com.React.Jwt.Login.Security.JWT.JwtUtil;                                        //Import utility class for creating JWT tokens
+import com.React.Jwt.Login.Service.UserService;                                         //Import cursor and constraint-name helpers shared with the servlet service
+import com.React.Jwt.Reactive.Repository.ReactiveUserRepository;                        //Import R2DBC repository for the users table
+import com.React.Jwt.Reactive.Repository.UserRow;                                       //Import users table row
+import com.React.Jwt.Reactive.Security.ReactivePasswordHasher;                          //Import bounded scheduler for password hashing
+import lombok.RequiredArgsConstructor;                                                  //Lombok annotation to auto-generate constructor for all final fields
+import org.springframework.dao.DataIntegrityViolationException;                         //Import exception for a violated unique constraint
+import org.springframework.data.domain.Sort;                                            //Import keyset ordering
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;                         //Import criteria queries for listing
+import org.springframework.data.relational.core.query.Criteria;                         //Import filter conditions
+import org.springframework.data.relational.core.query.Query;                            //Import query with sort and limit
+import org.springframework.security.access.AccessDeniedException;                       //Import exception thrown when a user lacks permission
+import org.springframework.stereotype.Service;                                          //Marks this class as a Spring-managed service component
+import reactor.core.publisher.Mono;                                                     //Deferred results
+import java.util.List;                                                                  //Import List for roles and pages
+import java.util.Objects;                                                               //Import null-safe equality
+import java.util.Optional;                                                              //Import helper for partial updates
+
+//UserService for the reactive variant: the same rules, one R2DBC query per step and no blocking call on the request path
+@Service                    //Marks this as a Spring service bean
+@RequiredArgsConstructor    //Lombok annotation for constructor injection of final fields
+public class ReactiveUserService 
+{
+    private final ReactiveUserRepository userRepository;                        //Repository for user data access
+    private final R2dbcEntityTemplate template;                                 //Criteria queries for the filtered listing
+    private final UserMapper userMapper;                                        //Mapper to convert between User entity and DTO
+    private final ReactivePasswordHasher passwordHasher;                        //Bounded scheduler for hashing passwords
+    private final JwtUtil jwtUtil;                                              //JWT utility for token generation
+    private final ReactiveUserAuthService userAuthService;                      //Service for authenticated user details
+    private final ReactiveUserAuthorizationService userAuthorizationService;    //Service for authorization checks
+    private final CredentialEpochs credentialEpochs;                            //Invalidates tokens minted before a credential change
+
+    private static final int DEFAULT_PAGE_SIZE = 50;                            //Users per page when no size is given
+    private static final int MAX_PAGE_SIZE = 200;                               //Upper bound on a requested page size
+
+    //Register a new user with password encoding; the request body is validated by the controller before this is called
+    public Mono<UserDTO> registerNewUser(UserDTO userDTO) 
+    {
+        return passwordHasher.encode(userDTO.getPassword()).flatMap(hash -> 
+        {
+            userDTO.setPassword(hash);                                          //Encode password before saving
+            return userRepository.save(UserRow.of(userMapper.toEntity(userDTO)));  //Insert directly: the unique constraints decide
+        })
+        .onErrorMap(DataIntegrityViolationException.class, e -> UserService.alreadyExists(e, userDTO))
+        .map(saved -> userMapper.toDTO(saved.view()));                         //Return saved user as DTO
+    }
+
+    //View a user's profile by ID with authorization check
+    public Mono<UserDTO> viewUserProfile(Long userId) 
+    {
+        return userAuthorizationService.authorizeUserOrAdmin(userId).then(findUserById(userId)).map(user -> userMapper.toDTO(user.view()));
+    }
+
+    //View one page of user profiles, optionally filtered by role and name prefix, only accessible by admin
+    public Mono<UserPageDTO> viewUserProfiles(String cursor, Integer size, Role role, String name) 
+    {
+        return userAuthorizationService.authorizeAdmin().then(Mono.defer(() -> 
+        {
+            //Keyset on the primary key: every page is an index range scan from the cursor, however deep
+            int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+            Query query = Query.query(filter(UserService.decodeCursor(cursor), role, name)).sort(Sort.by("userId")).limit(pageSize + 1);
+            return template.select(UserRow.class).matching(query).all().collectList().map(rows -> 
+            {
+                //One extra row tells whether another page exists without a count query
+                boolean hasMore = rows.size() > pageSize;
+                List<UserRow> page = hasMore ? rows.subList(0, pageSize) : rows;
+                String nextCursor = hasMore ? UserService.encodeCursor(page.get(page.size() - 1).getUserId()) : null;
+                return UserPageDTO.builder().users(page.stream().map(user -> userMapper.toDTO(user.view())).toList()).nextCursor(nextCursor).build();
+            });
+        }));
+    }
+
+    //Same conditions as UserSpecifications: rows after the cursor, exact role, case-insensitive prefix of first name, last name or username
+    private static Criteria filter(Long lastUserId, Role role, String name) 
+    {
+        Criteria criteria = Criteria.empty();
+        if(lastUserId != null)
+            criteria = criteria.and("userId").greaterThan(lastUserId);
+        if(role != null)
+            criteria = criteria.and("role").is(role.name());
+        if(name != null && !name.isBlank())
+        {
+            //Backslash is the default LIKE escape in H2 and PostgreSQL, so user input is matched literally
+            String pattern = name.strip().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+            criteria = criteria.and(Criteria.where("firstName").like(pattern).ignoreCase(true).or("lastName").like(pattern).ignoreCase(true)
+            .or("username").like(pattern).ignoreCase(true));
+        }
+        return criteria;
+    }
+
+    //Update user profile with authorization, partial update, and a new token
+    public Mono<AuthResponseDTO> updateUserProfile(Long userId, UserDTO userDTO) 
+    {
+        //Current user's ID (from the token, no query) and role bits, then the user to update
+        return Mono.zip(userAuthService.getAuthenticatedUserId(), userAuthService.hasRole(Role.ADMIN)).flatMap(caller -> findUserById(userId).flatMap(user -> 
+        {
+            boolean isAdmin = caller.getT2();
+            boolean isSelf = Objects.equals(userId, caller.getT1());
+
+            //Deny access if not admin or self
+            if(!isAdmin && !isSelf)
+                return Mono.error(new AccessDeniedException("You are not authorized to update this user."));
+
+            //Hash the new password, if any, off the event loop
+            Optional<String> newPassword = Optional.ofNullable(userDTO.getPassword()).filter(s -> !s.trim().isEmpty());
+            return (newPassword.isPresent() ? passwordHasher.encode(newPassword.get()) : Mono.just(user.getPassword()))
+            .flatMap(hash -> 
+            {
+                boolean credentialsChanged = apply(user, userDTO, hash, isAdmin);
+
+                //Publish the new epoch only once it is saved
+                return userRepository.save(user).doOnNext(saved -> 
+                {
+                    if(credentialsChanged)
+                        credentialEpochs.advance(saved.getUserId(), saved.getCredentialEpoch());
+                });
+            });
+        }))
+        .map(updatedUser -> 
+        {
+            UserDTO updatedUserDTO = userMapper.toDTO(updatedUser.view());     //Convert updated user to DTO
+            String token = jwtUtil.generateToken(updatedUser.getUserId(), updatedUser.getUsername(), List.of(updatedUser.getRole().name()), updatedUser.getCredentialEpoch());  //New token with updated roles and epoch
+
+            //Build and return authentication response DTO with updated info and token
+            return AuthResponseDTO.builder().userId(updatedUser.getUserId()).firstName(updatedUserDTO.getFirstName()).lastName(updatedUserDTO.getLastName())
+            .phone(updatedUserDTO.getPhone()).address(updatedUserDTO.getAddress()).email(updatedUserDTO.getEmail()).username(updatedUserDTO.getUsername())
+            .token(token).message("User updated successfully").role(updatedUserDTO.getRole()).build();
+        });
+    }
+
+    //Copy the provided, non-empty fields onto the row; true when a password, username or role change moved the credential epoch
+    private static boolean apply(UserRow user, UserDTO userDTO, String passwordHash, boolean isAdmin) 
+    {
+        String oldUsername = user.getUsername(), oldPassword = user.getPassword();
+        Role oldRole = user.getRole();
+
+        Optional.ofNullable(userDTO.getFirstName()).filter(s -> !s.trim().isEmpty()).ifPresent(user::setFirstName);
+        Optional.ofNullable(userDTO.getLastName()).filter(s -> !s.trim().isEmpty()).ifPresent(user::setLastName);
+        Optional.ofNullable(userDTO.getUsername()).filter(s -> !s.trim().isEmpty()).ifPresent(user::setUsername);
+        Optional.ofNullable(userDTO.getEmail()).filter(s -> !s.trim().isEmpty()).ifPresent(user::setEmail);
+        Optional.ofNullable(userDTO.getPhone()).filter(s -> !s.trim().isEmpty()).ifPresent(user::setPhone);
+        Optional.ofNullable(userDTO.getAddress()).filter(s -> !s.trim().isEmpty()).ifPresent(user::setAddress);
+        user.setPassword(passwordHash);
+
+        //Only admin can update roles
+        if(isAdmin && userDTO.getRole() != null)
+            user.setRole(userDTO.getRole());
+
+        //A new credential epoch invalidates every token issued before the change
+        boolean credentialsChanged = !Objects.equals(oldUsername, user.getUsername()) || !Objects.equals(oldPassword, user.getPassword()) || oldRole != user.getRole();
+        if(credentialsChanged)
+            user.setCredentialEpoch(user.getCredentialEpoch() + 1);
+        return credentialsChanged;
+    }
+
+    //Delete user profile by ID, admin only; access tokens already issued to the user stop working once the row is gone, on every node
+    public Mono<Void> deleteUserProfile(Long userId) 
+    {
+        return userAuthorizationService.authorizeAdmin().then(findUserById(userId)).flatMap(user -> 
+        {
+            long finalEpoch = user.getCredentialEpoch() + 1;
+            return template.getDatabaseClient().sql(CredentialEpochs.CLEAR_TOMBSTONE_SQL).bind(0, userId).then()    //Tombstone first, as in UserService
+            .then(template.getDatabaseClient().sql(CredentialEpochs.TOMBSTONE_SQL).bind(0, userId).bind(1, finalEpoch).then())
+            .then(userRepository.delete(user))
+            .then(Mono.fromRunnable(() -> credentialEpochs.advance(userId, finalEpoch)));
+        });
+    }
+
+    //Helper method to find user by ID or fail with not found
+    private Mono<UserRow> findUserById(Long userId) 
+    {
+        return userRepository.findById(userId).switchIfEmpty(Mono.error(() -> new UserNotFoundException(userId.toString())));
+    }
+}
@@ -0,0 +1,70 @@
+package com.React.Jwt.Reactive; 								//Define the package location for this class
+import com.React.Jwt.Login.Controller.UserController;			//Cursor header name
+import com.React.Jwt.Login.DTO.Auth.AuthRequestDTO;				//Login body
+import com.React.Jwt.Login.DTO.Auth.AuthResponseDTO;			//Login response with the token
+import com.React.Jwt.Login.DTO.UserDTO;							//Profile and registration bodies
+import com.React.Jwt.Login.Enum.Role;							//Role of a registered user
+import org.junit.jupiter.api.Test; 								//Import JUnit 5 test annotation
+import org.springframework.beans.factory.annotation.Autowired;	//Injects the test client
+import org.springframework.boot.test.context.SpringBootTest;	//Import Spring Boot test support
+import org.springframework.http.HttpStatus;						//Expected statuses
+import org.springframework.test.context.ActiveProfiles;			//Reactive profile, as ReactiveApplication.main sets it
+import org.springframework.test.web.reactive.server.WebTestClient;	//HTTP client bound to the running server
+import static org.junit.jupiter.api.Assertions.*;				//Assertion methods
+
+//Boots the WebFlux + R2DBC variant on a random port and drives it over HTTP like the load script does
+@SpringBootTest(classes = ReactiveApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, 
+properties = {"password.bcrypt.strength=4", "login.throttle.enabled=false"})
+@ActiveProfiles("reactive")
+class ReactiveApplicationTests 
+{
+	@Autowired
+	private WebTestClient webTestClient;	//Client for the running server
+
+	@Test	//Test: a seeded user logs in and reads their own profile with the token
+	void login_thenMe_returnsOwnProfile() 
+	{
+		String token = login("johndoe", "customer123");
+		UserDTO me = webTestClient.get().uri("/me").headers(headers -> headers.setBearerAuth(token)).exchange().expectStatus().isOk()
+		.expectBody(UserDTO.class).returnResult().getResponseBody();
+		assertEquals("johndoe", me.getUsername());							//Profile of the token's user
+		assertNull(me.getPassword());										//Hash never leaves the server
+	}
+
+	@Test	//Test: wrong password is a 401 with the servlet application's message
+	void login_withWrongPassword_returns401() 
+	{
+		webTestClient.post().uri("/auth/login").bodyValue(new AuthRequestDTO("alice", "wrong")).exchange().expectStatus().isUnauthorized()
+		.expectBody(AuthResponseDTO.class).value(response -> assertEquals("Authentication failed", response.getMessage()));
+	}
+
+	@Test	//Test: registration rejects an invalid body with 400 and a taken username with 409
+	void register_mapsValidationAndConstraintFailures() 
+	{
+		webTestClient.post().uri("/users/register").bodyValue(new UserDTO()).exchange().expectStatus().isBadRequest();
+
+		UserDTO user = UserDTO.builder().firstName("Bobby").lastName("Tables").username("bobby").email("bobby@example.com").phone("+6590000001")
+		.address("1 Road").password("bobby1234").role(Role.CUSTOMER).build();
+		webTestClient.post().uri("/users/register").bodyValue(user).exchange().expectStatus().isOk();
+
+		user.setEmail("other@example.com");
+		user.setPhone("+6590000002");
+		user.setPassword("bobby1234");
+		webTestClient.post().uri("/users/register").bodyValue(user).exchange().expectStatus().isEqualTo(HttpStatus.CONFLICT);
+	}
+
+	@Test	//Test: an admin pages through users with the cursor header
+	void list_asAdmin_returnsPageAndCursor() 
+	{
+		String token = login("admin", "admin123");
+		webTestClient.get().uri("/users?size=1").headers(headers -> headers.setBearerAuth(token)).exchange().expectStatus().isOk()
+		.expectHeader().exists(UserController.NEXT_CURSOR_HEADER).expectBodyList(UserDTO.class).hasSize(1);
+	}
+
+	//Token of a seeded user
+	private String login(String username, String password) 
+	{
+		return webTestClient.post().uri("/auth/login").bodyValue(new AuthRequestDTO(username, password)).exchange().expectStatus().isOk()
+		.expectBody(AuthResponseDTO.class).returnResult().getResponseBody().getToken();
+	}
+}
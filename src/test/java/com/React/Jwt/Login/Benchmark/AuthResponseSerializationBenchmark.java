@@ -0,0 +1,77 @@
+package com.React.Jwt.Login.Benchmark;                              //Package for JMH benchmarks
+import com.React.Jwt.Login.DTO.Auth.AuthRequestDTO;                 //Login request body
+import com.React.Jwt.Login.DTO.Auth.AuthResponseDTO;                //Login response body
+import com.React.Jwt.Login.Enum.Role;                               //Role of the signed-in user
+import com.fasterxml.jackson.databind.ObjectMapper;                 //Mapper with and without Blackbird
+import com.fasterxml.jackson.databind.ObjectReader;                 //Reads the request body
+import com.fasterxml.jackson.databind.ObjectWriter;                 //Writes the response body
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;      //Module registered by JacksonConfig
+import org.openjdk.jmh.annotations.*;                               //JMH annotations
+import java.nio.charset.StandardCharsets;                           //Request body bytes
+import java.util.concurrent.TimeUnit;                               //Output time unit
+
+//Jackson cost of POST /auth/login: reading AuthRequestDTO and writing AuthResponseDTO, with reflective accessors vs Blackbird.
+//The token strings are built once, so the numbers are the mapper's own work. Run with -prof gc to compare allocation per operation.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthResponseSerializationBenchmark
+{
+    private ObjectReader reflectiveReader, blackbirdReader;     //AuthRequestDTO readers
+    private ObjectWriter reflectiveWriter, blackbirdWriter;     //AuthResponseDTO writers
+    private byte[] requestBody;                                 //Login body as sent by the client
+    private String token, refreshToken;                         //Realistic token lengths
+
+    @Setup
+    public void setUp()
+    {
+        ObjectMapper reflective = new ObjectMapper();
+        ObjectMapper blackbird = new ObjectMapper().registerModule(new BlackbirdModule());
+        reflectiveReader = reflective.readerFor(AuthRequestDTO.class);
+        blackbirdReader = blackbird.readerFor(AuthRequestDTO.class);
+        reflectiveWriter = reflective.writerFor(AuthResponseDTO.class);
+        blackbirdWriter = blackbird.writerFor(AuthResponseDTO.class);
+        requestBody = "{\"username\":\"customer1\",\"password\":\"correct horse battery staple\"}".getBytes(StandardCharsets.UTF_8);
+        token = "eyJhbGciOiJFUzI1NiIsImtpZCI6ImsxIn0." + "x".repeat(280) + "." + "s".repeat(86);  //ES256 JWT with user id, roles and epoch claims
+        refreshToken = "r".repeat(43);                                                              //32 random bytes, base64url
+    }
+
+    //Response the login endpoint builds after a successful password check
+    private AuthResponseDTO loginResponse()
+    {
+        return AuthResponseDTO.builder().userId(42L).firstName("Jane").lastName("Doe").phone("+6590000100").address("1 Main St")
+        .email("jane@example.com").username("customer1").role(Role.CUSTOMER).token(token).refreshToken(refreshToken)
+        .message("Authentication successful").build();
+    }
+
+    @Benchmark  //Before: response built and written through reflective getters
+    public byte[] writeLoginResponseReflective() throws Exception
+    {
+        return reflectiveWriter.writeValueAsBytes(loginResponse());
+    }
+
+    @Benchmark  //Now: same response written through Blackbird's generated getters
+    public byte[] writeLoginResponseBlackbird() throws Exception
+    {
+        return blackbirdWriter.writeValueAsBytes(loginResponse());
+    }
+
+    @Benchmark  //Before: request read through reflective setters, then copied into a second request object for the service
+    public Object readLoginRequestReflectiveWithCopy() throws Exception
+    {
+        AuthRequestDTO dto = reflectiveReader.readValue(requestBody);
+        AuthRequestDTO copy = new AuthRequestDTO();
+        copy.setUsername(dto.getUsername());
+        copy.setPassword(dto.getPassword());
+        return copy;
+    }
+
+    @Benchmark  //Now: request read through Blackbird's generated setters and handed to the service as is
+    public Object readLoginRequestBlackbird() throws Exception
+    {
+        return blackbirdReader.readValue(requestBody);
+    }
+}
@@ -0,0 +1,63 @@
+package com.React.Jwt.Login.Benchmark;              //Package for JMH benchmarks
+import io.jsonwebtoken.JwtParser;                   //Reusable parser
+import io.jsonwebtoken.Jwts;                        //JWT builder/parser
+import io.jsonwebtoken.SignatureAlgorithm;          //Algorithms under comparison
+import io.jsonwebtoken.security.Keys;               //Key generation
+import org.openjdk.jmh.annotations.*;               //JMH annotations
+import java.security.Key;                           //Signing/verification key
+import java.security.KeyPair;                       //Asymmetric key pair
+import java.util.Date;                              //Expiry
+import java.util.List;                              //Roles claim
+import java.util.concurrent.TimeUnit;               //Output time unit
+
+//Sign and verify throughput per algorithm with the bundled jjwt 0.11.5 (which has no EdDSA support)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtSigningAlgorithmBenchmark
+{
+    @Param({"HS256", "RS256", "ES256"})
+    public String algorithm;        //Algorithm under test
+
+    private Key signingKey;         //Secret or private key
+    private JwtParser parser;       //Parser with the secret or public key
+    private String token;           //Pre-signed token for the verify benchmark
+
+    @Setup
+    public void setUp()
+    {
+        SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.forName(algorithm);
+        Key verificationKey;
+        if(signatureAlgorithm.isHmac())
+        {
+            signingKey = Keys.secretKeyFor(signatureAlgorithm);
+            verificationKey = signingKey;
+        }
+
+        else
+        {
+            KeyPair keyPair = Keys.keyPairFor(signatureAlgorithm);
+            signingKey = keyPair.getPrivate();
+            verificationKey = keyPair.getPublic();
+        }
+
+        parser = Jwts.parserBuilder().setSigningKey(verificationKey).build();
+        token = sign();
+    }
+
+    @Benchmark  //Cost of minting a token as /auth/login does
+    public String sign()
+    {
+        return Jwts.builder().setHeaderParam("kid", "bench").setSubject("admin").claim("roles", List.of("ADMIN"))
+        .setIssuedAt(new Date()).setExpiration(new Date(System.currentTimeMillis() + 3600000)).signWith(signingKey).compact();
+    }
+
+    @Benchmark  //Cost of verifying a token as a resource server does on every request
+    public Object verify()
+    {
+        return parser.parseClaimsJws(token).getBody();
+    }
+}
@@ -0,0 +1,75 @@
+package com.React.Jwt.Login.Benchmark;                                      //Package for JMH benchmarks
+import com.React.Jwt.Login.Security.JWT.CredentialEpochs;                   //Credential epochs read when minting
+import com.React.Jwt.Login.Security.JWT.JwtConfig;                          //JWT settings
+import com.React.Jwt.Login.Security.JWT.JwtKeyRing;                         //Signing keys
+import com.React.Jwt.Login.Security.JWT.JwtUtil;                            //Utility under test
+import com.React.Jwt.Login.Security.JWT.TokenDenylist;                      //Revocation check run on every request
+import com.React.Jwt.Login.Security.JWT.VerifiedJwt;                        //Single-pass verification result
+import io.jsonwebtoken.Claims;                                              //JWT claims (payload)
+import io.jsonwebtoken.Jwts;                                                //JWT parser used by the legacy path
+import org.mockito.Mockito;                                                 //Stubs out denylist persistence
+import org.openjdk.jmh.annotations.*;                                       //JMH annotations
+import org.springframework.jdbc.core.JdbcTemplate;                          //Denylist persistence (unused on the read path)
+import org.springframework.security.core.authority.SimpleGrantedAuthority;  //Authority built per request
+import org.springframework.test.util.ReflectionTestUtils;                   //Fills JwtConfig without a Spring context
+import java.security.Key;                                                   //Signing key type
+import java.util.List;                                                      //Roles list
+import java.util.UUID;                                                      //Revoked token ids
+import java.util.concurrent.TimeUnit;                                       //Output time unit
+
+//Per-request cost of authenticating a bearer token: legacy three-parse path vs single VerifiedJwt
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark
+{
+    private JwtUtil jwtUtil;    //Utility with the shared parser
+    private Key key;            //Same key, used to replay the old per-call parser builds
+    private String token;       //Token verified on every invocation
+    private VerifiedJwt jwt;    //Verified form of the token, as held by the cache
+    private TokenDenylist denylist; //Denylist with unrelated revocations
+
+    @Setup
+    public void setUp()
+    {
+        JwtConfig jwtConfig = new JwtConfig();
+        ReflectionTestUtils.setField(jwtConfig, "secretKey", "BenchmarkSecretKeyBenchmarkSecretKeyBenchmarkSecretKey");
+        ReflectionTestUtils.setField(jwtConfig, "expirationTime", 3600000L);
+        JwtKeyRing keyRing = new JwtKeyRing(jwtConfig);
+        jwtUtil = new JwtUtil(jwtConfig, keyRing, new CredentialEpochs(Mockito.mock(JdbcTemplate.class)));
+        key = keyRing.activeKey().key();
+        token = jwtUtil.generateToken(1L, "admin", List.of("ADMIN"));
+        jwt = jwtUtil.verify(token).orElseThrow();
+        denylist = new TokenDenylist(Mockito.mock(JdbcTemplate.class), 100000, 30000);
+        for(int i = 0; i < 10000; i++)     //Other users' logouts; run with -prof gc to see the miss path allocate nothing
+            denylist.revoke(new VerifiedJwt("user" + i, List.of("USER"), System.currentTimeMillis() + 3600000, UUID.randomUUID(), i + 1, 0));
+    }
+
+    @Benchmark  //What JwtAuthenticationFilter did before: isTokenValid, parseToken, getRolesFromToken, each with a new parser
+    public List<SimpleGrantedAuthority> threeParsesPerRequest()
+    {
+        Claims validity = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        if(validity.getExpiration().getTime() < System.currentTimeMillis())
+            throw new IllegalStateException("expired");
+
+        String username = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject();
+        Object roles = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().get("roles");
+        List<SimpleGrantedAuthority> authorities = ((List<?>) roles).stream().map(role -> new SimpleGrantedAuthority("ROLE_" + role)).toList();
+        return username != null ? authorities : null;
+    }
+
+    @Benchmark  //Current path: one verify with the parser built once
+    public VerifiedJwt singleVerifiedJwt()
+    {
+        return jwtUtil.verify(token).orElseThrow();
+    }
+
+    @Benchmark  //Revocation check for a token that was not revoked: Bloom filter miss
+    public boolean denylistMiss()
+    {
+        return denylist.isRevoked(jwt);
+    }
+}
@@ -0,0 +1,59 @@
+package com.React.Jwt.Login.Benchmark;              //Package for JMH benchmarks
+import com.React.Jwt.Login.Security.Throttle.LoginThrottle;    //Throttle under test
+import org.openjdk.jmh.annotations.*;               //JMH annotations
+import java.util.concurrent.ThreadLocalRandom;      //Per-thread start offset
+import java.util.concurrent.TimeUnit;               //Output time unit
+
+//Cost the throttle adds to an allowed /auth/login attempt (address and username bucket), single and contended
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoginThrottleBenchmark
+{
+    private static final int KEYS = 1024;           //Distinct clients cycling through the table
+
+    private final String[] usernames = new String[KEYS];
+    private final String[] addresses = new String[KEYS];
+    private LoginThrottle loginThrottle;            //Limits high enough that every attempt is allowed
+
+    @State(Scope.Thread)
+    public static class Cursor
+    {
+        int next;                                   //Per-thread position in the key arrays
+
+        @Setup
+        public void setUp()
+        {
+            next = ThreadLocalRandom.current().nextInt(KEYS);  //Threads start on different clients
+        }
+    }
+
+    @Setup
+    public void setUp()
+    {
+        loginThrottle = new LoginThrottle(true, 65536, 1_000_000, 1, 1_000_000, 1);
+        for(int i = 0; i < KEYS; i++)
+        {
+            usernames[i] = "user" + i;
+            addresses[i] = "10.0." + (i >> 8) + "." + (i & 255);
+        }
+    }
+
+    @Benchmark
+    public long allowed(Cursor cursor)
+    {
+        int i = cursor.next++ & (KEYS - 1);
+        return loginThrottle.tryAcquire(usernames[i], addresses[i]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long allowedContended(Cursor cursor)
+    {
+        int i = cursor.next++ & (KEYS - 1);
+        return loginThrottle.tryAcquire(usernames[i], addresses[i]);
+    }
+}
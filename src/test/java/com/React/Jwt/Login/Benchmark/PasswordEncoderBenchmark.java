@@ -0,0 +1,51 @@
+package com.React.Jwt.Login.Benchmark;              //Package for JMH benchmarks
+import org.openjdk.jmh.annotations.*;               //JMH annotations
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;   //Argon2id (Bouncy Castle)
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;   //BCrypt
+import org.springframework.security.crypto.password.PasswordEncoder;       //Common interface
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder; //PBKDF2-HMAC-SHA256
+import java.util.concurrent.TimeUnit;               //Output time unit
+
+//Hash and verify latency of the encoders Spring Security offers, at their current recommended defaults
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark
+{
+    private static final String PASSWORD = "customer123";  //Typical seeded password
+
+    @Param({"bcrypt-10", "bcrypt-12", "pbkdf2", "argon2"})
+    public String encoderName;      //Encoder under test
+
+    private PasswordEncoder encoder;    //Configured encoder
+    private String encoded;             //Pre-computed hash for the verify benchmark
+
+    @Setup
+    public void setUp()
+    {
+        encoder = switch(encoderName)
+        {
+            case "bcrypt-10" -> new BCryptPasswordEncoder(10);
+            case "bcrypt-12" -> new BCryptPasswordEncoder(12);
+            case "pbkdf2" -> Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+            case "argon2" -> Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+            default -> throw new IllegalArgumentException(encoderName);
+        };
+        encoded = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark  //Cost of registering or changing a password
+    public String encode()
+    {
+        return encoder.encode(PASSWORD);
+    }
+
+    @Benchmark  //Cost of a login
+    public boolean matches()
+    {
+        return encoder.matches(PASSWORD, encoded);
+    }
+}
@@ -0,0 +1,90 @@
+package com.React.Jwt.Login.Benchmark;              //Package for JMH benchmarks
+import com.React.Jwt.Login.DTO.UserImportReportDTO; //Import result
+import com.React.Jwt.Login.Service.UserAuthorizationService;    //Admin check, stubbed
+import com.React.Jwt.Login.Service.UserExportService;           //Upload formats
+import com.React.Jwt.Login.Service.UserImportService;           //Service under test
+import com.React.Jwt.Login.Service.UserResponseCache;           //Cached pages, stubbed
+import com.fasterxml.jackson.databind.ObjectMapper; //Row parsing
+import jakarta.validation.Validation;               //Bean Validation bootstrap
+import org.mockito.Mockito;                         //Stubbed admin check
+import org.openjdk.jmh.annotations.*;               //JMH annotations
+import org.springframework.jdbc.core.JdbcTemplate;  //Table reset between iterations
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;   //Transactions on the plain DataSource
+import org.springframework.jdbc.datasource.DriverManagerDataSource;       //In-memory H2 database
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;  //Real hashing at minimum cost
+import org.springframework.security.crypto.password.PasswordEncoder;      //Common interface
+import java.io.ByteArrayInputStream;                //Upload body
+import java.nio.charset.StandardCharsets;           //Upload encoding
+import java.util.concurrent.TimeUnit;               //Output time unit
+
+//Time to import 100k NDJSON rows into an empty H2 table; "plain" skips hashing to isolate parsing, validation, uniqueness queries and batching
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 2)
+@Fork(1)
+public class UserImportBenchmark
+{
+    @Param({"100000"})
+    public int rows;                //Rows per upload
+
+    @Param({"plain", "bcrypt-4"})
+    public String encoderName;      //Hashing cost per row
+
+    private byte[] body;                        //Generated upload
+    private JdbcTemplate jdbcTemplate;          //Resets the table
+    private UserImportService userImportService;    //Service under test
+
+    @Setup
+    public void setUp()
+    {
+        StringBuilder upload = new StringBuilder();
+        for(int i = 0; i < rows; i++)
+            upload.append("{\"firstName\":\"First").append(i).append("\",\"lastName\":\"Last").append(i).append("\",\"username\":\"user").append(i)
+            .append("\",\"email\":\"user").append(i).append("@example.com\",\"phone\":\"+65").append(10000000 + i)
+            .append("\",\"address\":\"1 Main St\",\"password\":\"password123\",\"role\":\"CUSTOMER\"}\n");
+        body = upload.toString().getBytes(StandardCharsets.UTF_8);
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:importbench;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        PasswordEncoder encoder = encoderName.equals("plain") ? new PasswordEncoder()
+        {
+            @Override
+            public String encode(CharSequence rawPassword)
+            {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword)
+            {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        } : new BCryptPasswordEncoder(4);
+        userImportService = new UserImportService(jdbcTemplate, new DataSourceTransactionManager(dataSource), new ObjectMapper(),
+        Validation.buildDefaultValidatorFactory().getValidator(), encoder, Mockito.mock(UserAuthorizationService.class),
+        Mockito.mock(UserResponseCache.class), 1000, 0);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetTable()
+    {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS users");
+        jdbcTemplate.execute("CREATE TABLE users (userId BIGINT AUTO_INCREMENT PRIMARY KEY, firstName VARCHAR(255) NOT NULL, lastName VARCHAR(255) NOT NULL, "
+        + "address VARCHAR(255) NOT NULL, phone VARCHAR(15) NOT NULL UNIQUE, email VARCHAR(255) NOT NULL UNIQUE, username VARCHAR(255) NOT NULL UNIQUE, "
+        + "password VARCHAR(255) NOT NULL, role VARCHAR(50) NOT NULL, credentialEpoch BIGINT NOT NULL DEFAULT 0)");
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        userImportService.shutdown();
+    }
+
+    @Benchmark  //Whole upload, end to end
+    public UserImportReportDTO importUsers() throws Exception
+    {
+        return userImportService.importUsers(UserExportService.Format.NDJSON, new ByteArrayInputStream(body));
+    }
+}
@@ -0,0 +1,86 @@
+package com.React.Jwt.Login.Benchmark;                                      //Package for JMH benchmarks
+import com.React.Jwt.Login.Application;                                     //Application context under test
+import com.React.Jwt.Login.DTO.UserDTO;                                     //Response body of the read endpoints
+import com.React.Jwt.Login.Entity.User;                                     //Full entity read path
+import com.React.Jwt.Login.Mapper.UserMapper;                               //Entity and projection mapping
+import com.React.Jwt.Login.Repository.UserCache;                            //Profile reads
+import com.React.Jwt.Login.Repository.UserRepository;                       //Queries under test
+import com.React.Jwt.Login.Repository.UserSpecifications;                   //Keyset page criteria
+import com.React.Jwt.Login.Repository.UserView;                             //Projection read path
+import org.openjdk.jmh.annotations.*;                                       //JMH annotations
+import org.springframework.boot.SpringApplication;                          //Boots the context once per fork
+import org.springframework.context.ConfigurableApplicationContext;          //Context holding the beans
+import org.springframework.data.domain.Sort;                                //Page order
+import org.springframework.jdbc.core.JdbcTemplate;                          //Seeds a page worth of users
+import org.springframework.transaction.PlatformTransactionManager;          //Transactions on the application DataSource
+import org.springframework.transaction.support.TransactionTemplate;         //One persistence context per call, as open-in-view gives a request
+import java.util.List;                                                      //Page results
+import java.util.concurrent.TimeUnit;                                       //Output time unit
+
+//Per-request cost of /users/{id} and one page of GET /users: entities mapped through UserMapper vs UserView rows.
+//Run with -prof gc to compare allocation per operation.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserReadPathBenchmark
+{
+    private static final int PAGE_SIZE = 50;    //Default page size of GET /users
+
+    private ConfigurableApplicationContext context; //Application on in-memory H2
+    private UserRepository userRepository;          //Queries under test
+    private UserCache userCache;                    //Profile reads
+    private UserMapper userMapper;                  //Mapping to the response DTO
+    private TransactionTemplate transactionTemplate;    //Persistence context per invocation
+
+    @Setup
+    public void setUp()
+    {
+        context = SpringApplication.run(Application.class, "--server.port=0", "--spring.jpa.show-sql=false", "--logging.level.org.springframework=WARN",
+        "--logging.level.org.hibernate.SQL=WARN", "--password.bcrypt.strength=4", "--spring.datasource.url=jdbc:h2:mem:readpath");
+        userRepository = context.getBean(UserRepository.class);
+        userCache = context.getBean(UserCache.class);
+        userMapper = context.getBean("userMapper", UserMapper.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        for(int i = 0; i < PAGE_SIZE; i++)
+            jdbcTemplate.update("INSERT INTO users (firstName, lastName, address, phone, email, username, password, role) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+            "First" + i, "Last" + i, "1 Main St", "+6590000" + (100 + i), "user" + i + "@example.com", "user" + i, "{bcrypt}$2a$04$abcdefghijklmnopqrstuv", "CUSTOMER");
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        context.close();
+    }
+
+    @Benchmark  //GET /users/{id} before: a copy of the cached entity per request, password included
+    public UserDTO profileCopy()
+    {
+        return userMapper.toDTO(userCache.findById(1L).orElseThrow());
+    }
+
+    @Benchmark  //GET /users/{id} now: the cached entry's shared view
+    public UserDTO profileView()
+    {
+        return userMapper.toDTO(userCache.findViewById(1L).orElseThrow());
+    }
+
+    @Benchmark  //GET /users before: one page of managed entities
+    public List<UserDTO> pageEntity()
+    {
+        return transactionTemplate.execute(status -> userRepository.findBy(UserSpecifications.userIdAfter(null),
+        query -> query.sortBy(Sort.by("userId")).limit(PAGE_SIZE).all()).stream().map((User user) -> userMapper.toDTO(user)).toList());
+    }
+
+    @Benchmark  //GET /users now: one page of projections
+    public List<UserDTO> pageProjection()
+    {
+        return transactionTemplate.execute(status -> userRepository.findViews(UserSpecifications.userIdAfter(null), PAGE_SIZE).stream()
+        .map((UserView user) -> userMapper.toDTO(user)).toList());
+    }
+}
@@ -2,10 +2,17 @@ package com.React.Jwt.Login.Controller;                         //Defines the pa
 import com.React.Jwt.Login.DTO.Auth.AuthRequestDTO;             //Imports the AuthRequestDTO class for login request payload
 import com.React.Jwt.Login.DTO.Auth.AuthResponseDTO;            //Imports the AuthResponseDTO class for the response payload
 import com.React.Jwt.Login.DTO.Auth.ForgotLoginCredentialDTO;   //Imports DTO for forgot login credential response
+import com.React.Jwt.Login.DTO.Auth.RefreshTokenRequestDTO;     //Imports the refresh request body
+import com.React.Jwt.Login.DTO.Auth.RevokeTokenRequestDTO;      //Imports the revoke request body
 import com.React.Jwt.Login.Entity.Auth.AuthResponse;            //Imports the AuthResponse entity for authentication responses
 import com.React.Jwt.Login.Entity.Auth.ForgotLoginCredential;   //Imports ForgotLoginCredential entity for storing login credentials
 import com.React.Jwt.Login.Exception.EmailNotFoundException;    //Imports the custom exception for email not found
+import com.React.Jwt.Login.Exception.InvalidTokenException;     //Imports the exception for a token that fails verification
+import com.React.Jwt.Login.Exception.PasswordHashingBusyException;  //Imports the exception for a saturated hashing pool
 import com.React.Jwt.Login.Service.AuthService;                 //Imports AuthService for mocking authentication logic
+import com.React.Jwt.Login.Security.JWT.JwtConfig;              //Imports JWT settings for mocking the JWKS cache lifetime
+import com.React.Jwt.Login.Security.JWT.JwtKeyRing;             //Imports the key ring for mocking the JWKS document
+import com.React.Jwt.Login.Security.Throttle.LoginThrottle;     //Imports login limits for mocking throttling
 import org.junit.jupiter.api.BeforeEach;                        //Imports BeforeEach annotation to setup before each test
 import org.junit.jupiter.api.Test;                              //Imports Test annotation to define test methods
 import org.junit.jupiter.api.extension.ExtendWith;              //Imports ExtendWith for extending test class functionality
@@ -15,8 +22,12 @@ import static org.junit.jupiter.api.Assertions.*;               //Imports JUnit
 import org.mockito.InjectMocks;                                 //Allows injection of mocked dependencies into the class under test
 import org.mockito.Mock;                                        //Mock annotation to define dependencies to be mocked
 import org.mockito.junit.jupiter.MockitoExtension;              //Extension for integrating Mockito with JUnit
+import org.springframework.http.HttpHeaders;                    //Imports standard header names such as Retry-After
 import org.springframework.http.HttpStatus;                     //Imports HttpStatus for HTTP status code usage
+import org.springframework.mock.web.MockHttpServletRequest;     //Imports a servlet request carrying the client address
 import org.springframework.http.ResponseEntity;                 //Imports ResponseEntity to handle HTTP responses
+import java.util.List;                                          //Imports List for the JWKS key list
+import java.util.Map;                                           //Imports Map for the JWKS document
 
 @ExtendWith(MockitoExtension.class) //Integrates Mockito for mocking dependencies in the test class
 class AuthControllerTest 
@@ -24,11 +35,21 @@ class AuthControllerTest
     @Mock
     private AuthService authService;            //Mocks AuthService, the dependency of AuthController
 
+    @Mock
+    private JwtKeyRing jwtKeyRing;              //Mocks the key ring that publishes public keys
+
+    @Mock
+    private JwtConfig jwtConfig;                //Mocks JWT settings
+
+    @Mock
+    private LoginThrottle loginThrottle;        //Mocks login limits (allows by default)
+
     @InjectMocks
     private AuthController authController;      //Injects mocked AuthService into the AuthController being tested
 
     private AuthRequestDTO validRequestDTO;     //Declares a valid AuthRequestDTO for login request
     private AuthResponseDTO successResponseDTO; //Declares an expected successful response DTO for authentication
+    private final MockHttpServletRequest request = new MockHttpServletRequest();   //Login request from 127.0.0.1
 
     @BeforeEach //Sets up mock data before each test
     void setUp() 
@@ -47,7 +68,7 @@ class AuthControllerTest
         //Mocks the behavior to return a successful response
         when(authService.authenticate(any())).thenReturn(successResponseDTO);
 
-        ResponseEntity<AuthResponseDTO> response = authController.login(validRequestDTO);  //Calls login method
+        ResponseEntity<AuthResponseDTO> response = authController.login(validRequestDTO, request);  //Calls login method
 
         //Asserts that the response has a 200 OK status and the expected token and message
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -55,6 +76,34 @@ class AuthControllerTest
         assertEquals("Login successful", response.getBody().getMessage());
     }
 
+    @Test   //Negative test for login when the password hashing pool is saturated
+    void testLoginBusy_Returns503WithRetryAfter() 
+    {
+        //Mocks a rejected hashing task
+        when(authService.authenticate(any())).thenThrow(new PasswordHashingBusyException(2));
+
+        ResponseEntity<AuthResponseDTO> response = authController.login(validRequestDTO, request);  //Calls login method
+
+        //Asserts 503 Service Unavailable with the back-off hint instead of 401
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertNull(response.getBody().getToken());
+    }
+
+    @Test   //Negative test for a throttled login
+    void testLoginThrottled_Returns429WithoutAuthenticating() 
+    {
+        //Mocks an exhausted bucket with 1.5 s until the next token
+        when(loginThrottle.tryAcquire("user", "127.0.0.1")).thenReturn(1500L);
+
+        ResponseEntity<AuthResponseDTO> response = authController.login(validRequestDTO, request);  //Calls login method
+
+        //Asserts 429 with the wait rounded up to whole seconds, and no lookup or hashing
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        verifyNoInteractions(authService);
+    }
+
     @Test   //Negative test for login failure (invalid credentials)
     void testLoginFailure() 
     {
@@ -62,7 +111,7 @@ class AuthControllerTest
         when(authService.authenticate(any())).thenThrow(new RuntimeException("Invalid credentials"));
 
         //Calls login method
-        ResponseEntity<AuthResponseDTO> response = authController.login(validRequestDTO);  
+        ResponseEntity<AuthResponseDTO> response = authController.login(validRequestDTO, request);  
 
         //Asserts that the response has a 401 Unauthorized status and the failure message
         assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
@@ -80,7 +129,7 @@ class AuthControllerTest
         //Mocks the behavior to return a refreshed token
         when(authService.refreshToken(oldToken)).thenReturn(refreshed);
 
-        ResponseEntity<AuthResponseDTO> response = authController.refreshToken(oldToken);   //Calls refreshToken method
+        ResponseEntity<AuthResponseDTO> response = authController.refreshToken(new RefreshTokenRequestDTO(oldToken));   //Calls refreshToken method
 
         //Asserts that the response has a 200 OK status and the new token with success message
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -96,7 +145,7 @@ class AuthControllerTest
         //Mocks failure by throwing an exception
         when(authService.refreshToken(oldToken)).thenThrow(new RuntimeException("Token invalid"));
 
-        ResponseEntity<AuthResponseDTO> response = authController.refreshToken(oldToken);   //Calls refreshToken method
+        ResponseEntity<AuthResponseDTO> response = authController.refreshToken(new RefreshTokenRequestDTO(oldToken));   //Calls refreshToken method
 
         //Asserts that the response has a 403 Forbidden status and failure message
         assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
@@ -104,6 +153,78 @@ class AuthControllerTest
         assertEquals("Token refresh failed", response.getBody().getMessage());
     }
 
+    @Test   //Negative test for a refresh body without a token
+    void testRefreshTokenMissing() 
+    {
+        ResponseEntity<AuthResponseDTO> response = authController.refreshToken(new RefreshTokenRequestDTO(" "));
+
+        //Asserts that nothing is rotated and a 400 Bad Request is returned
+        verifyNoInteractions(authService);
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test   //Positive test for logout with a bearer token and refresh token
+    void testLogoutSuccess() 
+    {
+        ResponseEntity<AuthResponseDTO> response = authController.logout("Bearer access.jwt.token", new RefreshTokenRequestDTO("refresh-token"));
+
+        //Asserts that both tokens are handed to the service and a 200 OK is returned
+        verify(authService).logout("access.jwt.token", "refresh-token");
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Logged out successfully", response.getBody().getMessage());
+    }
+
+    @Test   //Negative test for logout without a bearer token
+    void testLogoutWithoutBearerToken() 
+    {
+        ResponseEntity<AuthResponseDTO> response = authController.logout(null, null);
+
+        //Asserts that nothing is revoked and a 400 Bad Request is returned
+        verifyNoInteractions(authService);
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test   //Negative test for revoking an invalid token
+    void testRevokeTokenFailure() 
+    {
+        doThrow(new InvalidTokenException()).when(authService).revokeToken("bad.token");
+
+        ResponseEntity<AuthResponseDTO> response = authController.revokeToken(new RevokeTokenRequestDTO("bad.token"));
+
+        //Asserts that a 400 Bad Request with failure message is returned
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Invalid or expired token", response.getBody().getMessage());
+    }
+
+    @Test   //Positive test for revoking a token sent in a JSON body
+    void testRevokeTokenSuccess() 
+    {
+        ResponseEntity<AuthResponseDTO> response = authController.revokeToken(new RevokeTokenRequestDTO("good.token"));
+
+        //Asserts that the token is revoked as sent and a 200 OK is returned
+        verify(authService).revokeToken("good.token");
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test   //Negative test for a revoke request without a token
+    void testRevokeTokenMissing() 
+    {
+        ResponseEntity<AuthResponseDTO> response = authController.revokeToken(new RevokeTokenRequestDTO());
+
+        //Asserts that nothing is revoked and a 400 Bad Request is returned
+        verifyNoInteractions(authService);
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test   //Negative test: a failure other than an invalid token is not reported as a bad request
+    void testRevokeTokenStoreFailurePropagates() 
+    {
+        doThrow(new IllegalStateException("database down")).when(authService).revokeToken("good.token");
+
+        //Asserts that the error reaches the global handler instead of becoming a 400
+        assertThrows(IllegalStateException.class, () -> authController.revokeToken(new RevokeTokenRequestDTO("good.token")));
+    }
+
     @Test   //Test case for accessing a protected resource
     void testProtectedResource() 
     {
@@ -156,4 +277,35 @@ class AuthControllerTest
         //Verifies that the reset method was called once
         verify(authService, times(1)).ResetLoginCredential(any(ForgotLoginCredential.class));
     }
+
+    @Test   //Positive test for the JWKS endpoint returning public keys with cache headers
+    void testJwksReturnsKeysWithCacheHeaders() 
+    {
+        Map<String, Object> jwks = Map.of("keys", List.of(Map.of("kty", "RSA", "kid", "k1")));  //Sample key set
+        when(jwtKeyRing.jwks()).thenReturn(jwks);
+        when(jwtConfig.getJwksMaxAge()).thenReturn(300L);
+
+        ResponseEntity<Map<String, Object>> response = authController.getJwks(null);    //Calls JWKS endpoint without a cached copy
+
+        //Asserts 200 OK with the key set, a public max-age and an ETag
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(jwks, response.getBody());
+        assertEquals("max-age=300, public", response.getHeaders().getCacheControl());
+        assertNotNull(response.getHeaders().getETag());
+    }
+
+    @Test   //Positive test for the JWKS endpoint answering a matching If-None-Match with 304
+    void testJwksReturnsNotModifiedForMatchingETag() 
+    {
+        Map<String, Object> jwks = Map.of("keys", List.of());                           //Empty key set (HS256)
+        when(jwtKeyRing.jwks()).thenReturn(jwks);
+        when(jwtConfig.getJwksMaxAge()).thenReturn(300L);
+        String eTag = authController.getJwks(null).getHeaders().getETag();              //ETag from a first fetch
+
+        ResponseEntity<Map<String, Object>> response = authController.getJwks(eTag);    //Conditional re-fetch
+
+        //Asserts 304 Not Modified without a body
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+    }
 }
\ No newline at end of file
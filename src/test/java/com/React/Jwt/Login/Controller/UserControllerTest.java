@@ -1,6 +1,10 @@
 package com.React.Jwt.Login.Controller;                 //Declare the package for the controller tests
 import com.React.Jwt.Login.DTO.Auth.AuthResponseDTO;    //Import DTO for authentication response
 import com.React.Jwt.Login.DTO.UserDTO;                 //Import DTO for user information
+import com.React.Jwt.Login.DTO.UserImportReportDTO;     //Import report DTO returned by imports
+import com.React.Jwt.Login.Service.UserExportService;   //Import the export service to be mocked
+import com.React.Jwt.Login.Service.UserImportService;   //Import the import service to be mocked
+import com.React.Jwt.Login.Service.UserResponseCache;   //Import serialized responses returned by the service
 import com.React.Jwt.Login.Service.UserService;         //Import the user service to be mocked
 import org.junit.jupiter.api.BeforeEach;                //Runs before each test method
 import org.junit.jupiter.api.Test;                      //Marks a method as a test case
@@ -8,7 +12,12 @@ import org.junit.jupiter.api.extension.ExtendWith;      //Integrates extensions
 import org.mockito.InjectMocks;                         //Injects mocks into the object being tested
 import org.mockito.Mock;                                //Marks a field to be mocked
 import org.mockito.junit.jupiter.MockitoExtension;      //Enables Mockito with JUnit 5
+import org.springframework.http.HttpHeaders;            //Standard header names
+import org.springframework.http.MediaType;              //Content type of serialized bodies
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;    //Streamed export body
 import org.springframework.http.ResponseEntity;         //Spring framework class for HTTP responses
+import java.io.ByteArrayInputStream;                    //Upload body
+import java.io.InputStream;                             //Upload body type
 import java.util.List;                                  //Java utility class for lists
 import static org.junit.jupiter.api.Assertions.*;       //Provides assertion methods
 import static org.mockito.Mockito.*;                    //Provides mocking utilities
@@ -19,12 +28,19 @@ class UserControllerTest
     @Mock 
     private UserService userService;        //Mock the UserService dependency
 
+    @Mock 
+    private UserExportService userExportService;    //Mock the export service
+
+    @Mock 
+    private UserImportService userImportService;    //Mock the import service
+
     @InjectMocks 
     private UserController userController;  //Inject the mocked UserService into the controller
 
     //Test data objects
     private UserDTO userDTO;
     private AuthResponseDTO authResponseDTO;
+    private final byte[] profileJson = "{\"userId\":1}".getBytes();   //Serialized profile as cached
 
     @BeforeEach //Runs before each test to set up data
     void setUp() 
@@ -51,24 +67,83 @@ class UserControllerTest
     void ViewUserProfile_ShouldReturnUserDTO() 
     {
         Long userId = 1L;                                                           //Test ID
-        when(userService.viewUserProfile(userId)).thenReturn(userDTO);              //Mock return
-        ResponseEntity<UserDTO> response = userController.ViewUserProfile(userId);  //Call controller
+        when(userService.viewUserProfileJson(userId)).thenReturn(new UserResponseCache.Json(profileJson, null, null));  //Mock return
+        ResponseEntity<byte[]> response = userController.ViewUserProfile(userId, null);    //Call controller
         assertNotNull(response);                                                    //Assert non-null
         assertEquals(200, response.getStatusCode().value());                //Assert status
-        assertEquals(userDTO, response.getBody());                                  //Assert body
-        verify(userService).viewUserProfile(userId);                                //Verify call
+        assertSame(profileJson, response.getBody());                                //Cached bytes written as they are
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());  //Sent as JSON
+        verify(userService).viewUserProfileJson(userId);                            //Verify call
+    }
+
+    @Test   //Test: the profile is tagged with the row version it was read at, and revalidated on every use
+    void ViewUserProfile_ShouldTagProfileWithRowVersion() 
+    {
+        when(userService.viewUserProfileJson(1L)).thenReturn(new UserResponseCache.Json(profileJson, 3L, null));   //Read at version 3
+        ResponseEntity<byte[]> response = userController.ViewUserProfile(1L, null);    //Unconditional request
+        assertEquals("\"1-3\"", response.getHeaders().getETag());                 //Strong tag from id and version
+        assertEquals("no-cache, private", response.getHeaders().getCacheControl()); //Browser revalidates with If-None-Match
+        verify(userService, never()).viewUserProfileVersion(any());                 //No extra version lookup
+    }
+
+    @Test   //Test: a current If-None-Match tag is answered with 304 from the version alone
+    void ViewUserProfile_MatchingETag_ShouldReturnNotModified() 
+    {
+        when(userService.viewUserProfileVersion(1L)).thenReturn(3L);                //Current version
+        ResponseEntity<byte[]> response = userController.ViewUserProfile(1L, "W/\"1-2\", \"1-3\"");   //Second tag is current
+        assertEquals(304, response.getStatusCode().value());                //Not modified
+        assertNull(response.getBody());                                             //Nothing serialized
+        assertEquals("\"1-3\"", response.getHeaders().getETag());                 //Tag repeated
+        verify(userService, never()).viewUserProfileJson(any());                    //Row never loaded
+    }
+
+    @Test   //Test: an outdated If-None-Match tag gets the full profile with the new tag
+    void ViewUserProfile_OutdatedETag_ShouldReturnProfile() 
+    {
+        when(userService.viewUserProfileVersion(1L)).thenReturn(4L);                //Changed since the client's copy
+        when(userService.viewUserProfileJson(1L)).thenReturn(new UserResponseCache.Json(profileJson, 4L, null));   //Mock return
+        ResponseEntity<byte[]> response = userController.ViewUserProfile(1L, "\"1-3\"");     //Client holds version 3
+        assertEquals(200, response.getStatusCode().value());                //Full response
+        assertSame(profileJson, response.getBody());                                //Assert body
+        assertEquals("\"1-4\"", response.getHeaders().getETag());                 //New tag
     }
 
     @Test   //Test view all users
     void ViewUserProfiles_ShouldReturnListOfUsers() 
     {
-        List<UserDTO> userList = List.of(userDTO);                                  //Mock list
-        when(userService.viewUserProfiles()).thenReturn(userList);                  //Stub method
-        ResponseEntity<List<UserDTO>> response = userController.ViewUserProfiles(); //Call controller
+        byte[] pageJson = "[{\"userId\":1}]".getBytes();                            //Serialized page as cached
+        when(userService.viewUserProfilesJson(null, null, null, null)).thenReturn(new UserResponseCache.Json(pageJson, null, "Mg"));  //Stub method
+        ResponseEntity<byte[]> response = userController.ViewUserProfiles(null, null, null, null);   //Call controller
         assertNotNull(response);                                                    //Assert not null
         assertEquals(200, response.getStatusCode().value());                //Assert HTTP OK
-        assertEquals(userList, response.getBody());                                 //Assert body match
-        verify(userService).viewUserProfiles();                                     //Verify service
+        assertSame(pageJson, response.getBody());                                   //Assert body match
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());  //Sent as JSON
+        assertEquals("Mg", response.getHeaders().getFirst(UserController.NEXT_CURSOR_HEADER));  //Next page cursor
+        verify(userService).viewUserProfilesJson(null, null, null, null);           //Verify service
+    }
+
+    @Test   //Test export streams CSV with gzip when the client accepts it
+    void exportUsers_GzipAccepted_SetsHeaders() 
+    {
+        StreamingResponseBody body = outputStream -> { };                           //Body written later
+        when(userExportService.exportUsers(UserExportService.Format.CSV, true)).thenReturn(body);  //Stub
+        ResponseEntity<StreamingResponseBody> response = userController.exportUsers("csv", "gzip, deflate");   //Call
+        assertEquals(200, response.getStatusCode().value());                //Status OK
+        assertEquals("text/csv", response.getHeaders().getContentType().toString());        //CSV
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)); //Compressed
+        assertSame(body, response.getBody());                                       //Streamed body
+    }
+
+    @Test   //Test import picks the format from Content-Type and returns the report
+    void importUsers_CsvContentType_ReturnsReport() throws Exception 
+    {
+        InputStream body = new ByteArrayInputStream(new byte[0]);                  //Upload
+        UserImportReportDTO report = UserImportReportDTO.builder().received(0).imported(0).failed(0).errors(List.of()).build();
+        when(userImportService.importUsers(UserExportService.Format.CSV, body)).thenReturn(report);             //Stub
+        ResponseEntity<UserImportReportDTO> response = userController.importUsers("text/csv; charset=UTF-8", body);    //Call
+        assertEquals(200, response.getStatusCode().value());                //Status OK
+        assertSame(report, response.getBody());                                     //Report returned
+        assertThrows(IllegalArgumentException.class, () -> userController.importUsers("application/xml", body));  //Unsupported type
     }
 
     @Test   //Test update user profile
@@ -107,21 +182,22 @@ class UserControllerTest
     void ViewUserProfile_UserNotFound_ShouldThrowException() 
     {
         Long userId = 99L;  //Invalid ID
-        when(userService.viewUserProfile(userId)).thenThrow(new RuntimeException("User not found"));    //Mock
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> userController.ViewUserProfile(userId));    //Expect
+        when(userService.viewUserProfileJson(userId)).thenThrow(new RuntimeException("User not found"));    //Mock
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> userController.ViewUserProfile(userId, null));    //Expect
         assertEquals("User not found", exception.getMessage()); //Message match
-        verify(userService).viewUserProfile(userId);                    //Verify call
+        verify(userService).viewUserProfileJson(userId);                //Verify call
     }
 
     @Test   //Test empty user list
     void ViewUserProfiles_EmptyList_ShouldReturnEmptyList() 
     {
-        when(userService.viewUserProfiles()).thenReturn(List.of());                 //Empty list
-        ResponseEntity<List<UserDTO>> response = userController.ViewUserProfiles(); //Call
+        when(userService.viewUserProfilesJson(null, null, null, null)).thenReturn(new UserResponseCache.Json("[]".getBytes(), null, null));  //Empty list
+        ResponseEntity<byte[]> response = userController.ViewUserProfiles(null, null, null, null);   //Call
         assertNotNull(response);                                                    //Not null
         assertEquals(200, response.getStatusCode().value());                //Status OK
-        assertTrue(response.getBody().isEmpty());                                   //List empty
-        verify(userService).viewUserProfiles();                                     //Verify
+        assertEquals("[]", new String(response.getBody()));                         //List empty
+        assertFalse(response.getHeaders().containsKey(UserController.NEXT_CURSOR_HEADER));  //No next page
+        verify(userService).viewUserProfilesJson(null, null, null, null);           //Verify
     }
 
     @Test   //Test update fails (user not found)
@@ -0,0 +1,88 @@
+package com.React.Jwt.Login.Database;                           //Declare the package for the routing tests
+import com.React.Jwt.Login.Enum.Role;                           //Role bits of the JWT principal
+import com.React.Jwt.Login.Security.JWT.JwtAuthenticationToken; //Principal of a JWT request
+import org.h2.jdbcx.JdbcDataSource;                             //In-memory databases standing in for primary and replica
+import org.junit.jupiter.api.AfterEach;                         //Clears the security context
+import org.junit.jupiter.api.Test;                              //Marks test methods
+import org.springframework.jdbc.core.JdbcTemplate;              //Runs the probe query
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;   //Marks read-only transactions on the connection
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;  //Same wiring as ReplicaDataSourceConfig
+import org.springframework.security.core.context.SecurityContextHolder;    //Current principal
+import org.springframework.transaction.support.TransactionTemplate;        //Read-only and read-write transactions
+import javax.sql.DataSource;                                    //Connection pools
+import static org.junit.jupiter.api.Assertions.*;               //Provides assertion methods
+
+class ReplicaRoutingDataSourceTest
+{
+    private final ReadYourWrites readYourWrites = new ReadYourWrites("jdbc:h2:mem:replica", 5000);    //Replica configured
+    private final JdbcTemplate jdbcTemplate;            //Reads which database answered
+    private final TransactionTemplate readOnly;         //Like a repository finder
+    private final TransactionTemplate readWrite;        //Like a save
+
+    ReplicaRoutingDataSourceTest()
+    {
+        DataSource primary = database("primary"), replica = database("replica");
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, readYourWrites);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    //Helper: a database whose only row names it
+    private static DataSource database(String name)
+    {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing-" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE marker (name VARCHAR(16))");
+        jdbc.update("INSERT INTO marker VALUES (?)", name);
+        return dataSource;
+    }
+
+    //Helper: which database a transaction reads from
+    private String read(TransactionTemplate transaction)
+    {
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM marker", String.class));
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test   //Read-only transactions use the replica, all others the primary
+    void readOnlyTransactions_UseReplica()
+    {
+        assertEquals("replica", read(readOnly));
+        assertEquals("primary", read(readWrite));
+        assertEquals("primary", jdbcTemplate.queryForObject("SELECT name FROM marker", String.class));    //No transaction
+    }
+
+    @Test   //A user who just wrote reads the primary until the window ends; other users keep using the replica
+    void recentWriter_ReadsPrimary()
+    {
+        readYourWrites.recordWrite(42L, "adrian");
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken("adrian", 42L, Role.CUSTOMER.mask(), "token"));
+        assertEquals("primary", read(readOnly));
+
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken("bella", 7L, Role.CUSTOMER.mask(), "token"));
+        assertEquals("replica", read(readOnly));
+
+        ReadYourWrites expired = new ReadYourWrites("jdbc:h2:mem:replica", 0);  //Zero-length window
+        expired.recordWrite(7L, "bella");
+        assertFalse(expired.isRecent(7L));
+    }
+
+    @Test   //onPrimary sends the read-only transactions it starts to the primary
+    void onPrimary_ForcesPrimary()
+    {
+        assertEquals("primary", readYourWrites.onPrimary(() -> read(readOnly)));
+        assertEquals("replica", read(readOnly));                //Only while the work runs
+    }
+}
@@ -0,0 +1,136 @@
+package com.React.Jwt.Login.Repository;     //Declare the package for the repository tests
+import com.React.Jwt.Login.Database.ReadYourWrites;  //Disabled without a replica
+import com.React.Jwt.Login.Entity.User;     //Cached entity
+import com.React.Jwt.Login.Enum.Role;       //User role
+import org.junit.jupiter.api.Test;          //Marks test methods
+import java.util.Optional;                  //Repository results
+import java.util.concurrent.CompletableFuture;  //Concurrent lookups
+import java.util.concurrent.CountDownLatch; //Holds a query open
+import java.util.concurrent.TimeUnit;       //Wait bounds
+import static org.junit.jupiter.api.Assertions.*;   //Provides assertion methods
+import static org.mockito.Mockito.*;        //Mocking utility methods
+
+class UserCacheTest
+{
+    private final UserRepository userRepository = mock(UserRepository.class);  //Source of truth
+    private final UserCache cache = new UserCache(userRepository, new ReadYourWrites("", 5000), true, 10, 60000);    //Enabled cache
+
+    //Helper: user row as the repository returns it
+    private static User user(String username, String password)
+    {
+        return User.builder().userId(1L).username(username).password(password).role(Role.USER).build();
+    }
+
+    @Test   //Test: a row loaded by username is then served by id and by username, as copies
+    void find_ServesBothKeysFromOneQuery()
+    {
+        when(userRepository.findByUsername("adrian")).thenReturn(Optional.of(user("adrian", "hash")));
+        assertTrue(cache.findByUsername("adrian").isPresent());         //Miss: one query
+        User byId = cache.findById(1L).orElseThrow();                   //Hit through the id key
+        byId.setPassword("changed");                                    //Caller mutates its copy
+        assertEquals("hash", cache.findByUsername("adrian").orElseThrow().getPassword());  //Cache unaffected
+        verify(userRepository, times(1)).findByUsername("adrian");
+        verify(userRepository, never()).findById(any());
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test   //Test: views load on a miss, then every hit returns the same shared instance
+    void findView_SharesOneViewPerEntry()
+    {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user("adrian", "hash")));
+        assertEquals("adrian", cache.findViewById(1L).orElseThrow().username());   //Miss: one query
+        UserView view = cache.findViewByUsername("adrian").orElseThrow();           //Hit through the username key
+        assertSame(view, cache.findViewById(1L).orElseThrow());                     //No copy per read
+        verify(userRepository, times(1)).findById(1L);
+        verify(userRepository, never()).findByUsername(any());
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test   //Test: versions come from a cached row when there is one, otherwise from a version-only query that caches nothing
+    void findVersionById_UsesCachedRowOrVersionQuery()
+    {
+        when(userRepository.findVersionById(2L)).thenReturn(Optional.of(5L));
+        assertEquals(Optional.of(5L), cache.findVersionById(2L));          //Miss: one-column query
+        assertEquals(0, cache.size());                                  //Row not loaded or cached
+        User cached = user("adrian", "hash");
+        cached.setVersion(7L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(cached));
+        cache.findViewById(1L);                                         //Row cached by a profile read
+        assertEquals(Optional.of(7L), cache.findVersionById(1L));          //Hit
+        verify(userRepository, never()).findVersionById(1L);
+    }
+
+    @Test   //Test: after invalidation the next lookup reads the database, and an old username no longer resolves
+    void invalidate_ForcesReload()
+    {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user("adrian", "old")), Optional.of(user("adrian2", "new")));
+        when(userRepository.findByUsername("adrian")).thenReturn(Optional.empty());
+        cache.findById(1L);
+        cache.invalidate(1L);                                           //Credential change saved
+        assertEquals("new", cache.findById(1L).orElseThrow().getPassword());
+        assertTrue(cache.findByUsername("adrian").isEmpty());           //Old name is not served from the cache
+        assertEquals(1, cache.size());
+    }
+
+    @Test   //Test: concurrent misses for one key share a single query
+    void find_ConcurrentMisses_RunOneQuery() throws Exception
+    {
+        CountDownLatch started = new CountDownLatch(1), release = new CountDownLatch(1);
+        when(userRepository.findById(1L)).thenAnswer(invocation ->
+        {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);                         //Hold the query open
+            return Optional.of(user("adrian", "hash"));
+        });
+
+        CompletableFuture<Optional<User>> first = CompletableFuture.supplyAsync(() -> cache.findById(1L));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Optional<User>> second = CompletableFuture.supplyAsync(() -> cache.findById(1L));
+        while(cache.getCoalesced() == 0)
+            Thread.onSpinWait();                                        //Second lookup is waiting on the first query
+        release.countDown();
+
+        assertEquals("adrian", first.get(5, TimeUnit.SECONDS).orElseThrow().getUsername());
+        assertEquals("adrian", second.get(5, TimeUnit.SECONDS).orElseThrow().getUsername());
+        verify(userRepository, times(1)).findById(1L);
+    }
+
+    @Test   //Test: invalidating one user leaves another user's in-flight query shared
+    void invalidate_OtherUser_KeepsLoadCoalesced() throws Exception
+    {
+        CountDownLatch started = new CountDownLatch(1), release = new CountDownLatch(1);
+        when(userRepository.findById(1L)).thenAnswer(invocation ->
+        {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);                         //Hold the query open
+            return Optional.of(user("adrian", "hash"));
+        });
+
+        CompletableFuture<Optional<User>> first = CompletableFuture.supplyAsync(() -> cache.findById(1L));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        cache.invalidate(2L, "bob");                                    //Unrelated write
+        CompletableFuture<Optional<User>> second = CompletableFuture.supplyAsync(() -> cache.findById(1L));
+        while(cache.getCoalesced() == 0)
+            Thread.onSpinWait();                                        //Still joins the first query
+        release.countDown();
+
+        assertTrue(first.get(5, TimeUnit.SECONDS).isPresent());
+        assertTrue(second.get(5, TimeUnit.SECONDS).isPresent());
+        verify(userRepository, times(1)).findById(1L);
+    }
+
+    @Test   //Test: a row read before an invalidation is returned to its caller but never cached
+    void invalidate_DuringLoad_DoesNotCacheStaleRow()
+    {
+        when(userRepository.findById(1L)).thenAnswer(invocation ->
+        {
+            cache.invalidate(1L);                                       //Write commits while the old row is being read
+            return Optional.of(user("adrian", "old"));
+        }).thenReturn(Optional.of(user("adrian", "new")));
+
+        assertEquals("old", cache.findById(1L).orElseThrow().getPassword());
+        assertEquals(0, cache.size());                                  //Not stored
+        assertEquals("new", cache.findById(1L).orElseThrow().getPassword());
+    }
+}
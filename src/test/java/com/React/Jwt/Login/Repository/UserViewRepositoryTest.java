@@ -0,0 +1,64 @@
+package com.React.Jwt.Login.Repository;     //Declare the package for the repository tests
+import com.React.Jwt.Login.Entity.User;     //Seeded rows
+import com.React.Jwt.Login.Enum.Role;       //User role
+import jakarta.persistence.EntityManager;   //Persistence context of the test transaction
+import org.hibernate.Session;               //Persistence context statistics
+import org.junit.jupiter.api.BeforeEach;    //Seeds users before each test
+import org.junit.jupiter.api.Test;          //Marks test methods
+import org.springframework.beans.factory.annotation.Autowired;          //Injects the repository under test
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest; //JPA slice on an embedded database
+import java.util.List;                      //Page results
+import java.util.Optional;                  //Version lookup results
+import static org.junit.jupiter.api.Assertions.*;   //Provides assertion methods
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:views")    //Own database, schema from schema.sql
+class UserViewRepositoryTest
+{
+    @Autowired
+    private UserRepository userRepository;  //Repository with the UserViewRepository fragment
+    @Autowired
+    private EntityManager entityManager;    //Checks that no entity is loaded
+
+    private User adrian;                    //First seeded user
+
+    @BeforeEach
+    void setUp()
+    {
+        adrian = userRepository.save(User.builder().firstName("Adrian").lastName("Tan").phone("+6591234567").address("1 Main St")
+        .email("adrian@example.com").username("adrian").password("{bcrypt}hash").role(Role.CUSTOMER).build());
+        userRepository.save(User.builder().firstName("Beth").lastName("Lim").phone("+6591234568").address("2 Main St")
+        .email("beth@example.com").username("beth").password("{bcrypt}hash").role(Role.ADMIN).build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test   //Test: rows carry exactly the public columns and leave the persistence context empty
+    void findViews_ReturnsPublicColumnsWithoutEntities()
+    {
+        UserView expected = new UserView(adrian.getUserId(), "Adrian", "Tan", "+6591234567", "1 Main St", "adrian@example.com", "adrian", Role.CUSTOMER, 0);
+        assertEquals(expected, userRepository.findViews(UserSpecifications.userIdAfter(null), 1).get(0));
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());  //No managed User
+    }
+
+    @Test   //Test: the version alone is read, and every update bumps it
+    void findVersionById_FollowsUpdates()
+    {
+        assertEquals(Optional.of(0L), userRepository.findVersionById(adrian.getUserId()));
+        User user = userRepository.findById(adrian.getUserId()).orElseThrow();
+        user.setAddress("3 Main St");
+        entityManager.flush();                                      //Update with version check
+        entityManager.clear();
+        assertEquals(Optional.of(1L), userRepository.findVersionById(adrian.getUserId()));
+        assertEquals(Optional.empty(), userRepository.findVersionById(-1L));   //Unknown user
+    }
+
+    @Test   //Test: page query applies the specification, userId order and limit
+    void findViews_FiltersOrdersAndLimits()
+    {
+        List<UserView> all = userRepository.findViews(UserSpecifications.userIdAfter(null), 10);
+        assertEquals(List.of("adrian", "beth"), all.stream().map(UserView::username).toList());
+        assertEquals(1, userRepository.findViews(UserSpecifications.userIdAfter(null), 1).size());
+        assertEquals(List.of("beth"), userRepository.findViews(UserSpecifications.hasRole(Role.ADMIN), 10).stream().map(UserView::username).toList());
+        assertEquals(List.of("beth"), userRepository.findViews(UserSpecifications.userIdAfter(adrian.getUserId()), 10).stream().map(UserView::username).toList());
+    }
+}
@@ -0,0 +1,38 @@
+package com.React.Jwt.Login.Security.Config;                //Declare the package for the security configuration tests
+import org.junit.jupiter.api.Test;                          //Marks test methods
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;   //Produces a stored "{argon2}" hash
+import org.springframework.security.crypto.password.MessageDigestPasswordEncoder;  //Produces a stored "{SHA-256}" hash
+import org.springframework.security.crypto.password.PasswordEncoder;      //Encoder under test
+import static org.junit.jupiter.api.Assertions.*;           //Provides assertion methods
+
+class PasswordConfigTest
+{
+    //Fixed low cost, so no calibration runs
+    private final PasswordEncoder passwordEncoder = new PasswordConfig().passwordEncoder(4, 250, 4, 4);
+
+    @Test   //Test: legacy hashes still verify and are reported for upgrade; the replacement is BCrypt
+    @SuppressWarnings("deprecation")
+    void legacyHashes_MatchAndUpgradeToBCrypt()
+    {
+        String sha256 = "{SHA-256}" + new MessageDigestPasswordEncoder("SHA-256").encode("secret");
+        assertTrue(passwordEncoder.matches("secret", sha256));
+        assertFalse(passwordEncoder.matches("wrong", sha256));
+        assertTrue(passwordEncoder.upgradeEncoding(sha256));
+
+        assertTrue(passwordEncoder.matches("secret", "{noop}secret"));
+        assertTrue(passwordEncoder.upgradeEncoding("{noop}secret"));
+
+        String upgraded = passwordEncoder.encode("secret");       //What the login stores in their place
+        assertTrue(upgraded.startsWith("{bcrypt}"));
+        assertTrue(passwordEncoder.matches("secret", upgraded));
+        assertFalse(passwordEncoder.upgradeEncoding(upgraded));
+    }
+
+    @Test   //Test: Argon2 hashes verify with Bouncy Castle on the runtime classpath
+    void argon2Hash_Matches()
+    {
+        String argon2 = "{argon2}" + Argon2PasswordEncoder.defaultsForSpringSecurity_v5_2().encode("secret");
+        assertTrue(passwordEncoder.matches("secret", argon2));
+        assertTrue(passwordEncoder.upgradeEncoding(argon2));
+    }
+}
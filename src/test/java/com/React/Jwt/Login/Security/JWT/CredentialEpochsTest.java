@@ -0,0 +1,71 @@
+package com.React.Jwt.Login.Security.JWT;                   //Declare the package for the JWT tests
+import org.junit.jupiter.api.Test;                          //Marks test methods
+import org.springframework.jdbc.core.JdbcTemplate;          //Persistence mocked out, or shared in-memory H2 for a second node
+import org.springframework.jdbc.datasource.DriverManagerDataSource;   //In-memory H2 both nodes read
+import static org.junit.jupiter.api.Assertions.*;           //Provides assertion methods
+import static org.mockito.Mockito.mock;                     //Mock creation
+
+class CredentialEpochsTest
+{
+    @Test   //Test: users without a credential change have epoch 0 and are not stored
+    void current_DefaultsToZero()
+    {
+        CredentialEpochs epochs = new CredentialEpochs(mock(JdbcTemplate.class));
+        assertEquals(0, epochs.current(42));
+        assertTrue(epochs.isCurrent(42, 0));
+        assertEquals(0, epochs.size());
+    }
+
+    @Test   //Test: epochs only move forward
+    void advance_IgnoresOlderEpoch()
+    {
+        CredentialEpochs epochs = new CredentialEpochs(mock(JdbcTemplate.class));
+        epochs.advance(7, 3);
+        epochs.advance(7, 2);                                   //Stale reload from another node
+        assertEquals(3, epochs.current(7));
+        assertFalse(epochs.isCurrent(7, 2));                    //Older token rejected
+    }
+
+    @Test   //Test: a newer epoch from another node's token is accepted and published before this node reloads
+    void isCurrent_AcceptsNewerEpoch_AndAdvances()
+    {
+        CredentialEpochs epochs = new CredentialEpochs(mock(JdbcTemplate.class));
+        epochs.advance(7, 1);
+        assertTrue(epochs.isCurrent(7, 2));                     //Minted after a reset on another node
+        assertEquals(2, epochs.current(7));                     //Now known here too
+        assertFalse(epochs.isCurrent(7, 1));                    //So tokens from before the reset are rejected
+    }
+
+    @Test   //Test: a deleted user's tokens are rejected by a node that never saw the delete, such as another replica or this one after a restart
+    void reload_RejectsTokensOfDeletedUser()
+    {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:epochTombstone;DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("CREATE TABLE users (userId BIGINT PRIMARY KEY, credentialEpoch BIGINT NOT NULL DEFAULT 0)");
+        jdbcTemplate.execute("CREATE TABLE deleted_users (userId BIGINT PRIMARY KEY, credentialEpoch BIGINT NOT NULL)");
+        jdbcTemplate.update("INSERT INTO users (userId) VALUES (7)");
+
+        CredentialEpochs deletingNode = new CredentialEpochs(jdbcTemplate);
+        deletingNode.retire(7, 1);
+        CredentialEpochs beforeDelete = new CredentialEpochs(jdbcTemplate);
+        beforeDelete.reload();
+        assertTrue(beforeDelete.isCurrent(7, 0));               //Tombstone ignored while the row exists
+
+        jdbcTemplate.update("DELETE FROM users WHERE userId = 7");
+        CredentialEpochs freshNode = new CredentialEpochs(jdbcTemplate);
+        freshNode.reload();
+        assertFalse(freshNode.isCurrent(7, 0));                 //Token issued before the delete
+    }
+
+    @Test   //Test: table grows past its initial capacity without losing entries
+    void advance_KeepsAllEntries_AcrossResizes()
+    {
+        CredentialEpochs epochs = new CredentialEpochs(mock(JdbcTemplate.class));
+        for(long userId = 1; userId <= 10000; userId++)
+            epochs.advance(userId, userId % 5 + 1);
+
+        assertEquals(10000, epochs.size());
+        for(long userId = 1; userId <= 10000; userId++)
+            assertEquals(userId % 5 + 1, epochs.current(userId));
+        assertEquals(0, epochs.current(10001));                 //Unknown user
+    }
+}
@@ -0,0 +1,112 @@
+package com.React.Jwt.Login.Security.JWT;                   //Declare the package for the JWT tests
+import org.junit.jupiter.api.AfterEach;                     //Clears the security context between tests
+import org.junit.jupiter.api.Test;                          //Marks test methods
+import org.springframework.jdbc.core.JdbcTemplate;          //Denylist persistence mocked out
+import org.springframework.mock.web.MockFilterChain;        //Terminates the filter chain
+import org.springframework.mock.web.MockHttpServletRequest; //Request carrying the bearer token
+import org.springframework.mock.web.MockHttpServletResponse;   //Captures response headers
+import org.springframework.security.core.context.SecurityContextHolder;   //Security context under test
+import org.springframework.test.util.ReflectionTestUtils;   //Fills JwtConfig without a Spring context
+import java.util.List;                                      //List for roles
+import static org.junit.jupiter.api.Assertions.*;           //Provides assertion methods
+import static org.mockito.Mockito.mock;                     //Mock creation
+
+class JwtAuthenticationFilterTest
+{
+    private final CredentialEpochs credentialEpochs = new CredentialEpochs(mock(JdbcTemplate.class));  //Per-test epochs
+
+    //Helper: configuration with the given token lifetime and sliding renewal settings
+    private JwtConfig config(long expirationTime, boolean slidingRenewal)
+    {
+        JwtConfig jwtConfig = new JwtConfig();
+        ReflectionTestUtils.setField(jwtConfig, "secretKey", "TestSecretKeyForJwtFilterTestSecretKeyForJwtFilter");
+        ReflectionTestUtils.setField(jwtConfig, "expirationTime", expirationTime);
+        ReflectionTestUtils.setField(jwtConfig, "slidingRenewalEnabled", slidingRenewal);
+        ReflectionTestUtils.setField(jwtConfig, "slidingRenewalWindow", 60000L);
+        return jwtConfig;
+    }
+
+    //Helper: run the filter once for the given token and return the response
+    private MockHttpServletResponse filter(JwtAuthenticationFilter filter, String token) throws Exception
+    {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        SecurityContextHolder.clearContext();   //Do not leak authentication into other tests
+    }
+
+    @Test   //Test: token close to exp gets a renewed token in the response header, minted once per cached token
+    void doFilter_RenewsTokenWithinWindow_OncePerToken() throws Exception
+    {
+        JwtConfig jwtConfig = config(30000L, true);                                         //Expires inside the 60s window
+        JwtUtil jwtUtil = new JwtUtil(jwtConfig, new JwtKeyRing(jwtConfig), credentialEpochs);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtUtil, new VerifiedTokenCache(true, 10), jwtConfig, new TokenDenylist(mock(JdbcTemplate.class), 1000, 30000), credentialEpochs);
+        String token = jwtUtil.generateToken(1L, "adrian", List.of("USER"));
+
+        String renewed = filter(filter, token).getHeader(JwtAuthenticationFilter.REFRESHED_TOKEN_HEADER);
+        assertNotNull(renewed);                                                             //Renewal returned
+        assertEquals("adrian", jwtUtil.verify(renewed).orElseThrow().getSubject());        //Same subject
+        assertEquals(renewed, filter(filter, token).getHeader(JwtAuthenticationFilter.REFRESHED_TOKEN_HEADER));  //Reused, not re-minted
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());             //Request still authenticated
+    }
+
+    @Test   //Test: no header when the token is far from exp or renewal is disabled
+    void doFilter_DoesNotRenew_OutsideWindowOrWhenDisabled() throws Exception
+    {
+        JwtConfig farConfig = config(3600000L, true);                                       //Outside the window
+        JwtUtil farUtil = new JwtUtil(farConfig, new JwtKeyRing(farConfig), credentialEpochs);
+        JwtAuthenticationFilter farFilter = new JwtAuthenticationFilter(farUtil, new VerifiedTokenCache(false, 10), farConfig, new TokenDenylist(mock(JdbcTemplate.class), 1000, 30000), credentialEpochs);
+        assertNull(filter(farFilter, farUtil.generateToken(1L, "adrian", List.of("USER"))).getHeader(JwtAuthenticationFilter.REFRESHED_TOKEN_HEADER));
+
+        JwtConfig offConfig = config(30000L, false);                                        //Inside the window but disabled
+        JwtUtil offUtil = new JwtUtil(offConfig, new JwtKeyRing(offConfig), credentialEpochs);
+        JwtAuthenticationFilter offFilter = new JwtAuthenticationFilter(offUtil, new VerifiedTokenCache(false, 10), offConfig, new TokenDenylist(mock(JdbcTemplate.class), 1000, 30000), credentialEpochs);
+        assertNull(filter(offFilter, offUtil.generateToken(1L, "adrian", List.of("USER"))).getHeader(JwtAuthenticationFilter.REFRESHED_TOKEN_HEADER));
+    }
+
+    @Test   //Test: a revoked token no longer authenticates, even when its verification is cached
+    void doFilter_RejectsRevokedToken() throws Exception
+    {
+        JwtConfig jwtConfig = config(3600000L, false);
+        JwtUtil jwtUtil = new JwtUtil(jwtConfig, new JwtKeyRing(jwtConfig), credentialEpochs);
+        TokenDenylist denylist = new TokenDenylist(mock(JdbcTemplate.class), 1000, 30000);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtUtil, new VerifiedTokenCache(true, 10), jwtConfig, denylist, credentialEpochs);
+        String token = jwtUtil.generateToken(1L, "adrian", List.of("USER"));
+
+        filter(filter, token);                                                              //Verified and cached
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+
+        denylist.revoke(jwtUtil.verify(token).orElseThrow());                               //Logout
+        filter(filter, token);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());                //Not authenticated any more
+    }
+
+    @Test   //Test: a credential change invalidates tokens minted before it, even when their verification is cached
+    void doFilter_RejectsTokenFromOlderCredentialEpoch() throws Exception
+    {
+        JwtConfig jwtConfig = config(3600000L, false);
+        JwtUtil jwtUtil = new JwtUtil(jwtConfig, new JwtKeyRing(jwtConfig), credentialEpochs);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtUtil, new VerifiedTokenCache(true, 10), jwtConfig, 
+        new TokenDenylist(mock(JdbcTemplate.class), 1000, 30000), credentialEpochs);
+        String oldToken = jwtUtil.generateToken(1L, "adrian", List.of("USER"));
+
+        filter(filter, oldToken);                                                           //Verified and cached
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+
+        credentialEpochs.advance(1L, 1L);                                                   //Password changed
+        filter(filter, oldToken);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());                //Old token rejected
+
+        filter(filter, jwtUtil.generateToken(1L, "adrian", List.of("USER")));              //Token minted after the change
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+}
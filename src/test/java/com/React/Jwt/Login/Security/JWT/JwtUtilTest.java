@@ -0,0 +1,130 @@
+package com.React.Jwt.Login.Security.JWT;                   //Declare the package for the JWT tests
+import com.React.Jwt.Login.Enum.Role;                       //Role bits
+import io.jsonwebtoken.Jwts;                                //Builds a token without a kid
+import org.junit.jupiter.api.Test;                          //Marks test methods
+import org.springframework.jdbc.core.JdbcTemplate;          //Epoch persistence mocked out
+import org.springframework.test.util.ReflectionTestUtils;   //Fills JwtConfig without a Spring context
+import java.nio.charset.StandardCharsets;                   //Secret encoding
+import java.util.Base64;                                    //Header decoding
+import java.util.Date;                                      //Expiry for hand-built tokens
+import java.util.List;                                      //List for roles
+import java.util.Map;                                       //JWK entries
+import static org.junit.jupiter.api.Assertions.*;           //Provides assertion methods
+import static org.mockito.Mockito.mock;                     //Mock creation
+
+class JwtUtilTest
+{
+    private static final String SECRET = "TestSecretKeyForJwtUtilTestSecretKeyForJwtUtil";   //Shared HMAC secret
+    private final CredentialEpochs credentialEpochs = new CredentialEpochs(mock(JdbcTemplate.class));  //No credential changes yet
+
+    //Helper: configuration as each replica would load it
+    private JwtConfig config(String secret)
+    {
+        JwtConfig jwtConfig = new JwtConfig();
+        ReflectionTestUtils.setField(jwtConfig, "secretKey", secret);
+        ReflectionTestUtils.setField(jwtConfig, "expirationTime", 3600000L);
+        return jwtConfig;
+    }
+
+    //Helper: decoded JSON header of a token
+    private String headerOf(String token)
+    {
+        String header = token.substring(0, token.indexOf('.'));
+        return new String(Base64.getUrlDecoder().decode(header), StandardCharsets.UTF_8);
+    }
+
+    @Test   //Test: a token minted on one node verifies on another node with the same secret
+    void verify_AcceptsTokenFromAnotherNode_WithSameSecret()
+    {
+        JwtConfig jwtConfig = config(SECRET);
+        JwtUtil nodeA = new JwtUtil(jwtConfig, new JwtKeyRing(jwtConfig), credentialEpochs);     //First replica
+        JwtUtil nodeB = new JwtUtil(jwtConfig, new JwtKeyRing(jwtConfig), credentialEpochs);     //Second replica
+        String token = nodeA.generateToken(1L, "adrian", List.of("USER"));         //Minted on A
+        VerifiedJwt jwt = nodeB.verify(token).orElseThrow();                    //Verified on B
+        assertEquals("adrian", jwt.getSubject());                               //Subject preserved
+        assertEquals(List.of("USER"), jwt.getRoles());                          //Roles preserved
+        assertTrue(headerOf(token).contains("\"kid\""));                        //Header carries kid
+        assertEquals(1L, jwt.getUserId());                                      //User id claim
+        assertEquals(0L, jwt.getCredentialEpoch());                             //Epoch claim
+    }
+
+    @Test   //Test: a token minted with the epoch from the user row carries it even when this node's table is behind
+    void generateToken_UsesEpochFromUserRow()
+    {
+        JwtConfig jwtConfig = config(SECRET);
+        CredentialEpochs epochs = new CredentialEpochs(mock(JdbcTemplate.class));   //Has not seen the reset yet
+        JwtUtil jwtUtil = new JwtUtil(jwtConfig, new JwtKeyRing(jwtConfig), epochs);
+        String token = jwtUtil.generateToken(1L, "adrian", List.of("USER"), 3L);
+        assertEquals(3L, jwtUtil.verify(token).orElseThrow().getCredentialEpoch());
+        assertEquals(3L, epochs.current(1L));                                   //Table advanced with it
+    }
+
+    @Test   //Test: a node with a different secret rejects the token
+    void verify_RejectsToken_FromDifferentSecret()
+    {
+        JwtConfig jwtConfig = config(SECRET);
+        JwtConfig otherConfig = config("AnotherSecretKeyAnotherSecretKeyAnotherSecretKey");
+        String token = new JwtUtil(jwtConfig, new JwtKeyRing(jwtConfig), credentialEpochs).generateToken(1L, "adrian", List.of("USER"));
+        assertTrue(new JwtUtil(otherConfig, new JwtKeyRing(otherConfig), credentialEpochs).verify(token).isEmpty());  //Unknown kid
+    }
+
+    @Test   //Test: rotation signs with the new key while old tokens still verify
+    void rotate_SignsWithNewKid_AndKeepsOldKeys()
+    {
+        JwtConfig jwtConfig = config(SECRET);
+        JwtKeyRing keyRing = new JwtKeyRing(jwtConfig);
+        JwtUtil jwtUtil = new JwtUtil(jwtConfig, keyRing, credentialEpochs);
+        String before = jwtUtil.generateToken(1L, "adrian", List.of("USER"));      //Signed with the configured key
+        keyRing.rotate("2026-10", "RotatedSecretKeyRotatedSecretKeyRotatedSecret".getBytes(StandardCharsets.UTF_8));
+        String after = jwtUtil.generateToken(1L, "adrian", List.of("USER"));       //Signed with the rotated key
+        assertTrue(headerOf(after).contains("2026-10"));                        //New kid in header
+        assertTrue(jwtUtil.verify(before).isPresent());                         //Old token still valid
+        assertTrue(jwtUtil.verify(after).isPresent());                          //New token valid
+    }
+
+    @Test   //Test: a signed token naming a role the application does not define is rejected
+    void verify_RejectsUnknownRole()
+    {
+        JwtConfig jwtConfig = config(SECRET);
+        JwtUtil jwtUtil = new JwtUtil(jwtConfig, new JwtKeyRing(jwtConfig), credentialEpochs);
+        String token = jwtUtil.generateToken(1L, "adrian", List.of("SALES_CLERK"));
+        assertTrue(jwtUtil.verify(token).isEmpty());                            //No such Role
+        assertEquals(Role.ADMIN.mask() | Role.USER.mask(), jwtUtil.verify(jwtUtil.generateToken(1L, "adrian", List.of("ADMIN", "USER"))).orElseThrow().getRoleMask());
+    }
+
+    @Test   //Test: token without a known kid is rejected
+    void verify_RejectsTokenWithoutKid()
+    {
+        JwtConfig jwtConfig = config(SECRET);
+        JwtKeyRing keyRing = new JwtKeyRing(jwtConfig);
+        String token = Jwts.builder().setSubject("adrian").claim("roles", List.of("USER"))
+        .setExpiration(new Date(System.currentTimeMillis() + 60000)).signWith(keyRing.activeKey().key()).compact();
+        assertTrue(new JwtUtil(jwtConfig, keyRing, credentialEpochs).verify(token).isEmpty());   //No kid header
+    }
+
+    @Test   //Test: RS256 and ES256 tokens verify and their public keys are published as JWKs
+    void asymmetricAlgorithms_VerifyAndPublishJwks()
+    {
+        for(String algorithm : List.of("RS256", "ES256"))
+        {
+            JwtConfig jwtConfig = config(SECRET);
+            ReflectionTestUtils.setField(jwtConfig, "algorithm", algorithm);
+            JwtKeyRing keyRing = new JwtKeyRing(jwtConfig);
+            JwtUtil jwtUtil = new JwtUtil(jwtConfig, keyRing, credentialEpochs);
+            String token = jwtUtil.generateToken(1L, "adrian", List.of("USER"));           //Signed with the private key
+            assertTrue(headerOf(token).contains(algorithm));                           //Header names the algorithm
+            assertTrue(jwtUtil.verify(token).isPresent());                              //Verified with the public key
+
+            Map<?, ?> jwk = (Map<?, ?>) ((List<?>) keyRing.jwks().get("keys")).get(0); //Single published key
+            assertEquals(keyRing.activeKey().kid(), jwk.get("kid"));                    //Same kid as the token
+            assertEquals(algorithm, jwk.get("alg"));                                    //Same algorithm
+        }
+    }
+
+    @Test   //Test: HS256 never publishes the shared secret
+    void hmac_PublishesNoJwks()
+    {
+        JwtConfig jwtConfig = config(SECRET);
+        assertEquals(List.of(), new JwtKeyRing(jwtConfig).jwks().get("keys"));         //Empty key list
+    }
+}
\ No newline at end of file
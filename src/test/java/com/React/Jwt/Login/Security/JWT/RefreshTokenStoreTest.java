@@ -0,0 +1,113 @@
+package com.React.Jwt.Login.Security.JWT;                   //Declare the package for the JWT tests
+import org.junit.jupiter.api.Test;                          //Marks test methods
+import org.springframework.jdbc.core.JdbcTemplate;          //Persistence mocked out, or shared in-memory H2 for two nodes
+import org.springframework.jdbc.datasource.DriverManagerDataSource;   //In-memory H2 both nodes write to
+import org.springframework.test.util.ReflectionTestUtils;   //Fills JwtConfig without a Spring context
+import java.util.List;                                      //List for roles
+import java.util.concurrent.atomic.AtomicInteger;           //Rows seen by the batch
+import static org.junit.jupiter.api.Assertions.*;           //Provides assertion methods
+import static org.mockito.ArgumentMatchers.anyList;         //Batch arguments
+import static org.mockito.ArgumentMatchers.anyString;       //SQL arguments
+import static org.mockito.Mockito.*;                        //Mock creation and verification
+
+class RefreshTokenStoreTest
+{
+    //Helper: store with the given refresh token lifetime and a mocked database
+    private RefreshTokenStore store(JdbcTemplate jdbcTemplate, long lifetime)
+    {
+        JwtConfig jwtConfig = new JwtConfig();
+        ReflectionTestUtils.setField(jwtConfig, "refreshExpirationTime", lifetime);
+        return new RefreshTokenStore(jdbcTemplate, jwtConfig, 500);
+    }
+
+    @Test   //Test: a refresh token rotates once and cannot be replayed
+    void rotate_IssuesReplacement_AndRejectsReuse()
+    {
+        RefreshTokenStore store = store(mock(JdbcTemplate.class), 60000);
+        String token = store.issue(7L, "adrian", List.of("USER"));
+        RefreshTokenStore.Rotation rotation = store.rotate(token).orElseThrow();  //First use succeeds
+        assertEquals(7L, rotation.session().userId());                          //Session carried over
+        assertEquals(List.of("USER"), rotation.session().roles());
+        assertNotEquals(token, rotation.refreshToken());                        //New token issued
+        assertTrue(store.rotate(token).isEmpty());                              //Old token is spent
+        assertTrue(store.rotate(rotation.refreshToken()).isPresent());          //Replacement works
+    }
+
+    @Test   //Test: rotation keeps the expiry of the original login instead of restarting the lifetime
+    void rotate_KeepsAbsoluteExpiry() throws InterruptedException
+    {
+        RefreshTokenStore store = store(mock(JdbcTemplate.class), 60000);
+        String token = store.issue(7L, "adrian", List.of("USER"));
+        RefreshTokenStore.Rotation first = store.rotate(token).orElseThrow();
+        Thread.sleep(5);
+        RefreshTokenStore.Rotation second = store.rotate(first.refreshToken()).orElseThrow();
+        assertEquals(first.session().expiresAt(), second.session().expiresAt());  //Same deadline after another rotation
+    }
+
+    @Test   //Test: expired tokens are refused and swept
+    void expiredTokens_AreRejected_AndSwept()
+    {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        RefreshTokenStore store = store(jdbcTemplate, -1);                      //Expired as soon as issued
+        String token = store.issue(7L, "adrian", List.of("USER"));
+        store.issue(8L, "bob", List.of("USER"));
+        assertTrue(store.rotate(token).isEmpty());                              //Refused
+        store.sweepExpired();
+        assertEquals(0, store.size());                                          //Nothing left in memory
+        verify(jdbcTemplate).update(anyString(), anyLong());                    //One set-based delete
+    }
+
+    @Test   //Test: writes are persisted in batches, not one statement per token, and a token used before its flush is never written
+    void flush_WritesInsertsInBatches_AndSkipsUsedTokens()
+    {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        AtomicInteger rows = new AtomicInteger();
+        doAnswer(invocation -> rows.addAndGet(invocation.<List<?>>getArgument(1).size())).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+        RefreshTokenStore store = store(jdbcTemplate, 60000);
+        String token = store.issue(7L, "adrian", List.of("USER"));
+        store.issue(8L, "bob", List.of("ADMIN"));
+        store.rotate(token);
+        verifyNoInteractions(jdbcTemplate);                                     //Nothing written synchronously
+        store.flush();
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT"), anyList());      //One batch
+        assertEquals(2, rows.get());                                            //Bob and the replacement
+        verify(jdbcTemplate, never()).update(startsWith("DELETE"), any(Object[].class));
+    }
+
+    @Test   //Test: a token issued on one node rotates once on another, and a token revoked on one node is refused by the other
+    void tokens_AreSharedAcrossNodes()
+    {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:refreshTokens;DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("CREATE TABLE refresh_tokens (tokenHash CHAR(64) PRIMARY KEY, userId BIGINT NOT NULL, username VARCHAR(255) NOT NULL, "
+        + "roles VARCHAR(255) NOT NULL, expiresAt BIGINT NOT NULL)");
+        RefreshTokenStore nodeA = store(jdbcTemplate, 60000);
+        RefreshTokenStore nodeB = store(jdbcTemplate, 60000);
+
+        String token = nodeA.issue(7L, "adrian", List.of("USER", "ADMIN"));
+        String revoked = nodeA.issue(8L, "bob", List.of("USER"));
+        nodeA.flush();
+        RefreshTokenStore.Rotation rotation = nodeB.rotate(token).orElseThrow();  //Not in B's memory
+        assertEquals(List.of("USER", "ADMIN"), rotation.session().roles());
+        assertTrue(nodeA.rotate(token).isEmpty());                              //A still holds it, but B consumed it
+
+        assertTrue(nodeA.revoke(revoked));
+        assertTrue(nodeB.rotate(revoked).isEmpty());
+
+        nodeB.flush();
+        assertEquals(1, nodeA.revokeUser(7L));                                  //Replacement issued and persisted by B
+        assertTrue(nodeB.rotate(rotation.refreshToken()).isEmpty());
+    }
+
+    @Test   //Test: revoking a user drops all of their refresh tokens
+    void revokeUser_DropsAllTokensOfUser()
+    {
+        RefreshTokenStore store = store(mock(JdbcTemplate.class), 60000);
+        String first = store.issue(7L, "adrian", List.of("USER"));
+        String second = store.issue(7L, "adrian", List.of("USER"));
+        String other = store.issue(8L, "bob", List.of("USER"));
+        assertEquals(2, store.revokeUser(7L));
+        assertTrue(store.rotate(first).isEmpty());
+        assertTrue(store.rotate(second).isEmpty());
+        assertTrue(store.rotate(other).isPresent());                            //Other users unaffected
+    }
+}
@@ -0,0 +1,109 @@
+package com.React.Jwt.Login.Security.JWT;                   //Declare the package for the JWT tests
+import org.junit.jupiter.api.Test;                          //Marks test methods
+import org.springframework.jdbc.core.JdbcTemplate;          //Persistence mocked out, or shared in-memory H2 for two nodes
+import org.springframework.jdbc.datasource.DriverManagerDataSource;   //In-memory H2 both nodes write to
+import java.util.List;                                      //List for roles
+import java.util.UUID;                                      //Token ids
+import static org.junit.jupiter.api.Assertions.*;           //Provides assertion methods
+import static org.mockito.ArgumentMatchers.*;               //SQL argument matchers
+import static org.mockito.Mockito.*;                        //Mock creation and verification
+
+class TokenDenylistTest
+{
+    //Helper: verified token with a fresh id expiring after the given delay
+    private VerifiedJwt jwtExpiringIn(long millis)
+    {
+        return new VerifiedJwt("adrian", List.of("USER"), System.currentTimeMillis() + millis, UUID.randomUUID(), 1L, 0L);
+    }
+
+    @Test   //Test: revoked token is reported, others are not
+    void revoke_MarksOnlyThatToken()
+    {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        TokenDenylist denylist = new TokenDenylist(jdbcTemplate, 1000, 30000);
+        VerifiedJwt revoked = jwtExpiringIn(60000);
+        VerifiedJwt other = jwtExpiringIn(60000);
+        denylist.revoke(revoked);
+        assertTrue(denylist.isRevoked(revoked));                                //Denied
+        assertFalse(denylist.isRevoked(other));                                 //Still allowed
+        verify(jdbcTemplate).update(startsWith("INSERT"), eq(revoked.getJti().toString()), eq(revoked.getExpiresAt()), anyLong());    //Persisted
+    }
+
+    //Helper: JdbcTemplate on a fresh in-memory database with the revoked_tokens table
+    private static JdbcTemplate sharedDatabase(String name)
+    {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("CREATE TABLE revoked_tokens (jti CHAR(36) PRIMARY KEY, expiresAt BIGINT NOT NULL, revokedAt BIGINT NOT NULL DEFAULT 0)");
+        return jdbcTemplate;
+    }
+
+    @Test   //Test: a revocation made on one node is honored by another after its reload
+    void reload_PicksUpRevocationsFromOtherNodes()
+    {
+        JdbcTemplate jdbcTemplate = sharedDatabase("denylistReload");
+        TokenDenylist nodeA = new TokenDenylist(jdbcTemplate, 1000, 30000);
+        TokenDenylist nodeB = new TokenDenylist(jdbcTemplate, 1000, 30000);
+        nodeA.load();
+        nodeB.load();
+
+        VerifiedJwt jwt = jwtExpiringIn(60000);
+        nodeA.revoke(jwt);
+        assertFalse(nodeB.isRevoked(jwt));                                      //Not seen before the reload
+        nodeB.reload();
+        assertTrue(nodeB.isRevoked(jwt));                                       //Seen after it
+    }
+
+    @Test   //Test: revoking a token another node already inserted does not fail
+    void revoke_ToleratesRowFromOtherNode()
+    {
+        JdbcTemplate jdbcTemplate = sharedDatabase("denylistDuplicate");
+        TokenDenylist nodeA = new TokenDenylist(jdbcTemplate, 1000, 30000);
+        TokenDenylist nodeB = new TokenDenylist(jdbcTemplate, 1000, 30000);
+        VerifiedJwt jwt = jwtExpiringIn(60000);
+        nodeA.revoke(jwt);
+        assertDoesNotThrow(() -> nodeB.revoke(jwt));                            //Same jti, before B reloaded
+        assertTrue(nodeB.isRevoked(jwt));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM revoked_tokens", Integer.class));
+    }
+
+    @Test   //Test: revocations age out when the token would have expired anyway
+    void purgeExpired_DropsEntries_AndRebuildsFilter() throws InterruptedException
+    {
+        TokenDenylist denylist = new TokenDenylist(mock(JdbcTemplate.class), 1000, 30000);
+        VerifiedJwt shortLived = jwtExpiringIn(50);
+        VerifiedJwt longLived = jwtExpiringIn(60000);
+        denylist.revoke(shortLived);
+        denylist.revoke(longLived);
+        Thread.sleep(100);                                                      //Let the first token expire
+        denylist.purgeExpired();
+        assertEquals(1, denylist.size());                                       //Only the live revocation remains
+        assertFalse(denylist.isRevoked(shortLived));                            //Aged out
+        assertTrue(denylist.isRevoked(longLived));                              //Survives the rebuild
+    }
+
+    @Test   //Test: expired or id-less tokens are not stored
+    void revoke_IgnoresExpiredAndIdlessTokens()
+    {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        TokenDenylist denylist = new TokenDenylist(jdbcTemplate, 1000, 30000);
+        denylist.revoke(jwtExpiringIn(-1));                                     //Already expired
+        denylist.revoke(new VerifiedJwt("adrian", List.of("USER"), System.currentTimeMillis() + 60000));   //No jti
+        assertEquals(0, denylist.size());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test   //Test: Bloom false positives at capacity never deny a valid token
+    void isRevoked_BloomFalsePositives_AreFilteredByExactSet()
+    {
+        TokenDenylist denylist = new TokenDenylist(mock(JdbcTemplate.class), 1000, 30000);
+        for(int i = 0; i < 1000; i++)
+            denylist.revoke(jwtExpiringIn(60000));
+
+        int falsePositives = 0;
+        for(int i = 0; i < 10000; i++)
+            if(denylist.isRevoked(jwtExpiringIn(60000)))
+                falsePositives++;
+
+        assertEquals(0, falsePositives);                                        //Exact map confirms every Bloom hit
+    }
+}
@@ -0,0 +1,59 @@
+package com.React.Jwt.Login.Security.JWT;   //Declare the package for the JWT tests
+import org.junit.jupiter.api.Test;          //Marks test methods
+import java.util.List;                      //List for roles
+import static org.junit.jupiter.api.Assertions.*;   //Provides assertion methods
+
+class VerifiedTokenCacheTest
+{
+    //Helper: verified token expiring after the given delay
+    private VerifiedJwt jwtExpiringIn(long millis)
+    {
+        return new VerifiedJwt("adrian", List.of("USER"), System.currentTimeMillis() + millis);
+    }
+
+    @Test   //Test: cached token is returned and counted as a hit
+    void get_ReturnsCachedToken_AndCountsHit()
+    {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 10);    //Enabled cache
+        VerifiedJwt jwt = jwtExpiringIn(60000);                         //Valid for a minute
+        assertNull(cache.get("token-a"));                               //First lookup misses
+        cache.put("token-a", jwt);                                      //Store verification
+        assertSame(jwt, cache.get("token-a"));                          //Second lookup hits
+        assertEquals(1, cache.getHits());                               //One hit
+        assertEquals(1, cache.getMisses());                             //One miss
+    }
+
+    @Test   //Test: expired token is evicted instead of being served
+    void get_EvictsTokenPastExp()
+    {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 10);    //Enabled cache
+        cache.put("token-a", jwtExpiringIn(-1));                        //Already expired
+        assertNull(cache.get("token-a"));                               //Must not be served
+        assertEquals(1, cache.getEvictions());                          //Counted as eviction
+        assertEquals(0, cache.size());                                  //Removed from the map
+    }
+
+    @Test   //Test: least recently used entry is dropped when the bound is exceeded
+    void put_EvictsLeastRecentlyUsed_WhenFull()
+    {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 2);     //Room for two tokens
+        cache.put("token-a", jwtExpiringIn(60000));
+        cache.put("token-b", jwtExpiringIn(60000));
+        cache.get("token-a");                                           //Touch a so b becomes eldest
+        cache.put("token-c", jwtExpiringIn(60000));                     //Pushes b out
+        assertNotNull(cache.get("token-a"));                            //Still cached
+        assertNull(cache.get("token-b"));                               //Evicted
+        assertEquals(2, cache.size());                                  //Bound respected
+        assertEquals(1, cache.getEvictions());                          //One size eviction
+    }
+
+    @Test   //Test: disabled cache never stores or counts
+    void disabledCache_IsPassThrough()
+    {
+        VerifiedTokenCache cache = new VerifiedTokenCache(false, 10);   //Disabled via property
+        cache.put("token-a", jwtExpiringIn(60000));
+        assertNull(cache.get("token-a"));                               //Nothing served
+        assertEquals(0, cache.size());                                  //Nothing stored
+        assertEquals(0, cache.getMisses());                             //Nothing counted
+    }
+}
@@ -0,0 +1,18 @@
+package com.React.Jwt.Login.Security.Password;              //Declare the package for the password hashing tests
+import org.junit.jupiter.api.Test;                          //Marks test methods
+import static org.junit.jupiter.api.Assertions.*;           //Provides assertion methods
+
+class BCryptCostCalibratorTest
+{
+    @Test   //Test: a budget no hash can meet keeps the floor cost
+    void calibrate_KeepsFloor_WhenBudgetTooSmall()
+    {
+        assertEquals(4, BCryptCostCalibrator.calibrate(0, 4, 6));
+    }
+
+    @Test   //Test: a generous budget is capped at the ceiling cost
+    void calibrate_StopsAtCeiling_WhenBudgetLarge()
+    {
+        assertEquals(6, BCryptCostCalibrator.calibrate(60000, 4, 6));
+    }
+}
@@ -0,0 +1,75 @@
+package com.React.Jwt.Login.Security.Password;              //Declare the package for the password hashing tests
+import com.React.Jwt.Login.Exception.PasswordHashingBusyException;     //Thrown when the pool is saturated
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;   //In-memory registry for the metrics
+import org.junit.jupiter.api.AfterEach;                     //Runs after each test
+import org.junit.jupiter.api.Test;                          //Marks test methods
+import org.springframework.security.crypto.password.PasswordEncoder;  //Encoder being wrapped
+import java.util.concurrent.CompletableFuture;              //Callers blocked on the pool
+import java.util.concurrent.CountDownLatch;                 //Holds the pool thread busy
+import java.util.concurrent.TimeUnit;                       //Waits
+import static org.junit.jupiter.api.Assertions.*;           //Provides assertion methods
+import static org.mockito.Mockito.*;                        //Provides mocking tools
+
+class PasswordHasherTest
+{
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);   //Encoder doing the hashing
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();    //Captures the pool metrics
+    private PasswordHasher passwordHasher;                  //Pool under test
+
+    @AfterEach
+    void tearDown()
+    {
+        passwordHasher.shutdown();
+    }
+
+    @Test   //Test: hashing runs on a pool thread, not the caller's thread
+    void encodeAndMatches_RunOnPoolThread()
+    {
+        passwordHasher = new PasswordHasher(passwordEncoder, meterRegistry, 1, 4, 5000, 1);
+        when(passwordEncoder.encode("secret")).thenAnswer(invocation -> Thread.currentThread().getName());
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+        assertTrue(passwordHasher.encode("secret").startsWith("password-hash-"));  //Ran on the dedicated pool
+        assertTrue(passwordHasher.matches("secret", "hash"));                       //Result passed back
+        assertEquals(2, meterRegistry.get("password.hashing.wait").timer().count());  //Queue wait recorded per task
+    }
+
+    @Test   //Test: with the thread busy and the queue full, the next caller is rejected at once
+    void submit_RejectsWhenSaturated() throws Exception
+    {
+        passwordHasher = new PasswordHasher(passwordEncoder, meterRegistry, 1, 1, 5000, 3);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(passwordEncoder.matches(any(), any())).thenAnswer(invocation -> 
+        {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> passwordHasher.matches("a", "hash"));   //Occupies the only thread
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> passwordHasher.matches("b", "hash"));    //Fills the queue
+        while(meterRegistry.get("password.hashing.queue.depth").gauge().value() < 1)
+            Thread.onSpinWait();
+
+        PasswordHashingBusyException e = assertThrows(PasswordHashingBusyException.class, () -> passwordHasher.matches("c", "hash"));
+        assertEquals(3, e.getRetryAfterSeconds());                                  //Back-off hint for Retry-After
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));                               //Admitted callers still complete
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test   //Test: a caller that waits longer than the timeout gets the busy error instead of hanging
+    void submit_TimesOut()
+    {
+        passwordHasher = new PasswordHasher(passwordEncoder, meterRegistry, 1, 1, 50, 1);
+        when(passwordEncoder.encode(any())).thenAnswer(invocation -> 
+        {
+            Thread.sleep(5000);
+            return "hash";
+        });
+
+        assertThrows(PasswordHashingBusyException.class, () -> passwordHasher.encode("secret"));
+    }
+}
@@ -0,0 +1,37 @@
+package com.React.Jwt.Login.Security.Throttle;              //Declare the package for the throttling tests
+import org.junit.jupiter.api.Test;                          //Marks test methods
+import static org.junit.jupiter.api.Assertions.*;           //Provides assertion methods
+
+class TokenBucketsTest
+{
+    private static final long NOW = System.currentTimeMillis();    //Fixed clock for the tests
+
+    @Test   //Test: a full bucket allows a burst of capacity, then reports the refill wait
+    void tryAcquire_AllowsBurstThenWaits()
+    {
+        TokenBuckets buckets = new TokenBuckets(1024, 3, 1000);
+        for(int i = 0; i < 3; i++)
+            assertEquals(0, buckets.tryAcquire("adrian", NOW));          //Burst of three
+        assertEquals(1000, buckets.tryAcquire("adrian", NOW));           //Next token in one refill period
+        assertEquals(0, buckets.tryAcquire("adrian", NOW + 1000));       //Refilled one token
+    }
+
+    @Test   //Test: keys have independent buckets
+    void tryAcquire_KeysAreIndependent()
+    {
+        TokenBuckets buckets = new TokenBuckets(1024, 1, 60000);
+        assertEquals(0, buckets.tryAcquire("adrian", NOW));
+        assertTrue(buckets.tryAcquire("adrian", NOW) > 0);               //Exhausted
+        assertEquals(0, buckets.tryAcquire("alice", NOW));               //Unaffected
+    }
+
+    @Test   //Test: a tiny table still enforces limits once every slot is busy, and idle slots are reused
+    void tryAcquire_SharesWhenFull_AndReusesIdleSlots()
+    {
+        TokenBuckets buckets = new TokenBuckets(4, 1, 60000);
+        for(int i = 0; i < 4; i++)
+            buckets.tryAcquire("user" + i, NOW);                        //Fill every slot
+        assertTrue(buckets.tryAcquire("newcomer", NOW) > 0);             //Shares a busy bucket: stricter, never looser
+        assertEquals(0, buckets.tryAcquire("newcomer", NOW + 60000));    //Earlier buckets refilled: slot reclaimed
+    }
+}
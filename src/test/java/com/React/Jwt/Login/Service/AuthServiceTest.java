@@ -1,25 +1,35 @@
 package com.React.Jwt.Login.Service;                                    //Define the package location for the test class
+import com.React.Jwt.Login.Database.ReadYourWrites;                     //Import read-your-writes windows
 import com.React.Jwt.Login.Enum.Role;                                   //Import role enum for assigning user roles
 import com.React.Jwt.Login.Exception.EmailNotFoundException;            //Import custom exception for email not found
 import com.React.Jwt.Login.DTO.Auth.AuthResponseDTO;                    //Import the DTO class for authentication responses
 import com.React.Jwt.Login.DTO.Auth.ForgotLoginCredentialDTO;           //Import the DTO class for forgot login credential
-import com.React.Jwt.Login.Entity.Auth.AuthRequest;                     //Import the request entity used for login
+import com.React.Jwt.Login.DTO.Auth.AuthRequestDTO;                     //Import the request DTO used for login
 import com.React.Jwt.Login.Entity.Auth.AuthResponse;                    //Import the response entity used for token refresh
 import com.React.Jwt.Login.Entity.Auth.ForgotLoginCredential;           //Import the forgot login credential entity used for resetting username and password
 import com.React.Jwt.Login.Entity.User;                                 //Import the User entity model
+import com.React.Jwt.Login.Repository.UserCache;                        //Import cache of user rows to mock
 import com.React.Jwt.Login.Repository.UserRepository;                   //Import repository interface to mock DB operations
+import com.React.Jwt.Login.Security.JWT.CredentialEpochs;               //Import per-user credential epochs
 import com.React.Jwt.Login.Security.JWT.JwtAuthenticationToken;         //Import custom JWT authentication token implementation
 import com.React.Jwt.Login.Security.JWT.JwtUtil;                        //Import utility class for JWT operations
+import com.React.Jwt.Login.Security.JWT.RefreshTokenStore;              //Import store for opaque refresh tokens
+import com.React.Jwt.Login.Security.JWT.TokenDenylist;                  //Import denylist for revoked tokens
+import com.React.Jwt.Login.Security.JWT.VerifiedJwt;                    //Import result of a single JWT verification
 import org.junit.jupiter.api.BeforeEach;                                //Import JUnit lifecycle method for setup
 import org.junit.jupiter.api.Test;                                      //Import JUnit for writing unit tests
 import org.junit.jupiter.api.extension.ExtendWith;                      //Import JUnit extension support for Mockito
+import org.mockito.ArgumentCaptor;                                      //Import captor for the background rehash callback
 import org.mockito.InjectMocks;                                         //Import Mockito annotation for injecting mocks
 import org.mockito.Mock;                                                //Import Mockito annotation for mocking dependencies
+import org.mockito.Spy;                                                 //Import Mockito annotation for spying on real objects
 import org.mockito.junit.jupiter.MockitoExtension;                      //Import JUnit integration for Mockito extension
+import org.springframework.jdbc.core.JdbcTemplate;                      //Import JDBC template for the conditional rehash update
 import org.springframework.security.core.Authentication;                //Import Spring Security Authentication interface
-import org.springframework.security.crypto.password.PasswordEncoder;    //Import password encoder interface from Spring Security
+import com.React.Jwt.Login.Security.Password.PasswordHasher;           //Import bounded password hashing pool
 import java.util.List;                                                  //Import collections for roles
 import java.util.Optional;                                              //Import optional for handling absent values
+import java.util.function.Consumer;                                     //Import callback type for background hashing
 import static org.junit.jupiter.api.Assertions.*;                       //Static import for assertions
 import static org.mockito.ArgumentMatchers.any;                         //Allows flexible argument matching in Mockito
 import static org.mockito.Mockito.*;                                    //Static import for mocking behavior
@@ -30,28 +40,51 @@ class AuthServiceTest
     @Mock
     private UserRepository userRepository;      //Mock the UserRepository dependency
 
+    @Mock
+    private UserCache userCache;                //Mock the UserCache dependency
+
+    @Mock
+    private UserResponseCache userResponseCache;    //Mock the UserResponseCache dependency
+
     @Mock
     private JwtUtil JwtUtil;                    //Mock the JwtUtil dependency
 
     @Mock
-    private PasswordEncoder passwordEncoder;    //Mock the PasswordEncoder dependency
+    private PasswordHasher passwordHasher;      //Mock the PasswordHasher dependency
+
+    @Mock
+    private RefreshTokenStore refreshTokenStore;    //Mock the RefreshTokenStore dependency
+
+    @Mock
+    private TokenDenylist tokenDenylist;        //Mock the TokenDenylist dependency
+
+    @Mock
+    private CredentialEpochs credentialEpochs;  //Mock the CredentialEpochs dependency
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;          //Mock the JdbcTemplate dependency
+
+    @Spy
+    private ReadYourWrites readYourWrites = new ReadYourWrites("", 5000);  //No replica: runs work as is
 
     @InjectMocks
     private AuthService authService;            //Inject mocked dependencies into AuthService
 
     //Declare test variables
-    private AuthRequest authRequest;
+    private AuthRequestDTO authRequest;
     private User user, mockUser;
 
     @BeforeEach //Initialize test data before each test
     void setUp() 
     {
-        authRequest = new AuthRequest("testUser", "password");  //create sample auth request
+        authRequest = new AuthRequestDTO("testUser", "password");  //create sample auth request
         user = new User();                                                          //instantiate new user
+        user.setUserId(1L);                                                         //set user id
         user.setUsername("testUser");                                       //set username
         user.setPassword("encodedPassword");                                //set encoded password
         user.setRole(Role.CUSTOMER);                                                //assign user role
         mockUser = new User();                                                      //instantiate an existing user
+        mockUser.setUserId(2L);                                                     //set user id
         mockUser.setEmail("test@example.com");                                  //set email
         mockUser.setUsername("oldUser");                                    //set old username
         mockUser.setPassword("oldPasswordHash");                            //set old password
@@ -60,19 +93,58 @@ class AuthServiceTest
     @Test   //Test: valid credentials should return successful AuthResponseDTO
     void authenticate_ValidCredentials_ReturnsAuthResponseDTO() 
     {
-        when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(user));              //mock user found
-        when(passwordEncoder.matches("password", "encodedPassword")).thenReturn(true);                      //mock password match
-        when(JwtUtil.generateToken("testUser", List.of("CUSTOMER"))).thenReturn("mockedToken"); //mock token generation
+        when(userCache.findByUsername("testUser")).thenReturn(Optional.of(user));              //mock user found
+        when(userRepository.findVersionById(1L)).thenReturn(Optional.of(0L));                 //mock cached copy current
+        when(passwordHasher.matches("password", "encodedPassword")).thenReturn(true);                      //mock password match
+        when(JwtUtil.generateToken(1L, "testUser", List.of("CUSTOMER"), 0L)).thenReturn("mockedToken"); //mock token generation
+        when(refreshTokenStore.issue(1L, "testUser", List.of("CUSTOMER"))).thenReturn("mockedRefresh");    //mock refresh token issue
         AuthResponseDTO response = authService.authenticate(authRequest);                                   //call method under test
         assertNotNull(response);                                                                            //assert response is not null
         assertEquals("mockedToken", response.getToken());                                           //assert correct token
+        assertEquals("mockedRefresh", response.getRefreshToken());                                  //assert refresh token returned
         assertEquals("Authentication successful", response.getMessage());                           //assert success message
     }
 
+    @Test   //Test: an outdated hash is replaced in the background, guarded against concurrent password changes
+    @SuppressWarnings("unchecked")
+    void authenticate_OutdatedHash_RehashesInBackground() 
+    {
+        when(userCache.findByUsername("testUser")).thenReturn(Optional.of(user));              //mock user found
+        when(userRepository.findVersionById(1L)).thenReturn(Optional.of(0L));                 //mock cached copy current
+        when(passwordHasher.matches("password", "encodedPassword")).thenReturn(true);               //mock password match
+        when(passwordHasher.upgradeEncoding("encodedPassword")).thenReturn(true);                   //mock lower cost than configured
+        authService.authenticate(authRequest);                                                              //call method under test
+        ArgumentCaptor<Consumer<String>> callback = ArgumentCaptor.forClass(Consumer.class);
+        verify(passwordHasher).encodeInBackground(eq("password"), callback.capture());              //rehash queued, login not delayed
+        when(jdbcTemplate.update("UPDATE users SET password = ? WHERE userId = ? AND password = ?", "newHash", 1L, "encodedPassword")).thenReturn(1);
+        callback.getValue().accept("newHash");                                                              //pool finishes the hash
+        verify(jdbcTemplate).update("UPDATE users SET password = ? WHERE userId = ? AND password = ?", "newHash", 1L, "encodedPassword");   //conditional update
+        verify(userCache).invalidate(1L);                                                                   //cached old hash dropped
+    }
+
+    @Test   //Test: a cached copy older than the row is not trusted with the password check
+    void authenticate_StaleCachedUser_ChecksPasswordAgainstDatabase() 
+    {
+        User changed = new User();                                                                          //row after a password change on another node
+        changed.setUserId(1L);
+        changed.setUsername("testUser");
+        changed.setPassword("newPasswordHash");
+        changed.setRole(Role.CUSTOMER);
+        changed.setVersion(1L);
+        when(userCache.findByUsername("testUser")).thenReturn(Optional.of(user));              //cache still holds version 0
+        when(userRepository.findVersionById(1L)).thenReturn(Optional.of(1L));
+        when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(changed));
+        when(passwordHasher.matches("password", "newPasswordHash")).thenReturn(false);             //old password no longer works
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> authService.authenticate(authRequest));
+        assertEquals("Invalid credentials", exception.getMessage());
+        verify(passwordHasher, never()).matches("password", "encodedPassword");                     //stale hash never consulted
+        verify(userCache).invalidate(1L, "testUser");                                                       //stale entry dropped
+    }
+
     @Test   //Test: user not found should throw RuntimeException
     void authenticate_UserNotFound_ThrowsRuntimeException() 
     {
-        when(userRepository.findByUsername("testUser")).thenReturn(Optional.empty());   //mock user not found
+        when(userCache.findByUsername("testUser")).thenReturn(Optional.empty());   //mock user not found
         
         //expect exception
         RuntimeException exception = assertThrows(RuntimeException.class, () -> authService.authenticate(authRequest)); 
@@ -82,8 +154,9 @@ class AuthServiceTest
     @Test   //Test: invalid password should throw RuntimeException
     void authenticate_InvalidPassword_ThrowsRuntimeException() 
     {
-        when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(user));      //mock user found
-        when(passwordEncoder.matches("password", "encodedPassword")).thenReturn(false);             //mock password mismatch
+        when(userCache.findByUsername("testUser")).thenReturn(Optional.of(user));      //mock user found
+        when(userRepository.findVersionById(1L)).thenReturn(Optional.of(0L));         //mock cached copy current
+        when(passwordHasher.matches("password", "encodedPassword")).thenReturn(false);             //mock password mismatch
         RuntimeException exception = assertThrows(RuntimeException.class, () -> authService.authenticate(authRequest)); //expect exception
         assertEquals("Invalid credentials", exception.getMessage());                                                        //assert correct error message
     }
@@ -92,48 +165,73 @@ class AuthServiceTest
     void authenticateWithJwt_ValidToken_ReturnsAuthentication() 
     {
         String token = "valid.jwt.token";                                           //define sample token
-        when(JwtUtil.isTokenValid(token)).thenReturn(true);                         //mock valid token
-        when(JwtUtil.getUsernameFromToken(token)).thenReturn("testUser");           //mock username extraction
-        when(JwtUtil.getRolesFromToken(token)).thenReturn(List.of("USER"));     //mock roles extraction
+        VerifiedJwt jwt = new VerifiedJwt("testUser", List.of("USER"), System.currentTimeMillis() + 60000);  //verified claims
+        when(JwtUtil.verify(token)).thenReturn(Optional.of(jwt));                   //mock valid token
+        when(credentialEpochs.isCurrent(0L, 0L)).thenReturn(true);                  //mock unchanged credentials
         Authentication authentication = authService.authenticateWithJwt(token);     //call method under test
         assertNotNull(authentication);                                              //assert authentication is not null
         assertEquals("testUser", authentication.getName());                 //assert correct username
         assertEquals(token, ((JwtAuthenticationToken) authentication).getToken());  //assert correct token
+        assertEquals("ROLE_USER", authentication.getAuthorities().iterator().next().getAuthority());  //assert prefixed role
+        verify(JwtUtil, times(1)).verify(token);                                    //assert token parsed once
+    }
+
+    @Test   //Test: revoked JWT token should throw RuntimeException
+    void authenticateWithJwt_RevokedToken_ThrowsRuntimeException() 
+    {
+        String token = "revoked.jwt.token";                                         //define revoked token
+        VerifiedJwt jwt = new VerifiedJwt("testUser", List.of("USER"), System.currentTimeMillis() + 60000);  //verified claims
+        when(JwtUtil.verify(token)).thenReturn(Optional.of(jwt));                   //mock valid signature
+        when(tokenDenylist.isRevoked(jwt)).thenReturn(true);                        //mock logged-out token
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> authService.authenticateWithJwt(token)); 
+        assertEquals("Invalid or expired token", exception.getMessage());   //assert correct error message
+    }
+
+    @Test   //Test: logout revokes the access token and drops the refresh token
+    void logout_RevokesAccessAndRefreshTokens() 
+    {
+        VerifiedJwt jwt = new VerifiedJwt("testUser", List.of("USER"), System.currentTimeMillis() + 60000);  //verified claims
+        when(JwtUtil.verify("access.jwt.token")).thenReturn(Optional.of(jwt));      //mock valid token
+        authService.logout("access.jwt.token", "refresh-token");                    //call method under test
+        verify(tokenDenylist).revoke(jwt);                                          //assert access token revoked
+        verify(refreshTokenStore).revoke("refresh-token");                          //assert refresh token dropped
     }
 
     @Test   //Test: invalid JWT token should throw RuntimeException
     void authenticateWithJwt_InvalidToken_ThrowsRuntimeException() 
     {
         String token = "invalid.jwt.token";                                         //define invalid token
-        when(JwtUtil.isTokenValid(token)).thenReturn(false);                        //mock invalid token
+        when(JwtUtil.verify(token)).thenReturn(Optional.empty());                   //mock invalid token
         
         //expect exception
         RuntimeException exception = assertThrows(RuntimeException.class, () -> authService.authenticateWithJwt(token)); 
         assertEquals("Invalid or expired token", exception.getMessage());   //assert correct error message
     }
 
-    @Test   //Test: valid refresh token should return a new token
+    @Test   //Test: valid refresh token should return a new access token and a rotated refresh token
     void refreshToken_ValidToken_ReturnsNewToken() 
     {
-        String oldToken = "old.jwt.token";                                                                  //define old token
-        when(JwtUtil.isTokenValid(oldToken)).thenReturn(true);                                             //mock valid token
-        when(JwtUtil.getUsernameFromToken(oldToken)).thenReturn("testUser");                               //mock username extraction
-        when(JwtUtil.getRolesFromToken(oldToken)).thenReturn(List.of("USER"));                          //mock roles extraction
-        when(JwtUtil.generateToken("testUser", List.of("USER"))).thenReturn("new.jwt.token");   //mock new token generation
+        String oldToken = "old-refresh-token";                                                              //define old refresh token
+        RefreshTokenStore.RefreshSession session = new RefreshTokenStore.RefreshSession(1L, "testUser", List.of("USER"), System.currentTimeMillis() + 60000);
+        when(refreshTokenStore.rotate(oldToken)).thenReturn(Optional.of(new RefreshTokenStore.Rotation(session, "new-refresh-token")));   //mock rotation
+        when(JwtUtil.generateToken(1L, "testUser", List.of("USER"))).thenReturn("new.jwt.token");   //mock new token generation
         AuthResponse response = authService.refreshToken(oldToken);                                         //call method under test
         assertNotNull(response);                                                                            //assert response is not null
         assertEquals("new.jwt.token", response.getToken());                                         //assert new token value
+        assertEquals("new-refresh-token", response.getRefreshToken());                              //assert rotated refresh token
+        verify(JwtUtil, never()).verify(any());                                                             //assert no JWT parse
+        verifyNoInteractions(userRepository);                                                               //assert no database lookup
     }
 
-    @Test   //Test: invalid refresh token should throw RuntimeException
+    @Test   //Test: unknown, reused or expired refresh token should throw RuntimeException
     void refreshToken_InvalidToken_ThrowsRuntimeException() 
     {
-        String oldToken = "expired.jwt.token";                                      //define expired token
-        when(JwtUtil.isTokenValid(oldToken)).thenReturn(false);                     //mock invalid token
+        String oldToken = "expired-refresh-token";                                  //define expired token
+        when(refreshTokenStore.rotate(oldToken)).thenReturn(Optional.empty());      //mock invalid token
         
         //expect exception
         RuntimeException exception = assertThrows(RuntimeException.class, () -> authService.refreshToken(oldToken)); 
-        assertEquals("Invalid or expired token", exception.getMessage());   //assert correct error message
+        assertEquals("Invalid or expired refresh token", exception.getMessage());   //assert correct error message
     }
 
     @Test   //Test case: Successfully update both username and password
@@ -147,7 +245,7 @@ class AuthServiceTest
 
         //Mock repository and password encoder behavior
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockUser));
-        when(passwordEncoder.encode("newPassword")).thenReturn("hashedPassword");
+        when(passwordHasher.encode("newPassword")).thenReturn("hashedPassword");
 
         //Call the service method under test
         ForgotLoginCredentialDTO response = authService.ResetLoginCredential(request);
@@ -159,6 +257,13 @@ class AuthServiceTest
 
         //Verify that the save method was called
         verify(userRepository).save(any(User.class));
+
+        //Verify that tokens issued before the change are invalidated
+        assertEquals(1L, mockUser.getCredentialEpoch());
+        verify(userCache).invalidate(2L, "oldUser", "newUser");               //Lookups by either username start over
+        verify(userResponseCache).invalidate(2L);
+        verify(credentialEpochs).advance(2L, 1L);
+        verify(refreshTokenStore).revokeUser(2L);
     }
 
     @Test   //Test case: Update only the username
@@ -195,7 +300,7 @@ class AuthServiceTest
 
         //Mock repository and password encoding
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockUser));
-        when(passwordEncoder.encode("newPassword")).thenReturn("hashedPassword");
+        when(passwordHasher.encode("newPassword")).thenReturn("hashedPassword");
 
         //Execute the service method
         ForgotLoginCredentialDTO response = authService.ResetLoginCredential(request);
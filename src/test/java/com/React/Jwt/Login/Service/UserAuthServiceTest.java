@@ -1,9 +1,12 @@
 package com.React.Jwt.Login.Service;                                    //Declares the package this class belongs to
 import com.React.Jwt.Login.DTO.UserDTO;                                 //Imports the UserDTO class used for transferring user data
 import com.React.Jwt.Login.Entity.User;                                 //Imports the User entity class
+import com.React.Jwt.Login.Enum.Role;                                   //Imports the Role enum for role checks
 import com.React.Jwt.Login.Exception.UsernameNotFoundException;         //Imports custom exception thrown when user is not found
 import com.React.Jwt.Login.Mapper.UserMapper;                           //Imports mapper to convert User to UserDTO
-import com.React.Jwt.Login.Repository.UserRepository;                   //Imports repository interface for accessing user data
+import com.React.Jwt.Login.Repository.UserCache;                        //Imports cache of user rows
+import com.React.Jwt.Login.Repository.UserView;                         //Imports public columns of a user
+import com.React.Jwt.Login.Security.JWT.JwtAuthenticationToken;         //Imports JWT authentication carrying the user id
 import org.junit.jupiter.api.BeforeEach;                                //Runs before each test
 import org.junit.jupiter.api.Test;                                      //Marks a method as a test
 import org.junit.jupiter.api.extension.ExtendWith;                      //Adds support for JUnit extensions
@@ -25,7 +28,7 @@ import static org.mockito.Mockito.*;                                    //Mockin
 class UserAuthServiceTest 
 {
     @Mock 
-    private UserRepository userRepository;      //Mock repository for user data
+    private UserCache userCache;                //Mock cache of user rows
 
     @Mock 
     private UserMapper userMapper;              //Mock user mapper
@@ -76,7 +79,7 @@ class UserAuthServiceTest
         when(authentication.getName()).thenReturn("adrian");                                //Username
         when(securityContext.getAuthentication()).thenReturn(authentication);                       //Security context
         SecurityContextHolder.setContext(securityContext);                                          //Set context
-        when(userRepository.findByUsername("adrian")).thenReturn(Optional.of(testUser));    //Mock user found
+        when(userCache.findByUsername("adrian")).thenReturn(Optional.of(testUser));    //Mock user found
         User result = userAuthService.getAuthenticatedUser();                                       //Call method
         assertEquals(testUser, result);                                                             //Assert user
     }
@@ -88,7 +91,7 @@ class UserAuthServiceTest
         when(authentication.getName()).thenReturn("unknownUser");                                           //Unknown user
         when(securityContext.getAuthentication()).thenReturn(authentication);                                       //Security context
         SecurityContextHolder.setContext(securityContext);                                                          //Set context
-        when(userRepository.findByUsername("unknownUser")).thenReturn(Optional.empty());                    //User not found
+        when(userCache.findByUsername("unknownUser")).thenReturn(Optional.empty());                    //User not found
         assertThrows(UsernameNotFoundException.class, () -> userAuthService.getAuthenticatedUser());    //Should throw
     }
 
@@ -99,10 +102,43 @@ class UserAuthServiceTest
         when(authentication.getName()).thenReturn("adrian");                                //Username
         when(securityContext.getAuthentication()).thenReturn(authentication);                       //Set auth
         SecurityContextHolder.setContext(securityContext);                                          //Set context
-        when(userRepository.findByUsername("adrian")).thenReturn(Optional.of(testUser));    //Found user
-        when(userMapper.toDTO(testUser)).thenReturn(testUserDTO);                                   //Map to DTO
+        UserView view = new UserView(1L, "Adrian", "Tan", "+6591234567", "1 Main St", "adrian@example.com", "adrian", Role.CUSTOMER, 0);
+        when(userCache.findViewByUsername("adrian")).thenReturn(Optional.of(view));                 //Found user's public columns
+        when(userMapper.toDTO(view)).thenReturn(testUserDTO);                                       //Map to DTO
         UserDTO result = userAuthService.getCurrentUser();                                          //Call method
         assertEquals(testUserDTO, result);                                                          //Assert result
+        verify(userCache, never()).findByUsername(any());                                           //No entity copy
+    }
+
+    @Test   //Test: user id comes from the JWT authentication without a query
+    void getAuthenticatedUserId_shouldReadTokenClaim_withoutQuery() 
+    {
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken("adrian", 42L, Role.CUSTOMER.mask(), "token"));   //JWT request
+        assertEquals(42L, userAuthService.getAuthenticatedUserId());                               //Id from the "uid" claim
+        verifyNoInteractions(userCache);                                                       //No database lookup
+    }
+
+    @Test   //Test: user id falls back to a lookup for other authentication types
+    void getAuthenticatedUserId_shouldFallBackToLookup() 
+    {
+        testUser.setUserId(7L);                                                                     //Stored id
+        when(authentication.isAuthenticated()).thenReturn(true);                            //Authenticated
+        when(authentication.getName()).thenReturn("adrian");                                //Username
+        when(securityContext.getAuthentication()).thenReturn(authentication);                       //Security context
+        SecurityContextHolder.setContext(securityContext);                                          //Set context
+        when(userCache.findByUsername("adrian")).thenReturn(Optional.of(testUser));    //Mock user found
+        assertEquals(7L, userAuthService.getAuthenticatedUserId());                                 //Id from the entity
+    }
+
+    @Test   //Test: JWT requests answer role checks from the role bits
+    void hasRole_shouldTestRoleBits_forJwtAuthentication() 
+    {
+        int roleMask = Role.ADMIN.mask() | Role.CUSTOMER.mask();                                    //Two roles
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken("adrian", 42L, roleMask, "token"));    //JWT request
+        assertTrue(userAuthService.hasRole(Role.ADMIN));                                            //Bit set
+        assertTrue(userAuthService.hasRole("ROLE_CUSTOMER"));                                       //Prefixed name maps to the same bit
+        assertFalse(userAuthService.hasRole(Role.USER));                                            //Bit not set
+        assertFalse(userAuthService.hasRole("SALES_CLERK"));                                        //Unknown role is never granted
     }
 
     @Test   //Test: hasRole returns true when role matches
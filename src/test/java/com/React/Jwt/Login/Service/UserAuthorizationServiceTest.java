@@ -1,6 +1,5 @@
 package com.React.Jwt.Login.Service;                                //Declare the package for the service tests
-import com.React.Jwt.Login.Entity.User;                             //Import the User entity used in tests
-import org.junit.jupiter.api.BeforeEach;                            //Runs before each test
+import com.React.Jwt.Login.Enum.Role;                               //Role enum for admin checks
 import org.junit.jupiter.api.Test;                                  //Marks test methods
 import org.junit.jupiter.api.extension.ExtendWith;                  //Adds extensions like Mockito
 import org.mockito.*;                                               //Includes @Mock, @InjectMocks, etc.
@@ -18,62 +17,54 @@ class UserAuthorizationServiceTest
     @InjectMocks 
     private UserAuthorizationService userAuthorizationService;  //Inject the mock into the class under test
 
-    private static final Long USER_ID = 123L;                   //Test user ID constant
-    private User currentUser;                                   //User object representing the current authenticated user
-
-    @BeforeEach //Setup method to run before each test
-    void setUp() 
-    {
-        currentUser = new User();       //Create a new User
-        currentUser.setUserId(USER_ID); //Set the user ID
-    }
+    private static final Long USER_ID = 123L;                   //Test user ID constant (current authenticated user)
 
     @Test   //Test case: user has admin role
     void authorizeAdmin_AllowsAccess_WhenUserIsAdmin() 
     {
-        when(userAuthService.hasRole("ROLE_ADMIN")).thenReturn(true);   //Mock user has admin role
+        when(userAuthService.hasRole(Role.ADMIN)).thenReturn(true);   //Mock user has admin role
         assertDoesNotThrow(() -> userAuthorizationService.authorizeAdmin());            //Should not throw exception
-        verify(userAuthService).hasRole("ROLE_ADMIN");                          //Verify role check was called
+        verify(userAuthService).hasRole(Role.ADMIN);                          //Verify role check was called
     }
 
     @Test   //Test case: user lacks admin role
     void authorizeAdmin_ThrowsAccessDeniedException_WhenUserIsNotAdmin() 
     {
-        when(userAuthService.hasRole("ROLE_ADMIN")).thenReturn(false);      //Mock user is not admin
+        when(userAuthService.hasRole(Role.ADMIN)).thenReturn(false);      //Mock user is not admin
         AccessDeniedException ex = assertThrows(AccessDeniedException.class, () -> userAuthorizationService.authorizeAdmin());  //Should throw exception
         assertEquals("Only admins can access this resource.", ex.getMessage()); //Verify message
-        verify(userAuthService).hasRole("ROLE_ADMIN");                          //Verify method called
+        verify(userAuthService).hasRole(Role.ADMIN);                          //Verify method called
     }
 
     @Test   //Test case: user is accessing their own data
     void authorizeUserOrAdmin_AllowsAccess_WhenUserIsSelf() 
     {
-        when(userAuthService.getAuthenticatedUser()).thenReturn(currentUser);               //Mock current user
+        when(userAuthService.getAuthenticatedUserId()).thenReturn(USER_ID);                    //Mock current user
         assertDoesNotThrow(() -> userAuthorizationService.authorizeUserOrAdmin(USER_ID));   //Should pass
-        verify(userAuthService).getAuthenticatedUser();                                     //Verify user check
-        verify(userAuthService, never()).hasRole(anyString());                              //Role check should not occur
+        verify(userAuthService).getAuthenticatedUserId();                                     //Verify user check
+        verify(userAuthService, never()).hasRole(any(Role.class));                              //Role check should not occur
     }
 
     @Test   //Test case: user is admin accessing someone else's data
     void authorizeUserOrAdmin_AllowsAccess_WhenUserIsAdminAndNotSelf() 
     {
-        when(userAuthService.getAuthenticatedUser()).thenReturn(currentUser);                   //Mock current user
-        when(userAuthService.hasRole("ROLE_ADMIN")).thenReturn(true);           //Mock admin role
+        when(userAuthService.getAuthenticatedUserId()).thenReturn(USER_ID);                        //Mock current user
+        when(userAuthService.hasRole(Role.ADMIN)).thenReturn(true);           //Mock admin role
         Long otherUserId = USER_ID + 1;                                                         //Another user ID
         assertDoesNotThrow(() -> userAuthorizationService.authorizeUserOrAdmin(otherUserId));   //Should pass
-        verify(userAuthService).getAuthenticatedUser();                                         //Check user ID
-        verify(userAuthService).hasRole("ROLE_ADMIN");                                  //Check admin role
+        verify(userAuthService).getAuthenticatedUserId();                                         //Check user ID
+        verify(userAuthService).hasRole(Role.ADMIN);                                  //Check admin role
     }
 
     @Test   //Test case: user is neither self nor admin
     void authorizeUserOrAdmin_ThrowsAccessDeniedException_WhenNotSelfAndNotAdmin() 
     {
-        when(userAuthService.getAuthenticatedUser()).thenReturn(currentUser);                       //Mock current user
-        when(userAuthService.hasRole("ROLE_ADMIN")).thenReturn(false);              //Not an admin
+        when(userAuthService.getAuthenticatedUserId()).thenReturn(USER_ID);                            //Mock current user
+        when(userAuthService.hasRole(Role.ADMIN)).thenReturn(false);              //Not an admin
         Long otherUserId = USER_ID + 1;                                                             //Another user ID
         AccessDeniedException ex = assertThrows(AccessDeniedException.class, () -> userAuthorizationService.authorizeUserOrAdmin(otherUserId)); //Should throw
         assertEquals("You are not authorized to access this data.", ex.getMessage());       //Validate message
-        verify(userAuthService).getAuthenticatedUser();                                             //Verify user fetch
-        verify(userAuthService).hasRole("ROLE_ADMIN");                                      //Verify role check
+        verify(userAuthService).getAuthenticatedUserId();                                             //Verify user fetch
+        verify(userAuthService).hasRole(Role.ADMIN);                                      //Verify role check
     }
 }
\ No newline at end of file
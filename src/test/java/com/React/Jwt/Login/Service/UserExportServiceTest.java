@@ -0,0 +1,72 @@
+package com.React.Jwt.Login.Service;                                    //Declares the package this class belongs to
+import com.fasterxml.jackson.databind.ObjectMapper;                     //JSON factory and NDJSON parsing
+import org.junit.jupiter.api.BeforeEach;                                //Runs before each test
+import org.junit.jupiter.api.Test;                                      //Marks a method as a test
+import org.springframework.jdbc.core.JdbcTemplate;                      //Seeds the in-memory table
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;    //Transaction manager for the plain DataSource
+import org.springframework.jdbc.datasource.DriverManagerDataSource;     //In-memory H2 database
+import org.springframework.security.access.AccessDeniedException;       //Exception for unauthorized access
+import java.io.ByteArrayInputStream;                                    //Reads the gzip output back
+import java.io.ByteArrayOutputStream;                                   //Captures the response body
+import java.nio.charset.StandardCharsets;                               //Output decoding
+import java.util.zip.GZIPInputStream;                                   //Decompresses the gzip output
+import static org.junit.jupiter.api.Assertions.*;                       //Assertion methods
+import static org.mockito.Mockito.*;                                    //Mocking utility methods
+
+class UserExportServiceTest 
+{
+    private final UserAuthorizationService userAuthorizationService = mock(UserAuthorizationService.class);   //Admin check
+    private UserExportService userExportService;                       //Service under test, backed by H2
+
+    @BeforeEach //Create a users table with a row that needs CSV quoting
+    void setUp() 
+    {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:export;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS users");
+        jdbcTemplate.execute("CREATE TABLE users (userId BIGINT PRIMARY KEY, firstName VARCHAR(255), lastName VARCHAR(255), phone VARCHAR(15), "
+        + "address VARCHAR(255), email VARCHAR(255), username VARCHAR(255), password VARCHAR(255), role VARCHAR(50))");
+        jdbcTemplate.update("INSERT INTO users VALUES (1, 'John', 'Doe', '+6512345678', '1 Main St, #01-01', 'john@example.com', 'johndoe', 'secret', 'CUSTOMER')");
+        jdbcTemplate.update("INSERT INTO users VALUES (2, 'Admin', 'User', '+6511122233', 'Say \"hi\"', 'admin@example.com', 'admin', 'secret', 'ADMIN')");
+        userExportService = new UserExportService(jdbcTemplate, new DataSourceTransactionManager(dataSource), new ObjectMapper(), userAuthorizationService, 1);
+    }
+
+    @Test   //Test: NDJSON has one object per line and never includes the password
+    void exportUsers_Ndjson_OneObjectPerLine() throws Exception 
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        userExportService.exportUsers(UserExportService.Format.NDJSON, false).writeTo(out);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);                                                      //One line per user
+        assertEquals("johndoe", new ObjectMapper().readTree(lines[0]).get("username").asText());
+        assertEquals(2, new ObjectMapper().readTree(lines[1]).get("userId").asLong());
+        assertFalse(out.toString(StandardCharsets.UTF_8).contains("secret"));              //No password column
+        verify(userAuthorizationService).authorizeAdmin();                                  //Admin only
+    }
+
+    @Test   //Test: CSV quotes commas and quotes, and gzip output decompresses to the same rows
+    void exportUsers_GzipCsv_QuotesFields() throws Exception 
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        userExportService.exportUsers(UserExportService.Format.CSV, true).writeTo(out);
+        String csv = new String(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes(), StandardCharsets.UTF_8);
+        String[] lines = csv.split("\r\n");
+        assertEquals("userId,firstName,lastName,phone,address,email,username,role", lines[0]);     //Header row
+        assertEquals("1,John,Doe,+6512345678,\"1 Main St, #01-01\",john@example.com,johndoe,CUSTOMER", lines[1]);
+        assertEquals("2,Admin,User,+6511122233,\"Say \"\"hi\"\"\",admin@example.com,admin,ADMIN", lines[2]);
+    }
+
+    @Test   //Test: non-admins are rejected before anything is streamed
+    void exportUsers_NonAdmin_Throws() 
+    {
+        doThrow(new AccessDeniedException("Only admins can access this resource.")).when(userAuthorizationService).authorizeAdmin();
+        assertThrows(AccessDeniedException.class, () -> userExportService.exportUsers(UserExportService.Format.CSV, false));
+    }
+
+    @Test   //Test: unknown formats are rejected
+    void format_Unknown_Throws() 
+    {
+        assertEquals(UserExportService.Format.CSV, UserExportService.Format.from("csv"));
+        assertThrows(IllegalArgumentException.class, () -> UserExportService.Format.from("xml"));
+    }
+}
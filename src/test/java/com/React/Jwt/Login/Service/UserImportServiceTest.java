@@ -0,0 +1,112 @@
+package com.React.Jwt.Login.Service;                                    //Declares the package this class belongs to
+import com.React.Jwt.Login.DTO.UserImportReportDTO;                     //Report under test
+import com.fasterxml.jackson.databind.ObjectMapper;                     //Reads NDJSON and CSV rows
+import jakarta.validation.Validation;                                   //Bean Validation bootstrap
+import org.junit.jupiter.api.BeforeEach;                                //Runs before each test
+import org.junit.jupiter.api.Test;                                      //Marks a method as a test
+import org.springframework.jdbc.core.JdbcTemplate;                      //Seeds and inspects the in-memory table
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;    //Transaction manager for the plain DataSource
+import org.springframework.jdbc.datasource.DriverManagerDataSource;     //In-memory H2 database
+import org.springframework.security.access.AccessDeniedException;       //Exception for unauthorized access
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;    //Cheap hashing for tests
+import java.io.ByteArrayInputStream;                                    //Upload body
+import java.nio.charset.StandardCharsets;                               //Upload encoding
+import static org.junit.jupiter.api.Assertions.*;                       //Assertion methods
+import static org.mockito.Mockito.*;                                    //Mocking utility methods
+
+class UserImportServiceTest 
+{
+    private final UserAuthorizationService userAuthorizationService = mock(UserAuthorizationService.class);   //Admin check
+    private final UserResponseCache userResponseCache = mock(UserResponseCache.class);   //Cached pages
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);                     //Lowest cost keeps tests fast
+    private JdbcTemplate jdbcTemplate;                                  //Inspects imported rows
+    private UserImportService userImportService;                       //Service under test, backed by H2, two rows per chunk
+
+    @BeforeEach //Create a users table with the production constraints and one existing user
+    void setUp() 
+    {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:import;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS users");
+        jdbcTemplate.execute("CREATE TABLE users (userId BIGINT AUTO_INCREMENT PRIMARY KEY, firstName VARCHAR(255) NOT NULL, lastName VARCHAR(255) NOT NULL, "
+        + "address VARCHAR(255) NOT NULL, phone VARCHAR(15) NOT NULL UNIQUE, email VARCHAR(255) NOT NULL UNIQUE, username VARCHAR(255) NOT NULL UNIQUE, "
+        + "password VARCHAR(255) NOT NULL, role VARCHAR(50) NOT NULL, credentialEpoch BIGINT NOT NULL DEFAULT 0)");
+        jdbcTemplate.update("INSERT INTO users (firstName, lastName, address, phone, email, username, password, role) "
+        + "VALUES ('Admin', 'User', 'HQ', '+6511122233', 'admin@example.com', 'admin', 'secret', 'ADMIN')");
+        userImportService = new UserImportService(jdbcTemplate, new DataSourceTransactionManager(dataSource), new ObjectMapper(),
+        Validation.buildDefaultValidatorFactory().getValidator(), passwordEncoder, userAuthorizationService, userResponseCache, 2, 2);
+    }
+
+    private static String json(String username, String email, String phone) 
+    {
+        return "{\"firstName\":\"Johnny\",\"lastName\":\"Smith\",\"username\":\"" + username + "\",\"email\":\"" + email + "\",\"phone\":\"" + phone
+        + "\",\"address\":\"1 Main St\",\"password\":\"password123\",\"role\":\"CUSTOMER\"}\n";
+    }
+
+    private UserImportReportDTO importUsers(UserExportService.Format format, String body) throws Exception 
+    {
+        return userImportService.importUsers(format, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test   //Test: good rows are inserted with hashed passwords; bad rows are reported with their row numbers
+    void importUsers_Ndjson_ReportsBadRows() throws Exception 
+    {
+        String body = json("johndoe", "john@example.com", "+6512345678")   //1: imported
+        + "{not json\n"                                                     //2: malformed
+        + json("jd", "bad", "+6512345679")                                  //3: fails validation
+        + json("johndoe", "other@example.com", "+6512345670")               //4: duplicate of row 1, in a later chunk
+        + "\n"
+        + json("admin2", "admin@example.com", "+6512345671")                //5: email already in the table
+        + json("janedoe", "jane@example.com", "+6512345672");               //6: imported
+
+        UserImportReportDTO report = importUsers(UserExportService.Format.NDJSON, body);
+        assertEquals(6, report.getReceived());
+        assertEquals(2, report.getImported());
+        assertEquals(4, report.getFailed());
+        assertEquals(2, report.getErrors().get(0).row());
+        assertEquals("Malformed JSON", report.getErrors().get(0).message());
+        assertEquals("Email must be valid; Username must be between 4 and 20 characters", report.getErrors().get(1).message());
+        assertEquals("Already exists: username johndoe", report.getErrors().get(2).message());
+        assertEquals(5, report.getErrors().get(3).row());
+
+        String hash = jdbcTemplate.queryForObject("SELECT password FROM users WHERE username = 'janedoe'", String.class);
+        assertTrue(passwordEncoder.matches("password123", hash));          //Stored hashed
+        verify(userAuthorizationService).authorizeAdmin();                  //Admin only
+        verify(userResponseCache).invalidatePages();                        //Cached pages would miss the new users
+    }
+
+    @Test   //Test: CSV columns may come in any order, quoted fields are unquoted, and duplicates within a chunk are caught
+    void importUsers_Csv_ParsesQuotedFields() throws Exception 
+    {
+        String body = "username,email,phone,firstName,lastName,address,password,role\r\n"
+        + "johndoe,john@example.com,+6512345678,Johnny,Smith,\"1 Main St, #01-01\",password123,CUSTOMER\r\n"
+        + "janedoe,john@example.com,+6512345679,Janey,Smith,Elsewhere,password123,CUSTOMER\r\n"
+        + "bobby,bob@example.com,+6512345670,Bobby,Smith,\"Say \"\"hi\"\"\",password123,NOBODY\r\n";
+
+        UserImportReportDTO report = importUsers(UserExportService.Format.CSV, body);
+        assertEquals(3, report.getReceived());
+        assertEquals(1, report.getImported());
+        assertEquals("Duplicate in upload: email john@example.com", report.getErrors().get(0).message());
+        assertEquals("Invalid field value", report.getErrors().get(1).message());
+        assertEquals("1 Main St, #01-01", jdbcTemplate.queryForObject("SELECT address FROM users WHERE username = 'johndoe'", String.class));
+    }
+
+    @Test   //Test: a row the database rejects fails alone; the rest of its batch is still inserted
+    void importUsers_BatchFailure_RetriesRowByRow() throws Exception 
+    {
+        String body = json("johndoe", "john@example.com", "+123456789012345")  //16 characters: valid pattern, too long for the column
+        + json("janedoe", "jane@example.com", "+6512345672");
+
+        UserImportReportDTO report = importUsers(UserExportService.Format.NDJSON, body);
+        assertEquals(1, report.getImported());
+        assertEquals(1, report.getErrors().get(0).row());
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class));
+    }
+
+    @Test   //Test: non-admins are rejected before the upload is read
+    void importUsers_NonAdmin_Throws() 
+    {
+        doThrow(new AccessDeniedException("Only admins can access this resource.")).when(userAuthorizationService).authorizeAdmin();
+        assertThrows(AccessDeniedException.class, () -> importUsers(UserExportService.Format.CSV, "username\r\n"));
+    }
+}
@@ -0,0 +1,126 @@
+package com.React.Jwt.Login.Service;                    //Declare the package for the service tests
+import com.React.Jwt.Login.Database.ReadYourWrites;     //Disabled without a replica
+import com.React.Jwt.Login.DTO.UserDTO;                 //Cached profile
+import com.React.Jwt.Login.DTO.UserPageDTO;             //Cached page
+import com.fasterxml.jackson.databind.ObjectMapper;     //Serializes misses
+import org.junit.jupiter.api.Test;                      //Marks test methods
+import java.util.List;                                  //Page contents
+import java.util.concurrent.atomic.AtomicInteger;       //Counts responses built
+import java.util.function.Supplier;                     //Profile or page built on a miss
+import static org.junit.jupiter.api.Assertions.*;       //Provides assertion methods
+
+class UserResponseCacheTest
+{
+    private final AtomicInteger builds = new AtomicInteger();  //Misses that serialized
+
+    //Helper: cache holding at most maximumBytes
+    private static UserResponseCache cache(long maximumBytes)
+    {
+        return new UserResponseCache(new ObjectMapper(), new ReadYourWrites("", 5000), true, maximumBytes, 60000);
+    }
+
+    //Helper: profile supplier that counts its calls
+    private Supplier<UserDTO> profile(long userId)
+    {
+        return () ->
+        {
+            builds.incrementAndGet();
+            return UserDTO.builder().userId(userId).username("user" + userId).version(2L).build();
+        };
+    }
+
+    //Helper: page supplier that counts its calls
+    private Supplier<UserPageDTO> page(String nextCursor)
+    {
+        return () ->
+        {
+            builds.incrementAndGet();
+            return new UserPageDTO(List.of(UserDTO.builder().userId(1L).build()), nextCursor);
+        };
+    }
+
+    @Test   //Test: a hit returns the bytes built by the miss, without building again
+    void profile_HitReturnsSameBytes()
+    {
+        UserResponseCache cache = cache(1 << 20);
+        UserResponseCache.Json first = cache.profile(1L, profile(1L));
+        assertTrue(new String(first.body()).contains("\"username\":\"user1\""));     //Serialized DTO
+        assertFalse(new String(first.body()).contains("version"));                  //Version stays out of the body
+        assertEquals(2L, first.version());                                          //But is kept for the ETag
+        assertSame(first, cache.profile(1L, profile(1L)));                          //Hit
+        assertEquals(1, builds.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test   //Test: pages are keyed by all their parameters and keep the next cursor
+    void page_KeyedByParameters()
+    {
+        UserResponseCache cache = cache(1 << 20);
+        assertEquals("Mg", cache.page(null, 50, null, null, page("Mg")).nextCursor());
+        cache.page(null, 50, null, null, page("Mg"));                               //Hit
+        cache.page(null, 50, null, "ad", page(null));                               //Other filter: miss
+        assertEquals(2, builds.get());
+        assertEquals(2, cache.size());
+    }
+
+    @Test   //Test: the byte bound evicts least recently used entries first
+    void store_EvictsLeastRecentlyUsedOverByteBound()
+    {
+        UserResponseCache probe = cache(1 << 20);
+        probe.profile(1L, profile(1L));
+        long entryBytes = probe.getBytes();                                         //Weight of one profile
+
+        UserResponseCache cache = cache(3 * entryBytes);                            //Room for three profiles
+        cache.profile(1L, profile(1L));
+        cache.profile(2L, profile(2L));
+        cache.profile(3L, profile(3L));
+        cache.profile(1L, profile(1L));                                             //1 is now the most recently used
+        cache.profile(4L, profile(4L));                                             //Evicts 2
+        assertEquals(3, cache.size());
+        assertTrue(cache.getBytes() <= 3 * entryBytes);
+        assertEquals(1, cache.getEvictions());
+
+        builds.set(0);
+        cache.profile(1L, profile(1L));                                             //Still cached
+        cache.profile(2L, profile(2L));                                             //Rebuilt
+        assertEquals(1, builds.get());
+    }
+
+    @Test   //Test: a response larger than the whole bound is served but not cached
+    void store_SkipsResponsesLargerThanBound()
+    {
+        UserResponseCache cache = cache(64);
+        cache.profile(1L, profile(1L));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getBytes());
+    }
+
+    @Test   //Test: a user's change drops their profile and every page, but not other profiles
+    void invalidate_DropsProfileAndPages()
+    {
+        UserResponseCache cache = cache(1 << 20);
+        cache.profile(1L, profile(1L));
+        cache.profile(2L, profile(2L));
+        cache.page(null, 50, null, null, page(null));
+        cache.invalidate(1L);
+        assertEquals(1, cache.size());                                              //Only user 2's profile is left
+
+        builds.set(0);
+        cache.profile(2L, profile(2L));                                             //Hit
+        cache.page(null, 50, null, null, page(null));                               //Rebuilt
+        assertEquals(1, builds.get());
+    }
+
+    @Test   //Test: a response built across an invalidation is returned but not cached
+    void find_BuildStraddlingInvalidation_NotStored()
+    {
+        UserResponseCache cache = cache(1 << 20);
+        cache.page(null, 50, null, null, () ->
+        {
+            cache.invalidatePages();                                                //Import committed while this page was read
+            return new UserPageDTO(List.of(), null);
+        });
+        assertEquals(0, cache.size());
+    }
+}
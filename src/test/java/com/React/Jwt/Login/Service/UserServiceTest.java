@@ -1,21 +1,33 @@
 package com.React.Jwt.Login.Service;                                    //Declare package
 import org.mockito.junit.jupiter.MockitoExtension;                      //Mockito extension for JUnit 5
+import com.React.Jwt.Login.Database.ReadYourWrites;                     //Read-your-writes import
 import com.React.Jwt.Login.DTO.UserDTO;                                 //UserDTO import
 import com.React.Jwt.Login.Entity.User;                                 //User entity import
+import com.React.Jwt.Login.DTO.UserPageDTO;                             //Page of users DTO
 import com.React.Jwt.Login.Enum.Role;                                   //Role enum import
 import com.React.Jwt.Login.Exception.EmailAlreadyExistsException;       //Email exists exception
+import com.React.Jwt.Login.Exception.PhoneAlreadyExistsException;       //Phone exists exception
 import com.React.Jwt.Login.Exception.UserNotFoundException;             //User not found exception
 import com.React.Jwt.Login.Exception.UsernameAlreadyExistsException;    //Username exists exception
 import com.React.Jwt.Login.Mapper.UserMapper;                           //UserMapper import
+import com.React.Jwt.Login.Repository.UserCache;                        //UserCache import
 import com.React.Jwt.Login.Repository.UserRepository;                   //UserRepository import
+import com.React.Jwt.Login.Repository.UserView;                         //UserView import
+import com.React.Jwt.Login.Security.JWT.CredentialEpochs;               //Credential epoch import
 import com.React.Jwt.Login.Security.JWT.JwtUtil;                        //JWT utility import
+import com.React.Jwt.Login.Security.JWT.RefreshTokenStore;              //Refresh token store import
 import org.junit.jupiter.api.BeforeEach;                                //Setup before each test
 import org.junit.jupiter.api.Test;                                      //Test annotation
 import org.junit.jupiter.api.extension.ExtendWith;                      //JUnit extension
+import org.springframework.dao.DataIntegrityViolationException;         //Violated constraint on insert
+import org.springframework.data.jpa.domain.Specification;               //Criteria passed to the repository
+import org.mockito.InOrder;                                              //Checks call order
 import org.mockito.InjectMocks;                                         //Inject mocks into tested class
 import org.mockito.Mock;                                                //Create mocks
+import org.mockito.Spy;                                                 //Spy on real objects
 import org.springframework.security.access.AccessDeniedException;       //Access denied exception
-import org.springframework.security.crypto.password.PasswordEncoder;    //Password encoder
+import com.React.Jwt.Login.Security.Password.PasswordHasher;         //Bounded password hashing pool
+import java.sql.SQLException;                                           //Driver error carrying the constraint name
 import java.util.List;                                                  //List import
 import java.util.Optional;                                              //Optional import
 import static org.junit.jupiter.api.Assertions.*;                       //JUnit assertions
@@ -28,11 +40,14 @@ class UserServiceTest
     @Mock 
     private UserRepository userRepository;                      //Mock UserRepository dependency
 
+    @Mock 
+    private UserCache userCache;                                //Mock UserCache dependency
+
     @Mock 
     private UserMapper userMapper;                              //Mock UserMapper dependency
 
     @Mock 
-    private PasswordEncoder passwordEncoder;                    //Mock PasswordEncoder dependency
+    private PasswordHasher passwordHasher;                      //Mock PasswordHasher dependency
 
     @Mock 
     private JwtUtil jwtUtil;                                    //Mock JwtUtil dependency
@@ -43,6 +58,18 @@ class UserServiceTest
     @Mock 
     private UserAuthorizationService userAuthorizationService;  //Mock UserAuthorizationService dependency
 
+    @Mock 
+    private CredentialEpochs credentialEpochs;                  //Mock CredentialEpochs dependency
+
+    @Mock 
+    private RefreshTokenStore refreshTokenStore;                //Mock RefreshTokenStore dependency
+
+    @Mock 
+    private UserResponseCache userResponseCache;                //Mock UserResponseCache dependency
+
+    @Spy 
+    private ReadYourWrites readYourWrites = new ReadYourWrites("", 5000);  //No replica: runs work as is
+
     @InjectMocks 
     private UserService userService;                            //Inject mocks into UserService instance
 
@@ -70,81 +97,151 @@ class UserServiceTest
     @Test   //Test registering new user success
     void registerNewUser_Success() 
     {
-        when(userRepository.existsByUsername(userDTO.getUsername())).thenReturn(false);         //Mock username not exists
-        when(userRepository.existsByEmail(userDTO.getEmail())).thenReturn(false);               //Mock email not exists
-        when(passwordEncoder.encode("password")).thenReturn("encoded-password");    //Mock password encoding
+        when(passwordHasher.encode("password")).thenReturn("encoded-password");    //Mock password encoding
         when(userMapper.toEntity(any(UserDTO.class))).thenReturn(userEntity);                   //Mock DTO to entity mapping
         when(userRepository.save(userEntity)).thenReturn(userEntity);                               //Mock saving entity
         when(userMapper.toDTO(userEntity)).thenReturn(userDTO);                                     //Mock entity to DTO mapping
         UserDTO result = userService.registerNewUser(userDTO);                                      //Call register method
         assertEquals(userDTO, result);                                                              //Assert returned DTO equals input
-        verify(userRepository).existsByUsername(userDTO.getUsername());                             //Verify username existence checked
-        verify(userRepository).existsByEmail(userDTO.getEmail());                                   //Verify email existence checked
-        verify(passwordEncoder).encode("password");                                     //Verify password encoded
+        verify(passwordHasher).encode("password");                                     //Verify password encoded
         verify(userRepository).save(userEntity);                                                    //Verify user saved
+        verify(userRepository, never()).existsByUsername(any());                                    //Verify no existence probes: one round trip
+        verify(userRepository, never()).existsByEmail(any());
+        verify(userResponseCache).invalidate(userEntity.getUserId());                               //Cached pages dropped
+    }
+
+    //Helper: make the insert fail the way the database reports a violated constraint
+    private void saveViolates(String index) 
+    {
+        when(passwordHasher.encode(any())).thenReturn("encoded-password");
+        when(userMapper.toEntity(any(UserDTO.class))).thenReturn(userEntity);
+        when(userRepository.save(userEntity)).thenThrow(new DataIntegrityViolationException("could not execute statement", 
+        new SQLException("Unique index or primary key violation: \"PUBLIC." + index + " ON PUBLIC.USERS(...)\"")));
     }
 
     @Test   //Test register throws exception if username exists
     void registerNewUser_UsernameExists_Throws() 
     {
-        when(userRepository.existsByUsername(userDTO.getUsername())).thenReturn(true);                          //Mock username exists
+        saveViolates("UK_USERS_USERNAME_INDEX_4");                                                      //Username taken
         assertThrows(UsernameAlreadyExistsException.class, () -> userService.registerNewUser(userDTO)); //Expect exception
-        verify(userRepository, never()).save(any()); //Verify save never called
     }
 
     @Test   //Test register throws exception if email exists
     void registerNewUser_EmailExists_Throws() 
     {
-        when(userRepository.existsByUsername(userDTO.getUsername())).thenReturn(false);                     //Username not exists
-        when(userRepository.existsByEmail(userDTO.getEmail())).thenReturn(true);                            //Email exists
+        saveViolates("UK_USERS_EMAIL_INDEX_4");                                                             //Email taken
         assertThrows(EmailAlreadyExistsException.class, () -> userService.registerNewUser(userDTO));    //Expect exception
-        verify(userRepository, never()).save(any());                                                                //Verify save never called
+    }
+
+    @Test   //Test register throws exception if phone exists
+    void registerNewUser_PhoneExists_Throws() 
+    {
+        saveViolates("UK_USERS_PHONE_INDEX_4");                                                             //Phone taken
+        assertThrows(PhoneAlreadyExistsException.class, () -> userService.registerNewUser(userDTO));    //Expect exception
+    }
+
+    @Test   //Test other integrity failures are not reported as duplicates
+    void registerNewUser_OtherViolation_Rethrown() 
+    {
+        saveViolates("CONSTRAINT_NOT_NULL");                                                                //Not a unique constraint
+        assertThrows(DataIntegrityViolationException.class, () -> userService.registerNewUser(userDTO));    //Expect original exception
+    }
+
+    //Helper: projection row with an id
+    private static UserView view(long userId) 
+    {
+        return new UserView(userId, "Adrian", "Tan", "+6591234567", "1 Main St", "adrian@example.com", "adrian" + userId, Role.CUSTOMER, 0);
     }
 
     @Test   //Test viewing user profile success
     void viewUserProfile_Success() 
     {
         doNothing().when(userAuthorizationService).authorizeUserOrAdmin(1L);    //Mock authorization allowed
-        when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity));      //Mock user found
-        when(userMapper.toDTO(userEntity)).thenReturn(userDTO);                         //Mock entity to DTO
+        UserView userView = view(1L);                                                   //Public columns
+        when(userCache.findViewById(1L)).thenReturn(Optional.of(userView));             //Mock user found
+        when(userMapper.toDTO(userView)).thenReturn(userDTO);                           //Mock projection to DTO
         UserDTO result = userService.viewUserProfile(1L);                       //Call view profile
         assertEquals(userDTO, result);                                                  //Assert correct DTO returned
         verify(userAuthorizationService).authorizeUserOrAdmin(1L);              //Verify authorization checked
+        verify(userCache, never()).findById(any());                                     //Verify no entity copy is made
+    }
+
+    @Test   //Test: serialized profiles are authorized first, then served by the response cache
+    void viewUserProfileJson_AuthorizesBeforeCacheLookup() 
+    {
+        UserResponseCache.Json json = new UserResponseCache.Json(new byte[0], 0L, null);       //Cached response
+        when(userResponseCache.profile(eq(1L), any())).thenReturn(json);                        //Mock cache hit
+        assertSame(json, userService.viewUserProfileJson(1L));                                  //Bytes from the cache
+        InOrder order = inOrder(userAuthorizationService, userResponseCache);
+        order.verify(userAuthorizationService).authorizeUserOrAdmin(1L);                        //Authorized first
+        order.verify(userResponseCache).profile(eq(1L), any());
+        verifyNoInteractions(userCache, userMapper);                                            //No lookup or mapping on a hit
+    }
+
+    @Test   //Test: page requests are keyed by the clamped page size
+    void viewUserProfilesJson_KeysByClampedPageSize() 
+    {
+        userService.viewUserProfilesJson(null, 1000, Role.USER, "us");                         //Oversized request
+        verify(userAuthorizationService).authorizeAdmin();                                      //Admin only
+        verify(userResponseCache).page(isNull(), eq(200), eq(Role.USER), eq("us"), any());     //Same entry as size=200
     }
 
     @Test   //Test view profile throws if user not found
     void viewUserProfile_UserNotFound_Throws() 
     {
         doNothing().when(userAuthorizationService).authorizeUserOrAdmin(1L);                            //Mock authorization allowed
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());                                     //Mock user not found
+        when(userCache.findViewById(1L)).thenReturn(Optional.empty());                                      //Mock user not found
         assertThrows(UserNotFoundException.class, () -> userService.viewUserProfile(1L));   //Expect exception
     }
 
-    @Test   //Test admin views all user profiles
+    @Test   //Test admin views the last page of user profiles
     void viewUserProfiles_AdminAuthorized_ReturnsList() 
     {
         doNothing().when(userAuthorizationService).authorizeAdmin();    //Mock admin authorization
-        List<User> users = List.of(userEntity);                         //Create list with one user
-        when(userRepository.findAll()).thenReturn(users);               //Mock find all users
-        when(userMapper.toDTO(userEntity)).thenReturn(userDTO);         //Mock mapping to DTO
-        List<UserDTO> result = userService.viewUserProfiles();          //Call method
-        assertEquals(1, result.size());                         //Assert one user returned
-        assertEquals(userDTO, result.get(0));                       //Assert correct DTO
+        UserView userView = view(1L);                                   //Projection row
+        List<UserView> users = List.of(userView);                       //Create list with one user
+        when(userRepository.findViews(any(Specification.class), anyInt())).thenReturn(users);    //Mock one page query
+        when(userMapper.toDTO(userView)).thenReturn(userDTO);           //Mock mapping to DTO
+        UserPageDTO result = userService.viewUserProfiles(null, null, null, null);         //Call method
+        assertEquals(1, result.getUsers().size());                      //Assert one user returned
+        assertEquals(userDTO, result.getUsers().get(0));                //Assert correct DTO
+        assertNull(result.getNextCursor());                             //Assert no further page
         verify(userAuthorizationService).authorizeAdmin();              //Verify admin auth checked
+        verify(userRepository, never()).findAll();                      //Verify the table is never loaded whole
+    }
+
+    @Test   //Test a full page returns a cursor that resumes after its last user
+    void viewUserProfiles_FullPage_ReturnsCursorForNextPage() 
+    {
+        UserView second = view(2L);                                     //Second user
+        UserView third = view(3L);                                      //Extra row beyond the page
+        when(userRepository.findViews(any(Specification.class), anyInt())).thenReturn(List.of(view(1L), second, third));  //Page size + 1 rows
+        UserPageDTO first = userService.viewUserProfiles(null, 2, null, null);     //Page of two
+        assertEquals(2, first.getUsers().size());                       //Extra row is not returned
+        assertNotNull(first.getNextCursor());                           //More rows exist
+
+        when(userRepository.findViews(any(Specification.class), anyInt())).thenReturn(List.of(third));
+        UserPageDTO next = userService.viewUserProfiles(first.getNextCursor(), 2, Role.USER, "us");    //Resume with filters
+        assertEquals(1, next.getUsers().size());                        //Last page
+        assertNull(next.getNextCursor());                               //Assert no further page
+    }
+
+    @Test   //Test a cursor that was not issued by the service is rejected
+    void viewUserProfiles_InvalidCursor_Throws() 
+    {
+        assertThrows(IllegalArgumentException.class, () -> userService.viewUserProfiles("not a cursor!", null, null, null));
     }
 
     @Test   //Test update profile unauthorized throws exception
     void updateUserProfile_Unauthorized_Throws() 
     {
         Long userIdToUpdate = 1L;                                                           //User id to update
-        User currentUser = new User();                                                      //Create current user
-        currentUser.setUserId(2L);                                                  //Different user id (not self)
-        when(userAuthService.getAuthenticatedUser()).thenReturn(currentUser);               //Mock current user returned
+        when(userAuthService.getAuthenticatedUserId()).thenReturn(2L);                      //Different user id (not self)
         User userEntity = new User();                                                       //User to update entity
         userEntity.setUserId(userIdToUpdate);                                               //Set userId
         userEntity.setRole(Role.USER);                                                      //Set role
         when(userRepository.findById(userIdToUpdate)).thenReturn(Optional.of(userEntity));  //Mock found user
-        when(userAuthService.hasRole("ROLE_ADMIN")).thenReturn(false);          //Mock current user is not admin
+        when(userAuthService.hasRole(Role.ADMIN)).thenReturn(false);          //Mock current user is not admin
         UserDTO userDTO = new UserDTO();                                                        //Empty update DTO
 
         assertThrows(AccessDeniedException.class, () -> 
@@ -152,74 +249,104 @@ class UserServiceTest
             userService.updateUserProfile(userIdToUpdate, userDTO);                         //Expect access denied
         });
 
-        verify(userAuthService).getAuthenticatedUser();                                     //Verify current user fetched
+        verify(userAuthService).getAuthenticatedUserId();                                   //Verify current user id read
         verify(userRepository).findById(userIdToUpdate);                                    //Verify user found
-        verify(userAuthService).hasRole("ROLE_ADMIN");                              //Verify role checked
+        verify(userAuthService).hasRole(Role.ADMIN);                              //Verify role checked
     }
 
     @Test   //Test user updates own profile with allowed fields
     void updateUserProfile_BySelf_UpdatesFields() 
     {
-        User currentUser = new User();                                                                      //Current user
-        currentUser.setUserId(1L);                                                                  //Set id
-        currentUser.setUsername("user");                                                            //Username
-        currentUser.setRole(Role.USER);                                                                     //Role USER
-        when(userAuthService.getAuthenticatedUser()).thenReturn(currentUser);                               //Mock current user
+        when(userAuthService.getAuthenticatedUserId()).thenReturn(1L);                                      //Mock current user id
         when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity));                          //Mock user found
-        when(userAuthService.hasRole("ROLE_ADMIN")).thenReturn(false);                      //Not admin
+        when(userAuthService.hasRole(Role.ADMIN)).thenReturn(false);                      //Not admin
         UserDTO updateDTO = new UserDTO();                                                                  //Update DTO
         updateDTO.setFirstName("NewFirst");                                                     //New first name
         updateDTO.setLastName("NewLast");                                                       //New last name
         updateDTO.setPassword("newpassword");                                                   //New password
         updateDTO.setRole(Role.ADMIN);                                                                  //Attempt role escalation ignored
-        when(passwordEncoder.encode("newpassword")).thenReturn("encodedNewPassword");   //Mock encode
+        when(passwordHasher.encode("newpassword")).thenReturn("encodedNewPassword");   //Mock encode
         when(userRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));       //Mock save returns input
-        when(userMapper.toDTO(any())).thenReturn(userDTO);                                                  //Mock mapping to DTO
-        when(jwtUtil.generateToken(anyString(), anyList())).thenReturn("new-token");                //Mock token generation
+        when(userMapper.toDTO(any(User.class))).thenReturn(userDTO);                                                  //Mock mapping to DTO
+        when(jwtUtil.generateToken(anyLong(), anyString(), anyList(), anyLong())).thenReturn("new-token");                //Mock token generation
+        when(refreshTokenStore.issue(1L, "user", List.of("USER"))).thenReturn("new-refresh-token");                    //Mock refresh token issue
         var response = userService.updateUserProfile(1L, updateDTO);                                //Call update
         assertEquals("User updated successfully", response.getMessage());                       //Check success message
+        assertEquals("new-token", response.getToken());                                                     //New access token
+        assertEquals("new-refresh-token", response.getRefreshToken());                                      //Replaces the revoked refresh token
         verify(userRepository).save(userEntity);                                                            //Verify saved
         assertEquals("encodedNewPassword", userEntity.getPassword());                           //Password updated
         assertEquals(Role.USER, userEntity.getRole());                                                  //Role unchanged
+        assertEquals(1L, userEntity.getCredentialEpoch());                                              //Password change bumps epoch
+        verify(credentialEpochs).advance(1L, 1L);                                                           //Old tokens invalidated
+        InOrder refreshOrder = inOrder(refreshTokenStore);
+        refreshOrder.verify(refreshTokenStore).revokeUser(1L);                                              //Old refresh tokens dropped
+        refreshOrder.verify(refreshTokenStore).issue(1L, "user", List.of("USER"));                          //Before the new one is issued
+        verify(userCache).invalidate(1L, "user", "user");                                                    //Cached row dropped
+        verify(userResponseCache).invalidate(1L);                                                           //Cached responses dropped
+        verify(userCache, never()).findById(any());                                                         //Update reads the database
+        verify(readYourWrites).onPrimary(any());                                                            //From the primary
+        verify(readYourWrites).recordWrite(1L, "user", "user");                                             //Reads of the user skip the replica for a while
     }
 
     @Test   //Test admin updates profile including role change
     void updateUserProfile_ByAdmin_UpdatesFieldsIncludingRole() 
     {
-        User currentUser = new User();                                                                  //Admin user
-        currentUser.setUserId(2L);                                                              //Set id
-        currentUser.setRole(Role.ADMIN);                                                                //Admin role
-        when(userAuthService.getAuthenticatedUser()).thenReturn(currentUser);                           //Mock admin user
+        when(userAuthService.getAuthenticatedUserId()).thenReturn(2L);                                  //Mock admin user id
         when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity));                      //Mock user found
-        when(userAuthService.hasRole("ROLE_ADMIN")).thenReturn(true);                   //Mock admin role check
+        when(userAuthService.hasRole(Role.ADMIN)).thenReturn(true);                   //Mock admin role check
         UserDTO updateDTO = new UserDTO();                                                              //Update DTO
         updateDTO.setRole(Role.ADMIN);                                                                  //Change role to admin
         updateDTO.setFirstName("AdminFirst");                                               //Change first name
         when(userRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));   //Mock save
-        when(userMapper.toDTO(any())).thenReturn(userDTO);                                              //Mock mapping
-        when(jwtUtil.generateToken(anyString(), anyList())).thenReturn("admin-token");          //Mock token
+        when(userMapper.toDTO(any(User.class))).thenReturn(userDTO);                                              //Mock mapping
+        when(jwtUtil.generateToken(anyLong(), anyString(), anyList(), anyLong())).thenReturn("admin-token");          //Mock token
         var response = userService.updateUserProfile(1L, updateDTO);                            //Call update
         assertEquals("User updated successfully", response.getMessage());                       //Check success message
         assertEquals(Role.ADMIN, userEntity.getRole());                                                 //Role updated
         verify(userRepository).save(userEntity);                                                        //Verify saved
+        verify(refreshTokenStore).revokeUser(1L);                                                       //User's refresh tokens dropped
+        verify(refreshTokenStore, never()).issue(anyLong(), anyString(), anyList());                    //The admin is not handed one for the user
+        assertNull(response.getRefreshToken());
+    }
+
+    @Test   //Test profile-only update keeps existing tokens valid
+    void updateUserProfile_ProfileOnly_KeepsCredentialEpoch() 
+    {
+        when(userAuthService.getAuthenticatedUserId()).thenReturn(1L);                                  //Mock current user id
+        when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity));                      //Mock user found
+        when(userAuthService.hasRole(Role.ADMIN)).thenReturn(false);                  //Not admin
+        UserDTO updateDTO = new UserDTO();                                                              //Update DTO
+        updateDTO.setAddress("New Address");                                                //Change address only
+        when(userRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));   //Mock save
+        when(userMapper.toDTO(any(User.class))).thenReturn(userDTO);                                              //Mock mapping
+        userService.updateUserProfile(1L, updateDTO);                                           //Call update
+        assertEquals(0L, userEntity.getCredentialEpoch());                                              //Epoch unchanged
+        verifyNoInteractions(credentialEpochs, refreshTokenStore);                                      //Nothing invalidated
     }
 
     @Test   //Test deleting user profile success
     void deleteUserProfile_Success() 
     {
         doNothing().when(userAuthorizationService).authorizeAdmin();        //Mock admin authorization
-        when(userRepository.existsById(1L)).thenReturn(true);       //Mock user exists
-        doNothing().when(userRepository).deleteById(1L);                    //Mock delete no-op
+        when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity));  //Mock user exists
+        doNothing().when(userRepository).delete(userEntity);                //Mock delete no-op
         assertDoesNotThrow(() -> userService.deleteUserProfile(1L));    //Assert no exception
-        verify(userRepository).deleteById(1L);                              //Verify deletion called
+        verify(userRepository).delete(userEntity);                          //Verify deletion called
+        verify(userCache).invalidate(1L, "user");                           //Verify cached row dropped
+        verify(userResponseCache).invalidate(1L);                           //Verify cached responses dropped
+        verify(readYourWrites).recordWrite(1L, userEntity.getUsername());   //Verify later reads of the user skip the replica
+        verify(credentialEpochs).retire(1L, userEntity.getCredentialEpoch() + 1);   //Verify other nodes learn the final epoch
+        verify(credentialEpochs).advance(1L, userEntity.getCredentialEpoch() + 1);  //Verify issued access tokens are invalidated
+        verify(refreshTokenStore).revokeUser(1L);                           //Verify refresh tokens are dropped
     }
 
     @Test   //Test delete throws if user not found
     void deleteUserProfile_UserNotFound_Throws() 
     {
         doNothing().when(userAuthorizationService).authorizeAdmin();                                            //Mock admin authorization
-        when(userRepository.existsById(1L)).thenReturn(false);                                          //User does not exist
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());                                 //User does not exist
         assertThrows(UserNotFoundException.class, () -> userService.deleteUserProfile(1L)); //Expect exception
-        verify(userRepository, never()).deleteById(anyLong());                                                  //Verify no deletion called
+        verify(userRepository, never()).delete(any(User.class));                                                 //Verify no deletion called
     }
 }
\ No newline at end of file